@@ -0,0 +1,107 @@
+package core.project.chess.benchmarks;
+
+import core.project.chess.domain.chess.entities.ChessBoard;
+import core.project.chess.domain.chess.enumerations.Coordinate;
+import core.project.chess.domain.chess.pieces.*;
+import core.project.chess.domain.commons.enumerations.Color;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Fixed positions for the benchmarks, loaded from the classpath resources:
+ * <ul>
+ *     <li>FENs of pgn/perftsuite.epd;</li>
+ *     <li>games of pgn/game-history-resource.pgn, written in coordinate notation (e2e4, e7e8q),
+ *     replayed on the board to get the PGN in the notation of the application.</li>
+ * </ul>
+ * Files are not changed between runs, so results of different engine versions are comparable.
+ */
+final class Fixtures {
+    private static final String PERFT_SUITE = "pgn/perftsuite.epd";
+    private static final String GAME_HISTORY = "pgn/game-history-resource.pgn";
+
+    private static final Pattern COORDINATE_MOVE = Pattern.compile("\\b([a-h][1-8])([a-h][1-8])([qrbnQRBN]?)");
+
+    private Fixtures() {}
+
+    static List<String> perftSuiteFENs() {
+        final List<String> fens = new ArrayList<>();
+        for (String line : lines(PERFT_SUITE)) {
+            if (!line.isBlank()) fens.add(line.substring(0, line.indexOf(';')).trim());
+        }
+        return fens;
+    }
+
+    static List<ChessBoard> perftSuitePositions() {
+        return perftSuiteFENs().stream().map(ChessBoard::pureChessFromPosition).toList();
+    }
+
+    /**
+     * @return PGN of every game of the game history resource, in the notation produced by ChessBoard.pgn().
+     */
+    static List<String> gamesPGN() {
+        return games().stream().map(ChessBoard::pgn).toList();
+    }
+
+    /**
+     * @return boards with all the moves of the game history resource made through doMove.
+     */
+    static List<ChessBoard> games() {
+        final List<ChessBoard> games = new ArrayList<>();
+        final StringBuilder movetext = new StringBuilder();
+
+        for (String line : lines(GAME_HISTORY)) {
+            if (line.startsWith("[")) {
+                if (!movetext.isEmpty()) games.add(replay(movetext));
+                movetext.setLength(0);
+                continue;
+            }
+            movetext.append(line).append(' ');
+        }
+        if (!movetext.isEmpty()) games.add(replay(movetext));
+
+        return games;
+    }
+
+    private static ChessBoard replay(final CharSequence movetext) {
+        final ChessBoard chessBoard = ChessBoard.starndardChessBoard();
+        final Matcher matcher = COORDINATE_MOVE.matcher(movetext);
+
+        while (matcher.find()) {
+            final Coordinate from = Coordinate.valueOf(matcher.group(1));
+            final Coordinate to = Coordinate.valueOf(matcher.group(2));
+            chessBoard.doMove(from, to, promotion(matcher.group(3), chessBoard.turn()));
+        }
+        return chessBoard;
+    }
+
+    private static Piece promotion(final String symbol, final Color color) {
+        return switch (symbol.toLowerCase()) {
+            case "q" -> Queen.of(color);
+            case "r" -> Rook.of(color);
+            case "b" -> Bishop.of(color);
+            case "n" -> Knight.of(color);
+            default -> null;
+        };
+    }
+
+    static List<String> lines(final String resource) {
+        final InputStream stream = Fixtures.class.getClassLoader().getResourceAsStream(resource);
+        if (stream == null) throw new IllegalStateException("Resource %s is not found.".formatted(resource));
+
+        try (var reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            return reader.lines().toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package core.project.chess.benchmarks;
+
+import core.project.chess.domain.chess.entities.ChessBoard;
+import core.project.chess.domain.chess.enumerations.Coordinate;
+import core.project.chess.domain.chess.enumerations.GameResultMessage;
+import core.project.chess.domain.chess.pieces.Piece;
+import core.project.chess.domain.chess.util.ChessNotationsValidator;
+import core.project.chess.domain.chess.util.MoveBuffer;
+import core.project.chess.domain.chess.value_objects.AlgebraicNotation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hot paths of a played game, measured over the games of the game history resource in turn:
+ * a move made and reverted through doMove/undoMove as the game service does it, PGN of the game after the move
+ * and parsing of the whole PGN. Every game is rewound by one half move, so it is not over and has a move to make.
+ * doMoveUndoMove is the baseline of pgn.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameBenchmark {
+
+    private ChessBoard[] games;
+    private String[] pgns;
+    private Coordinate[] from;
+    private Coordinate[] to;
+    private Piece[] promotions;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        pgns = Fixtures.gamesPGN().toArray(String[]::new);
+        games = Fixtures.games().toArray(ChessBoard[]::new);
+
+        from = new Coordinate[games.length];
+        to = new Coordinate[games.length];
+        promotions = new Piece[games.length];
+
+        final MoveBuffer moveBuffer = new MoveBuffer();
+        for (int i = 0; i < games.length; i++) {
+            games[i].undoMove();
+            games[i].generateAllValidMoves(moveBuffer);
+
+            final int move = moveBuffer.get(moveBuffer.size() / 2);
+            from[i] = Coordinate.byIndex(MoveBuffer.from(move));
+            to[i] = Coordinate.byIndex(MoveBuffer.to(move));
+            promotions[i] = MoveBuffer.promotion(move);
+        }
+    }
+
+    private int next() {
+        if (++cursor == games.length) cursor = 0;
+        return cursor;
+    }
+
+    @Benchmark
+    public GameResultMessage doMoveUndoMove() {
+        final int i = next();
+        final ChessBoard chessBoard = games[i];
+
+        final GameResultMessage message = chessBoard.doMove(from[i], to[i], promotions[i]);
+        chessBoard.undoMove();
+        return message;
+    }
+
+    @Benchmark
+    public String pgn() {
+        final int i = next();
+        final ChessBoard chessBoard = games[i];
+
+        chessBoard.doMove(from[i], to[i], promotions[i]);
+        final String pgn = chessBoard.pgn();
+        chessBoard.undoMove();
+        return pgn;
+    }
+
+    @Benchmark
+    public List<AlgebraicNotation> listOfAlgebraicNotations() {
+        return ChessNotationsValidator.listOfAlgebraicNotations(pgns[next()]);
+    }
+}
@@ -0,0 +1,111 @@
+package core.project.chess.benchmarks;
+
+import core.project.chess.domain.chess.util.PerftSuite;
+import core.project.chess.domain.chess.value_objects.PerftSuiteReport;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Runs the perft suite and exits with a non-zero status if it fails, to be used as a regression gate.
+ * <pre>
+ * ./mvnw -Pjmh compile exec:exec@perft-suite -Dperft.args="--depth=5 --baseline=perft-baseline.properties --max-regression=10"
+ * </pre>
+ * Options:
+ * <ul>
+ *     <li>--depth=N - maximal depth of every position, 4 by default;</li>
+ *     <li>--epd=path - suite file, pgn/perftsuite.epd from the classpath by default;</li>
+ *     <li>--threads=N - parallelism, count of available processors by default;</li>
+ *     <li>--baseline=path - properties file with the aggregate nodes per second of a previous run at the same depth;</li>
+ *     <li>--max-regression=P - fail if nodes per second dropped more than P percents against the baseline;</li>
+ *     <li>--update-baseline - write the result of this run to the baseline file.</li>
+ * </ul>
+ * Exit status is 1 if counts of nodes don't match the suite and 2 if the throughput regressed.
+ */
+public final class PerftSuiteCommand {
+    private static final String PERFT_SUITE = "pgn/perftsuite.epd";
+
+    private PerftSuiteCommand() {}
+
+    public static void main(String[] args) throws IOException {
+        final Map<String, String> options = options(args);
+        final int depth = Integer.parseInt(options.getOrDefault("depth", "4"));
+        final int threads = Integer.parseInt(options.getOrDefault("threads", String.valueOf(Runtime.getRuntime().availableProcessors())));
+
+        final PerftSuite perftSuite = PerftSuite.fromEPD(options.containsKey("epd") ?
+                Files.readAllLines(Path.of(options.get("epd"))) :
+                Fixtures.lines(PERFT_SUITE));
+
+        final PerftSuiteReport report;
+        try (ForkJoinPool pool = new ForkJoinPool(threads)) {
+            report = perftSuite.run(depth, pool);
+        }
+        System.out.println(report);
+
+        if (!report.isPassed()) {
+            System.out.println("Perft suite failed at %d positions.".formatted(report.failed().size()));
+            System.exit(1);
+        }
+
+        if (!options.containsKey("baseline")) return;
+        final Path baselineFile = Path.of(options.get("baseline"));
+
+        if (options.containsKey("max-regression") && Files.exists(baselineFile)) {
+            final Properties baseline = read(baselineFile);
+            final long baselineNodesPerSecond = Long.parseLong(baseline.getProperty("nps"));
+            final double maxRegression = Double.parseDouble(options.get("max-regression"));
+
+            if (!String.valueOf(depth).equals(baseline.getProperty("depth"))) {
+                System.out.println("Baseline was measured at depth %s, comparison is skipped.".formatted(baseline.getProperty("depth")));
+            } else if (report.isRegression(baselineNodesPerSecond, maxRegression)) {
+                System.out.println("Throughput regressed: %d nps against the baseline of %d nps, allowed drop is %s%%."
+                        .formatted(report.nodesPerSecond(), baselineNodesPerSecond, maxRegression));
+                System.exit(2);
+            } else {
+                System.out.println("Throughput: %d nps, baseline: %d nps.".formatted(report.nodesPerSecond(), baselineNodesPerSecond));
+            }
+        }
+
+        if (options.containsKey("update-baseline")) {
+            final Properties baseline = new Properties();
+            baseline.setProperty("depth", String.valueOf(depth));
+            baseline.setProperty("threads", String.valueOf(threads));
+            baseline.setProperty("nodes", String.valueOf(report.nodes()));
+            baseline.setProperty("nps", String.valueOf(report.nodesPerSecond()));
+            try (Writer writer = Files.newBufferedWriter(baselineFile)) {
+                baseline.store(writer, "Perft suite baseline");
+            }
+            System.out.println("Baseline is written to " + baselineFile);
+        }
+    }
+
+    private static Map<String, String> options(String[] args) {
+        final Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) throw new IllegalArgumentException("Unknown argument: " + arg);
+
+            final int separator = arg.indexOf('=');
+            if (separator == -1) options.put(arg.substring(2), "true");
+            else options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    private static Properties read(Path file) {
+        final Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,117 @@
+package core.project.chess.benchmarks;
+
+import core.project.chess.domain.chess.entities.ChessBoard;
+import core.project.chess.domain.chess.pieces.King;
+import core.project.chess.domain.chess.util.ChessNotationsValidator;
+import core.project.chess.domain.chess.util.MoveBuffer;
+import core.project.chess.domain.chess.util.ZobristHashKeys;
+import core.project.chess.domain.chess.value_objects.FromFEN;
+import core.project.chess.domain.chess.value_objects.KingStatus;
+import core.project.chess.domain.commons.containers.StatusPair;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hot paths of a single position, measured over all positions of the perft suite in turn.
+ * <p>
+ * The board caches legality masks and FEN until a move is made, so the benchmarks which would otherwise
+ * measure a cached value make a move first and revert it afterwards: makeMoveUnmakeMove is their baseline.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PositionBenchmark {
+
+    private String[] fens;
+    private ChessBoard[] positions;
+    private int[] moves;
+    private final MoveBuffer moveBuffer = new MoveBuffer();
+    private final ZobristHashKeys zobristHashKeys = new ZobristHashKeys();
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        fens = Fixtures.perftSuiteFENs().toArray(String[]::new);
+        positions = Fixtures.perftSuitePositions().toArray(ChessBoard[]::new);
+
+        moves = new int[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i].generateAllValidMoves(moveBuffer);
+            moves[i] = moveBuffer.get(moveBuffer.size() / 2);
+        }
+    }
+
+    private int next() {
+        if (++cursor == positions.length) cursor = 0;
+        return cursor;
+    }
+
+    @Benchmark
+    public int generateAllValidMoves() {
+        final int i = next();
+        final ChessBoard chessBoard = positions[i];
+
+        chessBoard.makeMove(moves[i]);
+        final int count = chessBoard.generateAllValidMoves(moveBuffer);
+        chessBoard.unmakeMove();
+        return count;
+    }
+
+    @Benchmark
+    public long makeMoveUnmakeMove() {
+        final int i = next();
+        final ChessBoard chessBoard = positions[i];
+
+        chessBoard.makeMove(moves[i]);
+        final long zobristHash = chessBoard.zobristHash();
+        chessBoard.unmakeMove();
+        return zobristHash;
+    }
+
+    @Benchmark
+    public KingStatus kingStatus() {
+        final int i = next();
+        final ChessBoard chessBoard = positions[i];
+
+        chessBoard.makeMove(moves[i]);
+        final KingStatus kingStatus = King.of(chessBoard.turn()).kingStatus(chessBoard);
+        chessBoard.unmakeMove();
+        return kingStatus;
+    }
+
+    @Benchmark
+    public boolean stalemate() {
+        final int i = next();
+        final ChessBoard chessBoard = positions[i];
+
+        chessBoard.makeMove(moves[i]);
+        final boolean stalemate = King.of(chessBoard.turn()).stalemate(chessBoard);
+        chessBoard.unmakeMove();
+        return stalemate;
+    }
+
+    @Benchmark
+    public String fen() {
+        final int i = next();
+        final ChessBoard chessBoard = positions[i];
+
+        chessBoard.makeMove(moves[i]);
+        final String fen = chessBoard.toString();
+        chessBoard.unmakeMove();
+        return fen;
+    }
+
+    @Benchmark
+    public long computeZobristHash() {
+        return zobristHashKeys.computeZobristHash(positions[next()]);
+    }
+
+    @Benchmark
+    public StatusPair<FromFEN> validateFEN() {
+        return ChessNotationsValidator.validateFEN(fens[next()]);
+    }
+}
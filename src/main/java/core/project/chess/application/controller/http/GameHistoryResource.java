@@ -28,6 +28,14 @@ public class GameHistoryResource {
         return Response.ok(gameHistoryService.listOfGames(jwt.getName(), pageNumber, pageSize)).build();
     }
 
+    @GET
+    @Path("/game-history/position")
+    public Response gamesByPosition(@QueryParam("fen") String fen,
+                                    @QueryParam("pageNumber") int pageNumber,
+                                    @QueryParam("pageSize") int pageSize) {
+        return Response.ok(gameHistoryService.gamesByPosition(fen, pageNumber, pageSize)).build();
+    }
+
     @GET
     @Path("/game")
     public Response getGameByID(@QueryParam("gameID") String gameID) {
@@ -0,0 +1,38 @@
+package core.project.chess.application.controller.http;
+
+import core.project.chess.application.service.PgnImportService;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import java.io.InputStream;
+
+import static core.project.chess.application.util.JSONUtilities.responseException;
+
+/**
+ * Bulk import of finished games from a PGN file in SAN, protected by the API key, see RequestsFilter.
+ * The source names the file for resuming: posting the same source again continues after the last imported batch.
+ */
+@Path("/games")
+public class GameImportResource {
+
+    private final PgnImportService pgnImportService;
+
+    GameImportResource(PgnImportService pgnImportService) {
+        this.pgnImportService = pgnImportService;
+    }
+
+    @POST
+    @Path("/import")
+    @Consumes({MediaType.APPLICATION_OCTET_STREAM, MediaType.TEXT_PLAIN})
+    public Response importGames(@QueryParam("source") String source, InputStream pgn) {
+        if (source == null || source.isBlank() || source.length() > 255) {
+            throw responseException(Response.Status.BAD_REQUEST, "Source of PGN is required.");
+        }
+
+        return Response.ok(pgnImportService.importGames(source, pgn)).build();
+    }
+}
@@ -0,0 +1,38 @@
+package core.project.chess.application.controller.http;
+
+import core.project.chess.application.service.OpeningExplorerService;
+import io.quarkus.security.Authenticated;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Response;
+
+@Path("/explorer")
+public class OpeningExplorerResource {
+
+    private final OpeningExplorerService openingExplorerService;
+
+    OpeningExplorerResource(OpeningExplorerService openingExplorerService) {
+        this.openingExplorerService = openingExplorerService;
+    }
+
+    @GET
+    @Authenticated
+    @Path("/moves")
+    public Response moves(@QueryParam("fen") String fen, @QueryParam("pgn") String pgn) {
+        return Response.ok(openingExplorerService.moves(fen, pgn)).build();
+    }
+
+    /**
+     * Starts to index the games saved before the explorer in the background, protected by the API key, see RequestsFilter.
+     */
+    @POST
+    @Path("/index")
+    public Response indexHistory() {
+        if (!openingExplorerService.indexHistory()) {
+            return Response.status(Response.Status.CONFLICT).entity("Indexing of history is already running.").build();
+        }
+        return Response.accepted("Indexing of history started.").build();
+    }
+}
@@ -0,0 +1,15 @@
+package core.project.chess.application.dto.chess;
+
+import core.project.chess.domain.commons.annotations.Nullable;
+
+/**
+ * Move of the opening explorer, squares and promotion are in the form of the moves of the game WebSocket.
+ */
+public record ExplorerMove(String from,
+                           String to,
+                           @Nullable String promotion,
+                           long games,
+                           long whiteWins,
+                           long draws,
+                           long blackWins,
+                           short averageRating) {}
@@ -0,0 +1,23 @@
+package core.project.chess.application.dto.chess;
+
+import core.project.chess.domain.chess.entities.ChessGame;
+import core.project.chess.domain.commons.value_objects.GameResult;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Finished game replayed from an imported PGN, the rows of ChessGame, GamePlayers and ChessGameHistory.
+ */
+public record ImportedGame(UUID chessGameId,
+                           UUID historyId,
+                           UUID playerForWhite,
+                           UUID playerForBlack,
+                           short whitePlayerRating,
+                           short blackPlayerRating,
+                           ChessGame.Time timeControl,
+                           GameResult gameResult,
+                           LocalDateTime gameStart,
+                           String pgn,
+                           byte[] moves,
+                           long[] positionHashes) {}
@@ -3,6 +3,7 @@ package core.project.chess.application.dto.chess;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import core.project.chess.application.util.JSONUtilities;
 import core.project.chess.domain.chess.entities.ChessGame.Time;
+import core.project.chess.domain.chess.enumerations.EngineStrength;
 import core.project.chess.domain.chess.enumerations.Coordinate;
 import core.project.chess.domain.chess.value_objects.GameParameters;
 import core.project.chess.domain.chess.value_objects.GameStateUpdate;
@@ -34,8 +35,11 @@ public record Message(MessageType type,
                       Boolean isCasualGame,
                       Respond respond,
                       Boolean isThreeFoldActive,
+                      Boolean isAdjudicationAvailable,
+                      String legalMoves,
                       Boolean isPuzzleSolved,
-                      Boolean isPuzzleEnded) {
+                      Boolean isPuzzleEnded,
+                      EngineStrength engineStrength) {
 
     private static final Pattern PROMOTION_PATTERN = Pattern.compile("^[QRNBqrnb]$");
     private static final String INVITATION_MESSAGE = """
@@ -153,6 +157,8 @@ public record Message(MessageType type,
                 .PGN(gameStateUpdate.pgn())
                 .timeLeft(gameStateUpdate.remainingTime())
                 .isThreeFoldActive(gameStateUpdate.threeFoldActive())
+                .isAdjudicationAvailable(gameStateUpdate.adjudicationAvailable())
+                .legalMoves(gameStateUpdate.legalMoveMap())
                 .build();
     }
 
@@ -169,7 +175,7 @@ public record Message(MessageType type,
     public Result<GameParameters, IllegalArgumentException> gameParameters() {
         try {
             Time time = Objects.requireNonNullElse(this.time, Time.DEFAULT);
-            return Result.success(new GameParameters(this.color, time, this.FEN, this.isCasualGame, this.PGN));
+            return Result.success(new GameParameters(this.color, time, this.FEN, this.isCasualGame, this.PGN, this.engineStrength));
         } catch (IllegalArgumentException e) {
             return Result.failure(e);
         }
@@ -210,8 +216,11 @@ public record Message(MessageType type,
         private Boolean isCasualGame;
         private Respond respond;
         private Boolean isThreeFoldActive;
+        private Boolean isAdjudicationAvailable;
+        private String legalMoves;
         private Boolean isPuzzleSolved;
         private Boolean isPuzzleEnded;
+        private EngineStrength engineStrength;
 
         public Builder(MessageType type) {
             this.type = Objects.requireNonNull(type, "Message type must not be null.");
@@ -307,6 +316,28 @@ public record Message(MessageType type,
             return this;
         }
 
+        public Builder isAdjudicationAvailable(Boolean adjudicationAvailable) {
+            isAdjudicationAvailable = adjudicationAvailable;
+            return this;
+        }
+
+        /**
+         * Encodes the legal move map of ChessBoard.legalMoveMap() as space separated entries of the squares of origin,
+         * each with the hexadecimal bitboard of its destinations (bit 0 is a1), for example "g1:a00000 b1:50000".
+         */
+        public Builder legalMoves(long[] legalMoveMap) {
+            StringBuilder encoded = new StringBuilder();
+            for (int square = 0; square < legalMoveMap.length; square++) {
+                if (legalMoveMap[square] == 0) continue;
+                if (!encoded.isEmpty()) encoded.append(' ');
+                encoded.append(Coordinate.byIndex(square))
+                        .append(':')
+                        .append(Long.toHexString(legalMoveMap[square]));
+            }
+            legalMoves = encoded.toString();
+            return this;
+        }
+
         public Builder isPuzzleSolved(Boolean puzzleSolved) {
             isPuzzleSolved = puzzleSolved;
             return this;
@@ -317,11 +348,16 @@ public record Message(MessageType type,
             return this;
         }
 
+        public Builder engineStrength(EngineStrength engineStrength) {
+            this.engineStrength = engineStrength;
+            return this;
+        }
+
         public Message build() {
             return new Message(type, gameID, FEN, PGN, whitePlayerUsername, blackPlayerUsername,
                     whitePlayerRating, blackPlayerRating, timeLeft, color, partner,
                     from, to, inCaseOfPromotion, message, time, isCasualGame, respond, isThreeFoldActive,
-                    isPuzzleSolved, isPuzzleEnded);
+                    isAdjudicationAvailable, legalMoves, isPuzzleSolved, isPuzzleEnded, engineStrength);
         }
     }
 
@@ -7,6 +7,7 @@ public enum MessageType {
     AGREEMENT,
     RESIGNATION,
     TREE_FOLD,
+    ADJUDICATION,
 
     PUZZLE,
     PUZZLE_MOVE,
@@ -0,0 +1,22 @@
+package core.project.chess.application.dto.chess;
+
+/**
+ * Progress of a PGN import.
+ *
+ * @param resumedFrom count of games of the source processed by previous runs, they are skipped.
+ * @param processed   count of games processed by this run, imported or rejected.
+ * @param rejected    malformed games, games with illegal moves, without result or with players who have no account.
+ */
+public record PgnImportReport(String source, long resumedFrom, long processed, long imported, long rejected, long elapsedNanos) {
+
+    public long gamesPerSecond() {
+        if (elapsedNanos == 0) return 0;
+        return (long) (processed * 1_000_000_000.0 / elapsedNanos);
+    }
+
+    @Override
+    public String toString() {
+        return "PGN import of %s: processed %d (resumed from %d), imported %d, rejected %d, %d games/s."
+                .formatted(source, processed, resumedFrom, imported, rejected, gamesPerSecond());
+    }
+}
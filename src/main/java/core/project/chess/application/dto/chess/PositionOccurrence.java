@@ -0,0 +1,8 @@
+package core.project.chess.application.dto.chess;
+
+import java.util.UUID;
+
+/**
+ * Game of the history in which a position was reached, at the half move 'ply' (from one) for the first time.
+ */
+public record PositionOccurrence(UUID chessHistoryId, short ply) {}
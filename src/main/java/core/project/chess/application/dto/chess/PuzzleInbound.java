@@ -1,13 +0,0 @@
-package core.project.chess.application.dto.chess;
-
-import core.project.chess.domain.chess.enumerations.Coordinate;
-import core.project.chess.domain.commons.annotations.Nullable;
-
-import java.util.List;
-
-public record PuzzleInbound(List<Move> moves, int startPositionOfPuzzle) {
-
-    public record Move(Coordinate from, Coordinate to, @Nullable Promotion promotion) {}
-
-    public enum Promotion { q, r, b, n }
-}
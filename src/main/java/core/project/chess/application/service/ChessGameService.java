@@ -2,7 +2,6 @@ package core.project.chess.application.service;
 
 import core.project.chess.application.dto.chess.Message;
 import core.project.chess.application.dto.chess.MessageType;
-import core.project.chess.application.dto.chess.PuzzleInbound;
 import core.project.chess.application.publisher.EventPublisher;
 import core.project.chess.application.requests.GameRequest;
 import core.project.chess.domain.chess.entities.ChessBoard;
@@ -10,8 +9,8 @@ import core.project.chess.domain.chess.entities.ChessGame;
 import core.project.chess.domain.chess.entities.Puzzle;
 import core.project.chess.domain.chess.enumerations.AgreementResult;
 import core.project.chess.domain.chess.enumerations.UndoMoveResult;
+import core.project.chess.domain.chess.events.ChessGameResult;
 import core.project.chess.domain.chess.factories.ChessGameFactory;
-import core.project.chess.domain.chess.pieces.*;
 import core.project.chess.domain.chess.repositories.InboundChessRepository;
 import core.project.chess.domain.chess.repositories.OutboundChessRepository;
 import core.project.chess.domain.chess.services.ChessService;
@@ -26,7 +25,6 @@ import core.project.chess.domain.commons.value_objects.RatingUpdateOnPuzzle;
 import core.project.chess.domain.commons.value_objects.Username;
 import core.project.chess.domain.user.entities.User;
 import core.project.chess.domain.user.repositories.OutboundUserRepository;
-import core.project.chess.infrastructure.clients.PuzzlerClient;
 import core.project.chess.infrastructure.dal.cache.GameInvitationsRepository;
 import core.project.chess.infrastructure.dal.cache.SessionStorage;
 import io.opentelemetry.api.trace.Span;
@@ -38,6 +36,7 @@ import jakarta.websocket.Session;
 
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static core.project.chess.application.util.WSUtilities.closeSession;
@@ -50,7 +49,11 @@ public class ChessGameService {
 
     private final ChessService chessService;
 
-    private final PuzzlerClient puzzlerClient;
+    private final EngineService engineService;
+
+    private final GameAnalysisService gameAnalysisService;
+
+    private final PuzzleMiningService puzzleMiningService;
 
     private final SessionStorage sessionStorage;
 
@@ -65,22 +68,26 @@ public class ChessGameService {
     private final GameInvitationsRepository partnershipGameCacheService;
 
     ChessGameService(EventPublisher eventPublisher,
-                     PuzzlerClient puzzlerClient,
+                     PuzzleMiningService puzzleMiningService,
                      SessionStorage sessionStorage,
                      ChessGameFactory chessGameFactory,
                      InboundChessRepository inboundChessRepository,
                      OutboundUserRepository outboundUserRepository,
                      ChessService gameFunctionalityService,
+                     EngineService engineService,
+                     GameAnalysisService gameAnalysisService,
                      OutboundChessRepository outboundChessRepository,
                      GameInvitationsRepository partnershipGameCacheService) {
 
         this.eventPublisher = eventPublisher;
-        this.puzzlerClient = puzzlerClient;
+        this.puzzleMiningService = puzzleMiningService;
         this.sessionStorage = sessionStorage;
         this.chessGameFactory = chessGameFactory;
         this.inboundChessRepository = inboundChessRepository;
         this.outboundUserRepository = outboundUserRepository;
         this.chessService = gameFunctionalityService;
+        this.engineService = engineService;
+        this.gameAnalysisService = gameAnalysisService;
         this.outboundChessRepository = outboundChessRepository;
         this.partnershipGameCacheService = partnershipGameCacheService;
     }
@@ -145,7 +152,11 @@ public class ChessGameService {
             return;
         }
 
-        handleMessage(session, username.username(), message, chessGame.orElseThrow());
+        /** Every access to a game holds its monitor, the engine moves in the game from its own thread, see EngineService.*/
+        final ChessGame game = chessGame.orElseThrow();
+        synchronized (game) {
+            handleMessage(session, username.username(), message, game);
+        }
     }
 
     public Optional<Pair<Session, User>> user(Username username) {
@@ -191,6 +202,7 @@ public class ChessGameService {
             }
             case RESIGNATION -> handleResignation(session, userID, chessGame);
             case TREE_FOLD -> handleThreeFold(session, userID, chessGame);
+            case ADJUDICATION -> handleAdjudication(session, userID, chessGame);
             case AGREEMENT -> {
                 AgreementResult result = chessService.agreement(userID, chessGame);
                 sendAgreementResultMessage(session, username, chessGame, result);
@@ -200,20 +212,22 @@ public class ChessGameService {
     }
 
     private void handleMove(Session session, UUID username, Message message, ChessGame chessGame) {
-        Result<GameStateUpdate, Throwable> result = chessService.move(username, chessGame,
+        MoveOutcome outcome = chessService.move(username, chessGame,
                 message.from(), message.to(), message.inCaseOfPromotion());
 
-        if (result.failure()) {
+        if (!outcome.isValid()) {
             sendMessage(session, Message.builder(MessageType.ERROR)
-                    .message("Invalid chess movement: %s.".formatted(result.throwable().getMessage()))
+                    .message("Invalid chess movement: " + outcome.status().message())
                     .gameID(chessGame.chessGameID().toString())
                     .build());
             return;
         }
 
-        GameStateUpdate update = result.value();
+        GameStateUpdate update = outcome.gameStateUpdate();
         sessionStorage.getGameSessions(chessGame.chessGameID())
                 .forEach(gameSession -> sendMessage(gameSession, Message.gameStateUpdate(update)));
+
+        engineService.onPositionChanged(chessGame);
     }
 
     private void handleChat(Session session, UUID username, Message message, ChessGame chessGame) {
@@ -278,6 +292,26 @@ public class ChessGameService {
                 .forEach(gameSession -> sendMessage(gameSession, resultMessage));
     }
 
+    private void handleAdjudication(Session session, UUID userID, ChessGame chessGame) {
+        boolean gameEnded = chessService.adjudication(userID, chessGame);
+
+        if (!gameEnded) {
+            sendMessage(session, Message.builder(MessageType.ERROR)
+                    .message("Can`t end game by adjudication.")
+                    .gameID(chessGame.chessGameID().toString())
+                    .build());
+            return;
+        }
+
+        Message resultMessage = Message.builder(MessageType.GAME_ENDED)
+                .gameID(chessGame.chessGameID().toString())
+                .message("Game is ended by endgame bitbase adjudication, game result is: {%s}".formatted(chessGame.gameResult().toString()))
+                .build();
+
+        sessionStorage.getGameSessions(chessGame.chessGameID())
+                .forEach(gameSession -> sendMessage(gameSession, resultMessage));
+    }
+
     private void sendUndoMoveResultMessage(Session session, String username,
                                            ChessGame chessGame, UndoMoveResult result) {
         switch (result) {
@@ -288,6 +322,8 @@ public class ChessGameService {
                         .PGN(chessGame.pgn())
                         .timeLeft(chessService.remainingTimeAsString(chessGame))
                         .isThreeFoldActive(chessGame.isThreeFoldActive())
+                        .isAdjudicationAvailable(chessGame.isAdjudicationAvailable())
+                        .legalMoves(chessGame.legalMoveMap())
                         .build();
 
                 sessionStorage.getGameSessions(chessGame.chessGameID())
@@ -413,27 +449,6 @@ public class ChessGameService {
         );
     }
 
-    private void createPuzzle(List<PuzzleInbound.Move> moves, int startPositionOfPuzzle) {
-        ChessBoard chessBoard = ChessBoard.starndardChessBoard();
-        try {
-            for (PuzzleInbound.Move move : moves) chessBoard.doMove(move.from(), move.to(), getPromotion(move, chessBoard));
-        } catch (IllegalArgumentException e) {
-            throw new IllegalStateException("Invalid puzzle provided.");
-        }
-
-        Puzzle puzzle = Puzzle.of(chessBoard.pgn(), startPositionOfPuzzle);
-        inboundChessRepository.savePuzzle(puzzle);
-    }
-
-    private static Piece getPromotion(PuzzleInbound.Move move, ChessBoard chessBoard) {
-        return move.promotion() == null ? null : switch (move.promotion()) {
-            case q -> Queen.of(chessBoard.turn());
-            case r -> Rook.of(chessBoard.turn());
-            case b -> Bishop.of(chessBoard.turn());
-            case n -> Knight.of(chessBoard.turn());
-        };
-    }
-
     private void initializeGameSession(Session session, Username username, Message message) {
         final boolean connectToExistingGame = Objects.nonNull(message.gameID());
         if (connectToExistingGame) {
@@ -459,6 +474,11 @@ public class ChessGameService {
             return;
         }
 
+        if (gameParameters.orElseThrow().isEngineGame()) {
+            startEngineGame(session, username, gameParameters.orElseThrow());
+            return;
+        }
+
         startNewGame(session, username, gameParameters.orElseThrow());
     }
 
@@ -481,20 +501,22 @@ public class ChessGameService {
 
         final ChessGame game = chessGame.orElseThrow();
         UUID userID = extractUserID(session);
-        if (game.isPlayer(userID)) {
-            game.returnedToTheBoard(userID);
-            updateSessionGameIds(session, gameID);
+        synchronized (game) {
+            if (game.isPlayer(userID)) {
+                game.returnedToTheBoard(userID);
+                updateSessionGameIds(session, gameID);
+
+                Message message = Message.builder(MessageType.INFO)
+                        .gameID(gameID)
+                        .message("Player %s returned to the game".formatted(username.username()))
+                        .build();
 
-            Message message = Message.builder(MessageType.INFO)
-                    .gameID(gameID)
-                    .message("Player %s returned to the game".formatted(username.username()))
-                    .build();
+                for (Session gameSession : sessionStorage.getGameSessions(game.chessGameID()))
+                    sendMessage(gameSession, message);
+            }
 
-            for (Session gameSession : sessionStorage.getGameSessions(game.chessGameID()))
-                sendMessage(gameSession, message);
+            sendGameStartNotifications(session, game);
         }
-
-        sendGameStartNotifications(session, game);
     }
 
     private void startNewGame(Session session, Username username, GameParameters gameParameters) {
@@ -517,6 +539,54 @@ public class ChessGameService {
         );
     }
 
+    /**
+     * Starts a game against the built-in engine, which takes the other color without matchmaking.
+     * Only the standard position is supported and the game is always casual.
+     */
+    private void startEngineGame(Session session, Username username, GameParameters gameParameters) {
+        final User player = outboundUserRepository.findByUsername(username).orElseThrow();
+        final Result<User, Throwable> engineAccount = outboundUserRepository.findById(EngineService.ENGINE_ACCOUNT_ID);
+        if (!engineAccount.success()) {
+            sendMessage(session, Message.error("Engine is not available."));
+            return;
+        }
+
+        final Color color = Objects.requireNonNullElse(gameParameters.color(), Color.WHITE);
+        final GameParameters playerParameters = new GameParameters(color, gameParameters.time(),
+                null, true, null, gameParameters.engineStrength());
+        final GameParameters engineParameters = new GameParameters(color.opposite(), gameParameters.time(),
+                null, true, null, gameParameters.engineStrength());
+
+        final Result<ChessGame, Throwable> chessGame = chessGameFactory.createChessGameInstance(
+                Pair.of(player.id(), player.ratings()),
+                playerParameters,
+                Pair.of(engineAccount.value().id(), engineAccount.value().ratings()),
+                engineParameters,
+                false
+        );
+        if (!chessGame.success()) {
+            sendMessage(session, Message.error("Can`t create a chess game instance. Invalid game parameters provided."));
+            return;
+        }
+
+        final ChessGame game = chessGame.value();
+        if (!engineService.register(game, gameParameters.engineStrength())) {
+            sendMessage(session, Message.error("Engine is busy, try again later."));
+            return;
+        }
+
+        sessionStorage.addGame(game, new HashSet<>(List.of(session)));
+        sendGameStartNotifications(session, game);
+        updateSessionGameIds(session, game.chessGameID().toString());
+
+        inboundChessRepository.completelySaveStartedChessGame(game);
+
+        ChessGameSpectator spectator = new ChessGameSpectator(game);
+        spectator.start();
+
+        engineService.onPositionChanged(game);
+    }
+
     private void cancelGameSearch(Username username) {
         sessionStorage.removeLastGameSearchRequestOf(username);
     }
@@ -749,11 +819,16 @@ public class ChessGameService {
                 .time(chessGame.time())
                 .build();
 
-        final Message message = Message.builder(MessageType.FEN_PGN)
-                .gameID(chessGame.chessGameID().toString())
-                .FEN(chessGame.fen())
-                .PGN(chessGame.pgn())
-                .build();
+        /** Caches of the board are filled on read, so even reading the position holds the monitor of the game.*/
+        final Message message;
+        synchronized (chessGame) {
+            message = Message.builder(MessageType.FEN_PGN)
+                    .gameID(chessGame.chessGameID().toString())
+                    .FEN(chessGame.fen())
+                    .PGN(chessGame.pgn())
+                    .legalMoves(chessGame.legalMoveMap())
+                    .build();
+        }
 
         sendMessage(session, overviewMessage);
         sendMessage(session, message);
@@ -781,9 +856,11 @@ public class ChessGameService {
             final Optional<ChessGame> chessGame = sessionStorage.getGameById(gameUuid);
             if (chessGame.isEmpty()) continue;
 
-            if (!chessGame.get().isGameOver()) {
-                if (chessGame.get().isPlayer(userID)) handleAFK(userID, chessGame.get(), gameUuid);
-                continue;
+            synchronized (chessGame.get()) {
+                if (!chessGame.get().isGameOver()) {
+                    if (chessGame.get().isPlayer(userID)) handleAFK(userID, chessGame.get(), gameUuid);
+                    continue;
+                }
             }
 
             final Set<Session> sessionHashSet = sessionStorage.getGameSessions(gameUuid);
@@ -839,13 +916,22 @@ public class ChessGameService {
                             .build());
 
                 sessionStorage.removeGame(game.chessGameID());
-                chessService.executeGameOverOperations(game);
-                eventPublisher.publishAllChessGame(game.pullDomainEvents());
-                puzzlerClient.sendPGN(game.pgn(), res -> {
-                    var puzzle = res.body();
-                    Log.info("Got puzzle: " + puzzle);
-                    createPuzzle(puzzle.moves(), puzzle.startPositionOfPuzzle());
-                });
+                final ChessBoard finalBoard;
+                final CompletableFuture<GameAnalysis> gameAnalysis;
+                final List<ChessGameResult> domainEvents;
+                synchronized (game) {
+                    chessService.executeGameOverOperations(game);
+                    finalBoard = game.copyOfChessBoard();
+                    gameAnalysis = gameAnalysisService.analyze(game);
+                    domainEvents = game.pullDomainEvents();
+                }
+
+                /** Games against the engine don`t change ratings.*/
+                final boolean isEngineGame = engineService.isEngineGame(game.chessGameID());
+                engineService.unregister(game.chessGameID());
+                if (!isEngineGame) eventPublisher.publishAllChessGame(domainEvents);
+                /** Puzzles are mined after the analysis, so its evaluations are reused.*/
+                gameAnalysis.thenAccept(analysis -> puzzleMiningService.mine(finalBoard, analysis));
 
                 isRunning.set(false);
             }
@@ -0,0 +1,86 @@
+package core.project.chess.application.service;
+
+import core.project.chess.domain.chess.util.Bitbase;
+import core.project.chess.domain.chess.util.EndgameBitbases;
+import io.quarkus.logging.Log;
+import io.quarkus.runtime.Startup;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Provides the endgame bitbases of EndgameBitbases.ENDGAMES, see Bitbase.
+ * <p>
+ * On startup a background thread memory-maps the bitbase files of the configured directory ("bitbases.directory"),
+ * a missing or damaged file is generated and written once, the first startup therefore takes about a minute
+ * until all bitbases are available. The bitbases are installed together when all of them are ready,
+ * until then the adjudication is not offered and the engine searches without them.
+ */
+@Startup
+@ApplicationScoped
+public class EndgameBitbaseService {
+
+    static final String FILE_EXTENSION = ".bitbase";
+
+    private final Path directory;
+
+    EndgameBitbaseService(@ConfigProperty(name = "bitbases.directory", defaultValue = "bitbases") String directory) {
+        this.directory = Path.of(directory);
+    }
+
+    @PostConstruct
+    void init() {
+        final Thread thread = new Thread(this::installBitbases, "endgame-bitbases");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void installBitbases() {
+        final long start = System.nanoTime();
+        try {
+            Files.createDirectories(directory);
+
+            EndgameBitbases bitbases = EndgameBitbases.empty();
+            for (String endgame : EndgameBitbases.ENDGAMES) {
+                bitbases = bitbases.with(load(endgame, bitbases));
+            }
+
+            EndgameBitbases.install(bitbases);
+            Log.infof("Installed %d endgame bitbases in %d ms.", bitbases.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            Log.errorf(e, "Endgame bitbases are not available.");
+        }
+    }
+
+    private Bitbase load(final String endgame, final EndgameBitbases smaller) throws IOException {
+        final Path file = directory.resolve(endgame + FILE_EXTENSION);
+        if (Files.exists(file)) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                return Bitbase.of(endgame, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            } catch (IllegalArgumentException e) {
+                Log.warnf("Bitbase file %s is damaged and will be generated again.", file);
+            }
+        }
+
+        final long start = System.nanoTime();
+        final Bitbase bitbase = Bitbase.generate(endgame, smaller);
+        final Path temporary = directory.resolve(endgame + FILE_EXTENSION + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            final ByteBuffer data = bitbase.data();
+            while (data.hasRemaining()) channel.write(data);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        Log.infof("Generated bitbase %s in %d ms.", endgame, (System.nanoTime() - start) / 1_000_000);
+        return bitbase;
+    }
+}
@@ -0,0 +1,207 @@
+package core.project.chess.application.service;
+
+import core.project.chess.application.dto.chess.Message;
+import core.project.chess.domain.chess.entities.ChessBoard;
+import core.project.chess.domain.chess.entities.ChessGame;
+import core.project.chess.domain.chess.enumerations.EngineStrength;
+import core.project.chess.domain.chess.services.ChessService;
+import core.project.chess.domain.chess.util.Engine;
+import core.project.chess.domain.chess.util.SearchTranspositionTable;
+import core.project.chess.domain.chess.util.TimeManager;
+import core.project.chess.domain.chess.value_objects.Move;
+import core.project.chess.domain.chess.value_objects.MoveOutcome;
+import core.project.chess.domain.chess.value_objects.SearchReport;
+import core.project.chess.domain.commons.enumerations.Color;
+import core.project.chess.domain.commons.value_objects.GameResult;
+import core.project.chess.infrastructure.dal.cache.SessionStorage;
+import io.quarkus.logging.Log;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.websocket.Session;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static core.project.chess.application.util.WSUtilities.sendMessage;
+
+/**
+ * Plays for the built-in engine account in games against the computer.
+ * <p>
+ * Searches run on a dedicated pool of SEARCH_THREADS threads, a quarter of the processors, so engine games
+ * can't take the whole node from human games. Every game has at most one pending search, since the engine only
+ * thinks on its turn, and the count of engine games is limited by MAX_ENGINE_GAMES, which is also the capacity
+ * of the queue of the pool, so a search is rejected for a registered game only on the shutdown.
+ * <p>
+ * Every searching thread owns an Engine with its transposition table, Zobrist keys are the same for all games,
+ * so the table is shared by all the games searched on the thread.
+ * <p>
+ * A game is changed by the WebSocket threads and by the searching thread, so every access to a game is done holding
+ * the monitor of the ChessGame, see ChessGameService. The search itself runs on a copy of the board without it.
+ * If the search or the move of the engine is rejected, the engine resigns the game.
+ * <p>
+ * Nodes per second and time of thinking are logged for every move, along with the totals of the node.
+ */
+@ApplicationScoped
+public class EngineService {
+
+    public static final UUID ENGINE_ACCOUNT_ID = UUID.fromString("00000000-0000-0000-0000-00000000e001");
+
+    static final int MAX_ENGINE_GAMES = 64;
+
+    static final int SEARCH_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() / 4);
+
+    static final int TRANSPOSITION_TABLE_MEGABYTES = 32;
+
+    private final ChessService chessService;
+
+    private final SessionStorage sessionStorage;
+
+    private final ThreadPoolExecutor searchPool;
+
+    private final ThreadLocal<Engine> engines = ThreadLocal.withInitial(() ->
+            new Engine(new SearchTranspositionTable(TRANSPOSITION_TABLE_MEGABYTES)));
+
+    private final Map<UUID, EngineStrength> engineGames = new ConcurrentHashMap<>();
+
+    private final LongAdder searches = new LongAdder();
+
+    private final LongAdder searchedNodes = new LongAdder();
+
+    private final LongAdder thinkNanos = new LongAdder();
+
+    EngineService(ChessService chessService, SessionStorage sessionStorage) {
+        this.chessService = chessService;
+        this.sessionStorage = sessionStorage;
+
+        final AtomicInteger threads = new AtomicInteger();
+        this.searchPool = new ThreadPoolExecutor(SEARCH_THREADS, SEARCH_THREADS, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(MAX_ENGINE_GAMES), runnable -> {
+            final Thread thread = new Thread(runnable, "engine-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        searchPool.shutdownNow();
+    }
+
+    /**
+     * Registers the game to be played by the engine for the player ENGINE_ACCOUNT_ID.
+     *
+     * @return false if the node already plays MAX_ENGINE_GAMES games.
+     */
+    public synchronized boolean register(final ChessGame chessGame, final EngineStrength strength) {
+        if (engineGames.size() >= MAX_ENGINE_GAMES) return false;
+        engineGames.put(chessGame.chessGameID(), strength);
+        return true;
+    }
+
+    public void unregister(final UUID chessGameId) {
+        engineGames.remove(chessGameId);
+    }
+
+    public boolean isEngineGame(final UUID chessGameId) {
+        return engineGames.containsKey(chessGameId);
+    }
+
+    /**
+     * Starts thinking on the move in the background if it is the turn of the engine in the game, otherwise does nothing.
+     */
+    public void onPositionChanged(final ChessGame chessGame) {
+        final EngineStrength strength = engineGames.get(chessGame.chessGameID());
+        if (strength == null || chessGame.gameResult() != GameResult.NONE || !isEngineTurn(chessGame)) return;
+
+        try {
+            searchPool.execute(() -> think(chessGame, strength));
+        } catch (RejectedExecutionException e) {
+            resign(chessGame, "search was rejected, queue depth %d".formatted(searchPool.getQueue().size()));
+        }
+    }
+
+    private void think(final ChessGame chessGame, final EngineStrength strength) {
+        final TimeManager.ThinkTime thinkTime;
+        final ChessBoard chessBoard;
+        synchronized (chessGame) {
+            if (chessGame.gameResult() != GameResult.NONE || !isEngineTurn(chessGame)) return;
+
+            final Duration remaining = chessGame.playersTurn() == Color.WHITE
+                    ? chessGame.remainingTimeForWhite()
+                    : chessGame.remainingTimeForBlack();
+            thinkTime = TimeManager.thinkTime(remaining, chessGame.countOfFullMoves(), strength);
+            chessBoard = chessGame.copyOfChessBoard();
+        }
+
+        final SearchReport report;
+        try {
+            report = engines.get().search(chessBoard, strength.maxDepth(), thinkTime);
+        } catch (IllegalStateException e) {
+            resign(chessGame, e.getMessage());
+            return;
+        }
+
+        searches.increment();
+        searchedNodes.add(report.nodes());
+        thinkNanos.add(report.elapsedNanos());
+        Log.infof("Engine %s in game %s: %s. Queue depth: %d, total: %d moves, average nps: %d.",
+                strength, chessGame.chessGameID(), report, searchPool.getQueue().size(), searches.sum(), averageNodesPerSecond());
+
+        final Move move = report.bestMove();
+        final String promotion = move.promotion() == null ? null : promotionSymbol(move);
+        synchronized (chessGame) {
+            /** The game could end while the engine was thinking, by the time or by the resignation of the player.*/
+            if (chessGame.gameResult() != GameResult.NONE) return;
+
+            final MoveOutcome outcome = chessService.move(ENGINE_ACCOUNT_ID, chessGame, move.from(), move.to(), promotion);
+            if (!outcome.isValid()) {
+                resign(chessGame, "move %s is rejected: %s".formatted(move, outcome.status()));
+                return;
+            }
+
+            final Message message = Message.gameStateUpdate(outcome.gameStateUpdate());
+            for (Session session : sessionStorage.getGameSessions(chessGame.chessGameID())) sendMessage(session, message);
+        }
+    }
+
+    /**
+     * The engine resigns the game it can't continue, so the game doesn't wait for its move forever.
+     * The spectator of the game then ends it as usual.
+     */
+    private void resign(final ChessGame chessGame, final String reason) {
+        Log.errorf("Engine resigns in game %s: %s", chessGame.chessGameID(), reason);
+        synchronized (chessGame) {
+            if (chessGame.gameResult() != GameResult.NONE) return;
+            chessService.resignation(ENGINE_ACCOUNT_ID, chessGame);
+        }
+    }
+
+    private static boolean isEngineTurn(final ChessGame chessGame) {
+        final UUID playerToMove = chessGame.playersTurn() == Color.WHITE ? chessGame.whitePlayer() : chessGame.blackPlayer();
+        return ENGINE_ACCOUNT_ID.equals(playerToMove);
+    }
+
+    private static String promotionSymbol(final Move move) {
+        final String symbol = switch (move.promotion().index() % 6) {
+            case 1 -> "N";
+            case 2 -> "B";
+            case 3 -> "R";
+            default -> "Q";
+        };
+        return move.promotion().color() == Color.WHITE ? symbol : symbol.toLowerCase();
+    }
+
+    private long averageNodesPerSecond() {
+        final long nanos = thinkNanos.sum();
+        return nanos == 0 ? 0 : (long) (searchedNodes.sum() * 1_000_000_000.0 / nanos);
+    }
+}
@@ -0,0 +1,131 @@
+package core.project.chess.application.service;
+
+import core.project.chess.domain.chess.entities.ChessBoard;
+import core.project.chess.domain.chess.entities.ChessGame;
+import core.project.chess.domain.chess.repositories.InboundChessRepository;
+import core.project.chess.domain.chess.util.Engine;
+import core.project.chess.domain.chess.util.SearchTranspositionTable;
+import core.project.chess.domain.chess.util.TimeManager;
+import core.project.chess.domain.chess.value_objects.GameAnalysis;
+import io.quarkus.logging.Log;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Analyzes finished games in the background: every position of the game is evaluated by a search of bounded depth,
+ * the evaluations are saved with the history of the game as GameAnalysis, which judges inaccuracies, mistakes
+ * and blunders of the moves. The analysis is also returned to the caller, so puzzle mining reuses its evaluations.
+ * <p>
+ * Positions are independent, so they are analyzed in parallel as separate tasks of a dedicated work-stealing pool,
+ * which gets the configured share of the processors ("analysis.cpu-share") and runs below the normal priority,
+ * so the analysis doesn't compete with processing of live moves. Every worker owns an Engine with its
+ * transposition table, positions of the same game searched by the same worker share it.
+ * <p>
+ * At most MAX_PENDING_GAMES games wait for the analysis, further games are skipped. Count of pending games
+ * and tasks queued in the pool are logged with every analyzed game.
+ */
+@ApplicationScoped
+public class GameAnalysisService {
+
+    static final int MAX_PENDING_GAMES = 256;
+
+    static final int TRANSPOSITION_TABLE_MEGABYTES = 16;
+
+    static final TimeManager.ThinkTime THINK_TIME_PER_POSITION = new TimeManager.ThinkTime(5_000, 5_000);
+
+    private final InboundChessRepository inboundChessRepository;
+
+    private final ForkJoinPool analysisPool;
+
+    private final int depth;
+
+    private final AtomicInteger pendingGames = new AtomicInteger();
+
+    private final ThreadLocal<Engine> engines = ThreadLocal.withInitial(() ->
+            new Engine(new SearchTranspositionTable(TRANSPOSITION_TABLE_MEGABYTES)));
+
+    GameAnalysisService(InboundChessRepository inboundChessRepository,
+                        @ConfigProperty(name = "analysis.cpu-share", defaultValue = "0.25") double cpuShare,
+                        @ConfigProperty(name = "analysis.depth", defaultValue = "6") int depth) {
+        if (cpuShare <= 0 || cpuShare > 1) throw new IllegalArgumentException("Share of processors must be in range of (0, 1].");
+        if (depth < 1) throw new IllegalArgumentException("Depth of analysis must be at least 1.");
+
+        this.inboundChessRepository = inboundChessRepository;
+        this.depth = depth;
+
+        final int parallelism = Math.max(1, (int) (Runtime.getRuntime().availableProcessors() * cpuShare));
+        final AtomicInteger threads = new AtomicInteger();
+        this.analysisPool = new ForkJoinPool(parallelism, pool -> {
+            final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("game-analysis-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        }, null, false);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        analysisPool.shutdownNow();
+    }
+
+    /**
+     * Schedules the analysis of the finished game, its history must be already saved.
+     *
+     * @return the analysis of the game, completed with null if the game is skipped or its analysis fails.
+     */
+    public CompletableFuture<GameAnalysis> analyze(final ChessGame chessGame) {
+        final CompletableFuture<GameAnalysis> analysis = new CompletableFuture<>();
+        if (pendingGames.incrementAndGet() > MAX_PENDING_GAMES) {
+            pendingGames.decrementAndGet();
+            Log.warnf("Analysis of game %s is skipped, %d games are pending.", chessGame.chessGameID(), MAX_PENDING_GAMES);
+            analysis.complete(null);
+            return analysis;
+        }
+
+        final UUID historyId = chessGame.historyID();
+        final List<ChessBoard> positions = chessGame.copyOfChessBoard().positions();
+        analysisPool.execute(() -> {
+            GameAnalysis gameAnalysis = null;
+            try {
+                final long start = System.nanoTime();
+                gameAnalysis = evaluate(positions);
+                inboundChessRepository.saveGameAnalysis(historyId, gameAnalysis);
+
+                Log.infof("Analysis of game %s: %d plies, %d ms. Pending games: %d, queued tasks: %d.",
+                        chessGame.chessGameID(), gameAnalysis.countOfPlies(), (System.nanoTime() - start) / 1_000_000,
+                        pendingGames.get() - 1, analysisPool.getQueuedTaskCount() + analysisPool.getQueuedSubmissionCount());
+            } catch (RuntimeException e) {
+                Log.errorf(e, "Analysis of game %s failed.", chessGame.chessGameID());
+            } finally {
+                pendingGames.decrementAndGet();
+                analysis.complete(gameAnalysis);
+            }
+        });
+        return analysis;
+    }
+
+    private GameAnalysis evaluate(final List<ChessBoard> positions) {
+        final List<ForkJoinTask<Integer>> tasks = new ArrayList<>(positions.size());
+        for (ChessBoard position : positions) {
+            tasks.add(ForkJoinTask.adapt(() -> engines.get().evaluate(position, depth, THINK_TIME_PER_POSITION)));
+        }
+        ForkJoinTask.invokeAll(tasks);
+
+        final short[] evaluations = new short[tasks.size()];
+        for (int i = 0; i < evaluations.length; i++) {
+            evaluations[i] = (short) Math.clamp(tasks.get(i).join(), Short.MIN_VALUE, Short.MAX_VALUE);
+        }
+        return new GameAnalysis(evaluations);
+    }
+}
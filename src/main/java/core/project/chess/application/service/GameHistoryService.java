@@ -1,7 +1,11 @@
 package core.project.chess.application.service;
 
 import core.project.chess.application.dto.chess.ChessGameHistory;
+import core.project.chess.application.dto.chess.PositionOccurrence;
 import core.project.chess.domain.chess.repositories.OutboundChessRepository;
+import core.project.chess.domain.chess.repositories.PositionIndexRepository;
+import core.project.chess.domain.chess.util.FenParser;
+import core.project.chess.domain.chess.util.ZobristHashKeys;
 import core.project.chess.domain.commons.value_objects.Username;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.ws.rs.core.Response;
@@ -16,8 +20,11 @@ public class GameHistoryService {
 
     private final OutboundChessRepository outboundChessRepository;
 
-    GameHistoryService(OutboundChessRepository outboundChessRepository) {
+    private final PositionIndexRepository positionIndexRepository;
+
+    GameHistoryService(OutboundChessRepository outboundChessRepository, PositionIndexRepository positionIndexRepository) {
         this.outboundChessRepository = outboundChessRepository;
+        this.positionIndexRepository = positionIndexRepository;
     }
 
     public ChessGameHistory getGameByID(String gameID) {
@@ -47,6 +54,19 @@ public class GameHistoryService {
                 .orElseThrow(() -> responseException(Response.Status.NOT_FOUND, "User does not exist.\uD83D\uDC7B"));
     }
 
+    public List<PositionOccurrence> gamesByPosition(String fen, int pageNumber, int pageSize) {
+        if (fen == null) throw responseException(Response.Status.BAD_REQUEST, "Invalid FEN.");
+        final long positionHash = FenParser.parse(fen)
+                .mapSuccess(fromFEN -> new ZobristHashKeys().computeZobristHash(fromFEN))
+                .orElseThrow(() -> responseException(Response.Status.BAD_REQUEST, "Invalid FEN."));
+
+        int limit = buildLimit(pageSize);
+        int offSet = buildOffSet(limit, pageNumber);
+        return positionIndexRepository
+                .games(positionHash, limit, offSet)
+                .orElseThrow(() -> responseException(Response.Status.INTERNAL_SERVER_ERROR, "Can`t search games by position."));
+    }
+
     static int buildLimit(Integer pageSize) {
         int limit;
         if (pageSize > 0 && pageSize <= 25) {
@@ -0,0 +1,148 @@
+package core.project.chess.application.service;
+
+import core.project.chess.application.dto.chess.ExplorerMove;
+import core.project.chess.domain.chess.entities.ChessBoard;
+import core.project.chess.domain.chess.enumerations.Coordinate;
+import core.project.chess.domain.chess.pieces.Piece;
+import core.project.chess.domain.chess.repositories.OpeningExplorerRepository;
+import core.project.chess.domain.chess.util.FenParser;
+import core.project.chess.domain.chess.util.MoveBuffer;
+import core.project.chess.domain.chess.util.MoveCodec;
+import core.project.chess.domain.chess.util.ZobristHashKeys;
+import core.project.chess.domain.chess.value_objects.AlgebraicNotation;
+import core.project.chess.domain.chess.value_objects.ExplorerGame;
+import core.project.chess.domain.chess.value_objects.ExplorerMoveStatistics;
+import core.project.chess.domain.chess.value_objects.FromFEN;
+import core.project.chess.domain.commons.containers.Result;
+import core.project.chess.domain.commons.enumerations.Color;
+import io.quarkus.logging.Log;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.ws.rs.core.Response;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static core.project.chess.application.util.JSONUtilities.responseException;
+
+/**
+ * Opening explorer: moves played from a position in the finished games, with their results.
+ * Finished games are indexed by ChessService when the game is over, indexHistory() indexes the games saved before
+ * in the background.
+ */
+@ApplicationScoped
+public class OpeningExplorerService {
+
+    static final int MAX_MOVES = 50;
+
+    static final int INDEX_BATCH_SIZE = 500;
+
+    private final OpeningExplorerRepository openingExplorerRepository;
+
+    private final ExecutorService indexingPool;
+
+    private final AtomicBoolean isIndexingHistory = new AtomicBoolean();
+
+    OpeningExplorerService(OpeningExplorerRepository openingExplorerRepository) {
+        this.openingExplorerRepository = openingExplorerRepository;
+        this.indexingPool = Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "opening-explorer-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        indexingPool.shutdownNow();
+    }
+
+    /**
+     * @param fen position, or null.
+     * @param pgn moves from the standard position in the notation of the application, used if there is no FEN.
+     *            Without both the standard position is explored.
+     */
+    public List<ExplorerMove> moves(final String fen, final String pgn) {
+        final long positionHash;
+        final Color turn;
+        if (fen != null && !fen.isBlank()) {
+            final Result<FromFEN, IllegalArgumentException> fromFEN = FenParser.parse(fen);
+            if (!fromFEN.success()) throw responseException(Response.Status.BAD_REQUEST, fromFEN.throwable().getMessage());
+            positionHash = new ZobristHashKeys().computeZobristHash(fromFEN.value());
+            turn = fromFEN.value().figuresTurn();
+        } else {
+            final ChessBoard chessBoard;
+            try {
+                if (pgn != null && !pgn.isBlank()) chessBoard = ChessBoard.fromFinishedPGN(pgn);
+                else chessBoard = ChessBoard.starndardChessBoard();
+            } catch (IllegalArgumentException e) {
+                throw responseException(Response.Status.BAD_REQUEST, e.getMessage());
+            }
+            positionHash = chessBoard.zobristHash();
+            turn = chessBoard.turn();
+        }
+
+        final List<ExplorerMoveStatistics> statistics = openingExplorerRepository.moves(positionHash, MAX_MOVES);
+        final List<ExplorerMove> moves = new ArrayList<>(statistics.size());
+        for (ExplorerMoveStatistics moveStatistics : statistics) {
+            final int move = MoveCodec.decode(moveStatistics.move(), turn);
+            final Piece promotion = MoveBuffer.promotion(move);
+            final String promotionSymbol = promotion == null ? null : AlgebraicNotation.pieceToType(promotion).toString();
+
+            moves.add(new ExplorerMove(
+                    Coordinate.byIndex(MoveBuffer.from(move)).toString(),
+                    Coordinate.byIndex(MoveBuffer.to(move)).toString(),
+                    promotionSymbol == null || turn == Color.WHITE ? promotionSymbol : promotionSymbol.toLowerCase(),
+                    moveStatistics.games(),
+                    moveStatistics.whiteWins(),
+                    moveStatistics.draws(),
+                    moveStatistics.blackWins(),
+                    moveStatistics.averageRating()
+            ));
+        }
+        return moves;
+    }
+
+    /**
+     * Starts to index the games of the history which are not indexed yet, in the background, the progress is logged.
+     *
+     * @return false if the indexing is already running.
+     */
+    public boolean indexHistory() {
+        if (!isIndexingHistory.compareAndSet(false, true)) return false;
+
+        indexingPool.execute(this::indexNotIndexedGames);
+        return true;
+    }
+
+    /**
+     * Batch by batch in order of the history id, every batch continues after the last game of the previous one.
+     */
+    private void indexNotIndexedGames() {
+        final long start = System.nanoTime();
+        long indexed = 0;
+        try {
+            String lastHistoryId = "";
+            List<ExplorerGame> games;
+            do {
+                games = openingExplorerRepository.notIndexedGames(lastHistoryId, INDEX_BATCH_SIZE);
+                for (ExplorerGame game : games) openingExplorerRepository.index(game);
+                if (games.isEmpty()) break;
+
+                lastHistoryId = games.getLast().historyId().toString();
+                indexed += games.size();
+                Log.infof("Opening explorer: indexed %d games of history.", indexed);
+            } while (games.size() == INDEX_BATCH_SIZE && !Thread.currentThread().isInterrupted());
+
+            Log.infof("Opening explorer: indexing of history finished, %d games in %d ms.",
+                    indexed, (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            Log.errorf(e, "Opening explorer: indexing of history stopped after %d games.", indexed);
+        } finally {
+            isIndexingHistory.set(false);
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package core.project.chess.application.service;
+
+import core.project.chess.application.dto.chess.ImportedGame;
+import core.project.chess.application.dto.chess.PgnImportReport;
+import core.project.chess.domain.chess.entities.ChessBoard;
+import core.project.chess.domain.chess.entities.ChessGame;
+import core.project.chess.domain.chess.repositories.GameImportRepository;
+import core.project.chess.domain.chess.util.PgnReader;
+import core.project.chess.domain.chess.value_objects.PgnGame;
+import core.project.chess.domain.commons.annotations.Nullable;
+import core.project.chess.domain.commons.value_objects.GameResult;
+import io.quarkus.logging.Log;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Imports finished games from PGN files in SAN, as exported by other sites, into the game history.
+ * <p>
+ * The file is read as a stream, one game at a time, and cut into batches. Games of a batch are replayed
+ * on ChessBoard in parallel by a dedicated pool, while the calling thread writes the earlier batches in order.
+ * At most MAX_PENDING_BATCHES are read ahead of the writes, so a slow database stops the reading instead of
+ * accumulating games in memory.
+ * <p>
+ * Every batch is saved together with the count of processed games of the source, so importing the same source again
+ * skips the games which are already saved and continues after the last saved batch.
+ * <p>
+ * Players are matched to accounts by the "White" and "Black" tags, games of players without an account are rejected
+ * along with games without result or with illegal moves.
+ * Malformed games of the file are rejected as well and the import continues with the next game.
+ * <p>
+ * Imported games are passed to PuzzleMiningService once their batch is saved, it skips the games it can`t keep up with.
+ */
+@ApplicationScoped
+public class PgnImportService {
+
+    static final int BATCH_SIZE = 1_000;
+
+    static final int MAX_PENDING_BATCHES = 4;
+
+    static final int MAX_CACHED_USERNAMES = 100_000;
+
+    static final short DEFAULT_RATING = 1500;
+
+    private static final DateTimeFormatter PGN_DATE = DateTimeFormatter.ofPattern("yyyy.MM.dd");
+
+    private final GameImportRepository gameImportRepository;
+
+    private final PuzzleMiningService puzzleMiningService;
+
+    private final ExecutorService replayPool;
+
+    private record ReplayedGame(PgnGame pgnGame, @Nullable String pgn, @Nullable byte[] moves,
+                                @Nullable long[] positionHashes, @Nullable GameResult gameResult,
+                                @Nullable ChessBoard chessBoard) {}
+
+    private record PendingBatch(List<CompletableFuture<ReplayedGame>> games, long processedGames) {}
+
+    PgnImportService(GameImportRepository gameImportRepository, PuzzleMiningService puzzleMiningService) {
+        this.gameImportRepository = gameImportRepository;
+        this.puzzleMiningService = puzzleMiningService;
+
+        final AtomicInteger threads = new AtomicInteger();
+        this.replayPool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+            final Thread thread = new Thread(runnable, "pgn-import-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        replayPool.shutdownNow();
+    }
+
+    public PgnImportReport importGames(final String source, final InputStream inputStream) {
+        final long start = System.nanoTime();
+        final long resumedFrom = gameImportRepository.processedGames(source);
+        final Map<String, UUID> userIds = new HashMap<>();
+        final Deque<PendingBatch> pendingBatches = new ArrayDeque<>();
+
+        long processed = 0;
+        long imported = 0;
+        try (PgnReader pgnReader = PgnReader.of(inputStream)) {
+            for (long skipped = 0; skipped < resumedFrom && pgnReader.hasNext(); skipped++) nextGame(pgnReader);
+
+            List<CompletableFuture<ReplayedGame>> batch = new ArrayList<>(BATCH_SIZE);
+            while (pgnReader.hasNext()) {
+                final PgnGame pgnGame = nextGame(pgnReader);
+                processed++;
+                if (pgnGame == null) continue;
+
+                batch.add(CompletableFuture.supplyAsync(() -> replay(pgnGame), replayPool));
+
+                if (batch.size() == BATCH_SIZE) {
+                    pendingBatches.addLast(new PendingBatch(batch, resumedFrom + processed));
+                    batch = new ArrayList<>(BATCH_SIZE);
+
+                    if (pendingBatches.size() > MAX_PENDING_BATCHES) {
+                        final PendingBatch written = pendingBatches.removeFirst();
+                        imported += write(source, written, userIds);
+
+                        final long writtenGames = written.processedGames() - resumedFrom;
+                        Log.info(new PgnImportReport(source, resumedFrom, writtenGames, imported,
+                                writtenGames - imported, System.nanoTime() - start));
+                    }
+                }
+            }
+
+            if (!batch.isEmpty()) pendingBatches.addLast(new PendingBatch(batch, resumedFrom + processed));
+            while (!pendingBatches.isEmpty()) imported += write(source, pendingBatches.removeFirst(), userIds);
+        }
+
+        final PgnImportReport report = new PgnImportReport(source, resumedFrom, processed, imported,
+                processed - imported, System.nanoTime() - start);
+        Log.info(report);
+        return report;
+    }
+
+    /**
+     * @return next game, or null if it is malformed, the game is then rejected and the reading continues with the next one.
+     */
+    private static @Nullable PgnGame nextGame(final PgnReader pgnReader) {
+        try {
+            return pgnReader.next();
+        } catch (IllegalArgumentException e) {
+            Log.debugf("Rejected malformed game: %s", e.getMessage());
+            return null;
+        }
+    }
+
+    private int write(final String source, final PendingBatch pendingBatch, final Map<String, UUID> userIds) {
+        final List<ReplayedGame> replayedGames = new ArrayList<>(pendingBatch.games().size());
+        for (CompletableFuture<ReplayedGame> game : pendingBatch.games()) replayedGames.add(game.join());
+
+        if (userIds.size() > MAX_CACHED_USERNAMES) userIds.clear();
+
+        final Set<String> unknownUsernames = new HashSet<>();
+        for (ReplayedGame game : replayedGames) {
+            if (game.pgn() == null) continue;
+            addIfUnknown(unknownUsernames, userIds, game.pgnGame().tag("White"));
+            addIfUnknown(unknownUsernames, userIds, game.pgnGame().tag("Black"));
+        }
+        if (!unknownUsernames.isEmpty()) {
+            final Map<String, UUID> foundUserIds = gameImportRepository.userIds(unknownUsernames);
+            /** Usernames without an account are cached as well, with null id.*/
+            for (String username : unknownUsernames) userIds.put(username, foundUserIds.get(username));
+        }
+
+        final List<ImportedGame> importedGames = new ArrayList<>(replayedGames.size());
+        final List<ChessBoard> importedBoards = new ArrayList<>(replayedGames.size());
+        for (ReplayedGame game : replayedGames) {
+            if (game.pgn() == null) continue;
+
+            final UUID playerForWhite = userIds.get(game.pgnGame().tag("White"));
+            final UUID playerForBlack = userIds.get(game.pgnGame().tag("Black"));
+            if (playerForWhite == null || playerForBlack == null || playerForWhite.equals(playerForBlack)) continue;
+
+            importedGames.add(new ImportedGame(
+                    UUID.randomUUID(),
+                    UUID.randomUUID(),
+                    playerForWhite,
+                    playerForBlack,
+                    rating(game.pgnGame().tag("WhiteElo")),
+                    rating(game.pgnGame().tag("BlackElo")),
+                    timeControl(game.pgnGame().tag("TimeControl")),
+                    game.gameResult(),
+                    gameStart(game.pgnGame()),
+                    game.pgn(),
+                    game.moves(),
+                    game.positionHashes()
+            ));
+            importedBoards.add(game.chessBoard());
+        }
+
+        gameImportRepository.saveBatch(source, importedGames, pendingBatch.processedGames());
+        /** Only the games of the committed batch are mined, a failed batch is imported again on resume.*/
+        for (ChessBoard chessBoard : importedBoards) puzzleMiningService.mine(chessBoard);
+        return importedGames.size();
+    }
+
+    private static void addIfUnknown(final Set<String> unknownUsernames, final Map<String, UUID> userIds, final @Nullable String username) {
+        if (username != null && !userIds.containsKey(username)) unknownUsernames.add(username);
+    }
+
+    /**
+     * Replays the game to validate its moves and to get its PGN in the notation of the application.
+     * Games from a custom position ("FEN" tag) are rejected, since the history is always replayed from the standard one.
+     */
+    private ReplayedGame replay(final PgnGame pgnGame) {
+        final GameResult gameResult = switch (pgnGame.result()) {
+            case "1-0" -> GameResult.WHITE_WIN;
+            case "0-1" -> GameResult.BLACK_WIN;
+            case "1/2-1/2" -> GameResult.DRAW;
+            default -> null;
+        };
+        if (gameResult == null || pgnGame.tag("FEN") != null) return new ReplayedGame(pgnGame, null, null, null, null, null);
+
+        try {
+            final ChessBoard chessBoard = ChessBoard.fromSanPGN(pgnGame);
+            return new ReplayedGame(pgnGame, chessBoard.pgn(), chessBoard.encodedMoves(),
+                    chessBoard.positionHashes(), gameResult, chessBoard);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            Log.debugf("Rejected game %s: %s", pgnGame.tags(), e.getMessage());
+            return new ReplayedGame(pgnGame, null, null, null, null, null);
+        }
+    }
+
+    static short rating(final @Nullable String elo) {
+        if (elo == null) return DEFAULT_RATING;
+        try {
+            final int rating = Integer.parseInt(elo);
+            return rating > 0 && rating <= Short.MAX_VALUE ? (short) rating : DEFAULT_RATING;
+        } catch (NumberFormatException e) {
+            return DEFAULT_RATING;
+        }
+    }
+
+    /**
+     * Maps the base time of the "TimeControl" tag ("600+8", in seconds) to the closest time control of the application.
+     */
+    static ChessGame.Time timeControl(final @Nullable String timeControl) {
+        if (timeControl == null) return ChessGame.Time.DEFAULT;
+
+        final int increment = timeControl.indexOf('+');
+        final int minutes;
+        try {
+            minutes = Integer.parseInt(increment == -1 ? timeControl : timeControl.substring(0, increment)) / 60;
+        } catch (NumberFormatException e) {
+            return ChessGame.Time.DEFAULT;
+        }
+
+        if (minutes < ChessGame.Time.BLITZ.getMinutes()) return ChessGame.Time.BULLET;
+        if (minutes < ChessGame.Time.RAPID.getMinutes()) return ChessGame.Time.BLITZ;
+        if (minutes < ChessGame.Time.CLASSIC.getMinutes()) return ChessGame.Time.RAPID;
+        if (minutes < ChessGame.Time.DEFAULT.getMinutes()) return ChessGame.Time.CLASSIC;
+        return ChessGame.Time.DEFAULT;
+    }
+
+    static LocalDateTime gameStart(final PgnGame pgnGame) {
+        final String date = pgnGame.tag("UTCDate") != null ? pgnGame.tag("UTCDate") : pgnGame.tag("Date");
+        final String time = pgnGame.tag("UTCTime") != null ? pgnGame.tag("UTCTime") : pgnGame.tag("Time");
+        if (date == null) return LocalDateTime.now();
+
+        final LocalDate localDate;
+        try {
+            localDate = LocalDate.parse(date, PGN_DATE);
+        } catch (DateTimeParseException e) {
+            return LocalDateTime.now();
+        }
+
+        if (time == null) return localDate.atStartOfDay();
+        try {
+            return localDate.atTime(LocalTime.parse(time));
+        } catch (DateTimeParseException e) {
+            return localDate.atStartOfDay();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package core.project.chess.application.service;
+
+import core.project.chess.domain.chess.entities.ChessBoard;
+import core.project.chess.domain.chess.entities.Puzzle;
+import core.project.chess.domain.chess.repositories.InboundChessRepository;
+import core.project.chess.domain.chess.util.Engine;
+import core.project.chess.domain.chess.util.PuzzleMiner;
+import core.project.chess.domain.chess.util.SearchTranspositionTable;
+import core.project.chess.domain.chess.value_objects.GameAnalysis;
+import core.project.chess.domain.commons.annotations.Nullable;
+import io.quarkus.logging.Log;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Mines tactical puzzles from finished and imported games in the background, see PuzzleMiner.
+ * <p>
+ * Games are mined on a dedicated pool of the configured count of threads ("puzzles.mining-threads"), running below
+ * the normal priority. At most MAX_PENDING_GAMES games wait in the queue of the pool, further games are skipped,
+ * so a bulk import never waits for the mining. Every thread owns a PuzzleMiner with its engine.
+ * <p>
+ * Found puzzles are saved in batches: a batch is written when it reaches SAVE_BATCH_SIZE puzzles or when no games
+ * wait for the mining, so puzzles of live games are saved soon while an import is saved in full batches.
+ * Mined and skipped games, found puzzles and the time of mining are logged with every saved batch.
+ */
+@ApplicationScoped
+public class PuzzleMiningService {
+
+    static final int MAX_PENDING_GAMES = 256;
+
+    static final int SAVE_BATCH_SIZE = 64;
+
+    static final int TRANSPOSITION_TABLE_MEGABYTES = 16;
+
+    private final InboundChessRepository inboundChessRepository;
+
+    private final ThreadPoolExecutor miningPool;
+
+    private final ThreadLocal<PuzzleMiner> puzzleMiners;
+
+    private final List<Puzzle> pendingPuzzles = new ArrayList<>(SAVE_BATCH_SIZE);
+
+    private final LongAdder minedGames = new LongAdder();
+
+    private final LongAdder skippedGames = new LongAdder();
+
+    private final LongAdder foundPuzzles = new LongAdder();
+
+    private final LongAdder miningNanos = new LongAdder();
+
+    PuzzleMiningService(InboundChessRepository inboundChessRepository,
+                        @ConfigProperty(name = "puzzles.mining-threads", defaultValue = "1") int miningThreads,
+                        @ConfigProperty(name = "puzzles.scan-depth", defaultValue = "4") int scanDepth,
+                        @ConfigProperty(name = "puzzles.solution-depth", defaultValue = "6") int solutionDepth) {
+        if (miningThreads < 1) throw new IllegalArgumentException("Count of mining threads must be at least 1.");
+        if (scanDepth < 1 || solutionDepth < 1) throw new IllegalArgumentException("Depth of mining must be at least 1.");
+
+        this.inboundChessRepository = inboundChessRepository;
+        this.puzzleMiners = ThreadLocal.withInitial(() ->
+                new PuzzleMiner(new Engine(new SearchTranspositionTable(TRANSPOSITION_TABLE_MEGABYTES)), scanDepth, solutionDepth));
+
+        final AtomicInteger threads = new AtomicInteger();
+        this.miningPool = new ThreadPoolExecutor(miningThreads, miningThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(MAX_PENDING_GAMES), runnable -> {
+            final Thread thread = new Thread(runnable, "puzzle-miner-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        miningPool.shutdownNow();
+        savePendingPuzzles();
+    }
+
+    /**
+     * Schedules the mining of the game on the board, the board must not be used by the caller afterwards.
+     */
+    public void mine(final ChessBoard chessBoard) {
+        mine(chessBoard, null);
+    }
+
+    /**
+     * Schedules the mining of the game on the board, the board must not be used by the caller afterwards.
+     * Evaluations of the analysis of the game, if any, are reused instead of a shallow search of every position.
+     */
+    public void mine(final ChessBoard chessBoard, final @Nullable GameAnalysis gameAnalysis) {
+        try {
+            miningPool.execute(() -> mineGame(chessBoard, gameAnalysis));
+        } catch (RejectedExecutionException e) {
+            skippedGames.increment();
+        }
+    }
+
+    private void mineGame(final ChessBoard chessBoard, final @Nullable GameAnalysis gameAnalysis) {
+        final long start = System.nanoTime();
+        final List<Puzzle> puzzles;
+        try {
+            puzzles = puzzleMiners.get().mine(chessBoard, gameAnalysis);
+        } catch (RuntimeException e) {
+            Log.errorf(e, "Mining of puzzles from a game of %d plies failed.", chessBoard.countOfHalfMoves());
+            return;
+        } finally {
+            miningNanos.add(System.nanoTime() - start);
+            minedGames.increment();
+        }
+
+        foundPuzzles.add(puzzles.size());
+        final boolean isBatchReady;
+        synchronized (pendingPuzzles) {
+            pendingPuzzles.addAll(puzzles);
+            isBatchReady = pendingPuzzles.size() >= SAVE_BATCH_SIZE || !pendingPuzzles.isEmpty() && miningPool.getQueue().isEmpty();
+        }
+        if (isBatchReady) savePendingPuzzles();
+    }
+
+    private void savePendingPuzzles() {
+        final List<Puzzle> batch;
+        synchronized (pendingPuzzles) {
+            if (pendingPuzzles.isEmpty()) return;
+            batch = new ArrayList<>(pendingPuzzles);
+            pendingPuzzles.clear();
+        }
+        inboundChessRepository.savePuzzles(batch);
+
+        final long games = minedGames.sum();
+        Log.infof("Saved %d puzzles. Mined games: %d, skipped: %d, found puzzles: %d, average mining time: %d ms, queue depth: %d.",
+                batch.size(), games, skippedGames.sum(), foundPuzzles.sum(),
+                games == 0 ? 0 : miningNanos.sum() / games / 1_000_000, miningPool.getQueue().size());
+    }
+}
@@ -1,13 +1,22 @@
 package core.project.chess.domain.chess.entities;
 
 import core.project.chess.domain.chess.enumerations.Coordinate;
+import core.project.chess.domain.chess.enumerations.EndgameResult;
 import core.project.chess.domain.chess.enumerations.GameResultMessage;
+import core.project.chess.domain.chess.enumerations.MoveStatus;
 import core.project.chess.domain.chess.pieces.*;
 import core.project.chess.domain.chess.util.ChessNotationsValidator;
+import core.project.chess.domain.chess.util.EndgameBitbases;
+import core.project.chess.domain.chess.util.FenParser;
+import core.project.chess.domain.chess.util.FenWriter;
+import core.project.chess.domain.chess.util.MoveBuffer;
+import core.project.chess.domain.chess.util.MoveCodec;
+import core.project.chess.domain.chess.util.PgnBuilder;
+import core.project.chess.domain.chess.util.PgnReader;
+import core.project.chess.domain.chess.util.SanResolver;
 import core.project.chess.domain.chess.util.ZobristHashKeys;
 import core.project.chess.domain.chess.value_objects.*;
 import core.project.chess.domain.commons.annotations.Nullable;
-import core.project.chess.domain.commons.containers.StatusPair;
 import core.project.chess.domain.commons.enumerations.Color;
 import core.project.chess.domain.commons.tuples.Pair;
 
@@ -70,8 +79,8 @@ public class ChessBoard {
 
     private Color figuresTurn;
 
-    private byte countOfHalfMoves;
-    private byte countOfFullMoves;
+    private int countOfHalfMoves;
+    private int countOfFullMoves;
 
     /**
      * Flag indicating whether the game is in "pure chess" mode, disabling certain chess rules:
@@ -84,11 +93,6 @@ public class ChessBoard {
     private byte materialAdvantageOfWhite;
     private byte materialAdvantageOfBlack;
 
-    private boolean validWhiteShortCasting;
-    private boolean validWhiteLongCasting;
-    private boolean validBlackShortCasting;
-    private boolean validBlackLongCasting;
-
     private Coordinate whiteKingPosition;
     private Coordinate blackKingPosition;
 
@@ -103,6 +107,22 @@ public class ChessBoard {
     private long blackPieces;
     private final Piece[] occupation;
 
+    /**
+     * Checkers, pins and attacked squares for the king of 'legalMoveMasksColor' in the current placement of pieces.
+     * Computed lazily and reset on every addition or removal of a piece.
+     */
+    private final LegalMoveMasks legalMoveMasks = new LegalMoveMasks();
+    private @Nullable Color legalMoveMasksColor;
+
+    /**
+     * Destinations of the legal moves of the side to move by the square of origin, see legalMoveMap(),
+     * and the generated moves themselves. Computed lazily and cached for the position of 'legalMoveMapKey'.
+     */
+    private final long[] legalMoveMap = new long[64];
+    private @Nullable MoveBuffer legalMoves;
+    private long legalMoveMapKey;
+    private boolean isLegalMoveMapComputed;
+
     private static final Piece[] defaultOccupation = new Piece[64];
     static {
         defaultOccupation[Coordinate.a1.index()] = Rook.of(WHITE);
@@ -133,48 +153,59 @@ public class ChessBoard {
         }
     }
 
-    /**
-     * Hash codes representing unique board positions for repetition detection.
-     * Using Zobrist Hashing.
-     * Necessary for counting identical positions on the board. Especially for ThreeFold rule.
-     * Unnecessary in 'pureChess' mode, where ThreeFold rule is disabled.
-     */
-    @Nullable
-    private final Map<Long, Integer> zobristHash;
-
-    /**
-     * Zobrist hash history
-     */
-    private final Deque<Long> zobristHashKeys = new ArrayDeque<>();
-
     /**
      * Stack of moves recorded in algebraic notation for game replay and analysis.
      */
     private final Deque<AlgebraicNotation> algebraicNotations = new ArrayDeque<>();
 
     /**
-     * King status
-     */
-    private final Deque<KingStatus> kingStatuses = new ArrayDeque<>();
-
-    /**
-     * History of castling abilities for every position
+     * PGN of the recorded moves, extended on every move and truncated on undo in step with algebraicNotations.
      */
-    private final Deque<CastlingAbility> castlingAbilities = new ArrayDeque<>();
+    private final PgnBuilder pgn = new PgnBuilder();
 
     /**
-     * EnPassant History
+     * Undo log. Every position since the initialization takes two consecutive longs:
+     * the Zobrist key and the packed irreversible state of the position:
+     * <pre>
+     *  bits 0..3   - castling rights (see castlingRights())
+     *  bits 4..10  - en passant square index + 1 (0 if there is none)
+     *  bits 11..26 - half moves clock (for rule of 50 moves)
+     *  bits 27..30 - index + 1 of the piece captured by the move which led to the position (0 if there was no capture)
+     *  bits 31..36 - square of the captured piece
+     *  bits 37..39 - status of the king to move (ordinal of Operations, or 7 if it was not evaluated yet)
+     *  bits 40..59 - the move which led to the position, packed as in MoveBuffer
+     *  bit  60     - set if the move was recorded in algebraic notation (made by doMove, not by makeMove)
+     * </pre>
+     * Making or reverting a move is an append or a decrement of 'historySize', without boxing or allocations
+     * until the array has to grow.
      */
-    private final Deque<Coordinate> enPassantStack = new LinkedList<>();
-
-    /**
-     * Half moves clock (for rule of 50 moves)
-     */
-    private final Deque<Integer> ruleOf50Moves = new ArrayDeque<>();
-
-    /** History of captured pieces for every color*/
-    private final Deque<Piece> capturedWhitePieces = new ArrayDeque<>();
-    private final Deque<Piece> capturedBlackPieces = new ArrayDeque<>();
+    private long[] history = new long[INITIAL_HISTORY_CAPACITY << 1];
+    private int historySize;
+
+    /** FEN of the current position, reset whenever a move is made or reverted.*/
+    private @Nullable String fen;
+
+    private static final int INITIAL_HISTORY_CAPACITY = 64;
+    private static final int CASTLING_RIGHTS_MASK = 0xF;
+    private static final int EN_PASSANT_SHIFT = 4;
+    private static final int HALF_MOVES_CLOCK_SHIFT = 11;
+    private static final int CAPTURED_PIECE_SHIFT = 27;
+    private static final int CAPTURED_SQUARE_SHIFT = 31;
+    private static final int KING_STATUS_SHIFT = 37;
+    private static final int MOVE_SHIFT = 40;
+    private static final int NOTATION_SHIFT = 60;
+    private static final int UNKNOWN_KING_STATUS = 0x7;
+
+    private static final int WHITE_SHORT_CASTLING = 1;
+    private static final int WHITE_LONG_CASTLING = 1 << 1;
+    private static final int BLACK_SHORT_CASTLING = 1 << 2;
+    private static final int BLACK_LONG_CASTLING = 1 << 3;
+
+    private static final Operations[] OPERATIONS = Operations.values();
+    private static final Piece[] PIECES = {
+            Pawn.of(WHITE), Knight.of(WHITE), Bishop.of(WHITE), Rook.of(WHITE), Queen.of(WHITE), King.of(WHITE),
+            Pawn.of(BLACK), Knight.of(BLACK), Bishop.of(BLACK), Rook.of(BLACK), Queen.of(BLACK), King.of(BLACK)
+    };
 
     /**
      * Constructs a new `ChessBoard` instance with the given parameters.
@@ -191,7 +222,6 @@ public class ChessBoard {
 
         this.chessBoardId = chessBoardId;
         this.isPureChess = isPureChess;
-        this.ruleOf50Moves.add(0);
         this.countOfHalfMoves = 0;
         this.countOfFullMoves = 1;
 
@@ -204,24 +234,13 @@ public class ChessBoard {
             this.materialAdvantageOfWhite = 39;
             this.materialAdvantageOfBlack = 39;
 
-            this.validWhiteShortCasting = true;
-            this.validWhiteLongCasting = true;
-            this.validBlackShortCasting = true;
-            this.validBlackLongCasting = true;
-            addCastlingAbility();
-
             this.bitboard = new long[12];
             this.occupation = defaultOccupation.clone();
             initialize();
+            pushHistory(0L, WHITE_SHORT_CASTLING | WHITE_LONG_CASTLING | BLACK_SHORT_CASTLING | BLACK_LONG_CASTLING);
+
             this.zobrist = new ZobristHashKeys();
-            long key = zobrist.computeZobristHash(this);
-            this.zobristHashKeys.add(key);
-            if (!isPureChess) {
-                this.zobristHash = new HashMap<>();
-                this.zobristHash.put(key, 1);
-            } else {
-                this.zobristHash = null;
-            }
+            this.history[0] = zobrist.computeZobristHash(this);
 
             if (nonNull(algebraicNotations)) {
                 validateNotations(algebraicNotations);
@@ -233,52 +252,57 @@ public class ChessBoard {
             return;
         }
 
-        String FEN = maybeFEN.fen();
-
         this.initType = InitType.FEN;
-        this.enPassantStack.addLast(getEnPassant(maybeFEN));
 
         this.figuresTurn = maybeFEN.figuresTurn();
+        this.countOfFullMoves = maybeFEN.countOfFullMoves();
         this.whiteKingPosition = maybeFEN.whiteKing();
         this.blackKingPosition = maybeFEN.blackKing();
 
         this.materialAdvantageOfWhite = maybeFEN.materialAdvantageOfWhite();
         this.materialAdvantageOfBlack = maybeFEN.materialAdvantageOfBlack();
 
-        this.validWhiteShortCasting = maybeFEN.validWhiteShortCasting();
-        this.validWhiteLongCasting = maybeFEN.validWhiteLongCasting();
-        this.validBlackShortCasting = maybeFEN.validBlackShortCasting();
-        this.validBlackLongCasting = maybeFEN.validBlackLongCasting();
-        
-        addCastlingAbility();
+        pushHistory(0L, packState(maybeFEN.castlingRights(), maybeFEN.enPassant(), maybeFEN.halfMovesClock()));
 
-        this.bitboard = new long[12];
+        this.bitboard = maybeFEN.bitboard().clone();
         this.occupation = new Piece[64];
-        initializeFromFEN(FEN);
+        initializeFromFEN();
         validateStalemateAndCheckmate(maybeFEN);
 
         this.zobrist = new ZobristHashKeys();
-        long key = zobrist.computeZobristHash(this);
-        this.zobristHashKeys.add(key);
-        if (!isPureChess) {
-            this.zobristHash = new HashMap<>();
-            this.zobristHash.put(key, 1);
-        }
-        else this.zobristHash = null;
+        this.history[0] = zobrist.computeZobristHash(this);
     }
 
     /**
-    * helper method which is called when constructing Board from FEN
-    */
-    private Coordinate getEnPassant(FromFEN maybeFEN) {
-        Optional<Pair<Coordinate, Coordinate>> lastMovement = maybeFEN.isLastMovementWasPassage();
-        if (lastMovement.isEmpty()) {
-            return null;
+     * Copy constructor, see copy().
+     */
+    private ChessBoard(final ChessBoard chessBoard) {
+        this.chessBoardId = chessBoard.chessBoardId;
+        this.initType = chessBoard.initType;
+        this.isPureChess = chessBoard.isPureChess;
+        this.figuresTurn = chessBoard.figuresTurn;
+        this.countOfHalfMoves = chessBoard.countOfHalfMoves;
+        this.countOfFullMoves = chessBoard.countOfFullMoves;
+
+        this.materialAdvantageOfWhite = chessBoard.materialAdvantageOfWhite;
+        this.materialAdvantageOfBlack = chessBoard.materialAdvantageOfBlack;
+        this.whiteKingPosition = chessBoard.whiteKingPosition;
+        this.blackKingPosition = chessBoard.blackKingPosition;
+
+        this.zobrist = chessBoard.zobrist;
+        this.bitboard = chessBoard.bitboard.clone();
+        this.whitePieces = chessBoard.whitePieces;
+        this.blackPieces = chessBoard.blackPieces;
+        this.occupation = chessBoard.occupation.clone();
+
+        this.history = chessBoard.history.clone();
+        this.historySize = chessBoard.historySize;
+        this.fen = chessBoard.fen;
+
+        for (AlgebraicNotation algebraicNotation : chessBoard.algebraicNotations) {
+            this.algebraicNotations.add(algebraicNotation);
+            this.pgn.append(algebraicNotation.algebraicNotation());
         }
-
-        Coordinate endCoordinate = lastMovement.get().getSecond();
-        int enPassauntRow = endCoordinate.row() == 4 ? 3 : 6;
-        return Coordinate.of(enPassauntRow, endCoordinate.column());
     }
 
     /**
@@ -314,12 +338,7 @@ public class ChessBoard {
      * @throws IllegalArgumentException If the provided FEN notation are invalid.
      */
     public static ChessBoard fromPosition(final String fen) {
-        StatusPair<FromFEN> isValidFEN = ChessNotationsValidator.validateFEN(fen);
-        if (!isValidFEN.status()) {
-            throw new IllegalArgumentException("Invalid FEN: " + fen);
-        }
-
-        return new ChessBoard(UUID.randomUUID(), isValidFEN.orElseThrow(), false, null);
+        return new ChessBoard(UUID.randomUUID(), FenParser.parse(fen).orElseThrow(), false, null);
     }
 
     /**
@@ -334,12 +353,7 @@ public class ChessBoard {
      * @throws IllegalArgumentException If the provided FEN notation are invalid.
      */
     public static ChessBoard pureChessFromPosition(final String fen) {
-        StatusPair<FromFEN> isValidFEN = ChessNotationsValidator.validateFEN(fen);
-        if (!isValidFEN.status()) {
-            throw new IllegalArgumentException("Invalid FEN: " + fen);
-        }
-
-        return new ChessBoard(UUID.randomUUID(), isValidFEN.orElseThrow(), true, null);
+        return new ChessBoard(UUID.randomUUID(), FenParser.parse(fen).orElseThrow(), true, null);
     }
 
     /**
@@ -384,6 +398,133 @@ public class ChessBoard {
         return new ChessBoard(UUID.randomUUID(), null, true, listOfAlgebraicNotations);
     }
 
+    /**
+     * Factory method.
+     * Creates a new `ChessBoard` instance by replaying a stored game in the notation of the application.
+     * Unlike fromPGN the game may end with checkmate or stalemate, so it is intended for finished games of the history.
+     *
+     * @param pgn The PGN notation of the game.
+     * @return A new `ChessBoard` instance in the final position of the game.
+     * @throws IllegalArgumentException If the PGN is empty or any of the moves can`t be made.
+     */
+    public static ChessBoard fromFinishedPGN(final String pgn) {
+        List<AlgebraicNotation> listOfAlgebraicNotations = ChessNotationsValidator.listOfAlgebraicNotations(pgn);
+        if (listOfAlgebraicNotations.isEmpty()) {
+            throw new IllegalArgumentException("PGN is empty");
+        }
+
+        final ChessBoard chessBoard = starndardChessBoard();
+        for (final AlgebraicNotation algebraicNotation : listOfAlgebraicNotations) {
+            final Pair<Coordinate, Coordinate> coordinates = chessBoard.extractCoordinates(algebraicNotation);
+            try {
+                chessBoard.doMove(coordinates.getFirst(), coordinates.getSecond(), chessBoard.getInCaseOfPromotion(algebraicNotation));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(String.format("Invalid PGN: %s", e.getMessage()));
+            }
+        }
+
+        return chessBoard;
+    }
+
+    /**
+     * Factory method.
+     * Creates a new `ChessBoard` instance by replaying the first game of a PGN written in SAN
+     * (Standard Algebraic Notation), as exported by other sites: "1. e4 e5 2. Nf3 Nc6 3. Bb5 a6".
+     * The game starts from the position of its "FEN" tag if there is one, otherwise from the standard position.
+     * Unlike fromPGN the game may end with checkmate or stalemate.
+     *
+     * @param pgn The PGN of the game in SAN.
+     * @return A new `ChessBoard` instance in the final position of the game.
+     * @throws IllegalArgumentException If the PGN is empty or any of the moves can`t be made.
+     */
+    public static ChessBoard fromSanPGN(final String pgn) {
+        if (Objects.isNull(pgn) || pgn.isBlank()) {
+            throw new IllegalArgumentException("PGN is empty");
+        }
+
+        try (PgnReader pgnReader = PgnReader.of(pgn)) {
+            if (!pgnReader.hasNext()) throw new IllegalArgumentException("PGN is empty");
+            return fromSanPGN(pgnReader.next());
+        }
+    }
+
+    /**
+     * Same as fromSanPGN(String) for a game which is already read, for example by PgnReader from a file of many games.
+     */
+    public static ChessBoard fromSanPGN(final PgnGame pgnGame) {
+        if (pgnGame.moves().isEmpty()) {
+            throw new IllegalArgumentException("PGN is empty");
+        }
+
+        final String fen = pgnGame.tag("FEN");
+        final ChessBoard chessBoard = fen == null ? starndardChessBoard() : fromPosition(fen);
+
+        for (int i = 0; i < pgnGame.moves().size(); i++) {
+            final String san = pgnGame.moves().get(i);
+            try {
+                final Move move = SanResolver.resolve(chessBoard, san);
+                chessBoard.doMove(move.from(), move.to(), move.promotion());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid PGN at half move %d '%s': %s".formatted(i + 1, san, e.getMessage()));
+            }
+        }
+
+        return chessBoard;
+    }
+
+    /**
+     * Factory method.
+     * Creates a new `ChessBoard` instance by replaying moves encoded by MoveCodec from the standard position,
+     * see encodedMoves(). The moves were validated when they were played, so they are applied by makeMove without
+     * validation and recorded in algebraic notation. A game can end only with its last move, so checkmate and stalemate
+     * are looked for only after it, earlier moves are checked only for check.
+     *
+     * @param encodedMoves The moves of the game, two bytes per move.
+     * @return A new `ChessBoard` instance in the final position of the game.
+     * @throws IllegalArgumentException If the encoded moves are damaged.
+     */
+    public static ChessBoard fromEncodedMoves(final byte[] encodedMoves) {
+        final ChessBoard chessBoard = starndardChessBoard();
+        final int size = MoveCodec.size(encodedMoves);
+
+        for (int i = 0; i < size; i++) {
+            final int move = MoveCodec.decode(encodedMoves, i, chessBoard.figuresTurn);
+            final Piece piece = chessBoard.piece(Coordinate.byIndex(MoveBuffer.from(move)));
+            if (piece == null || piece.color() != chessBoard.figuresTurn) {
+                throw new IllegalArgumentException("Invalid encoded moves: no piece to move at ply %d.".formatted(i + 1));
+            }
+            chessBoard.recordMove(move, i == size - 1);
+        }
+
+        return chessBoard;
+    }
+
+    /**
+     * Creates an independent copy of the board: bitboards, placement of pieces, undo log and recorded notations,
+     * so moves can be made and reverted on the copy in another thread without touching this board.
+     * The copy shares the ID of this board.
+     *
+     * @return a copy of the board in the same position with the same history.
+     */
+    public ChessBoard copy() {
+        return new ChessBoard(this);
+    }
+
+    /**
+     * Unwinds a copy of the board, this board is not changed.
+     *
+     * @return independent boards of every position of the game, from the initial one to the current one,
+     *         each with the history up to it, so repetitions are recognized by a search in them.
+     */
+    public List<ChessBoard> positions() {
+        final ChessBoard chessBoard = copy();
+        final List<ChessBoard> positions = new ArrayList<>(chessBoard.countOfHalfMoves() + 1);
+        do {
+            positions.add(chessBoard.copy());
+        } while (chessBoard.undoMove());
+        return positions.reversed();
+    }
+
     public UUID ID() {
         return chessBoardId;
     }
@@ -396,8 +537,10 @@ public class ChessBoard {
         return isPureChess;
     }
 
+    @Nullable
     public Coordinate enPassant() {
-        return enPassantStack.peekLast();
+        int enPassant = (int) (state() >>> EN_PASSANT_SHIFT) & 0x7F;
+        return enPassant == 0 ? null : Coordinate.byIndex(enPassant - 1);
     }
 
     public Color turn() {
@@ -421,20 +564,15 @@ public class ChessBoard {
     }
 
     public int ruleOf50MovesCount() {
-        return this.ruleOf50Moves.peekLast();
+        return (int) (state() >>> HALF_MOVES_CLOCK_SHIFT) & 0xFFFF;
     }
 
     public int castlingRights() {
-        int rights = 0;
-        if (validWhiteShortCasting) rights |= 1;
-        if (validWhiteLongCasting) rights |= (1 << 1);
-        if (validBlackShortCasting) rights |= (1 << 2);
-        if (validBlackLongCasting) rights |= (1 << 3);
-        return rights;
+        return (int) state() & CASTLING_RIGHTS_MASK;
     }
 
     public int enPassantFile() {
-        Coordinate coordinate = enPassantStack.peekLast();
+        Coordinate coordinate = enPassant();
         if (coordinate != null) {
             return coordinate.column() - 1;
         }
@@ -450,7 +588,7 @@ public class ChessBoard {
      *         white player.
      */
     public List<Piece> whiteCaptures() {
-        return capturedBlackPieces.stream().toList();
+        return captures(BLACK);
     }
 
     /**
@@ -462,7 +600,16 @@ public class ChessBoard {
      *         black player.
      */
     public List<Piece> blackCaptures() {
-        return capturedWhitePieces.stream().toList();
+        return captures(WHITE);
+    }
+
+    private List<Piece> captures(final Color color) {
+        final List<Piece> captures = new ArrayList<>();
+        for (int i = 1; i < historySize; i++) {
+            int capturedPiece = (int) (history[(i << 1) + 1] >>> CAPTURED_PIECE_SHIFT) & 0xF;
+            if (capturedPiece != 0 && PIECES[capturedPiece - 1].color() == color) captures.add(PIECES[capturedPiece - 1]);
+        }
+        return captures;
     }
 
     /**
@@ -529,12 +676,104 @@ public class ChessBoard {
     }
 
     public long zobristHash() {
-        return zobristHashKeys.peekLast();
+        return history[(historySize - 1) << 1];
     }
 
+    /**
+     * @return Zobrist keys of all positions since the initialization, from the initial one to the current one,
+     *         so the key at index i is the position before the move i (from zero) of encodedMoves().
+     */
+    public long[] positionHashes() {
+        final long[] positionHashes = new long[historySize];
+        for (int i = 0; i < historySize; i++) positionHashes[i] = history[i << 1];
+        return positionHashes;
+    }
+
+    /**
+     * Returns the status of the king to move after the last made move, or null if no move was made yet.
+     */
     @Nullable
     public KingStatus kingStatus() {
-        return kingStatuses.peekLast();
+        if (historySize == 1) return null;
+
+        Operations status = kingStatusOperation();
+        if (status != CHECK && status != CHECKMATE) return new KingStatus(status, Collections.emptyList());
+
+        List<Coordinate> enemies = new ArrayList<>();
+        long checkers = legalMoveMasks(figuresTurn).checkers();
+        while (checkers != 0) {
+            enemies.add(Coordinate.byIndex(Long.numberOfTrailingZeros(checkers)));
+            checkers &= checkers - 1;
+        }
+        return new KingStatus(status, enemies);
+    }
+
+    /**
+     * Status of the king to move. Positions reached by makeMove are evaluated on the first request,
+     * the result is stored in the undo log.
+     */
+    private Operations kingStatusOperation() {
+        final int stateIndex = ((historySize - 1) << 1) + 1;
+        final int kingStatus = (int) (history[stateIndex] >>> KING_STATUS_SHIFT) & 0x7;
+        if (kingStatus != UNKNOWN_KING_STATUS) return OPERATIONS[kingStatus];
+
+        final Operations status = theKing(figuresTurn).kingStatus(this).status();
+        storeKingStatus(status);
+        return status;
+    }
+
+    private void storeKingStatus(final Operations status) {
+        final int stateIndex = ((historySize - 1) << 1) + 1;
+        history[stateIndex] &= ~((long) UNKNOWN_KING_STATUS << KING_STATUS_SHIFT);
+        history[stateIndex] |= (long) status.ordinal() << KING_STATUS_SHIFT;
+    }
+
+    /**
+     * Evaluates the result of the game in the current position: checkmate, stalemate and, unless it is 'pureChess',
+     * insufficient mating material, rule of 50 moves and threefold repetition.
+     * <p>
+     * Unlike doMove, makeMove does not evaluate anything, so this is the way to get the result of a position reached by it.
+     *
+     * @return the game result message for the side to move.
+     */
+    public GameResultMessage gameResult() {
+        if (historySize > 1 || initType == InitType.FEN) {
+            final Operations kingStatus = kingStatusOperation();
+            if (kingStatus == CHECKMATE) return GameResultMessage.Checkmate;
+            if (kingStatus == CONTINUE && theKing(figuresTurn).stalemate(this)) return GameResultMessage.Stalemate;
+        }
+
+        if (isInsufficientMatingMaterial()) return GameResultMessage.InsufficientMatingMaterial;
+        if (!isPureChess && ruleOf50MovesCount() >= 100) return GameResultMessage.RuleOf50Moves;
+        if (isThreeFoldActive()) return GameResultMessage.RuleOf3EqualsPositions;
+        return GameResultMessage.Continue;
+    }
+
+    /** Packed irreversible state of the current position, see 'history'.*/
+    private long state() {
+        return history[((historySize - 1) << 1) + 1];
+    }
+
+    private static long packState(final int castlingRights, final @Nullable Coordinate enPassant, final int halfMovesClock) {
+        long enPassantBits = enPassant == null ? 0 : enPassant.index() + 1;
+        return castlingRights | (enPassantBits << EN_PASSANT_SHIFT) | ((long) halfMovesClock << HALF_MOVES_CLOCK_SHIFT);
+    }
+
+    private static long packMoveRecord(final int move, final @Nullable Pair<Piece, Coordinate> capturedAt, final int kingStatus) {
+        long record = ((long) move << MOVE_SHIFT) | ((long) kingStatus << KING_STATUS_SHIFT);
+        if (capturedAt == null) return record;
+
+        return record | ((long) (capturedAt.getFirst().index() + 1) << CAPTURED_PIECE_SHIFT) |
+                ((long) capturedAt.getSecond().index() << CAPTURED_SQUARE_SHIFT);
+    }
+
+    private void pushHistory(final long zobristKey, final long state) {
+        fen = null;
+        int index = historySize << 1;
+        if (index == history.length) history = Arrays.copyOf(history, index << 1);
+        history[index] = zobristKey;
+        history[index + 1] = state;
+        historySize++;
     }
 
     /**
@@ -550,18 +789,39 @@ public class ChessBoard {
      * @return {@code true} if the position has been repeated three times under valid conditions, {@code false} otherwise.
      */
     public boolean isThreeFoldActive() {
-        return !isPureChess && zobristHash.get(zobristHash()) == 3;
+        return !isPureChess && countOfRepetitions() >= 3;
+    }
+
+    /**
+     * Counts how many times the current position occurred in the game, including the current occurrence.
+     * <p>
+     * A position can only repeat after the last capture or pawn move, and only with the same side to move,
+     * so only every second Zobrist key of the undo log within the half moves clock is compared.
+     * Castling rights and en passant are part of the key, so positions which differ in them are not counted.
+     *
+     * @return count of occurrences of the current position, at least 1.
+     */
+    public int countOfRepetitions() {
+        final long zobristKey = zobristHash();
+        final int current = historySize - 1;
+        final int window = Math.min(ruleOf50MovesCount(), current);
+
+        int repetitions = 1;
+        for (int distance = 2; distance <= window; distance += 2) {
+            if (history[(current - distance) << 1] == zobristKey) repetitions++;
+        }
+        return repetitions;
     }
 
     /**
      * Generates a Portable Game Notation (PGN) string representation of the chess game.
      *
-     * <p>This method constructs a PGN string by iterating through a list of algebraic notations
-     * representing the moves made in the game. Each move is formatted according to PGN standards,
-     * with move numbers and corresponding notations for both players.</p>
+     * <p>The PGN is built incrementally: every recorded move is rendered once when it is made and removed on undo,
+     * so this method only returns the cached string and doesn't iterate over the moves of the game.
+     * Moves made through makeMove(int) are not recorded.</p>
      *
-     * <p>The method assumes that the list of algebraic notations contains pairs of moves,
-     * where each pair consists of a move by White followed by a move by Black.</p>
+     * <p>Each pair consists of a move by White followed by a move by Black,
+     * a missing move of Black is written as "...".</p>
      *
      * @return a string representing the PGN of the chess game, formatted with move numbers
      *         and corresponding algebraic notations for each turn.
@@ -574,31 +834,24 @@ public class ChessBoard {
      * </pre>
      */
     public String pgn() {
-        final StringBuilder stringBuilder = new StringBuilder();
-        final AlgebraicNotation[] arrayOfAlgebraicNotations = algebraicNotations.toArray(new AlgebraicNotation[0]);
-
-        int number = 1;
-        for (int i = 0; i < arrayOfAlgebraicNotations.length; i += 2) {
-            final String notation = arrayOfAlgebraicNotations[i].algebraicNotation();
-
-            final String secondNotation;
-            if (i + 1 <= arrayOfAlgebraicNotations.length - 1) {
-                secondNotation = arrayOfAlgebraicNotations[i + 1].algebraicNotation();
-            } else {
-                secondNotation = "...";
-            }
+        return pgn.toString();
+    }
 
-            stringBuilder.append(number)
-                    .append(". ")
-                    .append(notation)
-                    .append(" ")
-                    .append(secondNotation)
-                    .append(" ");
+    /**
+     * Encodes the moves made since the initialization, two bytes per move, see MoveCodec.
+     * The reverse is fromEncodedMoves(byte[]).
+     *
+     * @return the encoded moves, or null if the board was initialized from FEN,
+     *         since the moves can`t be replayed from the standard position.
+     */
+    public @Nullable byte[] encodedMoves() {
+        if (initType == InitType.FEN) return null;
 
-            number++;
+        final int[] moves = new int[historySize - 1];
+        for (int i = 1; i < historySize; i++) {
+            moves[i - 1] = (int) ((history[(i << 1) + 1] >>> MOVE_SHIFT) & 0xFFFFF);
         }
-
-        return stringBuilder.toString();
+        return MoveCodec.encode(moves);
     }
 
     /**
@@ -626,27 +879,27 @@ public class ChessBoard {
         final King blackKing = theKing(BLACK);
 
         final KingStatus checkOrMateForWhite = whiteKing
-                .kingStatus(this, null, null);
+                .kingStatus(this);
         if (checkOrMateForWhite.status().equals(CHECKMATE) ||
                 !activeColor.equals(WHITE) && checkOrMateForWhite.status().equals(CHECK)) {
             throw new IllegalArgumentException("Invalid FEN. Checkmate position: " + fromFEN.fen());
         }
 
         final KingStatus checkOrMateForBlack = blackKing
-                .kingStatus(this, null, null);
+                .kingStatus(this);
         if (checkOrMateForBlack.status().equals(CHECKMATE) ||
                 !activeColor.equals(BLACK) && checkOrMateForBlack.status().equals(CHECK)) {
             throw new IllegalArgumentException("Invalid FEN. Checkmate position: " + fromFEN.fen());
         }
 
         final boolean stalemateForWhite = activeColor.equals(WHITE) &&
-                whiteKing.stalemate(this, null, null);
+                whiteKing.stalemate(this);
         if (stalemateForWhite) {
             throw new IllegalArgumentException("Invalid FEN. Stalemate position: " + fromFEN.fen());
         }
 
         final boolean stalemateForBlack = activeColor.equals(BLACK) &&
-                blackKing.stalemate(this, null, null);
+                blackKing.stalemate(this);
         if (stalemateForBlack) {
             throw new IllegalArgumentException("Invalid FEN. Stalemate position: " + fromFEN.fen());
         }
@@ -772,6 +1025,18 @@ public class ChessBoard {
         }
     }
 
+    /** Exact inverse of changeInMaterialAdvantageInCaseOfPromotion.*/
+    private void revertMaterialAdvantageInCaseOfPromotion(final Piece promotionFigure) {
+        final byte price = materialAdvantageOfFigure(promotionFigure);
+        if (promotionFigure.color() == WHITE) {
+            materialAdvantageOfWhite += 1;
+            materialAdvantageOfBlack -= price;
+        } else {
+            materialAdvantageOfBlack += 1;
+            materialAdvantageOfWhite -= price;
+        }
+    }
+
     public byte materialAdvantageOfFigure(final Piece piece) {
         return switch (piece) {
             case Queen q -> 9;
@@ -784,122 +1049,81 @@ public class ChessBoard {
     }
 
     /**
-     * Updates the castling ability based on the movement of a Rook or King piece.
-     * <p>
-     * This method modifies the following class-level variables:
-     * - `validWhiteShortCasting`
-     * - `validWhiteLongCasting`
-     * - `validBlackShortCasting`
-     * - `validBlackLongCasting`
+     * Computes the castling rights after the movement of a piece, based on the rights of the current position.
+     * Any move of the King, or a move from or to the initial square of a Rook, disables the corresponding castling.
      *
      * @param from The coordinate from which the piece was moved.
+     * @param to The coordinate to which the piece was moved.
      * @param piece The piece that was moved.
-     * @throws IllegalStateException if the provided piece is not a Rook or King.
+     * @return castling rights of the next position (see castlingRights()).
      */
-    private boolean changeOfCastlingAbility(final Coordinate from, final Coordinate to, final Piece piece) {
+    private int changeOfCastlingAbility(final Coordinate from, final Coordinate to, final Piece piece) {
+        int castlingRights = castlingRights();
+
         if (piece instanceof King) {
-            if (piece.color() == WHITE) {
-                validWhiteShortCasting = false;
-                validWhiteLongCasting = false;
-            } else {
-                validBlackShortCasting = false;
-                validBlackLongCasting = false;
-            }
+            if (piece.color() == WHITE) castlingRights &= ~(WHITE_SHORT_CASTLING | WHITE_LONG_CASTLING);
+            else castlingRights &= ~(BLACK_SHORT_CASTLING | BLACK_LONG_CASTLING);
         }
 
         if (piece instanceof Rook) {
             if (piece.color() == WHITE) {
-                if (from == Coordinate.a1) validWhiteLongCasting = false;
-                if (from == Coordinate.h1) validWhiteShortCasting = false;
+                if (from == Coordinate.a1) castlingRights &= ~WHITE_LONG_CASTLING;
+                if (from == Coordinate.h1) castlingRights &= ~WHITE_SHORT_CASTLING;
             } else {
-                if (from == Coordinate.a8) validBlackLongCasting = false;
-                if (from == Coordinate.h8) validBlackShortCasting = false;
+                if (from == Coordinate.a8) castlingRights &= ~BLACK_LONG_CASTLING;
+                if (from == Coordinate.h8) castlingRights &= ~BLACK_SHORT_CASTLING;
             }
         }
 
         switch (to) {
-            case a1 -> validWhiteLongCasting = false;
-            case h1 -> validWhiteShortCasting = false;
-            case a8 -> validBlackLongCasting = false;
-            case h8 -> validBlackShortCasting = false;
+            case a1 -> castlingRights &= ~WHITE_LONG_CASTLING;
+            case h1 -> castlingRights &= ~WHITE_SHORT_CASTLING;
+            case a8 -> castlingRights &= ~BLACK_LONG_CASTLING;
+            case h8 -> castlingRights &= ~BLACK_SHORT_CASTLING;
         }
 
-        CastlingAbility previous = castlingAbilities.peekLast();
-        addCastlingAbility();
-        return previous != castlingAbilities.peekLast();
-    }
-
-    /**
-     * This method is responsible for adding a new castling ability to the stack.
-     */
-    private void addCastlingAbility() {
-        castlingAbilities.addLast(new CastlingAbility(
-                validWhiteShortCasting,
-                validWhiteLongCasting,
-                validBlackShortCasting,
-                validBlackLongCasting
-        ));
+        return castlingRights;
     }
 
     /**
-     * This method is responsible for updating the castling ability of a piece during a revert move.
-     *
-     * @param piece  The piece being moved.
-     * @throws IllegalStateException if the provided piece is not a King or Rook.
-     */
-    private void changeOfCastlingAbilityInRevertMove(final Piece piece) {
-        castlingAbilities.pollLast();
-        CastlingAbility castlingAbility = castlingAbilities.peekLast();
-        this.validWhiteShortCasting = castlingAbility.whiteShortCastling();
-        this.validWhiteLongCasting = castlingAbility.whiteLongCastling();
-        this.validBlackShortCasting = castlingAbility.blackShortCastling();
-        this.validBlackLongCasting = castlingAbility.blackLongCastling();
-    }
-
-    /**
-    * update enPassaunt stack
+    * en passant square of the next position
     */
-    private void changeOfEnPassaunt(final Coordinate from, final Coordinate to, final Piece piece) {
+    @Nullable
+    private Coordinate changeOfEnPassaunt(final Coordinate from, final Coordinate to, final Piece piece) {
         if (piece instanceof Pawn && from.column() == to.column() && Math.abs(from.row() - to.row()) == 2) {
             int enPassauntRow = to.row() == 4 ? 3 : 6;
-            this.enPassantStack.addLast(Coordinate.of(enPassauntRow, to.column()));
-        } else {
-            this.enPassantStack.addLast(null);
+            return Coordinate.of(enPassauntRow, to.column());
         }
+        return null;
     }
 
-    private void updateZobristHash(final Piece piece, Coordinate from, final Coordinate to, final Piece inCaseOfPromotion,
-                                   final Pair<Piece, Coordinate> capturedAt, final boolean isCastlingAbilityChanged) {
+    /**
+     * Computes the Zobrist key of the next position, must be called before the new state is pushed to the undo log.
+     */
+    private long updateZobristHash(final Piece piece, Coordinate from, final Coordinate to, final Piece inCaseOfPromotion,
+                                   final Pair<Piece, Coordinate> capturedAt, final int castlingRights, final int enPassantFile) {
         Piece endedPiece = inCaseOfPromotion == null ? piece : inCaseOfPromotion;
-        int castlingRights = isCastlingAbilityChanged ? -1 : castlingRights();
 
+        long newZobristHash;
         if (nonNull(capturedAt)) {
-            long newZobristHash = this.zobrist.updateHash(
+            newZobristHash = this.zobrist.updateHash(
                 zobristHash(),
                 piece, from, endedPiece, to,
-                capturedAt.getFirst(), capturedAt.getSecond(),
-                castlingRights, enPassantFile()
+                capturedAt.getFirst(), capturedAt.getSecond()
+            );
+        } else {
+            newZobristHash = this.zobrist.updateHash(
+                zobristHash(),
+                piece, from, endedPiece, to
             );
-            zobristHashKeys.addLast(newZobristHash);
-            if (isPureChess) return;
-            zobristHash.put(newZobristHash, zobristHash.getOrDefault(newZobristHash, 0) + 1);
-            return;
         }
 
-        long newZobristHash = this.zobrist.updateHash(
-            zobristHash(),
-            piece, from, endedPiece, to,
-            castlingRights(), enPassantFile()
-        );
-        zobristHashKeys.addLast(newZobristHash);
-        if (isPureChess) return;
-        zobristHash.put(newZobristHash, zobristHash.getOrDefault(newZobristHash, 0) + 1);
+        return this.zobrist.updateState(newZobristHash, castlingRights(), castlingRights, enPassantFile(), enPassantFile);
     }
 
-    private void updateZobristHashForCastling(final AlgebraicNotation.Castle castle, final Color color) {
-        long newZobristHash = this.zobrist.updateHashForCastling(zobristHash(), color, castle, castlingRights());
-        zobristHashKeys.addLast(newZobristHash);
-        if (!isPureChess) zobristHash.put(newZobristHash, zobristHash.getOrDefault(newZobristHash, 0) + 1);
+    private long updateZobristHashForCastling(final AlgebraicNotation.Castle castle, final Color color, final int castlingRights) {
+        long newZobristHash = this.zobrist.updateHashForCastling(zobristHash(), color, castle);
+        return this.zobrist.updateState(newZobristHash, castlingRights(), castlingRights, enPassantFile(), -1);
     }
 
     /**
@@ -912,14 +1136,12 @@ public class ChessBoard {
      * @param piece The piece that is currently being moved. This is used to check if the piece is a pawn.
      * @param operations A set of status that were performed during the turn. This is used to check if a capture
      *                   occurred.
+     * @return half moves clock of the next position.
      * </p>
      */
-    private void ruleOf50MovesAbility(final Piece piece, final Set<Operations> operations) {
-        if (!operations.contains(CAPTURE) && !(piece instanceof Pawn)) {
-            Integer lastRuleOf50Moves = this.ruleOf50Moves.peekLast();
-            ruleOf50Moves.add(lastRuleOf50Moves + 1);
-        }
-        else this.ruleOf50Moves.add(0);
+    private int ruleOf50MovesAbility(final Piece piece, final Set<Operations> operations) {
+        if (!operations.contains(CAPTURE) && !(piece instanceof Pawn)) return ruleOf50MovesCount() + 1;
+        return 0;
     }
 
     public boolean isInsufficientMatingMaterial() {
@@ -929,20 +1151,12 @@ public class ChessBoard {
     }
 
     /**
-     * Retrieves the pair of coordinates representing a castling move for ONLY Undo move.
+     * Result of the position with the best play by the installed endgame bitbases, from the side to move.
      *
-     * @param castle The type of castling move (short or long).
-     * @return A Pair of Coordinates representing the castling move.
+     * @return null if the position is not in the bitbases.
      */
-    private Pair<Coordinate, Coordinate> castlingCoordinatesForUndoMove(final AlgebraicNotation.Castle castle) {
-        final boolean shortCastling = castle.equals(AlgebraicNotation.Castle.SHORT_CASTLING);
-        if (shortCastling) {
-            if (figuresTurn.equals(WHITE)) return Pair.of(Coordinate.e8, Coordinate.g8);
-            else return Pair.of(Coordinate.e1, Coordinate.g1);
-        }
-
-        if (figuresTurn.equals(WHITE)) return Pair.of(Coordinate.e8, Coordinate.c8);
-        else return Pair.of(Coordinate.e1, Coordinate.c1);
+    public @Nullable EndgameResult endgameResult() {
+        return EndgameBitbases.installed().probe(this);
     }
 
     /**
@@ -995,13 +1209,10 @@ public class ChessBoard {
      */
     public boolean ableToCastling(final Color color, final AlgebraicNotation.Castle castle) {
         final boolean shortCasting = AlgebraicNotation.Castle.SHORT_CASTLING.equals(castle);
-        if (shortCasting) {
-            if (color.equals(WHITE)) return validWhiteShortCasting;
-            if (color.equals(BLACK)) return validBlackShortCasting;
-        }
-
-        if (color.equals(WHITE)) return validWhiteLongCasting;
-        return validBlackLongCasting;
+        final int castling;
+        if (shortCasting) castling = color == WHITE ? WHITE_SHORT_CASTLING : BLACK_SHORT_CASTLING;
+        else castling = color == WHITE ? WHITE_LONG_CASTLING : BLACK_LONG_CASTLING;
+        return (castlingRights() & castling) != 0;
     }
 
     /**
@@ -1026,33 +1237,18 @@ public class ChessBoard {
     }
 
     /**
-     * Initializes the chess board from a Forsyth-Edwards Notation (FEN) string.
+     * Initializes placement of pieces and occupancy from the bitboards, which are already built by FenParser.
      */
-    private void initializeFromFEN(String fen) {
-        int pos = 0;
-        Coordinate[] coordinates = Coordinate.values();
-
-        for (char c : fen.toCharArray()) {
-            if (c == '/') continue;
-            if (c == ' ') break;
-
-            Coordinate coordinate = coordinates[pos];
-
-            if (Character.isLetter(c)) {
-                Piece piece = AlgebraicNotation.fromSymbol(String.valueOf(c));
-                
-                bitboard[piece.index()] |= coordinate.bitMask(); // add piece to bitboard
-                occupation[coordinate.index()] = piece; // add piece to occupation array
-                
-                if (piece.color() == WHITE) whitePieces |= coordinate.bitMask();
-                if (piece.color() == BLACK) blackPieces |= coordinate.bitMask();
-                
-                pos++;
-                continue;
+    private void initializeFromFEN() {
+        for (Piece piece : PIECES) {
+            long pieces = bitboard[piece.index()];
+            if (piece.color() == WHITE) whitePieces |= pieces;
+            else blackPieces |= pieces;
+
+            while (pieces != 0) {
+                occupation[Long.numberOfTrailingZeros(pieces)] = piece;
+                pieces &= pieces - 1;
             }
-
-            pos++;
-            for (int i = 1; i < Character.getNumericValue(c); i++) pos++;
         }
     }
 
@@ -1067,7 +1263,153 @@ public class ChessBoard {
         return occupation[coordinate.index()];
     }
 
+    /**
+     * Returns the legality masks (checkers, check evasion mask, pins, attacked squares) for the king of the given color,
+     * computing them once per position.
+     *
+     * @param color The color of the king.
+     * @return masks shared by move validation and move generation, valid until the next change on the board.
+     */
+    public LegalMoveMasks legalMoveMasks(final Color color) {
+        if (legalMoveMasksColor != color) {
+            legalMoveMasks.update(this, color);
+            legalMoveMasksColor = color;
+        }
+        return legalMoveMasks;
+    }
+
+    /**
+     * Returns the legal moves of the side to move as a bitboard of destinations for every square of origin,
+     * computed once per position and cached by its Zobrist key.
+     *
+     * @return copy of the map: bit 'to' of the element 'from' is set if the move from-to is legal.
+     */
+    public long[] legalMoveMap() {
+        return legalMoveMapOfPosition().clone();
+    }
+
+    /**
+     * Checks by a single bit test of the legal move map whether the piece on 'from' can move to 'to'.
+     * The piece of a promotion is not validated.
+     */
+    public boolean isLegalMove(final Coordinate from, final Coordinate to) {
+        return (legalMoveMapOfPosition()[from.index()] & to.bitMask()) != 0;
+    }
+
+    /**
+     * Validates the move of the side to move without exceptions, the move is not made.
+     *
+     * @param inCaseOfPromotion The piece to promote to, validated only if the move is a promotion.
+     * @return MoveStatus.VALID if doMove() accepts the move, otherwise the reason of rejection.
+     */
+    public MoveStatus validateMove(final Coordinate from, final Coordinate to, final @Nullable Piece inCaseOfPromotion) {
+        final Piece piece = piece(from);
+        if (piece == null || piece.color() != figuresTurn) return MoveStatus.NO_PIECE;
+        if (from == to) return MoveStatus.SAME_SQUARE;
+        if (!isLegalMove(from, to)) return MoveStatus.ILLEGAL;
+
+        final boolean isPromotion = piece instanceof Pawn && (to.row() == 1 || to.row() == 8);
+        if (isPromotion && !((Pawn) piece).isValidPromotion((Pawn) piece, inCaseOfPromotion)) return MoveStatus.BAD_PROMOTION;
+        return MoveStatus.VALID;
+    }
+
+    /**
+     * Makes a move accepted by validateMove(). Unlike doMove() the move is not validated again: capture, en passant,
+     * castling and promotion are taken from the generated legal move, and the checkmate and stalemate are evaluated
+     * by the legal move map of the new position, which is then cached for the next move.
+     * The move is recorded in algebraic notation as by doMove().
+     *
+     * @return The status performed during the repositioning.
+     * @throws IllegalArgumentException If the move is not legal.
+     */
+    public GameResultMessage doValidatedMove(final Coordinate from, final Coordinate to, final @Nullable Piece inCaseOfPromotion) {
+        final int legalMove = legalMove(from, to, inCaseOfPromotion);
+        if (legalMove == 0) throw new IllegalArgumentException("Invalid move. From:%s. To:%s.".formatted(from, to));
+        return recordMove(legalMove, true);
+    }
+
+    /**
+     * Makes the legal move with makeMove and records it in algebraic notation, as doMove does.
+     *
+     * @param canEndGame whether the move can end the game, if not only the check is evaluated.
+     */
+    private GameResultMessage recordMove(final int move, final boolean canEndGame) {
+        final Coordinate from = Coordinate.byIndex(MoveBuffer.from(move));
+        final Coordinate to = Coordinate.byIndex(MoveBuffer.to(move));
+        final Piece inCaseOfPromotion = MoveBuffer.promotion(move);
+        final Piece piece = piece(from);
+        makeMove(move);
+        final int flags = MoveBuffer.flags((int) (state() >>> MOVE_SHIFT) & 0xFFFFF);
+
+        final boolean hasLegalMoves = !canEndGame || hasLegalMoves();
+        final boolean isCheck = legalMoveMasks(figuresTurn).checkers() != 0;
+        final Operations opponentKingStatus = isCheck ? (hasLegalMoves ? CHECK : CHECKMATE) : CONTINUE;
+        storeKingStatus(opponentKingStatus);
+        final boolean isStalemate = !isCheck && !hasLegalMoves;
+
+        final Set<Operations> operations = EnumSet.of(opponentKingStatus);
+        if ((flags & MoveBuffer.CAPTURE) != 0) operations.add(CAPTURE);
+        if (inCaseOfPromotion != null) operations.add(PROMOTION);
+        if (isStalemate) operations.add(STALEMATE);
+
+        final AlgebraicNotation algebraicNotation = (flags & MoveBuffer.CASTLE) != 0 ?
+                AlgebraicNotation.castlingOf(AlgebraicNotation.castle(to), operations) :
+                AlgebraicNotation.of(pieceToType(piece), operations, from, to,
+                        inCaseOfPromotion == null ? null : pieceToType(inCaseOfPromotion));
+        algebraicNotations.add(algebraicNotation);
+        pgn.append(algebraicNotation.algebraicNotation());
+        history[((historySize - 1) << 1) + 1] |= 1L << NOTATION_SHIFT;
+
+        if (!canEndGame) return GameResultMessage.Continue;
+        if (isStalemate) return GameResultMessage.Stalemate;
+        if (opponentKingStatus == CHECKMATE) return GameResultMessage.Checkmate;
+        if (opponentKingStatus == CHECK) return GameResultMessage.Continue;
+        if (isInsufficientMatingMaterial()) return GameResultMessage.InsufficientMatingMaterial;
+        if (!isPureChess && ruleOf50MovesCount() == 100) return GameResultMessage.RuleOf50Moves;
+        if (isThreeFoldActive()) return GameResultMessage.RuleOf3EqualsPositions;
+        return GameResultMessage.Continue;
+    }
+
+    /**
+     * @return the generated legal move with the given squares and promotion, 0 if there is no such move.
+     */
+    private int legalMove(final Coordinate from, final Coordinate to, final @Nullable Piece inCaseOfPromotion) {
+        if ((legalMoveMapOfPosition()[from.index()] & to.bitMask()) == 0) return 0;
+
+        for (int i = 0; i < legalMoves.size(); i++) {
+            final int move = legalMoves.get(i);
+            if (MoveBuffer.from(move) == from.index() && MoveBuffer.to(move) == to.index()
+                    && Objects.equals(MoveBuffer.promotion(move), inCaseOfPromotion)) return move;
+        }
+        return 0;
+    }
+
+    private boolean hasLegalMoves() {
+        for (long destinations : legalMoveMapOfPosition()) {
+            if (destinations != 0) return true;
+        }
+        return false;
+    }
+
+    private long[] legalMoveMapOfPosition() {
+        final long zobristKey = zobristHash();
+        if (isLegalMoveMapComputed && legalMoveMapKey == zobristKey) return legalMoveMap;
+
+        if (legalMoves == null) legalMoves = new MoveBuffer();
+        Arrays.fill(legalMoveMap, 0L);
+        final int count = generateAllValidMoves(legalMoves);
+        for (int i = 0; i < count; i++) {
+            final int move = legalMoves.get(i);
+            legalMoveMap[MoveBuffer.from(move)] |= 1L << MoveBuffer.to(move);
+        }
+
+        this.legalMoveMapKey = zobristKey;
+        this.isLegalMoveMapComputed = true;
+        return legalMoveMap;
+    }
+
     private void addFigure(Coordinate coordinate, Piece piece) {
+        legalMoveMasksColor = null;
         long squareMask = coordinate.bitMask();
         bitboard[piece.index()] |= squareMask;
         occupation[coordinate.index()] = piece;
@@ -1076,6 +1418,7 @@ public class ChessBoard {
     }
 
     private Piece removeFigure(Coordinate coordinate, Piece piece) {
+        legalMoveMasksColor = null;
         long squareMask = coordinate.bitMask();
         bitboard[piece.index()] &= ~squareMask;
         Piece removedPiece = occupation[coordinate.index()];
@@ -1086,14 +1429,27 @@ public class ChessBoard {
     }
 
     public List<Move> generateAllValidMoves() {
-        List<Move> allValidMoves = new ArrayList<>(40);
-        Pawn.of(figuresTurn).allValidMoves(this, allValidMoves);
-        Knight.of(figuresTurn).allValidMoves(this, allValidMoves);
-        Bishop.of(figuresTurn).allValidMoves(this, allValidMoves);
-        Rook.of(figuresTurn).allValidMoves(this, allValidMoves);
-        Queen.of(figuresTurn).allValidMoves(this, allValidMoves);
-        King.of(figuresTurn).allValidMoves(this, allValidMoves);
-        return allValidMoves;
+        MoveBuffer moveBuffer = new MoveBuffer(64);
+        generateAllValidMoves(moveBuffer);
+        return moveBuffer.toList(new ArrayList<>(moveBuffer.size()));
+    }
+
+    /**
+     * Generates all legal moves for the side to move into the given buffer as packed ints (see {@link MoveBuffer}).
+     * The buffer is cleared beforehand, so it can be reused between calls without allocations.
+     *
+     * @param moveBuffer the buffer to fill.
+     * @return count of generated moves.
+     */
+    public int generateAllValidMoves(final MoveBuffer moveBuffer) {
+        moveBuffer.clear();
+        Pawn.of(figuresTurn).allValidMoves(this, moveBuffer);
+        Knight.of(figuresTurn).allValidMoves(this, moveBuffer);
+        Bishop.of(figuresTurn).allValidMoves(this, moveBuffer);
+        Rook.of(figuresTurn).allValidMoves(this, moveBuffer);
+        Queen.of(figuresTurn).allValidMoves(this, moveBuffer);
+        King.of(figuresTurn).allValidMoves(this, moveBuffer);
+        return moveBuffer.size();
     }
 
     public GameResultMessage doMove(final Coordinate from, final Coordinate to) {
@@ -1153,78 +1509,77 @@ public class ChessBoard {
             addFigure(to, startField);
         }
 
+        /** Monitor opportunities for castling, switch players.*/
+        if (startField instanceof King king) changeKingPosition(king, to);
+        final int castlingRights = changeOfCastlingAbility(from, to, startField);
+        if (figuresTurn == BLACK) countOfFullMoves++;
+        switchFiguresTurn();
+        final int halfMovesClock = ruleOf50MovesAbility(startField, operations);
+        final Coordinate enPassant = changeOfEnPassaunt(from, to, startField);
+
+        /** Zobrist hashing and the state for undo.*/
+        final long zobristKey = updateZobristHash(startField, from, to, inCaseOfPromotion, capturedAt,
+                castlingRights, enPassant == null ? -1 : enPassant.column() - 1);
+
+        int moveFlags = 0;
+        if (capturedAt != null) moveFlags |= MoveBuffer.CAPTURE;
+        if (capturedAt != null && capturedAt.getSecond() != to) moveFlags |= MoveBuffer.EN_PASSANT;
+        if (enPassant != null) moveFlags |= MoveBuffer.DOUBLE_PUSH;
+        final int move = MoveBuffer.pack(from.index(), to.index(), inCaseOfPromotion, moveFlags);
+        pushHistory(zobristKey, packState(castlingRights, enPassant, halfMovesClock) |
+                packMoveRecord(move, capturedAt, UNKNOWN_KING_STATUS));
+
         /** Check for Checkmate, Stalemate, Check after move executed...*/
         final King opponentKing = theKing(startField.color() == WHITE ? BLACK : WHITE);
-        Move lastMove = new Move(from, to, null);
 
         final boolean isCheckPossible = countOfHalfMoves() >= 3 || initType == InitType.FEN;
 
-        KingStatus opponentKingStatusAndEnemies = isCheckPossible ?
-                opponentKing.kingStatus(this, lastMove, null) :
-                new KingStatus(CONTINUE, Collections.emptyList());
+        Operations opponentKingStatus = isCheckPossible ?
+                opponentKing.kingStatus(this).status() :
+                CONTINUE;
 
-        kingStatuses.addLast(opponentKingStatusAndEnemies);
-        Operations opponentKingStatus = opponentKingStatusAndEnemies.status();
         operations.add(opponentKingStatus);
 
         final boolean isRequiredTOCheckStalemate = countOfHalfMoves() >= 19 || initType == InitType.FEN;
 
         final boolean isStalemate = isRequiredTOCheckStalemate &&
                 opponentKingStatus == CONTINUE &&
-                opponentKing.stalemate(this, lastMove, null);
+                opponentKing.stalemate(this);
 
         if (isStalemate) operations.add(STALEMATE);
 
-        /** Monitor opportunities for castling, switch players.*/
-        if (startField instanceof King king) changeKingPosition(king, to);
-        final boolean isCastlingChanged = changeOfCastlingAbility(from, to, startField);
-        if (figuresTurn == BLACK) countOfFullMoves++;
-        switchFiguresTurn();
-        ruleOf50MovesAbility(startField, operations);
-        changeOfEnPassaunt(from, to, startField);
+        storeKingStatus(opponentKingStatus);
 
-        /** Recording the move made in algebraic notation and Zobrist hashing.*/
+        /** Recording the move made in algebraic notation.*/
         final var inCaseOfPromotionPT = inCaseOfPromotion == null ? null : pieceToType(inCaseOfPromotion);
-        algebraicNotations.add(AlgebraicNotation.of(pieceToType(startField), operations, from, to, inCaseOfPromotionPT));
-        updateZobristHash(startField, from, to, inCaseOfPromotion, capturedAt, isCastlingChanged);
+        final AlgebraicNotation algebraicNotation = AlgebraicNotation.of(pieceToType(startField), operations, from, to, inCaseOfPromotionPT);
+        algebraicNotations.add(algebraicNotation);
+        pgn.append(algebraicNotation.algebraicNotation());
+        history[((historySize - 1) << 1) + 1] |= 1L << NOTATION_SHIFT;
 
         /** Retrieve message about game result.*/
         if (isStalemate) return GameResultMessage.Stalemate;
         if (opponentKingStatus.equals(CHECKMATE)) return GameResultMessage.Checkmate;
         if (opponentKingStatus.equals(CHECK)) return GameResultMessage.Continue;
         if (isInsufficientMatingMaterial()) return GameResultMessage.InsufficientMatingMaterial;
-        if (!isPureChess && ruleOf50Moves.peekLast() == 100) return GameResultMessage.RuleOf50Moves;
+        if (!isPureChess && halfMovesClock == 100) return GameResultMessage.RuleOf50Moves;
         if (isThreeFoldActive()) return GameResultMessage.RuleOf3EqualsPositions;
         return GameResultMessage.Continue;
     }
 
     private Pair<Piece, Coordinate> inCaseOfCapture(Piece startField, Coordinate to, Piece endField) {
-        final boolean captureOnPassage = enPassantStack.peekLast() != null &&
-                to == enPassantStack.peekLast() &&
-                startField instanceof Pawn;
+        final boolean captureOnPassage = to == enPassant() && startField instanceof Pawn;
 
         if (captureOnPassage) {
             int row = to.row() == 6 ? 5 : 4;
             Coordinate fieldCoordinate = Coordinate.of(row, to.column());
             Piece field = piece(fieldCoordinate);
 
-            final boolean isCapturedPieceWhite = field.color() == WHITE;
-            if (isCapturedPieceWhite) capturedWhitePieces.add(field);
-
-            final boolean isCapturedPieceBlack = field.color() == BLACK;
-            if (isCapturedPieceBlack) capturedBlackPieces.add(field);
-
             changeInMaterialAdvantage(field);
             Piece capturedPiece = removeFigure(fieldCoordinate, field);
             return Pair.of(capturedPiece, fieldCoordinate);
         }
 
-        final boolean isCapturedPieceWhite = endField.color() == WHITE;
-        if (isCapturedPieceWhite) capturedWhitePieces.add(endField);
-
-        final boolean isCapturedPieceBlack = endField.color() == BLACK;
-        if (isCapturedPieceBlack) capturedBlackPieces.add(endField);
-
         changeInMaterialAdvantage(endField);
         Piece capturedPiece = removeFigure(to, endField);
         return Pair.of(capturedPiece, to);
@@ -1264,45 +1619,51 @@ public class ChessBoard {
         if (shortCasting) moveRookInShortCastling(to);
         else moveRookInLongCastling(to);
 
+        /** Monitor opportunities for castling, enPassaunt, king position, fifty rules ability, and switch players.*/
+        changeKingPosition(king, to);
+        final int castlingRights = changeOfCastlingAbility(from, to, king);
+        if (figuresTurn == BLACK) countOfFullMoves++;
+        switchFiguresTurn();
+        final int halfMovesClock = ruleOf50MovesCount() + 1;
+
+        /** Zobrist hashing and the state for undo.*/
+        final long zobristKey = updateZobristHashForCastling(castle, king.color(), castlingRights);
+
+        final int move = MoveBuffer.pack(from.index(), to.index(), MoveBuffer.CASTLE);
+        pushHistory(zobristKey, packState(castlingRights, null, halfMovesClock) |
+                packMoveRecord(move, null, UNKNOWN_KING_STATUS));
+
         /** Check for Checkmate, Stalemate, Check after move executed...*/
         final King opponentKing = theKing(king.color() == WHITE ? BLACK : WHITE);
-        Move lastMove = new Move(from, to, null);
 
         final boolean isCheckPossible = countOfHalfMoves() + 1 >= 3 || initType == InitType.FEN;
 
-        KingStatus opponentKingStatusAndEnemies = isCheckPossible ?
-                opponentKing.kingStatus(this, lastMove, castle) :
-                new KingStatus(CONTINUE, Collections.emptyList());
+        Operations opponentKingStatus = isCheckPossible ?
+                opponentKing.kingStatus(this).status() :
+                CONTINUE;
 
-        kingStatuses.addLast(opponentKingStatusAndEnemies);
-        Operations opponentKingStatus = opponentKingStatusAndEnemies.status();
         operations.add(opponentKingStatus);
 
         final boolean isRequiredTOCheckStalemate = countOfHalfMoves() >= 19 || initType == InitType.FEN;
 
         final boolean isStalemate = isRequiredTOCheckStalemate &&
                 opponentKingStatus == CONTINUE &&
-                opponentKing.stalemate(this, lastMove, castle);
+                opponentKing.stalemate(this);
 
         if (isStalemate) operations.add(STALEMATE);
 
-        /** Monitor opportunities for castling, enPassaunt, king position, fifty rules ability, and switch players.*/
-        changeKingPosition(king, to);
-        changeOfCastlingAbility(from, to, king);
-        enPassantStack.addLast(null);
-        if (figuresTurn == BLACK) countOfFullMoves++;
-        switchFiguresTurn();
-        Integer lastRuleOf50Moves = this.ruleOf50Moves.peekLast();
-        ruleOf50Moves.add(lastRuleOf50Moves + 1);
+        storeKingStatus(opponentKingStatus);
 
-        /** Recording the move made in algebraic notation and Zobrist hashing.*/
-        algebraicNotations.add(AlgebraicNotation.castlingOf(castle, operations));
-        updateZobristHashForCastling(castle, king.color());
+        /** Recording the move made in algebraic notation.*/
+        final AlgebraicNotation algebraicNotation = AlgebraicNotation.castlingOf(castle, operations);
+        algebraicNotations.add(algebraicNotation);
+        pgn.append(algebraicNotation.algebraicNotation());
+        history[((historySize - 1) << 1) + 1] |= 1L << NOTATION_SHIFT;
 
         /** Retrieve message about move result.*/
         if (isStalemate) return GameResultMessage.Stalemate;
         if (opponentKingStatus.equals(CHECKMATE)) return GameResultMessage.Checkmate;
-        if (!isPureChess && ruleOf50Moves.peekLast() == 100) return GameResultMessage.RuleOf50Moves;
+        if (!isPureChess && halfMovesClock == 100) return GameResultMessage.RuleOf50Moves;
         if (isThreeFoldActive()) return GameResultMessage.RuleOf3EqualsPositions;
         return GameResultMessage.Continue;
     }
@@ -1348,84 +1709,143 @@ public class ChessBoard {
     }
 
     /**
-     * Reverts the last move made in the game.
+     * Lightweight counterpart of doMove for search, analysis and puzzle verification.
+     * <p>
+     * Updates only the pieces, Zobrist key and irreversible state of the position: the move is not recorded
+     * in algebraic notation, the status of the opponent king, stalemate and draw rules are not evaluated,
+     * use gameResult() to get them on demand. Repetitions are not counted for the threefold rule.
+     * <p>
+     * The move must be legal, for example generated by generateAllValidMoves(MoveBuffer), it is not validated.
+     * Only the squares and the promotion piece of the packed move are used, flags are derived from the board.
      *
-     * @return `true` if the last move was successfully reverted, `false` otherwise.
+     * @param move legal move packed as in {@link MoveBuffer}.
      */
-    public final boolean undoMove() {
-        if (algebraicNotations.isEmpty()) return false;
+    public void makeMove(final int move) {
+        final Coordinate from = Coordinate.byIndex(MoveBuffer.from(move));
+        final Coordinate to = Coordinate.byIndex(MoveBuffer.to(move));
+        final Piece inCaseOfPromotion = MoveBuffer.promotion(move);
+        final Piece startField = piece(from);
+        final Piece endField = piece(to);
 
-        final AlgebraicNotation lastMovement = algebraicNotations.removeLast();
-        final AlgebraicNotation.Castle isCastling = AlgebraicNotation.isCastling(lastMovement);
+        final int castlingRights;
+        final int halfMovesClock;
+        final long zobristKey;
+        final int flags;
+        Pair<Piece, Coordinate> capturedAt = null;
+        Coordinate enPassant = null;
 
-        if (isCastling != null) {
-            revertCastling(isCastling);
-            return true;
+        if (isCastling(startField, from, to)) {
+            final AlgebraicNotation.Castle castle = AlgebraicNotation.castle(to);
+            removeFigure(from, startField);
+            addFigure(to, startField);
+            if (castle == AlgebraicNotation.Castle.SHORT_CASTLING) moveRookInShortCastling(to);
+            else moveRookInLongCastling(to);
+
+            changeKingPosition((King) startField, to);
+            castlingRights = changeOfCastlingAbility(from, to, startField);
+            halfMovesClock = ruleOf50MovesCount() + 1;
+            zobristKey = updateZobristHashForCastling(castle, startField.color(), castlingRights);
+            flags = MoveBuffer.CASTLE;
+        } else {
+            final boolean isCapture = endField != null || startField instanceof Pawn && to == enPassant();
+
+            removeFigure(from, startField);
+            if (isCapture) capturedAt = inCaseOfCapture(startField, to, endField);
+            if (inCaseOfPromotion != null) {
+                changeInMaterialAdvantageInCaseOfPromotion(inCaseOfPromotion);
+                addFigure(to, inCaseOfPromotion);
+            } else {
+                addFigure(to, startField);
+            }
+
+            if (startField instanceof King king) changeKingPosition(king, to);
+            castlingRights = changeOfCastlingAbility(from, to, startField);
+            halfMovesClock = isCapture || startField instanceof Pawn ? 0 : ruleOf50MovesCount() + 1;
+            enPassant = changeOfEnPassaunt(from, to, startField);
+            zobristKey = updateZobristHash(startField, from, to, inCaseOfPromotion, capturedAt,
+                    castlingRights, enPassant == null ? -1 : enPassant.column() - 1);
+
+            int moveFlags = 0;
+            if (capturedAt != null) moveFlags |= MoveBuffer.CAPTURE;
+            if (capturedAt != null && capturedAt.getSecond() != to) moveFlags |= MoveBuffer.EN_PASSANT;
+            if (enPassant != null) moveFlags |= MoveBuffer.DOUBLE_PUSH;
+            flags = moveFlags;
         }
 
-        final Pair<Coordinate, Coordinate> movementPair = lastMovement.coordinates();
-        final Coordinate from = movementPair.getFirst();
-        final Coordinate to = movementPair.getSecond();
+        this.countOfHalfMoves++;
+        if (figuresTurn == BLACK) countOfFullMoves++;
+        switchFiguresTurn();
 
-        final Piece endField = piece(to);
-        final Piece pieceForUndo = getPieceForUndo(endField, movementPair, lastMovement);
+        final int packedMove = MoveBuffer.pack(from.index(), to.index(), inCaseOfPromotion, flags);
+        pushHistory(zobristKey, packState(castlingRights, enPassant, halfMovesClock) |
+                packMoveRecord(packedMove, capturedAt, UNKNOWN_KING_STATUS));
+    }
+
+    /**
+     * Reverts the last move made by makeMove (or doMove).
+     *
+     * @throws IllegalStateException if there is no move to revert.
+     */
+    public void unmakeMove() {
+        if (!undoMove()) throw new IllegalStateException("There is no move to unmake.");
+    }
 
-        removeFigure(to, endField);
-        addFigure(from, pieceForUndo);
+    /**
+     * Reverts the last move made in the game.
+     * The move itself, captured piece and the previous state are taken from the undo log.
+     *
+     * @return `true` if the last move was successfully reverted, `false` otherwise.
+     */
+    public final boolean undoMove() {
+        if (historySize == 1) return false;
+
+        final long state = state();
+        final int move = (int) (state >>> MOVE_SHIFT) & 0xFFFFF;
+        final Coordinate from = Coordinate.byIndex(MoveBuffer.from(move));
+        final Coordinate to = Coordinate.byIndex(MoveBuffer.to(move));
+        if ((state & (1L << NOTATION_SHIFT)) != 0) {
+            algebraicNotations.removeLast();
+            pgn.removeLast();
+        }
 
-        final boolean isCapture = lastMovement.isCapture();
-        if (isCapture) revertCapture(to, pieceForUndo);
+        final Piece endField = piece(to);
+        if ((MoveBuffer.flags(move) & MoveBuffer.CASTLE) != 0) {
+            revertCastling(from, to, (King) endField);
+        } else {
+            final Piece promotion = MoveBuffer.promotion(move);
+            final Piece pieceForUndo = promotion == null ? endField : Pawn.of(endField.color());
+
+            removeFigure(to, endField);
+            addFigure(from, pieceForUndo);
+            revertCapture(state);
+            if (promotion != null) revertMaterialAdvantageInCaseOfPromotion(promotion);
+            if (pieceForUndo instanceof King king) changeKingPosition(king, from);
+        }
 
         this.countOfHalfMoves--;
-        this.ruleOf50Moves.pollLast();
-        if (pieceForUndo instanceof King king) changeKingPosition(king, from);
-        changeOfCastlingAbilityInRevertMove(pieceForUndo);
         if (countOfFullMoves != 1 && figuresTurn == WHITE) countOfFullMoves--;
-        enPassantStack.pollLast();
-        zobristHashKeys.removeLast();
-        kingStatuses.removeLast();
+        historySize--;
+        fen = null;
         switchFiguresTurn();
         return true;
     }
 
-    private static Piece getPieceForUndo(Piece endedField, Pair<Coordinate, Coordinate> lastMove, AlgebraicNotation notation) {
-        if (notation.isPromotion()) {
-            boolean wasBlackPromotion = lastMove.getSecond().row() == 1;
-            Color color = wasBlackPromotion ? BLACK : WHITE;
-            return Pawn.of(color);
-        }
-
-        return endedField;
-    }
-
     /**
      * Reverts a castling move.
      *
-     * @param castle              the castling information
+     * @param from the initial square of the king
+     * @param to   the square where the king ended up after the castling
+     * @param king the castled king
      */
-    private void revertCastling(final AlgebraicNotation.Castle castle) {
-        final var movementPair = castlingCoordinatesForUndoMove(castle);
-        final Coordinate from = movementPair.getFirst();
-        final Coordinate to = movementPair.getSecond();
-
-        final Piece kingEndedField = piece(to);
+    private void revertCastling(final Coordinate from, final Coordinate to, final King king) {
+        removeFigure(to, king);
+        addFigure(from, king);
 
-        removeFigure(to, kingEndedField);
-        addFigure(from, kingEndedField);
-
-        final boolean shortCasting = AlgebraicNotation.Castle.SHORT_CASTLING.equals(castle);
+        final boolean shortCasting = to.column() == Coordinate.g1.column();
         if (shortCasting) revertRookInShortCastling(to);
         else revertRookInLongCastling(to);
 
-        this.ruleOf50Moves.pollLast();
-        this.countOfHalfMoves--;
-        enPassantStack.removeLast();
-        changeKingPosition((King) kingEndedField, from);
-        changeOfCastlingAbilityInRevertMove(kingEndedField);
-        if (countOfFullMoves != 1 && figuresTurn == WHITE) countOfFullMoves--;
-        zobristHashKeys.removeLast();
-        kingStatuses.removeLast();
-        switchFiguresTurn();
+        changeKingPosition(king, from);
     }
 
     /**
@@ -1468,57 +1888,16 @@ public class ChessBoard {
         addFigure(Coordinate.BLACK_ROOK_LONG_CASTLE_START, endField);
     }
 
-    private void revertCapture(final Coordinate endFieldCoordinate, final Piece piece) {
-        if (revertPotentialCaptureOnPassage(endFieldCoordinate, piece)) return;
+    private void revertCapture(final long state) {
+        final int capturedPieceIndex = (int) (state >>> CAPTURED_PIECE_SHIFT) & 0xF;
+        if (capturedPieceIndex == 0) return;
 
-        if (figuresTurn.equals(BLACK)) {
-            Piece capturedPiece = capturedBlackPieces.removeLast();
-            addFigure(endFieldCoordinate, capturedPiece);
-            materialAdvantageOfBlack += materialAdvantageOfFigure(capturedPiece);
-            return;
-        }
+        final Piece capturedPiece = PIECES[capturedPieceIndex - 1];
+        final Coordinate capturedAt = Coordinate.byIndex((int) (state >>> CAPTURED_SQUARE_SHIFT) & 0x3F);
+        addFigure(capturedAt, capturedPiece);
 
-        Piece capturedPiece = capturedWhitePieces.removeLast();
-        addFigure(endFieldCoordinate, capturedPiece);
-        materialAdvantageOfWhite += materialAdvantageOfFigure(capturedPiece);
-    }
-
-    private boolean revertPotentialCaptureOnPassage(final Coordinate endFieldCoordinate, final Piece piece) {
-        if (!(piece instanceof Pawn)) return false;
-        if (countOfHalfMoves < 5 && initType != InitType.FEN) return false;
-        if (enPassantStack.size() < 2) return false;
-
-        Coordinate tempEnPassaunt_currentState = enPassantStack.removeLast();
-        Coordinate penultimateEnPassaunt = enPassantStack.peekLast();
-
-        if (penultimateEnPassaunt == null) {
-            enPassantStack.addLast(tempEnPassaunt_currentState);
-            return false;
-        }
-        if (tempEnPassaunt_currentState != null) {
-            enPassantStack.addLast(tempEnPassaunt_currentState);
-            return false;
-        }
-        if (penultimateEnPassaunt != endFieldCoordinate) {
-            enPassantStack.addLast(tempEnPassaunt_currentState);
-            return false;
-        }
-        enPassantStack.addLast(tempEnPassaunt_currentState);
-
-        int requiredRow = penultimateEnPassaunt.row() == 6 ? 5 : 4;
-        Coordinate required = Coordinate.of(requiredRow, penultimateEnPassaunt.column());
-
-        if (piece.color() == WHITE) {
-            Piece capturedPawn = capturedBlackPieces.removeLast();
-            addFigure(required, capturedPawn);
-            materialAdvantageOfBlack++;
-            return true;
-        }
-
-        Piece capturedPawn = capturedWhitePieces.removeLast();
-        addFigure(required, capturedPawn);
-        materialAdvantageOfWhite++;
-        return true;
+        if (capturedPiece.color() == WHITE) materialAdvantageOfWhite += materialAdvantageOfFigure(capturedPiece);
+        else materialAdvantageOfBlack += materialAdvantageOfFigure(capturedPiece);
     }
 
     /**
@@ -1559,69 +1938,15 @@ public class ChessBoard {
 
     /**
      * Returns a FEN (Forsyth-Edwards Notation) chessboard presentation.
+     * Written from bitboards once per position and cached until the next move or undo.
      */
     @Override
     public final String toString() {
-        var fen = new StringBuilder();
-
-        int row = 8;
-        int countOfEmptyFields = 0;
-        for (final Coordinate coordinate : Coordinate.values()) {
-            if (coordinate.row() == row - 1) {
-                row -= 1;
-                if (countOfEmptyFields == 0) fen.append("/");
-                else {
-                    fen.append(countOfEmptyFields).append("/");
-                    countOfEmptyFields = 0;
-                }
-            }
-
-            final Piece field = piece(coordinate);
-            if (field == null) countOfEmptyFields++;
-
-            if (countOfEmptyFields == 8) {
-                fen.append(countOfEmptyFields);
-                countOfEmptyFields = 0;
-            } else if (field != null) {
-                if (countOfEmptyFields != 0) {
-                    fen.append(countOfEmptyFields).append(convertPieceToChar(field));
-                    countOfEmptyFields = 0;
-                } else fen.append(convertPieceToChar(field));
-            }
-        }
-
-        if (countOfEmptyFields != 0) fen.append(countOfEmptyFields);
-        fen.append(" ");
-        if (figuresTurn.equals(WHITE)) fen.append("w");
-        else fen.append("b");
-        fen.append(" ");
-        if (validWhiteShortCasting) fen.append("K");
-        if (validWhiteLongCasting) fen.append("Q");
-        if (validBlackShortCasting) fen.append("k");
-        if (validBlackLongCasting) fen.append("q");
-        if (!validWhiteShortCasting && !validWhiteLongCasting && !validBlackLongCasting && !validBlackShortCasting) {
-            if (fen.charAt(fen.length() - 1) == ' ') fen.append("- ");
-            else fen.append(" - ");
+        String fen = this.fen;
+        if (fen == null) {
+            fen = FenWriter.write(this);
+            this.fen = fen;
         }
-        if (fen.charAt(fen.length() - 1) != ' ') fen.append(" ");
-        if (this.enPassantStack.peekLast() != null) fen.append(enPassantStack.getLast());
-        else fen.append("- ");
-        if (fen.charAt(fen.length() - 1) != ' ') fen.append(' ')
-                .append(this.ruleOf50Moves.peekLast())
-                .append(' ')
-                .append(this.countOfFullMoves());
-        else fen.append(this.ruleOf50Moves.peekLast()).append(' ').append(this.countOfFullMoves());
-        return fen.toString();
-    }
-
-    private String convertPieceToChar(final Piece piece) {
-        return switch (piece) {
-            case King king -> king.color() == WHITE ? "K" : "k";
-            case Queen queen -> queen.color() == WHITE ? "Q" : "q";
-            case Rook rook -> rook.color() == WHITE ? "R" : "r";
-            case Bishop bishop -> bishop.color() == WHITE ? "B" : "b";
-            case Knight knight -> knight.color() == WHITE ? "N" : "n";
-            case Pawn pawn -> pawn.color() == WHITE ? "P" : "p";
-        };
+        return fen;
     }
 }
@@ -2,7 +2,9 @@ package core.project.chess.domain.chess.entities;
 
 import core.project.chess.domain.chess.entities.ChessBoard.Operations;
 import core.project.chess.domain.chess.enumerations.Coordinate;
+import core.project.chess.domain.chess.enumerations.EndgameResult;
 import core.project.chess.domain.chess.enumerations.GameResultMessage;
+import core.project.chess.domain.chess.enumerations.MoveStatus;
 import core.project.chess.domain.chess.enumerations.UndoMoveResult;
 import core.project.chess.domain.chess.events.ChessGameResult;
 import core.project.chess.domain.chess.pieces.Piece;
@@ -220,6 +222,21 @@ public class ChessGame {
         return chessBoard.pgn();
     }
 
+    public @Nullable byte[] encodedMoves() {
+        return chessBoard.encodedMoves();
+    }
+
+    /**
+     * @return an independent copy of the board with the history of the game, it can be searched in another thread.
+     */
+    public ChessBoard copyOfChessBoard() {
+        return chessBoard.copy();
+    }
+
+    public long[] positionHashes() {
+        return chessBoard.positionHashes();
+    }
+
     public List<String> listOfAlgebraicNotations() {
         return chessBoard.listOfAlgebraicNotations();
     }
@@ -264,6 +281,27 @@ public class ChessGame {
         return isThreeFoldActive;
     }
 
+    /**
+     * @return result of the position by the endgame bitbases from the side to move, null if the game is over
+     *         or the position is not in the bitbases.
+     */
+    public @Nullable EndgameResult endgameResult() {
+        if (isGameOver()) return null;
+        return chessBoard.endgameResult();
+    }
+
+    /**
+     * @return legal moves of the side to move as in ChessBoard.legalMoveMap(), without moves if the game is over.
+     */
+    public long[] legalMoveMap() {
+        if (isGameOver()) return new long[64];
+        return chessBoard.legalMoveMap();
+    }
+
+    public boolean isAdjudicationAvailable() {
+        return endgameResult() != null;
+    }
+
     public boolean isCasualGame() {
         return isCasualGame;
     }
@@ -322,13 +360,48 @@ public class ChessGame {
         Objects.requireNonNull(from);
         Objects.requireNonNull(to);
 
-        if (!chessBoard.isPureChess() && isGameOver != GameResult.NONE)
-            throw new IllegalStateException("Game is over by %s".formatted(isGameOver));
+        final MoveStatus status = validateMove(userID, from, to, inCaseOfPromotion);
+        switch (status) {
+            case VALID -> {}
+            case GAME_OVER -> throw new IllegalStateException("Game is over by %s".formatted(isGameOver));
+            case PLAYER_IS_AWAY -> throw new IllegalStateException(status.message());
+            default -> throw new IllegalArgumentException(status.message());
+        }
 
-        Color color = validateUserID(userID);
-        validateMovesTurn(color);
+        return executeMove(from, to, inCaseOfPromotion);
+    }
+
+    /**
+     * Makes the move if it is valid, unlike doMove() an invalid move is reported by the status without exceptions.
+     */
+    public MoveStatus tryMove(
+            final UUID userID,
+            final @Nullable Coordinate from,
+            final @Nullable Coordinate to,
+            final @Nullable Piece inCaseOfPromotion) {
+
+        Objects.requireNonNull(userID);
+        if (from == null || to == null) return MoveStatus.MISSING_COORDINATES;
+
+        final MoveStatus status = validateMove(userID, from, to, inCaseOfPromotion);
+        if (status == MoveStatus.VALID) executeMove(from, to, inCaseOfPromotion);
+        return status;
+    }
+
+    private MoveStatus validateMove(final UUID userID, final Coordinate from, final Coordinate to,
+                                    final @Nullable Piece inCaseOfPromotion) {
+        if (!chessBoard.isPureChess() && isGameOver != GameResult.NONE) return MoveStatus.GAME_OVER;
+
+        final boolean isWhitePlayer = userID.equals(whitePlayer);
+        if (!isWhitePlayer && !userID.equals(blackPlayer)) return MoveStatus.NOT_A_PLAYER;
+        if (isAwayFromBoard(isWhitePlayer)) return MoveStatus.PLAYER_IS_AWAY;
+        if (playersTurn != (isWhitePlayer ? WHITE : BLACK)) return MoveStatus.WRONG_TURN;
+
+        return chessBoard.validateMove(from, to, inCaseOfPromotion);
+    }
 
-        final GameResultMessage message = chessBoard.doMove(from, to, inCaseOfPromotion);
+    private GameResultMessage executeMove(final Coordinate from, final Coordinate to, final @Nullable Piece inCaseOfPromotion) {
+        final GameResultMessage message = chessBoard.doValidatedMove(from, to, inCaseOfPromotion);
 
         this.isThreeFoldActive = message.equals(GameResultMessage.RuleOf3EqualsPositions);
 
@@ -404,6 +477,29 @@ public class ChessGame {
         gameOver(Operations.STALEMATE);
     }
 
+    /**
+     * Ends the game by the result of the endgame bitbases on request of any of the players.
+     */
+    public void endGameByAdjudication(final UUID userID) {
+        Objects.requireNonNull(userID);
+        validateUserID(userID);
+
+        if (isGameOver != GameResult.NONE) throw new IllegalArgumentException("Game is over.");
+        final EndgameResult endgameResult = chessBoard.endgameResult();
+        if (endgameResult == null) throw new IllegalArgumentException("Position is not in the endgame bitbases.");
+
+        whiteTimer.stop();
+        blackTimer.stop();
+        if (endgameResult == EndgameResult.DRAW) {
+            drawEnding();
+            return;
+        }
+
+        final boolean isWhiteWinner = playersTurn.equals(WHITE) == (endgameResult == EndgameResult.WIN);
+        this.isGameOver = isWhiteWinner ? GameResult.WHITE_WIN : GameResult.BLACK_WIN;
+        defineGameResult();
+    }
+
     public void agreement(final UUID userID) {
         Objects.requireNonNull(userID);
         Color color = validateUserID(userID);
@@ -504,23 +600,15 @@ public class ChessGame {
         final boolean isBlackPlayer = userID.equals(blackPlayer);
 
         if (!isWhitePlayer && !isBlackPlayer) throw new IllegalArgumentException("Not a player: " + userID);
-        if (nonNull(afkTimer)) {
-            final boolean illegalAccess = (isWhitePlayer && afkTimer.name().equals("AFK White timer")) ||
-                    (isBlackPlayer && afkTimer.name().equals("AFK Black timer"));
-
-            if (illegalAccess)
-                throw new IllegalStateException("A player cannot make a move without being at the board: " + userID);
-        }
+        if (isAwayFromBoard(isWhitePlayer))
+            throw new IllegalStateException("A player cannot make a move without being at the board: " + userID);
 
         return isWhitePlayer ? WHITE : BLACK;
     }
 
-    private void validateMovesTurn(Color color) {
-        final boolean whiteTriesToMoveButNotHisTurn = color.equals(WHITE) && !WHITE.equals(playersTurn);
-        if (whiteTriesToMoveButNotHisTurn) throw new IllegalArgumentException("It`s black move turn.");
-
-        final boolean blackTriesToMoveButNotHistTurn = color.equals(BLACK) && !BLACK.equals(playersTurn);
-        if (blackTriesToMoveButNotHistTurn) throw new IllegalArgumentException("It`s white move turn.");
+    private boolean isAwayFromBoard(final boolean isWhitePlayer) {
+        if (afkTimer == null) return false;
+        return afkTimer.name().equals(isWhitePlayer ? "AFK White timer" : "AFK Black timer");
     }
 
     private void resetAgreements() {
@@ -3,6 +3,8 @@ package core.project.chess.domain.chess.entities;
 import core.project.chess.domain.chess.enumerations.Coordinate;
 import core.project.chess.domain.chess.events.PuzzleGameResult;
 import core.project.chess.domain.chess.pieces.Piece;
+import core.project.chess.domain.chess.util.MoveBuffer;
+import core.project.chess.domain.chess.util.PgnBuilder;
 import core.project.chess.domain.chess.value_objects.AlgebraicNotation;
 import core.project.chess.domain.commons.annotations.Nullable;
 import core.project.chess.domain.commons.tuples.Pair;
@@ -18,6 +20,7 @@ public class Puzzle {
     private Rating rating;
     private final ChessBoard chessBoard;
     private final AlgebraicNotation[] algebraicNotations;
+    private final String pgn;
     private final UUID player;
     private final String startPositionFEN;
     private final int startPositionIndex;
@@ -35,24 +38,28 @@ public class Puzzle {
         this.rating = rating;
         this.chessBoard = chessBoard;
         this.algebraicNotations = algebraicNotations;
+        this.pgn = pgnOf(algebraicNotations);
         this.startPositionFEN = chessBoard.toString();
         this.player = player;
         this.startPositionIndex = startPositionIndex;
+        this.currentPosition = startPositionIndex;
     }
 
     /**
      Only for saving, not for play.
+     <p>
+     The PGN contains the moves up to the position of the puzzle followed by the solution, which starts and ends
+     with a move of the player. The start position index is the index of the last move before the solution.
+     The solution may end with checkmate, so the PGN is replayed as a finished game.
      */
     public static Puzzle of(String pgn, int startPositionOfPuzzle) {
         if (pgn == null) throw new IllegalArgumentException("PGN is null. Puzzle requires PGN.");
         if (pgn.isBlank()) throw new IllegalArgumentException("PGN can`t be blank.");
         if (startPositionOfPuzzle < 0) throw new IllegalArgumentException("Position index can`t be lower than 0.");
 
-        ChessBoard chessBoard = ChessBoard.fromPGN(pgn);
+        ChessBoard chessBoard = ChessBoard.fromFinishedPGN(pgn);
         AlgebraicNotation[] algebraicNotations = chessBoard.arrayOfAlgebraicNotations();
-
-        if (chessBoard.countOfHalfMoves() >= startPositionOfPuzzle)
-            throw new IllegalArgumentException("Start position of puzzle can`t be greater or equal than the size of halfmoves.");
+        toStartPosition(chessBoard, algebraicNotations, startPositionOfPuzzle);
 
         return new Puzzle(UUID.randomUUID(), Rating.defaultRating(), chessBoard, algebraicNotations, null, startPositionOfPuzzle);
     }
@@ -65,19 +72,23 @@ public class Puzzle {
         if (pgn.isBlank()) throw new IllegalArgumentException("PGN can`t be blank.");
         if (startPositionOfPuzzle < 0) throw new IllegalArgumentException("Position index can`t be lower than 0.");
 
-        ChessBoard chessBoard = ChessBoard.fromPGN(pgn);
+        ChessBoard chessBoard = ChessBoard.fromFinishedPGN(pgn);
         AlgebraicNotation[] algebraicNotations = chessBoard.arrayOfAlgebraicNotations();
+        toStartPosition(chessBoard, algebraicNotations, startPositionOfPuzzle);
+
+        return new Puzzle(id, rating, chessBoard, algebraicNotations, user, startPositionOfPuzzle);
+    }
 
-        if ((algebraicNotations.length - 1) >= startPositionOfPuzzle)
-            throw new IllegalArgumentException("Start position of puzzle can`t be greater or equal than the size of halfmoves.");
+    /** Returns the board to the position after the move startPositionOfPuzzle, at least one move must follow it.*/
+    private static void toStartPosition(ChessBoard chessBoard, AlgebraicNotation[] algebraicNotations, int startPositionOfPuzzle) {
+        if (startPositionOfPuzzle >= algebraicNotations.length - 1)
+            throw new IllegalArgumentException("Start position of puzzle must be lower than the index of the last halfmove.");
 
         int requiredMoveReturns = (algebraicNotations.length - 1) - startPositionOfPuzzle;
         while (requiredMoveReturns != 0) {
             chessBoard.undoMove();
             requiredMoveReturns--;
         }
-
-        return new Puzzle(id, rating, chessBoard, algebraicNotations, user, startPositionOfPuzzle);
     }
 
     public UUID id() {
@@ -109,30 +120,16 @@ public class Puzzle {
     }
 
     public String pgn() {
-        final StringBuilder stringBuilder = new StringBuilder();
-
-        int number = 1;
-        for (int i = 0; i < algebraicNotations.length; i += 2) {
-            final String notation = algebraicNotations[i].algebraicNotation();
-
-            final String secondNotation;
-            if (i + 1 <= algebraicNotations.length - 1) {
-                secondNotation = algebraicNotations[i + 1].algebraicNotation();
-            } else {
-                secondNotation = "...";
-            }
-
-            stringBuilder.append(number)
-                    .append(". ")
-                    .append(notation)
-                    .append(" ")
-                    .append(secondNotation)
-                    .append(" ");
+        return pgn;
+    }
 
-            number++;
+    /** The board may be rewound to the start of the puzzle, so the PGN of the whole game is rendered once here.*/
+    private static String pgnOf(AlgebraicNotation[] algebraicNotations) {
+        final PgnBuilder pgnBuilder = new PgnBuilder();
+        for (AlgebraicNotation algebraicNotation : algebraicNotations) {
+            pgnBuilder.append(algebraicNotation.algebraicNotation());
         }
-
-        return stringBuilder.toString();
+        return pgnBuilder.toString();
     }
 
     public boolean isSolved() {
@@ -183,7 +180,8 @@ public class Puzzle {
 
         final String representationAfterPlayerMove;
         try {
-            chessBoard.doMove(from, to, inCaseOfPromotion);
+            /** Both moves are the moves of the puzzle PGN, which was fully validated on initialization.*/
+            chessBoard.makeMove(MoveBuffer.pack(from.index(), to.index(), inCaseOfPromotion, 0));
             representationAfterPlayerMove = chessBoard.toString();
 
             final boolean isLastMove = currentPosition == algebraicNotations.length - 1;
@@ -196,7 +194,7 @@ public class Puzzle {
             final Pair<Coordinate, Coordinate> coordinates = chessBoard.extractCoordinates(algebraicNotation);
             final Piece requiredPromotion = chessBoard.getInCaseOfPromotion(algebraicNotation);
 
-            chessBoard.doMove(coordinates.getFirst(), coordinates.getSecond(), requiredPromotion);
+            chessBoard.makeMove(MoveBuffer.pack(coordinates.getFirst().index(), coordinates.getSecond().index(), requiredPromotion, 0));
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Unexpected exception. Make sure the pgn for initializing the chess problem is valid: " + e.getMessage());
         }
@@ -217,7 +215,7 @@ public class Puzzle {
         final Pair<Coordinate, Coordinate> coordinates = chessBoard.extractCoordinates(algebraicNotation);
         final Piece requiredPromotion = chessBoard.getInCaseOfPromotion(algebraicNotation);
 
-        return from.equals(coordinates.getFirst()) && to.equals(coordinates.getSecond()) && inCaseOfPromotion.equals(requiredPromotion);
+        return from.equals(coordinates.getFirst()) && to.equals(coordinates.getSecond()) && Objects.equals(inCaseOfPromotion, requiredPromotion);
     }
 
     @Override
@@ -233,7 +231,7 @@ public class Puzzle {
                 Objects.equals(rating, puzzle.rating) &&
                 chessBoard.equals(puzzle.chessBoard) &&
                 Arrays.equals(algebraicNotations, puzzle.algebraicNotations) &&
-                player.equals(puzzle.player) &&
+                Objects.equals(player, puzzle.player) &&
                 Objects.equals(startPositionFEN, puzzle.startPositionFEN);
     }
 
@@ -0,0 +1,10 @@
+package core.project.chess.domain.chess.enumerations;
+
+/**
+ * Result of a position of an endgame bitbase with the best play of both sides, from the side to move.
+ */
+public enum EndgameResult {
+    WIN,
+    DRAW,
+    LOSS
+}
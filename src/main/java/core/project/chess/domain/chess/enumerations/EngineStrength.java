@@ -0,0 +1,29 @@
+package core.project.chess.domain.chess.enumerations;
+
+/**
+ * Strength of the built-in engine opponent: the maximal depth of search and the maximal time of thinking on a move.
+ * The engine also thinks less if the clock requires it, see TimeManager.
+ */
+public enum EngineStrength {
+    BEGINNER(1, 100),
+    CASUAL(3, 500),
+    INTERMEDIATE(5, 1_500),
+    ADVANCED(8, 4_000),
+    MAXIMUM(64, 10_000);
+
+    private final int maxDepth;
+    private final long maxThinkMillis;
+
+    EngineStrength(int maxDepth, long maxThinkMillis) {
+        this.maxDepth = maxDepth;
+        this.maxThinkMillis = maxThinkMillis;
+    }
+
+    public int maxDepth() {
+        return maxDepth;
+    }
+
+    public long maxThinkMillis() {
+        return maxThinkMillis;
+    }
+}
@@ -0,0 +1,11 @@
+package core.project.chess.domain.chess.enumerations;
+
+/**
+ * Judgment of a move by the post-game analysis, by the winning chances it lost, see GameAnalysis.
+ */
+public enum MoveJudgment {
+    GOOD,
+    INACCURACY,
+    MISTAKE,
+    BLUNDER
+}
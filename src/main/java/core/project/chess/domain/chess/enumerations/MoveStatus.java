@@ -0,0 +1,28 @@
+package core.project.chess.domain.chess.enumerations;
+
+/**
+ * Result of the validation of a move, see ChessGame.tryMove(). Invalid moves are reported without exceptions,
+ * the message is a constant for the response to the client.
+ */
+public enum MoveStatus {
+    VALID("Valid move."),
+    MISSING_COORDINATES("Coordinates of the move are missing."),
+    GAME_OVER("Game is over."),
+    NOT_A_PLAYER("Not a player of the game."),
+    PLAYER_IS_AWAY("A player cannot make a move without being at the board."),
+    WRONG_TURN("It`s the opponent`s move turn."),
+    NO_PIECE("There is no piece of the player on the source square."),
+    SAME_SQUARE("The source and destination coordinates cannot be the same."),
+    ILLEGAL("Illegal move."),
+    BAD_PROMOTION("Invalid piece for pawn promotion.");
+
+    private final String message;
+
+    MoveStatus(String message) {
+        this.message = message;
+    }
+
+    public String message() {
+        return message;
+    }
+}
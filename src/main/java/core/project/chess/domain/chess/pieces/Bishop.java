@@ -2,6 +2,7 @@ package core.project.chess.domain.chess.pieces;
 
 import core.project.chess.domain.chess.entities.ChessBoard;
 import core.project.chess.domain.chess.enumerations.Coordinate;
+import core.project.chess.domain.chess.util.MoveBuffer;
 import core.project.chess.domain.chess.value_objects.Move;
 import core.project.chess.domain.commons.enumerations.Color;
 
@@ -23,6 +24,47 @@ public final class Bishop implements Piece {
         for (int square = 0; square < 64; square++) BISHOP_MOVES_CACHE[square] = generatePseudoLegalBishopMoves(square);
     }
 
+    /**
+     * Magic numbers for the fixed-shift bishop lookup: (occupancy & mask) * magic >>> shift
+     * gives a dense index into the per-square attack table.
+     */
+    private static final long[] BISHOP_MAGICS = {
+            0x4082223408120040L, 0x1104A11222020008L, 0x0184980281040239L, 0x44420A1200440982L,
+            0x0001104100000000L, 0x40022A2020000000L, 0x2084022202204000L, 0x3089004202206240L,
+            0x2A04202102221D40L, 0x4001048408004100L, 0x04281000A0810000L, 0x0428944100200004L,
+            0x0601040420000000L, 0x0600220250052000L, 0x3000008410284400L, 0x0000005108080210L,
+            0x0010000420020440L, 0x0008991001050C21L, 0x9010000808911010L, 0x0008020082004002L,
+            0x09C1008820080401L, 0x8401408208200400L, 0x8004030104014500L, 0x8100842202008220L,
+            0x002240000808D800L, 0x1002627030044802L, 0x0088022004040010L, 0x2210040000401020L,
+            0x9014040004C10040L, 0x610A020100880504L, 0x000401010C012121L, 0x13022A0200808082L,
+            0x5510080442200442L, 0x000208A084040900L, 0x2022002400020808L, 0xC800A20180080080L,
+            0x102004030003A008L, 0x1020180020004403L, 0x0024041088084803L, 0x0000940840110100L,
+            0x0225082016015000L, 0x0A82621210212008L, 0x00400C0404008200L, 0x0001504010400201L,
+            0x000004010C000200L, 0x1004010861001A00L, 0x00A00C040AA04040L, 0x0001070202020294L,
+            0xC144040404864000L, 0x0401004202202280L, 0x0900116D08084000L, 0x0010480020880000L,
+            0x0008000410440080L, 0x0050401016509000L, 0x0020029002008002L, 0xC0A0220202002940L,
+            0xA013002802021002L, 0x1040030409010804L, 0x002040242108080CL, 0x40020A010020A802L,
+            0x0098800460820480L, 0x0086002144040820L, 0x5000061084010408L, 0x0108310808014082L
+    };
+    private static final long[] BISHOP_MASKS = new long[64];
+    private static final int[] BISHOP_SHIFTS = new int[64];
+    private static final long[][] BISHOP_ATTACKS = new long[64][];
+    static {
+        for (int square = 0; square < 64; square++) {
+            long mask = relevantOccupancyMask(square);
+            int bits = Long.bitCount(mask);
+            BISHOP_MASKS[square] = mask;
+            BISHOP_SHIFTS[square] = 64 - bits;
+            BISHOP_ATTACKS[square] = new long[1 << bits];
+
+            for (int i = 0; i < 1 << bits; i++) {
+                long occupied = Long.expand(i, mask);
+                int key = (int) ((occupied * BISHOP_MAGICS[square]) >>> BISHOP_SHIFTS[square]);
+                BISHOP_ATTACKS[square][key] = slidingAttacks(square, occupied);
+            }
+        }
+    }
+
     public static Bishop of(Color color) {
         return color == Color.WHITE ? WHITE_BISHOP : BLACK_BISHOP;
     }
@@ -60,28 +102,23 @@ public final class Bishop implements Piece {
     boolean bishopMove(final ChessBoard chessBoard, final Coordinate startField, final Coordinate endField) {
         int startSquare = startField.index();
         int endSquare = endField.index();
-        long validMoves = BISHOP_MOVES_CACHE[startSquare] & ~chessBoard.allPiecesOf(color);
-        if ((validMoves & (1L << endSquare)) == 0) return false;
-        return clearPath(chessBoard, startField, endField);
+        long occupied = chessBoard.whitePieces() | chessBoard.blackPieces();
+        long validMoves = bishopAttacks(startSquare, occupied) & ~chessBoard.allPiecesOf(color);
+        return (validMoves & (1L << endSquare)) != 0;
     }
 
     public boolean isAtLeastOneMove(final ChessBoard chessBoard) {
         long bishopBitboard = chessBoard.bitboard(this);
         long ownPieces = chessBoard.allPiecesOf(color);
+        long occupied = chessBoard.whitePieces() | chessBoard.blackPieces();
+        LegalMoveMasks legalMoveMasks = chessBoard.legalMoveMasks(color);
 
         while (bishopBitboard != 0) {
             int fromIndex = Long.numberOfTrailingZeros(bishopBitboard);
             bishopBitboard &= bishopBitboard - 1;
 
-            long moves = BISHOP_MOVES_CACHE[fromIndex] & ~ownPieces;
-            while (moves != 0) {
-                int toIndex = Long.numberOfTrailingZeros(moves);
-                moves &= moves - 1;
-
-                Coordinate from = Coordinate.byIndex(fromIndex);
-                Coordinate to = Coordinate.byIndex(toIndex);
-                if (clearPath(chessBoard, from, to) && chessBoard.safeForKing(from, to)) return true;
-            }
+            long moves = legalMoveMasks.legalTargets(fromIndex, bishopAttacks(fromIndex, occupied) & ~ownPieces);
+            if (moves != 0) return true;
         }
 
         return false;
@@ -91,32 +128,89 @@ public final class Bishop implements Piece {
         return generatePseudoLegalBishopMoves(square);
     }
 
+    /**
+     * Returns the squares attacked by a bishop standing on the given square, stopping at (and including)
+     * the first occupied square in every direction.
+     */
+    public static long bishopAttacks(int square, long occupied) {
+        int key = (int) (((occupied & BISHOP_MASKS[square]) * BISHOP_MAGICS[square]) >>> BISHOP_SHIFTS[square]);
+        return BISHOP_ATTACKS[square][key];
+    }
+
     public List<Move> allValidMoves(final ChessBoard chessBoard) {
         return allValidMoves(chessBoard, new ArrayList<>());
     }
 
     public List<Move> allValidMoves(final ChessBoard chessBoard, final List<Move> validMoves) {
+        MoveBuffer moveBuffer = new MoveBuffer();
+        allValidMoves(chessBoard, moveBuffer);
+        return moveBuffer.toList(validMoves);
+    }
+
+    public void allValidMoves(final ChessBoard chessBoard, final MoveBuffer moveBuffer) {
         long bishopBitboard = chessBoard.bitboard(this);
         long ownPieces = chessBoard.allPiecesOf(color);
+        long opponentPieces = chessBoard.allPiecesOf(color.opposite());
+        long occupied = chessBoard.whitePieces() | chessBoard.blackPieces();
+        LegalMoveMasks legalMoveMasks = chessBoard.legalMoveMasks(color);
 
         while (bishopBitboard != 0) {
             int fromIndex = Long.numberOfTrailingZeros(bishopBitboard);
             bishopBitboard &= bishopBitboard - 1;
 
-            long moves = BISHOP_MOVES_CACHE[fromIndex] & ~ownPieces;
+            long moves = legalMoveMasks.legalTargets(fromIndex, bishopAttacks(fromIndex, occupied) & ~ownPieces);
             while (moves != 0) {
                 int toIndex = Long.numberOfTrailingZeros(moves);
                 moves &= moves - 1;
 
-                Coordinate from = Coordinate.byIndex(fromIndex);
-                Coordinate to = Coordinate.byIndex(toIndex);
+                int flags = (opponentPieces & (1L << toIndex)) != 0 ? MoveBuffer.CAPTURE : 0;
+                moveBuffer.add(fromIndex, toIndex, flags);
+            }
+        }
+    }
+
+    private static long relevantOccupancyMask(int square) {
+        long mask = 0L;
+        int row = square / 8;
+        int col = square % 8;
+
+        int[] rowOffsets = {-1, 1, 1, -1};
+        int[] colOffsets = {1, -1, 1, -1};
 
-                if (clearPath(chessBoard, from, to) &&
-                        chessBoard.safeForKing(from, to)) validMoves.add(new Move(from, to, null));
+        for (int i = 0; i < 4; i++) {
+            int r = row + rowOffsets[i];
+            int c = col + colOffsets[i];
+            while (r > 0 && r < 7 && c > 0 && c < 7) {
+                mask |= 1L << (r * 8 + c);
+                r += rowOffsets[i];
+                c += colOffsets[i];
+            }
+        }
+
+        return mask;
+    }
+
+    private static long slidingAttacks(int square, long occupied) {
+        long attacks = 0L;
+        int row = square / 8;
+        int col = square % 8;
+
+        int[] rowOffsets = {-1, 1, 1, -1};
+        int[] colOffsets = {1, -1, 1, -1};
+
+        for (int i = 0; i < 4; i++) {
+            int r = row + rowOffsets[i];
+            int c = col + colOffsets[i];
+            while (r >= 0 && r < 8 && c >= 0 && c < 8) {
+                long squareMask = 1L << (r * 8 + c);
+                attacks |= squareMask;
+                if ((occupied & squareMask) != 0) break;
+                r += rowOffsets[i];
+                c += colOffsets[i];
             }
         }
 
-        return validMoves;
+        return attacks;
     }
 
     private static long generatePseudoLegalBishopMoves(int square) {
@@ -2,6 +2,7 @@ package core.project.chess.domain.chess.pieces;
 
 import core.project.chess.domain.chess.entities.ChessBoard;
 import core.project.chess.domain.chess.enumerations.Coordinate;
+import core.project.chess.domain.chess.util.MoveBuffer;
 import core.project.chess.domain.chess.value_objects.Move;
 import core.project.chess.domain.commons.enumerations.Color;
 
@@ -71,28 +72,21 @@ public final class Knight implements Piece {
     public boolean isAtLeastOneMove(final ChessBoard chessBoard) {
         long knightBitboard = chessBoard.bitboard(this);
         long ownPieces = chessBoard.allPiecesOf(color);
+        LegalMoveMasks legalMoveMasks = chessBoard.legalMoveMasks(color);
 
         while (knightBitboard != 0) {
             int fromIndex = Long.numberOfTrailingZeros(knightBitboard);
             knightBitboard &= knightBitboard - 1;
 
-            long moves = KNIGHT_MOVES_CACHE[fromIndex] & ~ownPieces;
-            while (moves != 0) {
-                int toIndex = Long.numberOfTrailingZeros(moves);
-                moves &= moves - 1;
-
-                Coordinate from = Coordinate.byIndex(fromIndex);
-                Coordinate to = Coordinate.byIndex(toIndex);
-
-                if (chessBoard.safeForKing(from, to)) return true;
-            }
+            long moves = legalMoveMasks.legalTargets(fromIndex, KNIGHT_MOVES_CACHE[fromIndex] & ~ownPieces);
+            if (moves != 0) return true;
         }
 
         return false;
     }
 
     public long knightAttacks(int square) {
-        return generatePseudoLegalKnightMoves(square);
+        return KNIGHT_MOVES_CACHE[square];
     }
 
     public List<Move> allValidMoves(final ChessBoard chessBoard) {
@@ -100,26 +94,30 @@ public final class Knight implements Piece {
     }
 
     public List<Move> allValidMoves(final ChessBoard chessBoard, final List<Move> validMoves) {
+        MoveBuffer moveBuffer = new MoveBuffer();
+        allValidMoves(chessBoard, moveBuffer);
+        return moveBuffer.toList(validMoves);
+    }
+
+    public void allValidMoves(final ChessBoard chessBoard, final MoveBuffer moveBuffer) {
         long knightBitboard = chessBoard.bitboard(this);
         long ownPieces = chessBoard.allPiecesOf(color);
+        long opponentPieces = chessBoard.allPiecesOf(color.opposite());
+        LegalMoveMasks legalMoveMasks = chessBoard.legalMoveMasks(color);
 
         while (knightBitboard != 0) {
             int fromIndex = Long.numberOfTrailingZeros(knightBitboard);
             knightBitboard &= knightBitboard - 1;
 
-            long moves = KNIGHT_MOVES_CACHE[fromIndex] & ~ownPieces;
+            long moves = legalMoveMasks.legalTargets(fromIndex, KNIGHT_MOVES_CACHE[fromIndex] & ~ownPieces);
             while (moves != 0) {
                 int toIndex = Long.numberOfTrailingZeros(moves);
                 moves &= moves - 1;
 
-                Coordinate from = Coordinate.byIndex(fromIndex);
-                Coordinate to = Coordinate.byIndex(toIndex);
-
-                if (chessBoard.safeForKing(from, to)) validMoves.add(new Move(from, to, null));
+                int flags = (opponentPieces & (1L << toIndex)) != 0 ? MoveBuffer.CAPTURE : 0;
+                moveBuffer.add(fromIndex, toIndex, flags);
             }
         }
-
-        return validMoves;
     }
 
     private static long generatePseudoLegalKnightMoves(int square) {
@@ -0,0 +1,152 @@
+package core.project.chess.domain.chess.pieces;
+
+import core.project.chess.domain.chess.entities.ChessBoard;
+import core.project.chess.domain.chess.enumerations.Checkers;
+import core.project.chess.domain.commons.enumerations.Color;
+
+import static core.project.chess.domain.chess.pieces.Queen.RAY_BITBOARD;
+import static core.project.chess.domain.commons.enumerations.Color.WHITE;
+
+/**
+ * Legality masks for the king of one color, computed once per position:
+ * <ul>
+ *     <li>checkers - opponent pieces giving check;</li>
+ *     <li>check mask - squares a non-king piece may move to: everything if there is no check,
+ *     the checker and the squares between it and the king in case of a single check, nothing on double check;</li>
+ *     <li>pinned pieces together with the ray each of them is allowed to move along;</li>
+ *     <li>squares attacked by the opponent, with the king removed from occupancy, to validate king moves.</li>
+ * </ul>
+ * A pseudo-legal move of a non-king piece is then legal when its target is in the check mask and,
+ * for a pinned piece, in its pin ray. En passant is the only exception and must be simulated separately.
+ */
+public final class LegalMoveMasks {
+    private static final long FILE_A = 0x0101010101010101L;
+    private static final long FILE_H = 0x8080808080808080L;
+
+    private long checkers;
+    private long checkMask;
+    private long pinned;
+    private long attacked;
+    private boolean isAttackedComputed;
+    private final long[] pinRays = new long[64];
+
+    private ChessBoard chessBoard;
+    private Color color;
+
+    public long checkers() {
+        return checkers;
+    }
+
+    public long checkMask() {
+        return checkMask;
+    }
+
+    public long pinned() {
+        return pinned;
+    }
+
+    /** Squares attacked by the opponent, computed on first request since only king moves need them.*/
+    public long attacked() {
+        if (!isAttackedComputed) {
+            attacked = attackedSquares(chessBoard, color.opposite());
+            isAttackedComputed = true;
+        }
+        return attacked;
+    }
+
+    public boolean isCheck() {
+        return checkers != 0L;
+    }
+
+    /**
+     * Filters pseudo-legal targets of a non-king piece standing on the given square.
+     */
+    public long legalTargets(int fromSquare, long targets) {
+        targets &= checkMask;
+        if ((pinned & (1L << fromSquare)) != 0) targets &= pinRays[fromSquare];
+        return targets;
+    }
+
+    public boolean isLegal(int fromSquare, int toSquare) {
+        return (legalTargets(fromSquare, 1L << toSquare)) != 0L;
+    }
+
+    public void update(final ChessBoard chessBoard, final Color color) {
+        this.chessBoard = chessBoard;
+        this.color = color;
+        this.isAttackedComputed = false;
+
+        Color opponent = color.opposite();
+        long kingBitboard = chessBoard.bitboard(King.of(color));
+        int kingSquare = Long.numberOfTrailingZeros(kingBitboard);
+
+        long ownPieces = chessBoard.allPiecesOf(color);
+        long occupied = ownPieces | chessBoard.allPiecesOf(opponent);
+
+        long opponentPawns = chessBoard.bitboard(Pawn.of(opponent));
+        long opponentKnights = chessBoard.bitboard(Knight.of(opponent));
+        long opponentQueens = chessBoard.bitboard(Queen.of(opponent));
+        long opponentDiagonals = chessBoard.bitboard(Bishop.of(opponent)) | opponentQueens;
+        long opponentOrthogonals = chessBoard.bitboard(Rook.of(opponent)) | opponentQueens;
+
+        long[][] checkersTable = color == WHITE ? King.CHECKERS_BITBOARD_FOR_WHITE : King.CHECKERS_BITBOARD_FOR_BLACK;
+        checkers = checkersTable[Checkers.PAWNS.ordinal()][kingSquare] & opponentPawns;
+        checkers |= checkersTable[Checkers.KNIGHTS.ordinal()][kingSquare] & opponentKnights;
+        checkers |= Bishop.bishopAttacks(kingSquare, occupied) & opponentDiagonals;
+        checkers |= Rook.rookAttacks(kingSquare, occupied) & opponentOrthogonals;
+
+        if (checkers == 0L) checkMask = -1L;
+        else if ((checkers & (checkers - 1)) == 0L)
+            checkMask = checkers | RAY_BITBOARD[kingSquare][Long.numberOfTrailingZeros(checkers)];
+        else checkMask = 0L;
+
+        pinned = 0L;
+        long snipers = (Rook.ROOK_MOVES_CACHE[kingSquare] & opponentOrthogonals) |
+                (Bishop.BISHOP_MOVES_CACHE[kingSquare] & opponentDiagonals);
+        while (snipers != 0L) {
+            int sniperSquare = Long.numberOfTrailingZeros(snipers);
+            snipers &= snipers - 1;
+
+            long between = RAY_BITBOARD[kingSquare][sniperSquare];
+            long blockers = between & occupied;
+            if (blockers == 0L || (blockers & (blockers - 1)) != 0L || (blockers & ownPieces) == 0L) continue;
+
+            pinned |= blockers;
+            pinRays[Long.numberOfTrailingZeros(blockers)] = between | (1L << sniperSquare);
+        }
+    }
+
+    /** Opponent attacks with the king of this color removed from occupancy, so it can't hide behind itself.*/
+    private static long attackedSquares(ChessBoard chessBoard, Color opponent) {
+        long occupied = (chessBoard.whitePieces() | chessBoard.blackPieces()) & ~chessBoard.bitboard(King.of(opponent.opposite()));
+        long pawns = chessBoard.bitboard(Pawn.of(opponent));
+        long knights = chessBoard.bitboard(Knight.of(opponent));
+        long queens = chessBoard.bitboard(Queen.of(opponent));
+        long diagonals = chessBoard.bitboard(Bishop.of(opponent)) | queens;
+        long orthogonals = chessBoard.bitboard(Rook.of(opponent)) | queens;
+
+        long attacks = opponent == WHITE ?
+                ((pawns << 7) & ~FILE_H) | ((pawns << 9) & ~FILE_A) :
+                ((pawns >>> 7) & ~FILE_A) | ((pawns >>> 9) & ~FILE_H);
+
+        while (knights != 0L) {
+            attacks |= Knight.KNIGHT_MOVES_CACHE[Long.numberOfTrailingZeros(knights)];
+            knights &= knights - 1;
+        }
+
+        while (diagonals != 0L) {
+            attacks |= Bishop.bishopAttacks(Long.numberOfTrailingZeros(diagonals), occupied);
+            diagonals &= diagonals - 1;
+        }
+
+        while (orthogonals != 0L) {
+            attacks |= Rook.rookAttacks(Long.numberOfTrailingZeros(orthogonals), occupied);
+            orthogonals &= orthogonals - 1;
+        }
+
+        /** Intersection of both caches drops the castling targets, which only one color has on the square.*/
+        int opponentKing = Long.numberOfTrailingZeros(chessBoard.bitboard(King.of(opponent)));
+        attacks |= King.WHITE_KING_MOVES_CACHE[opponentKing] & King.BLACK_KING_MOVES_CACHE[opponentKing];
+        return attacks;
+    }
+}
@@ -2,6 +2,7 @@ package core.project.chess.domain.chess.pieces;
 
 import core.project.chess.domain.chess.entities.ChessBoard;
 import core.project.chess.domain.chess.enumerations.Coordinate;
+import core.project.chess.domain.chess.util.MoveBuffer;
 import core.project.chess.domain.chess.value_objects.Move;
 import core.project.chess.domain.commons.containers.StatusPair;
 import core.project.chess.domain.commons.enumerations.Color;
@@ -137,48 +138,22 @@ public final class Pawn implements Piece {
     public boolean isAtLeastOneMove(final ChessBoard chessBoard) {
         long pawnBitboard = chessBoard.bitboard(this);
         long ownPieces = chessBoard.allPiecesOf(color);
+        long opponentPieces = color == WHITE ? chessBoard.blackPieces() : chessBoard.whitePieces();
+        long occupied = ownPieces | opponentPieces;
+        Coordinate enPassant = chessBoard.enPassant();
+        long enPassantBit = enPassant == null ? 0L : enPassant.bitMask();
+        LegalMoveMasks legalMoveMasks = chessBoard.legalMoveMasks(color);
 
         while (pawnBitboard != 0) {
             int fromIndex = Long.numberOfTrailingZeros(pawnBitboard);
             pawnBitboard &= pawnBitboard - 1;
 
-            long moves = color == WHITE ?
-                    WHITE_PAWN_MOVES_CACHE[fromIndex] & ~ownPieces :
-                    BLACK_PAWN_MOVES_CACHE[fromIndex] & ~ownPieces;
+            long moves = pseudoValidTargets(fromIndex, occupied, opponentPieces | enPassantBit);
+            if (legalMoveMasks.legalTargets(fromIndex, moves & ~enPassantBit) != 0) return true;
 
-            while (moves != 0) {
-                int toIndex = Long.numberOfTrailingZeros(moves);
-                moves &= moves - 1;
-
-                Coordinate from = Coordinate.byIndex(fromIndex);
-                Coordinate to = Coordinate.byIndex(toIndex);
-
-                final int startColumn = from.column();
-                final int endColumn = to.column();
-                final int startRow = from.row();
-                final int endRow = to.row();
-                long targetBit = to.bitMask();
-
-                if ((targetBit & ownPieces) != 0) continue;
-                long opponentPieces = color == WHITE ? chessBoard.blackPieces() : chessBoard.whitePieces();
-                long occupied = ownPieces | opponentPieces;
-
-                final boolean straightMove = endColumn == startColumn;
-                if (straightMove) {
-                    if ((occupied & targetBit) != 0) continue;
-                    int delta = Math.abs(startRow - endRow);
-                    if (delta == 2) {
-                        int middleRow = (startRow + endRow) / 2;
-                        Coordinate middle = Coordinate.of(middleRow, startColumn);
-                        if (chessBoard.piece(middle) != null) continue;
-                    }
-                    return chessBoard.safeForKing(from, to);
-                }
-
-                final boolean capture = (targetBit & opponentPieces) != 0 || to == chessBoard.enPassant();
-                if (!capture) continue;
-                return chessBoard.safeForKing(from, to);
-            }
+            final boolean enPassantMove = (moves & enPassantBit) != 0 &&
+                    chessBoard.safeForKing(Coordinate.byIndex(fromIndex), enPassant);
+            if (enPassantMove) return true;
         }
 
         return false;
@@ -209,65 +184,60 @@ public final class Pawn implements Piece {
     }
 
     public List<Move> allValidMoves(final ChessBoard chessBoard, final List<Move> validMoves) {
+        MoveBuffer moveBuffer = new MoveBuffer();
+        allValidMoves(chessBoard, moveBuffer);
+        return moveBuffer.toList(validMoves);
+    }
+
+    public void allValidMoves(final ChessBoard chessBoard, final MoveBuffer moveBuffer) {
         long pawnBitboard = chessBoard.bitboard(this);
         long ownPieces = chessBoard.allPiecesOf(color);
+        long opponentPieces = color == WHITE ? chessBoard.blackPieces() : chessBoard.whitePieces();
+        long occupied = ownPieces | opponentPieces;
+        Coordinate enPassant = chessBoard.enPassant();
+        long enPassantBit = enPassant == null ? 0L : enPassant.bitMask();
+        LegalMoveMasks legalMoveMasks = chessBoard.legalMoveMasks(color);
 
         while (pawnBitboard != 0) {
             int fromIndex = Long.numberOfTrailingZeros(pawnBitboard);
             pawnBitboard &= pawnBitboard - 1;
 
-            long moves = color == WHITE ?
-                    WHITE_PAWN_MOVES_CACHE[fromIndex] & ~ownPieces :
-                    BLACK_PAWN_MOVES_CACHE[fromIndex] & ~ownPieces;
+            long pseudoMoves = pseudoValidTargets(fromIndex, occupied, opponentPieces | enPassantBit);
+            long moves = legalMoveMasks.legalTargets(fromIndex, pseudoMoves & ~enPassantBit);
+
+            final boolean enPassantMove = (pseudoMoves & enPassantBit) != 0 &&
+                    chessBoard.safeForKing(Coordinate.byIndex(fromIndex), enPassant);
+            if (enPassantMove) moves |= enPassantBit;
 
             while (moves != 0) {
                 int toIndex = Long.numberOfTrailingZeros(moves);
                 moves &= moves - 1;
+                long targetBit = 1L << toIndex;
 
-                Coordinate from = Coordinate.byIndex(fromIndex);
-                Coordinate to = Coordinate.byIndex(toIndex);
-
-                final int startColumn = from.column();
-                final int endColumn = to.column();
-                final int startRow = from.row();
-                final int endRow = to.row();
-                long targetBit = to.bitMask();
-
-                if ((targetBit & ownPieces) != 0) continue;
-                long opponentPieces = color == WHITE ? chessBoard.blackPieces() : chessBoard.whitePieces();
-                long occupied = ownPieces | opponentPieces;
-
-                final boolean straightMove = endColumn == startColumn;
-                if (straightMove) {
-                    if ((occupied & targetBit) != 0) continue;
-                    int delta = Math.abs(startRow - endRow);
-                    if (delta == 2) {
-                        int middleRow = (startRow + endRow) / 2;
-                        Coordinate middle = Coordinate.of(middleRow, startColumn);
-                        if (chessBoard.piece(middle) != null) continue;
-                    }
-                    addMove(chessBoard, from, to, validMoves);
-                }
-
-                final boolean capture = (targetBit & opponentPieces) != 0 || to == chessBoard.enPassant();
-                if (!capture) continue;
-                addMove(chessBoard, from, to, validMoves);
+                int flags = 0;
+                if ((targetBit & opponentPieces) != 0) flags = MoveBuffer.CAPTURE;
+                else if (targetBit == enPassantBit) flags = MoveBuffer.CAPTURE | MoveBuffer.EN_PASSANT;
+                else if (Math.abs(fromIndex - toIndex) == 16) flags = MoveBuffer.DOUBLE_PUSH;
+
+                final boolean promotion = toIndex < 8 || toIndex >= 56;
+                if (promotion) moveBuffer.addPromotions(fromIndex, toIndex, color, flags);
+                else moveBuffer.add(fromIndex, toIndex, flags);
             }
         }
-
-        return validMoves;
     }
 
-    private void addMove(ChessBoard chessBoard, Coordinate from, Coordinate to, List<Move> validMoves) {
-        if (chessBoard.safeForKing(from, to)) {
-            if (to.row() == 1 || to.row() == 8) {
-                validMoves.add(new Move(from, to, Queen.of(color)));
-                validMoves.add(new Move(from, to, Rook.of(color)));
-                validMoves.add(new Move(from, to, Bishop.of(color)));
-                validMoves.add(new Move(from, to, Knight.of(color)));
-            }
-            else validMoves.add(new Move(from, to, null));
-        }
+    /**
+     * Pushes (single and double, if not blocked) and captures of the pawn on the given square,
+     * without taking king safety into account.
+     */
+    private long pseudoValidTargets(int fromIndex, long occupied, long capturable) {
+        long pseudoMoves = (color == WHITE ? WHITE_PAWN_MOVES_CACHE : BLACK_PAWN_MOVES_CACHE)[fromIndex];
+        long pushes = pseudoMoves & Rook.ROOK_MOVES_CACHE[fromIndex] & ~occupied;
+        long captures = pseudoMoves & ~Rook.ROOK_MOVES_CACHE[fromIndex] & capturable;
+
+        int singlePush = color == WHITE ? fromIndex + 8 : fromIndex - 8;
+        if ((occupied & (1L << singlePush)) != 0) pushes = 0L;
+        return pushes | captures;
     }
 
     private static long generatePseudoValidPawnMoves(int square, Color color) {
@@ -11,6 +11,7 @@ import java.util.List;
 import java.util.Set;
 
 import static core.project.chess.domain.chess.entities.ChessBoard.Operations;
+import static core.project.chess.domain.chess.pieces.Queen.DIRECTION_RAY_BITBOARD;
 import static core.project.chess.domain.chess.pieces.Queen.RAY_BITBOARD;
 
 public sealed interface Piece
@@ -79,17 +80,15 @@ public sealed interface Piece
             long simulatedBitboard,
             long simulatedOpponentBitboard) {
 
-        Coordinate current = pivot;
-        while (true) {
-            current = direction.apply(current);
-            if (current == null) return null;
-
-            long bit = current.bitMask();
-            if ((simulatedBitboard & bit) != 0) {
-                if ((simulatedOpponentBitboard & bit) != 0) return current;
-                return null;
-            }
-        }
+        long rayOccupied = rayMask(direction, pivot.index()) & simulatedBitboard;
+        if (rayOccupied == 0) return null;
+
+        int index;
+        if (direction.isTowardsLowBits()) index = Long.SIZE - 1 - Long.numberOfLeadingZeros(rayOccupied);
+        else index = Long.numberOfTrailingZeros(rayOccupied);
+
+        if ((simulatedOpponentBitboard & (1L << index)) == 0) return null;
+        return Coordinate.byIndex(index);
     }
 
     default List<Coordinate> surroundingFields(Coordinate pivot) {
@@ -124,25 +123,7 @@ public sealed interface Piece
     }
 
     default long rayMask(Direction direction, int fromSquare) {
-        long ray = 0L;
-        int row = fromSquare / 8;
-        int col = fromSquare % 8;
-
-        int rowStep = direction.rowDelta();
-        int colStep = direction.colDelta();
-
-        row += rowStep;
-        col += colStep;
-
-        while (row >= 0 && row < 8 && col >= 0 && col < 8) {
-            int index = row * 8 + col;
-            ray |= (1L << index);
-
-            row += rowStep;
-            col += colStep;
-        }
-
-        return ray;
+        return DIRECTION_RAY_BITBOARD[direction.ordinal()][fromSquare];
     }
 
     default List<Coordinate> fieldsInPath(Coordinate start, Coordinate end) {
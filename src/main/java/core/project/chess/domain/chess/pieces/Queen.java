@@ -2,6 +2,7 @@ package core.project.chess.domain.chess.pieces;
 
 import core.project.chess.domain.chess.entities.ChessBoard;
 import core.project.chess.domain.chess.enumerations.Coordinate;
+import core.project.chess.domain.chess.util.MoveBuffer;
 import core.project.chess.domain.chess.enumerations.Direction;
 import core.project.chess.domain.chess.value_objects.Move;
 import core.project.chess.domain.commons.enumerations.Color;
@@ -31,6 +32,15 @@ public final class Queen implements Piece {
             }
         }
     }
+    /** Full ray from the square (exclusive) to the edge of the board, indexed by direction ordinal.*/
+    static final long[][] DIRECTION_RAY_BITBOARD = new long[Direction.values().length][64];
+    static {
+        for (Direction direction : Direction.values()) {
+            for (int square = 0; square < 64; square++) {
+                DIRECTION_RAY_BITBOARD[direction.ordinal()][square] = computeRayMaskInDirection(direction, square);
+            }
+        }
+    }
 
     public static Queen of(Color color) {
         return color == Color.WHITE ? WHITE_QUEEN : BLACK_QUEEN;
@@ -69,59 +79,62 @@ public final class Queen implements Piece {
     boolean queenMove(final ChessBoard chessBoard, final Coordinate startField, final Coordinate endField) {
         int startSquare = startField.index();
         int endSquare = endField.index();
-        long validMoves = QUEEN_MOVES_CACHE[startSquare] & ~chessBoard.allPiecesOf(color);
-        if ((validMoves & (1L << endSquare)) == 0) return false;
-        return clearPath(chessBoard, startField, endField);
+        long occupied = chessBoard.whitePieces() | chessBoard.blackPieces();
+        long validMoves = queenAttacks(startSquare, occupied) & ~chessBoard.allPiecesOf(color);
+        return (validMoves & (1L << endSquare)) != 0;
     }
 
     public boolean isAtLeastOneMove(final ChessBoard chessBoard) {
         long queenBitboard = chessBoard.bitboard(this);
         long ownPieces = chessBoard.allPiecesOf(color);
+        long occupied = chessBoard.whitePieces() | chessBoard.blackPieces();
+        LegalMoveMasks legalMoveMasks = chessBoard.legalMoveMasks(color);
 
         while (queenBitboard != 0) {
             int fromIndex = Long.numberOfTrailingZeros(queenBitboard);
             queenBitboard &= queenBitboard - 1;
 
-            long moves = QUEEN_MOVES_CACHE[fromIndex] & ~ownPieces;
-            while (moves != 0) {
-                int toIndex = Long.numberOfTrailingZeros(moves);
-                moves &= moves - 1;
-
-                Coordinate from = Coordinate.byIndex(fromIndex);
-                Coordinate to = Coordinate.byIndex(toIndex);
-                if (clearPath(chessBoard, from, to) && chessBoard.safeForKing(from, to)) return true;
-            }
+            long moves = legalMoveMasks.legalTargets(fromIndex, queenAttacks(fromIndex, occupied) & ~ownPieces);
+            if (moves != 0) return true;
         }
 
         return false;
     }
 
+    public static long queenAttacks(int square, long occupied) {
+        return Rook.rookAttacks(square, occupied) | Bishop.bishopAttacks(square, occupied);
+    }
+
     public List<Move> allValidMoves(final ChessBoard chessBoard) {
         return allValidMoves(chessBoard, new ArrayList<>());
     }
 
-    public List<Move> allValidMoves(final ChessBoard chessBoard, List<Move> validMoves) {
+    public List<Move> allValidMoves(final ChessBoard chessBoard, final List<Move> validMoves) {
+        MoveBuffer moveBuffer = new MoveBuffer();
+        allValidMoves(chessBoard, moveBuffer);
+        return moveBuffer.toList(validMoves);
+    }
+
+    public void allValidMoves(final ChessBoard chessBoard, final MoveBuffer moveBuffer) {
         long queenBitboard = chessBoard.bitboard(this);
         long ownPieces = chessBoard.allPiecesOf(color);
+        long opponentPieces = chessBoard.allPiecesOf(color.opposite());
+        long occupied = chessBoard.whitePieces() | chessBoard.blackPieces();
+        LegalMoveMasks legalMoveMasks = chessBoard.legalMoveMasks(color);
 
         while (queenBitboard != 0) {
             int fromIndex = Long.numberOfTrailingZeros(queenBitboard);
             queenBitboard &= queenBitboard - 1;
 
-            long moves = QUEEN_MOVES_CACHE[fromIndex] & ~ownPieces;
+            long moves = legalMoveMasks.legalTargets(fromIndex, queenAttacks(fromIndex, occupied) & ~ownPieces);
             while (moves != 0) {
                 int toIndex = Long.numberOfTrailingZeros(moves);
                 moves &= moves - 1;
 
-                Coordinate from = Coordinate.byIndex(fromIndex);
-                Coordinate to = Coordinate.byIndex(toIndex);
-
-                if (clearPath(chessBoard, from, to) &&
-                        chessBoard.safeForKing(from, to)) validMoves.add(new Move(from, to, null));
+                int flags = (opponentPieces & (1L << toIndex)) != 0 ? MoveBuffer.CAPTURE : 0;
+                moveBuffer.add(fromIndex, toIndex, flags);
             }
         }
-
-        return validMoves;
     }
 
     private static long generatePseudoValidQueenMoves(int square) {
@@ -151,6 +164,20 @@ public final class Queen implements Piece {
         return moves;
     }
 
+    private static long computeRayMaskInDirection(Direction direction, int fromSquare) {
+        long ray = 0L;
+        int row = fromSquare / 8 + direction.rowDelta();
+        int col = fromSquare % 8 + direction.colDelta();
+
+        while (row >= 0 && row < 8 && col >= 0 && col < 8) {
+            ray |= (1L << (row * 8 + col));
+            row += direction.rowDelta();
+            col += direction.colDelta();
+        }
+
+        return ray;
+    }
+
     /** Does not take into account the final coordinate itself (not inclusive)*/
     private static long computeRayMaskBetween(int fromSquare, int toSquare) {
         long ray = 0L;
@@ -2,6 +2,7 @@ package core.project.chess.domain.chess.pieces;
 
 import core.project.chess.domain.chess.entities.ChessBoard;
 import core.project.chess.domain.chess.enumerations.Coordinate;
+import core.project.chess.domain.chess.util.MoveBuffer;
 import core.project.chess.domain.chess.value_objects.Move;
 import core.project.chess.domain.commons.enumerations.Color;
 
@@ -23,6 +24,47 @@ public final class Rook implements Piece {
         for (int square = 0; square < 64; square++) ROOK_MOVES_CACHE[square] = generatePseudoValidRookMoves(square);
     }
 
+    /**
+     * Magic numbers for the fixed-shift rook lookup: (occupancy & mask) * magic >>> shift
+     * gives a dense index into the per-square attack table.
+     */
+    private static final long[] ROOK_MAGICS = {
+            0x1480034000A08018L, 0x5040001000402000L, 0x99000A6000D10041L, 0x528008001001C480L,
+            0x0100100801000402L, 0x8100040002010008L, 0x0380008019000200L, 0x0100020020408100L,
+            0x4021800080400020L, 0x0000802000400082L, 0x8000802000100088L, 0x8000801000080080L,
+            0x0000800400080080L, 0x0222802200800400L, 0x8001000401000200L, 0x000200020040A904L,
+            0x0080004020004008L, 0x0100860040210201L, 0x00304A0010220081L, 0x0441210010030108L,
+            0x1028010005001008L, 0x0040808004000200L, 0x0444040090024801L, 0x094402002C004287L,
+            0x000385248000400AL, 0x8000820200402102L, 0x4017011100402006L, 0x2000201200420008L,
+            0x2000080080800400L, 0x0822000200081004L, 0x0000480400020190L, 0x0200008200010044L,
+            0x1024400022800081L, 0x0660003000C00040L, 0x0008820022001040L, 0x2412100009002100L,
+            0x0428040801001101L, 0x0004020080800400L, 0xCD800E080C002910L, 0x0009000081000042L,
+            0x088000402000C000L, 0x0044600550054002L, 0x0200100020008080L, 0x8010008008008010L,
+            0x00820004208A0010L, 0x0201000804010002L, 0x04020008210200C4L, 0x4010004100820004L,
+            0x2402008038410200L, 0x0082804001200680L, 0x00801A0020408200L, 0x0004201001040900L,
+            0x0540800800040080L, 0x0C02008408108200L, 0x0808D00831020400L, 0x0428800049001880L,
+            0x8001004084221202L, 0x0404400421001085L, 0x0C0408A042021082L, 0x2008050008100021L,
+            0x0101000208001005L, 0x000100080400822DL, 0x0033211098100204L, 0x8004042104004882L
+    };
+    private static final long[] ROOK_MASKS = new long[64];
+    private static final int[] ROOK_SHIFTS = new int[64];
+    private static final long[][] ROOK_ATTACKS = new long[64][];
+    static {
+        for (int square = 0; square < 64; square++) {
+            long mask = relevantOccupancyMask(square);
+            int bits = Long.bitCount(mask);
+            ROOK_MASKS[square] = mask;
+            ROOK_SHIFTS[square] = 64 - bits;
+            ROOK_ATTACKS[square] = new long[1 << bits];
+
+            for (int i = 0; i < 1 << bits; i++) {
+                long occupied = Long.expand(i, mask);
+                int key = (int) ((occupied * ROOK_MAGICS[square]) >>> ROOK_SHIFTS[square]);
+                ROOK_ATTACKS[square][key] = slidingAttacks(square, occupied);
+            }
+        }
+    }
+
     public static Rook of(Color color) {
         return color == Color.WHITE ? WHITE_ROOK : BLACK_ROOK;
     }
@@ -60,28 +102,23 @@ public final class Rook implements Piece {
     boolean rookMove(final ChessBoard chessBoard, final Coordinate startField, final Coordinate endField) {
         int startSquare = startField.index();
         int endSquare = endField.index();
-        long validMoves = ROOK_MOVES_CACHE[startSquare] & ~chessBoard.allPiecesOf(color);
-        if ((validMoves & (1L << endSquare)) == 0) return false;
-        return clearPath(chessBoard, startField, endField);
+        long occupied = chessBoard.whitePieces() | chessBoard.blackPieces();
+        long validMoves = rookAttacks(startSquare, occupied) & ~chessBoard.allPiecesOf(color);
+        return (validMoves & (1L << endSquare)) != 0;
     }
 
     public boolean isAtLeastOneMove(final ChessBoard chessBoard) {
         long rookBitboard = chessBoard.bitboard(this);
         long ownPieces = chessBoard.allPiecesOf(color);
+        long occupied = chessBoard.whitePieces() | chessBoard.blackPieces();
+        LegalMoveMasks legalMoveMasks = chessBoard.legalMoveMasks(color);
 
         while (rookBitboard != 0) {
             int fromIndex = Long.numberOfTrailingZeros(rookBitboard);
             rookBitboard &= rookBitboard - 1;
 
-            long moves = ROOK_MOVES_CACHE[fromIndex] & ~ownPieces;
-            while (moves != 0) {
-                int toIndex = Long.numberOfTrailingZeros(moves);
-                moves &= moves - 1;
-
-                Coordinate from = Coordinate.byIndex(fromIndex);
-                Coordinate to = Coordinate.byIndex(toIndex);
-                if (clearPath(chessBoard, from, to) && chessBoard.safeForKing(from, to)) return true;
-            }
+            long moves = legalMoveMasks.legalTargets(fromIndex, rookAttacks(fromIndex, occupied) & ~ownPieces);
+            if (moves != 0) return true;
         }
 
         return false;
@@ -91,32 +128,83 @@ public final class Rook implements Piece {
         return generatePseudoValidRookMoves(square);
     }
 
+    /**
+     * Returns the squares attacked by a rook standing on the given square, stopping at (and including)
+     * the first occupied square in every direction.
+     */
+    public static long rookAttacks(int square, long occupied) {
+        int key = (int) (((occupied & ROOK_MASKS[square]) * ROOK_MAGICS[square]) >>> ROOK_SHIFTS[square]);
+        return ROOK_ATTACKS[square][key];
+    }
+
     public List<Move> allValidMoves(final ChessBoard chessBoard) {
         return allValidMoves(chessBoard, new ArrayList<>());
     }
 
     public List<Move> allValidMoves(final ChessBoard chessBoard, final List<Move> validMoves) {
+        MoveBuffer moveBuffer = new MoveBuffer();
+        allValidMoves(chessBoard, moveBuffer);
+        return moveBuffer.toList(validMoves);
+    }
+
+    public void allValidMoves(final ChessBoard chessBoard, final MoveBuffer moveBuffer) {
         long rookBitboard = chessBoard.bitboard(this);
         long ownPieces = chessBoard.allPiecesOf(color);
+        long opponentPieces = chessBoard.allPiecesOf(color.opposite());
+        long occupied = chessBoard.whitePieces() | chessBoard.blackPieces();
+        LegalMoveMasks legalMoveMasks = chessBoard.legalMoveMasks(color);
 
         while (rookBitboard != 0) {
             int fromIndex = Long.numberOfTrailingZeros(rookBitboard);
             rookBitboard &= rookBitboard - 1;
 
-            long moves = ROOK_MOVES_CACHE[fromIndex] & ~ownPieces;
+            long moves = legalMoveMasks.legalTargets(fromIndex, rookAttacks(fromIndex, occupied) & ~ownPieces);
             while (moves != 0) {
                 int toIndex = Long.numberOfTrailingZeros(moves);
                 moves &= moves - 1;
 
-                Coordinate from = Coordinate.byIndex(fromIndex);
-                Coordinate to = Coordinate.byIndex(toIndex);
-
-                if (clearPath(chessBoard, from, to) &&
-                        chessBoard.safeForKing(from, to)) validMoves.add(new Move(from, to, null));
+                int flags = (opponentPieces & (1L << toIndex)) != 0 ? MoveBuffer.CAPTURE : 0;
+                moveBuffer.add(fromIndex, toIndex, flags);
             }
         }
+    }
+
+    private static long relevantOccupancyMask(int square) {
+        long mask = 0L;
+        int row = square / 8;
+        int col = square % 8;
 
-        return validMoves;
+        for (int i = col - 1; i > 0; i--) mask |= 1L << (row * 8 + i);
+        for (int i = col + 1; i < 7; i++) mask |= 1L << (row * 8 + i);
+
+        for (int i = row - 1; i > 0; i--) mask |= 1L << (i * 8 + col);
+        for (int i = row + 1; i < 7; i++) mask |= 1L << (i * 8 + col);
+        return mask;
+    }
+
+    private static long slidingAttacks(int square, long occupied) {
+        long attacks = 0L;
+        int row = square / 8;
+        int col = square % 8;
+
+        for (int i = col - 1; i >= 0; i--) {
+            attacks |= 1L << (row * 8 + i);
+            if ((occupied & (1L << (row * 8 + i))) != 0) break;
+        }
+        for (int i = col + 1; i < 8; i++) {
+            attacks |= 1L << (row * 8 + i);
+            if ((occupied & (1L << (row * 8 + i))) != 0) break;
+        }
+
+        for (int i = row - 1; i >= 0; i--) {
+            attacks |= 1L << (i * 8 + col);
+            if ((occupied & (1L << (i * 8 + col))) != 0) break;
+        }
+        for (int i = row + 1; i < 8; i++) {
+            attacks |= 1L << (i * 8 + col);
+            if ((occupied & (1L << (i * 8 + col))) != 0) break;
+        }
+        return attacks;
     }
 
     private static long generatePseudoValidRookMoves(int square) {
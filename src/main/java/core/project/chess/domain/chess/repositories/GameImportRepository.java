@@ -0,0 +1,24 @@
+package core.project.chess.domain.chess.repositories;
+
+import core.project.chess.application.dto.chess.ImportedGame;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public interface GameImportRepository {
+
+    /**
+     * @return count of games of the source processed by the previous imports, 0 for a new source.
+     */
+    long processedGames(String source);
+
+    Map<String, UUID> userIds(Collection<String> usernames);
+
+    /**
+     * Saves the games and moves the checkpoint of the source to the given count of processed games atomically,
+     * so an interrupted import is resumed right after the last saved batch.
+     */
+    void saveBatch(String source, List<ImportedGame> games, long processedGames);
+}
@@ -2,6 +2,10 @@ package core.project.chess.domain.chess.repositories;
 
 import core.project.chess.domain.chess.entities.ChessGame;
 import core.project.chess.domain.chess.entities.Puzzle;
+import core.project.chess.domain.chess.value_objects.GameAnalysis;
+
+import java.util.List;
+import java.util.UUID;
 
 public interface InboundChessRepository {
 
@@ -9,7 +13,11 @@ public interface InboundChessRepository {
 
     void completelyUpdateFinishedGame(ChessGame chessGame);
 
+    void saveGameAnalysis(UUID historyId, GameAnalysis gameAnalysis);
+
     void savePuzzle(Puzzle puzzle);
 
+    void savePuzzles(List<Puzzle> puzzles);
+
     void updatePuzzleOnSolving(Puzzle puzzle);
 }
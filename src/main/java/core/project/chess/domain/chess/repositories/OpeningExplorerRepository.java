@@ -0,0 +1,25 @@
+package core.project.chess.domain.chess.repositories;
+
+import core.project.chess.domain.chess.value_objects.ExplorerGame;
+import core.project.chess.domain.chess.value_objects.ExplorerMoveStatistics;
+
+import java.util.List;
+
+public interface OpeningExplorerRepository {
+
+    /**
+     * Adds the game to the statistics of its positions, a game which is already indexed is ignored.
+     */
+    void index(ExplorerGame explorerGame);
+
+    /**
+     * @return moves played from the position, the most played first.
+     */
+    List<ExplorerMoveStatistics> moves(long positionHash, int limit);
+
+    /**
+     * @param afterHistoryId id of the last game of the previous batch, empty string for the first batch.
+     * @return games of the history which are not indexed yet, replayed, in order of the history id.
+     */
+    List<ExplorerGame> notIndexedGames(String afterHistoryId, int limit);
+}
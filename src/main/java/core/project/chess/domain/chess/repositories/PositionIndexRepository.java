@@ -0,0 +1,14 @@
+package core.project.chess.domain.chess.repositories;
+
+import core.project.chess.application.dto.chess.PositionOccurrence;
+import core.project.chess.domain.chess.value_objects.GamePositions;
+import core.project.chess.domain.commons.containers.Result;
+
+import java.util.List;
+
+public interface PositionIndexRepository {
+
+    void index(GamePositions gamePositions);
+
+    Result<List<PositionOccurrence>, Throwable> games(long positionHash, int limit, int offSet);
+}
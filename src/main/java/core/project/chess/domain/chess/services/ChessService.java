@@ -4,10 +4,13 @@ import core.project.chess.domain.chess.entities.ChessGame;
 import core.project.chess.domain.chess.entities.Puzzle;
 import core.project.chess.domain.chess.enumerations.AgreementResult;
 import core.project.chess.domain.chess.enumerations.Coordinate;
+import core.project.chess.domain.chess.enumerations.MoveStatus;
 import core.project.chess.domain.chess.enumerations.UndoMoveResult;
 import core.project.chess.domain.chess.pieces.Piece;
 import core.project.chess.domain.chess.repositories.InboundChessRepository;
+import core.project.chess.domain.chess.repositories.OpeningExplorerRepository;
 import core.project.chess.domain.chess.repositories.OutboundChessRepository;
+import core.project.chess.domain.chess.repositories.PositionIndexRepository;
 import core.project.chess.domain.chess.value_objects.*;
 import core.project.chess.domain.commons.annotations.Nullable;
 import core.project.chess.domain.commons.containers.Result;
@@ -28,10 +31,18 @@ public class ChessService {
 
     private final OutboundChessRepository outboundChessRepository;
 
+    private final OpeningExplorerRepository openingExplorerRepository;
+
+    private final PositionIndexRepository positionIndexRepository;
+
     ChessService(InboundChessRepository inboundChessRepository,
-                 OutboundChessRepository outboundChessRepository) {
+                 OutboundChessRepository outboundChessRepository,
+                 OpeningExplorerRepository openingExplorerRepository,
+                 PositionIndexRepository positionIndexRepository) {
         this.inboundChessRepository = inboundChessRepository;
         this.outboundChessRepository = outboundChessRepository;
+        this.openingExplorerRepository = openingExplorerRepository;
+        this.positionIndexRepository = positionIndexRepository;
     }
 
     public boolean validateOpponentEligibility(
@@ -74,20 +85,20 @@ public class ChessService {
         return Math.abs(rating1 - rating);
     }
 
-    public Result<GameStateUpdate, Throwable> move(UUID userID, ChessGame chessGame,
-                                                   Coordinate from, Coordinate to, @Nullable String promotion) {
-        try {
-            chessGame.doMove(userID, from, to, getPromotion(promotion));
-            return Result.success(new GameStateUpdate(
-                    chessGame.chessGameID(),
-                    chessGame.fen(),
-                    chessGame.pgn(),
-                    remainingTimeAsString(chessGame),
-                    chessGame.isThreeFoldActive()
-            ));
-        } catch (IllegalArgumentException | IllegalStateException e) {
-            return Result.failure(e);
-        }
+    public MoveOutcome move(UUID userID, ChessGame chessGame,
+                            @Nullable Coordinate from, @Nullable Coordinate to, @Nullable String promotion) {
+        final MoveStatus status = chessGame.tryMove(userID, from, to, getPromotion(promotion));
+        if (status != MoveStatus.VALID) return MoveOutcome.invalid(status);
+
+        return MoveOutcome.valid(new GameStateUpdate(
+                chessGame.chessGameID(),
+                chessGame.fen(),
+                chessGame.pgn(),
+                remainingTimeAsString(chessGame),
+                chessGame.isThreeFoldActive(),
+                chessGame.isAdjudicationAvailable(),
+                chessGame.legalMoveMap()
+        ));
     }
 
     public String remainingTimeAsString(ChessGame cg) {
@@ -150,6 +161,15 @@ public class ChessService {
         }
     }
 
+    public boolean adjudication(UUID userID, ChessGame chessGame) {
+        try {
+            chessGame.endGameByAdjudication(userID);
+            return true;
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return false;
+        }
+    }
+
     public AgreementResult agreement(UUID userID, ChessGame chessGame) {
         try {
             chessGame.agreement(userID);
@@ -190,5 +210,17 @@ public class ChessService {
         }
 
         inboundChessRepository.completelyUpdateFinishedGame(chessGame);
+
+        try {
+            openingExplorerRepository.index(ExplorerGame.of(chessGame));
+        } catch (IllegalStateException e) {
+            Log.errorf(e, "Can`t index game %s in opening explorer", chessGame.chessGameID());
+        }
+
+        try {
+            positionIndexRepository.index(GamePositions.of(chessGame));
+        } catch (IllegalStateException e) {
+            Log.errorf(e, "Can`t index positions of game %s", chessGame.chessGameID());
+        }
     }
 }
@@ -0,0 +1,439 @@
+package core.project.chess.domain.chess.util;
+
+import core.project.chess.domain.chess.pieces.Bishop;
+import core.project.chess.domain.chess.pieces.Queen;
+import core.project.chess.domain.chess.pieces.Rook;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * Bitbase of one endgame: the result of every position with the given pieces with the best play, from the side to move,
+ * 2 bits per position: DRAW, WIN, LOSS or INVALID for positions which can't occur in a game.
+ * <p>
+ * An endgame is named by its pieces, white ones first: "KQKR" is a king and a queen of white against a king and a rook
+ * of black. Positions with reversed colors are probed mirrored, see EndgameBitbases. A position is indexed
+ * by the squares of the pieces in the order of the name, 6 bits each, followed by the side to move:
+ * ((square0 * 64 + square1) * 64 + ...) * 2 + (black to move ? 1 : 0). Castling is not considered,
+ * en passant is impossible with a single pawn.
+ * <p>
+ * Bitbases are generated by retrograde analysis. Every position is initialized by its moves first: captures and promotions
+ * leave the endgame and are resolved by the smaller bitbases, other moves are counted. Mates, stalemates and positions
+ * won by a capture or a promotion are resolved immediately. Then the results are propagated backwards, level by level,
+ * through the moves taken back (un-moves): a predecessor of a lost position is won, a predecessor loses when all
+ * of its counted moves lead to won positions and no move leads to a draw. Positions left unresolved are draws.
+ */
+public final class Bitbase {
+    static final int DRAW = 0;
+    static final int WIN = 1;
+    static final int LOSS = 2;
+    static final int INVALID = 3;
+
+    static final int KING = 5;
+    static final int PAWN = 0;
+    static final int BLACK = 6;
+
+    private static final String PIECE_LETTERS = "PNBRQK";
+    private static final int VALUE_MASK = 3;
+    private static final int COUNT_MASK = 63;
+    private static final int HAS_DRAW = 64;
+    private static final int[] LEVEL_FLAGS = {4, 8};
+
+    private static final long[] KING_ATTACKS = new long[64];
+    private static final long[] KNIGHT_ATTACKS = new long[64];
+    private static final long[][] PAWN_ATTACKS = new long[2][64];
+    static {
+        for (int square = 0; square < 64; square++) {
+            KING_ATTACKS[square] = leaps(square, new int[][]{{1, 0}, {1, 1}, {0, 1}, {-1, 1}, {-1, 0}, {-1, -1}, {0, -1}, {1, -1}});
+            KNIGHT_ATTACKS[square] = leaps(square, new int[][]{{1, 2}, {2, 1}, {2, -1}, {1, -2}, {-1, -2}, {-2, -1}, {-2, 1}, {-1, 2}});
+            PAWN_ATTACKS[0][square] = leaps(square, new int[][]{{-1, 1}, {1, 1}});
+            PAWN_ATTACKS[1][square] = leaps(square, new int[][]{{-1, -1}, {1, -1}});
+        }
+    }
+
+    private final String name;
+    private final int[] pieces;
+    private final ByteBuffer data;
+
+    private Bitbase(final String name, final int[] pieces, final ByteBuffer data) {
+        this.name = name;
+        this.pieces = pieces;
+        this.data = data;
+    }
+
+    /**
+     * @param data results of all positions as written by data(), for example a memory-mapped file.
+     * @throws IllegalArgumentException if the name is not a valid endgame or the size of the data doesn`t match it.
+     */
+    public static Bitbase of(final String name, final ByteBuffer data) {
+        Objects.requireNonNull(data);
+        final int[] pieces = pieces(name);
+        if (data.capacity() != sizeInBytes(pieces.length))
+            throw new IllegalArgumentException("Invalid size of bitbase %s: %d bytes.".formatted(name, data.capacity()));
+        return new Bitbase(name, pieces, data);
+    }
+
+    /**
+     * Generates the bitbase by retrograde analysis.
+     *
+     * @param smaller bitbases of all endgames reachable by captures and promotions, except the trivial draws.
+     * @throws IllegalStateException if a bitbase of a reachable endgame is missing.
+     */
+    public static Bitbase generate(final String name, final EndgameBitbases smaller) {
+        final int[] pieces = pieces(name);
+        return new Bitbase(name, pieces, new Generator(pieces, smaller).generate());
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public int countOfPieces() {
+        return pieces.length;
+    }
+
+    /**
+     * @return read-only view of the results, 4 positions per byte from the lowest bits.
+     */
+    public ByteBuffer data() {
+        return data.asReadOnlyBuffer();
+    }
+
+    static int sizeInBytes(final int countOfPieces) {
+        return 1 << (6 * countOfPieces + 1 - 2);
+    }
+
+    /**
+     * @param pieces    indices of the pieces (white pawn 0 .. white king 5, black pawn 6 .. black king 11) in any order.
+     * @param squares   squares of the pieces.
+     * @return result for the side to move (0 white, 1 black), or -1 if the pieces are not the endgame of the bitbase.
+     */
+    int probe(final int[] pieces, final int[] squares, final int sideToMove) {
+        if (pieces.length != this.pieces.length) return -1;
+
+        int index = indexOf(pieces, squares, sideToMove, 0, 0);
+        if (index == -1) index = indexOf(pieces, squares, 1 - sideToMove, BLACK, 56);
+        if (index == -1) return -1;
+        return (data.get(index >>> 2) >>> ((index & 3) << 1)) & VALUE_MASK;
+    }
+
+    /**
+     * Matches the pieces to the pieces of the bitbase with the colors swapped and the board mirrored vertically if required.
+     */
+    private int indexOf(final int[] pieces, final int[] squares, final int sideToMove, final int colorSwap, final int mirror) {
+        int index = 0;
+        int used = 0;
+        for (int piece : this.pieces) {
+            int found = -1;
+            for (int j = 0; j < pieces.length && found == -1; j++) {
+                final int swapped = (pieces[j] + colorSwap) % 12;
+                if ((used & (1 << j)) == 0 && swapped == piece) found = j;
+            }
+            if (found == -1) return -1;
+
+            used |= 1 << found;
+            index = (index << 6) | (squares[found] ^ mirror);
+        }
+        return (index << 1) | sideToMove;
+    }
+
+    private static int[] pieces(final String name) {
+        Objects.requireNonNull(name);
+        final int blackKing = name.indexOf('K', 1);
+        if (!name.startsWith("K") || blackKing == -1 || name.indexOf('K', blackKing + 1) != -1 || name.length() > 5)
+            throw new IllegalArgumentException("Invalid name of endgame: " + name);
+
+        final int[] pieces = new int[name.length()];
+        for (int i = 0; i < name.length(); i++) {
+            final int piece = PIECE_LETTERS.indexOf(name.charAt(i));
+            if (piece == -1) throw new IllegalArgumentException("Invalid name of endgame: " + name);
+            pieces[i] = i < blackKing ? piece : piece + BLACK;
+        }
+        return pieces;
+    }
+
+    static long attacks(final int piece, final int square, final long occupied) {
+        return switch (piece % BLACK) {
+            case PAWN -> PAWN_ATTACKS[piece / BLACK][square];
+            case 1 -> KNIGHT_ATTACKS[square];
+            case 2 -> Bishop.bishopAttacks(square, occupied);
+            case 3 -> Rook.rookAttacks(square, occupied);
+            case 4 -> Queen.queenAttacks(square, occupied);
+            default -> KING_ATTACKS[square];
+        };
+    }
+
+    private static long leaps(final int square, final int[][] offsets) {
+        long attacks = 0L;
+        for (int[] offset : offsets) {
+            final int file = (square & 7) + offset[0];
+            final int rank = (square >>> 3) + offset[1];
+            if (file >= 0 && file < 8 && rank >= 0 && rank < 8) attacks |= 1L << (rank * 8 + file);
+        }
+        return attacks;
+    }
+
+    /**
+     * State of the retrograde analysis: a byte per position with its value and the flag of the level it was resolved on,
+     * and a byte per position with the count of its unresolved moves and the flag of a drawing move.
+     */
+    private static final class Generator {
+        private static final int CAPTURED = -1;
+        private static final int[] PROMOTIONS = {4, 3, 2, 1};
+
+        private final int[] pieces;
+        private final int countOfPieces;
+        private final EndgameBitbases smaller;
+        private final byte[] values;
+        private final byte[] counters;
+        private final int[] squares;
+
+        Generator(final int[] pieces, final EndgameBitbases smaller) {
+            this.pieces = pieces;
+            this.countOfPieces = pieces.length;
+            this.smaller = smaller;
+            this.values = new byte[1 << (6 * countOfPieces + 1)];
+            this.counters = new byte[values.length];
+            this.squares = new int[countOfPieces];
+        }
+
+        ByteBuffer generate() {
+            for (int index = 0; index < values.length; index++) initialize(index);
+
+            boolean isChanged = true;
+            for (int level = 0; isChanged; level++) {
+                isChanged = false;
+                final int flag = LEVEL_FLAGS[level & 1];
+                final int nextFlag = LEVEL_FLAGS[(level + 1) & 1];
+                for (int index = 0; index < values.length; index++) {
+                    if ((values[index] & flag) == 0) continue;
+                    values[index] &= (byte) ~flag;
+                    propagate(index, values[index] & VALUE_MASK, nextFlag);
+                    isChanged = true;
+                }
+            }
+
+            final byte[] packed = new byte[values.length >>> 2];
+            for (int index = 0; index < values.length; index++) {
+                packed[index >>> 2] |= (byte) ((values[index] & VALUE_MASK) << ((index & 3) << 1));
+            }
+            return ByteBuffer.wrap(packed);
+        }
+
+        private void initialize(final int index) {
+            decode(index);
+            final int sideToMove = index & 1;
+            if (!isValid(sideToMove)) {
+                values[index] = INVALID;
+                return;
+            }
+
+            int unresolved = 0;
+            boolean hasMove = false;
+            boolean hasDraw = false;
+            boolean isWon = false;
+            final long occupied = occupied();
+            for (int slot = 0; slot < countOfPieces && !isWon; slot++) {
+                if (color(slot) != sideToMove) continue;
+
+                final int from = squares[slot];
+                long targets = targets(slot, occupied);
+                while (targets != 0 && !isWon) {
+                    final int to = Long.numberOfTrailingZeros(targets);
+                    targets &= targets - 1;
+
+                    final int captured = slotAt(to);
+                    squares[slot] = to;
+                    if (captured != -1) squares[captured] = CAPTURED;
+
+                    if (!isAttacked(squares[kingSlot(sideToMove)], 1 - sideToMove)) {
+                        hasMove = true;
+                        final boolean isPromotion = pieces[slot] % BLACK == PAWN && (to >>> 3 == 0 || to >>> 3 == 7);
+                        if (captured == -1 && !isPromotion) {
+                            unresolved++;
+                        } else {
+                            final int[] promotions = isPromotion ? PROMOTIONS : new int[]{-1};
+                            for (int promotion : promotions) {
+                                final int result = probeSmaller(slot, promotion, 1 - sideToMove);
+                                if (result == LOSS) isWon = true;
+                                if (result == DRAW) hasDraw = true;
+                            }
+                        }
+                    }
+
+                    squares[slot] = from;
+                    if (captured != -1) squares[captured] = to;
+                }
+            }
+
+            if (isWon) {
+                values[index] = (byte) (WIN | LEVEL_FLAGS[0]);
+            } else if (!hasMove) {
+                final boolean isCheck = isAttacked(squares[kingSlot(sideToMove)], 1 - sideToMove);
+                values[index] = (byte) (isCheck ? LOSS | LEVEL_FLAGS[0] : DRAW);
+            } else if (unresolved == 0) {
+                values[index] = (byte) (hasDraw ? DRAW : LOSS | LEVEL_FLAGS[0]);
+            } else {
+                counters[index] = (byte) (unresolved | (hasDraw ? HAS_DRAW : 0));
+            }
+        }
+
+        /**
+         * Takes back every move leading to the resolved position, in the predecessors the other side is to move.
+         */
+        private void propagate(final int index, final int value, final int nextFlag) {
+            decode(index);
+            final int mover = 1 - (index & 1);
+            final long occupied = occupied();
+            for (int slot = 0; slot < countOfPieces; slot++) {
+                if (color(slot) != mover) continue;
+
+                final int to = squares[slot];
+                long sources = sources(slot, occupied);
+                while (sources != 0) {
+                    squares[slot] = Long.numberOfTrailingZeros(sources);
+                    sources &= sources - 1;
+                    final int predecessor = encode(mover);
+                    squares[slot] = to;
+
+                    final boolean isUnresolved = (values[predecessor] & VALUE_MASK) == DRAW && (counters[predecessor] & COUNT_MASK) != 0;
+                    if (!isUnresolved) continue;
+
+                    if (value == LOSS) {
+                        values[predecessor] = (byte) (WIN | nextFlag);
+                        continue;
+                    }
+
+                    final int counter = counters[predecessor] - 1;
+                    counters[predecessor] = (byte) counter;
+                    if ((counter & COUNT_MASK) == 0 && (counter & HAS_DRAW) == 0) values[predecessor] = (byte) (LOSS | nextFlag);
+                }
+            }
+        }
+
+        private long targets(final int slot, final long occupied) {
+            final int piece = pieces[slot];
+            final int square = squares[slot];
+            final long own = piecesOf(color(slot));
+            if (piece % BLACK != PAWN) return attacks(piece, square, occupied) & ~own;
+
+            final int forward = piece < BLACK ? 8 : -8;
+            final int startRank = piece < BLACK ? 1 : 6;
+            long targets = attacks(piece, square, occupied) & occupied & ~own;
+            final int push = square + forward;
+            if ((occupied & (1L << push)) == 0) {
+                targets |= 1L << push;
+                final int doublePush = push + forward;
+                if (square >>> 3 == startRank && (occupied & (1L << doublePush)) == 0) targets |= 1L << doublePush;
+            }
+            return targets;
+        }
+
+        /**
+         * Squares the piece could have come from by a move without capture, pawns on their first rank are unreachable.
+         */
+        private long sources(final int slot, final long occupied) {
+            final int piece = pieces[slot];
+            final int square = squares[slot];
+            if (piece % BLACK != PAWN) return attacks(piece, square, occupied) & ~occupied;
+
+            final boolean isWhite = piece < BLACK;
+            final int rank = square >>> 3;
+            final int back = isWhite ? -8 : 8;
+            if (isWhite ? rank < 2 : rank > 5) return 0L;
+
+            final int single = square + back;
+            if ((occupied & (1L << single)) != 0) return 0L;
+
+            long sources = 1L << single;
+            final int doublePushRank = isWhite ? 3 : 4;
+            if (rank == doublePushRank && (occupied & (1L << (single + back))) == 0) sources |= 1L << (single + back);
+            return sources;
+        }
+
+        /**
+         * Result of the position after the capture or the promotion by the piece of the slot, from the side to move then.
+         */
+        private int probeSmaller(final int slot, final int promotion, final int sideToMove) {
+            int count = 0;
+            for (int square : squares) if (square != CAPTURED) count++;
+
+            final int[] childPieces = new int[count];
+            final int[] childSquares = new int[count];
+            int child = 0;
+            for (int i = 0; i < countOfPieces; i++) {
+                if (squares[i] == CAPTURED) continue;
+                childPieces[child] = i == slot && promotion != -1 ? promotion + (pieces[i] / BLACK) * BLACK : pieces[i];
+                childSquares[child++] = squares[i];
+            }
+
+            final int result = smaller.probe(childPieces, childSquares, sideToMove);
+            if (result == -1) throw new IllegalStateException("Bitbase of a smaller endgame is missing.");
+            return result;
+        }
+
+        private boolean isValid(final int sideToMove) {
+            long occupied = 0L;
+            for (int slot = 0; slot < countOfPieces; slot++) {
+                final long bit = 1L << squares[slot];
+                if ((occupied & bit) != 0) return false;
+                occupied |= bit;
+
+                final int rank = squares[slot] >>> 3;
+                if (pieces[slot] % BLACK == PAWN && (rank == 0 || rank == 7)) return false;
+            }
+            return !isAttacked(squares[kingSlot(1 - sideToMove)], sideToMove);
+        }
+
+        private boolean isAttacked(final int square, final int byColor) {
+            final long occupied = occupied();
+            for (int slot = 0; slot < countOfPieces; slot++) {
+                if (squares[slot] == CAPTURED || color(slot) != byColor) continue;
+                if ((attacks(pieces[slot], squares[slot], occupied) & (1L << square)) != 0) return true;
+            }
+            return false;
+        }
+
+        private int slotAt(final int square) {
+            for (int slot = 0; slot < countOfPieces; slot++) if (squares[slot] == square) return slot;
+            return -1;
+        }
+
+        private int kingSlot(final int color) {
+            for (int slot = 0; slot < countOfPieces; slot++) if (pieces[slot] == KING + color * BLACK) return slot;
+            throw new IllegalStateException("Endgame without king.");
+        }
+
+        private int color(final int slot) {
+            return pieces[slot] / BLACK;
+        }
+
+        private long occupied() {
+            long occupied = 0L;
+            for (int square : squares) if (square != CAPTURED) occupied |= 1L << square;
+            return occupied;
+        }
+
+        private long piecesOf(final int color) {
+            long occupied = 0L;
+            for (int slot = 0; slot < countOfPieces; slot++) {
+                if (squares[slot] != CAPTURED && color(slot) == color) occupied |= 1L << squares[slot];
+            }
+            return occupied;
+        }
+
+        private void decode(final int index) {
+            int squaresIndex = index >>> 1;
+            for (int slot = countOfPieces - 1; slot >= 0; slot--) {
+                squares[slot] = squaresIndex & 63;
+                squaresIndex >>>= 6;
+            }
+        }
+
+        private int encode(final int sideToMove) {
+            int index = 0;
+            for (int square : squares) index = (index << 6) | square;
+            return (index << 1) | sideToMove;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package core.project.chess.domain.chess.util;
+
+import core.project.chess.domain.chess.entities.ChessBoard;
+import core.project.chess.domain.chess.enumerations.EndgameResult;
+import core.project.chess.domain.chess.pieces.*;
+import core.project.chess.domain.commons.annotations.Nullable;
+import core.project.chess.domain.commons.enumerations.Color;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Set of endgame bitbases probed by positions of ChessBoard, see Bitbase.
+ * <p>
+ * ENDGAMES are listed in the order of generation, every endgame reaches only the earlier ones by captures and promotions,
+ * or positions with insufficient mating material, which are draws without a bitbase.
+ * <p>
+ * The bitbases of the application are generated or loaded on startup and installed once, until then the installed set
+ * is empty and every probe misses.
+ */
+public final class EndgameBitbases {
+
+    public static final List<String> ENDGAMES = List.of("KQK", "KRK", "KPK", "KBNK", "KQKR");
+
+    public static final int MAX_PIECES = 4;
+
+    private static final Piece[] PIECES = {
+            Pawn.of(Color.WHITE), Knight.of(Color.WHITE), Bishop.of(Color.WHITE),
+            Rook.of(Color.WHITE), Queen.of(Color.WHITE), King.of(Color.WHITE),
+            Pawn.of(Color.BLACK), Knight.of(Color.BLACK), Bishop.of(Color.BLACK),
+            Rook.of(Color.BLACK), Queen.of(Color.BLACK), King.of(Color.BLACK)
+    };
+
+    private static volatile EndgameBitbases installed = new EndgameBitbases(List.of());
+
+    private final List<Bitbase> bitbases;
+
+    private EndgameBitbases(final List<Bitbase> bitbases) {
+        this.bitbases = bitbases;
+    }
+
+    public static EndgameBitbases empty() {
+        return new EndgameBitbases(List.of());
+    }
+
+    public static EndgameBitbases installed() {
+        return installed;
+    }
+
+    public static void install(final EndgameBitbases endgameBitbases) {
+        installed = Objects.requireNonNull(endgameBitbases);
+    }
+
+    public EndgameBitbases with(final Bitbase bitbase) {
+        Objects.requireNonNull(bitbase);
+        final List<Bitbase> extended = new ArrayList<>(bitbases);
+        extended.add(bitbase);
+        return new EndgameBitbases(List.copyOf(extended));
+    }
+
+    public int size() {
+        return bitbases.size();
+    }
+
+    /**
+     * @return result of the position for the side to move, null if the position is not in the bitbases
+     *         or the castling is still possible.
+     */
+    public @Nullable EndgameResult probe(final ChessBoard chessBoard) {
+        if (bitbases.isEmpty() || chessBoard.castlingRights() != 0) return null;
+
+        final long occupied = chessBoard.whitePieces() | chessBoard.blackPieces();
+        final int count = Long.bitCount(occupied);
+        if (count > MAX_PIECES) return null;
+
+        final int[] pieces = new int[count];
+        final int[] squares = new int[count];
+        int i = 0;
+        for (int piece = 0; piece < PIECES.length; piece++) {
+            long bitboard = chessBoard.bitboard(PIECES[piece]);
+            while (bitboard != 0) {
+                pieces[i] = piece;
+                squares[i++] = Long.numberOfTrailingZeros(bitboard);
+                bitboard &= bitboard - 1;
+            }
+        }
+
+        return switch (probe(pieces, squares, chessBoard.turn() == Color.WHITE ? 0 : 1)) {
+            case Bitbase.WIN -> EndgameResult.WIN;
+            case Bitbase.LOSS -> EndgameResult.LOSS;
+            case Bitbase.DRAW -> EndgameResult.DRAW;
+            default -> null;
+        };
+    }
+
+    /**
+     * @return result for the side to move (0 white, 1 black) as in Bitbase, -1 if there is no bitbase of the pieces.
+     */
+    int probe(final int[] pieces, final int[] squares, final int sideToMove) {
+        for (Bitbase bitbase : bitbases) {
+            final int result = bitbase.probe(pieces, squares, sideToMove);
+            if (result != -1) return result;
+        }
+        return isInsufficientMaterial(pieces) ? Bitbase.DRAW : -1;
+    }
+
+    /** Bare kings, or a single minor piece against a king.*/
+    private static boolean isInsufficientMaterial(final int[] pieces) {
+        int minorPieces = 0;
+        for (int piece : pieces) {
+            final int type = piece % Bitbase.BLACK;
+            if (type == Bitbase.KING) continue;
+            if (type != 1 && type != 2) return false;
+            minorPieces++;
+        }
+        return minorPieces <= 1;
+    }
+}
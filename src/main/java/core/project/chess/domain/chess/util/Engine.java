@@ -0,0 +1,367 @@
+package core.project.chess.domain.chess.util;
+
+import core.project.chess.domain.chess.entities.ChessBoard;
+import core.project.chess.domain.chess.enumerations.EndgameResult;
+import core.project.chess.domain.chess.value_objects.Move;
+import core.project.chess.domain.chess.value_objects.SearchReport;
+
+import static core.project.chess.domain.chess.util.SearchTranspositionTable.*;
+
+/**
+ * Chess engine: iterative deepening of a negamax alpha-beta search with a transposition table,
+ * quiescence search of captures and promotions at the leaves and an extension of one ply for checks.
+ * <p>
+ * Moves are ordered by the move of the transposition table, then captures by MVV-LVA (most valuable victim,
+ * least valuable attacker) and promotions, then the two killer moves of the ply and other quiet moves
+ * by the history of cutoffs. Repetitions of a position, the rule of 50 moves and insufficient material
+ * are scored as a draw. Positions reached by captures into the material of the installed endgame bitbases
+ * are scored by the bitbases without a further search, see EndgameBitbases.
+ * <p>
+ * Every iteration of deepening is started only before the soft limit of the time, the hard limit stops
+ * the iteration in progress, whose result is then discarded in favor of the last complete one.
+ * <p>
+ * The search works on the given board with makeMove/unmakeMove, so the board must be a copy owned by the caller,
+ * see ChessBoard.copy(). An engine is not thread safe, every searching thread needs its own one.
+ */
+public final class Engine {
+    public static final int MATE = 30_000;
+    private static final int INFINITY = 32_000;
+    private static final int DRAW = 0;
+    private static final int KNOWN_WIN = 20_000;
+    private static final int MAX_PLY = 128;
+    private static final int MAX_EXTENDED_PLY = 64;
+    private static final int MAX_MOVES = 256;
+    private static final int TIME_CHECK_MASK = 2047;
+
+    private static final int TABLE_MOVE_SCORE = 1_000_000;
+    private static final int CAPTURE_SCORE = 100_000;
+    private static final int PROMOTION_SCORE = 90_000;
+    private static final int FIRST_KILLER_SCORE = 80_000;
+    private static final int SECOND_KILLER_SCORE = 79_000;
+    private static final int MAX_HISTORY = 50_000;
+
+    private final SearchTranspositionTable table;
+    private final MoveBuffer[] moveBuffers = new MoveBuffer[MAX_PLY + 1];
+    private final int[][] moveScores = new int[MAX_PLY + 1][MAX_MOVES];
+    private final int[][] killers = new int[MAX_PLY + 1][2];
+    private final int[][] history = new int[64][64];
+
+    private volatile boolean isStopped;
+    private ChessBoard chessBoard;
+    private long nodes;
+    private long hardDeadline;
+    private int rootBestMove;
+    private int excludedRootMove;
+    private EndgameBitbases bitbases;
+    private int rootCountOfPieces;
+
+    public Engine(final SearchTranspositionTable table) {
+        this.table = table;
+        for (int ply = 0; ply <= MAX_PLY; ply++) moveBuffers[ply] = new MoveBuffer(MAX_MOVES);
+    }
+
+    /**
+     * Searches the best move of the side to move.
+     *
+     * @param chessBoard board to search on, returned to its position afterwards.
+     * @param maxDepth   maximal depth of iterative deepening.
+     * @param thinkTime  limits of the time of thinking.
+     * @throws IllegalStateException if there are no legal moves in the position.
+     */
+    public SearchReport search(final ChessBoard chessBoard, final int maxDepth, final TimeManager.ThinkTime thinkTime) {
+        return search(chessBoard, maxDepth, thinkTime, 0);
+    }
+
+    /**
+     * Searches the best move of the side to move except the given one, the score of the result is the score
+     * of the second best move, which tells whether the best move is the only good one.
+     *
+     * @throws IllegalStateException if there are no legal moves in the position except the excluded one.
+     */
+    public SearchReport searchExcluding(final ChessBoard chessBoard, final int maxDepth,
+                                        final TimeManager.ThinkTime thinkTime, final Move excludedMove) {
+        return search(chessBoard, maxDepth, thinkTime,
+                MoveBuffer.pack(excludedMove.from().index(), excludedMove.to().index(), excludedMove.promotion(), 0));
+    }
+
+    private SearchReport search(final ChessBoard chessBoard, final int maxDepth,
+                                final TimeManager.ThinkTime thinkTime, final int excludedMove) {
+        if (maxDepth < 1) throw new IllegalArgumentException("Depth of search must be at least 1.");
+
+        final long start = System.nanoTime();
+        final long softDeadline = start + thinkTime.softMillis() * 1_000_000;
+        this.hardDeadline = start + thinkTime.hardMillis() * 1_000_000;
+        this.chessBoard = chessBoard;
+        this.nodes = 0;
+        this.isStopped = false;
+        this.excludedRootMove = excludedMove;
+        this.bitbases = EndgameBitbases.installed();
+        this.rootCountOfPieces = countOfPieces();
+        resetOrdering();
+
+        final MoveBuffer rootMoves = moveBuffers[0];
+        final int count = chessBoard.generateAllValidMoves(rootMoves);
+        int bestMove = 0;
+        for (int i = 0; i < count && bestMove == 0; i++) {
+            if (!isExcluded(rootMoves.get(i), 0)) bestMove = rootMoves.get(i);
+        }
+        if (bestMove == 0) throw new IllegalStateException("There are no legal moves in the position.");
+
+        int bestScore = 0;
+        int completedDepth = 0;
+        for (int depth = 1; depth <= Math.min(maxDepth, MAX_EXTENDED_PLY); depth++) {
+            rootBestMove = 0;
+            final int score = negamax(depth, 0, -INFINITY, INFINITY);
+            if (isStopped || rootBestMove == 0) break;
+
+            bestMove = rootBestMove;
+            bestScore = score;
+            completedDepth = depth;
+            if (isMateScore(score) || System.nanoTime() >= softDeadline) break;
+        }
+
+        this.chessBoard = null;
+        this.excludedRootMove = 0;
+        this.bitbases = null;
+        return new SearchReport(MoveBuffer.toMove(bestMove), bestScore, completedDepth, nodes, System.nanoTime() - start);
+    }
+
+    /**
+     * Evaluates the position by a search to the given depth, unlike search() positions without legal moves are allowed.
+     *
+     * @return score from the side to move: -MATE if it is checkmated, 0 in stalemate.
+     */
+    public int evaluate(final ChessBoard chessBoard, final int depth, final TimeManager.ThinkTime thinkTime) {
+        if (chessBoard.generateAllValidMoves(moveBuffers[0]) == 0) {
+            return chessBoard.legalMoveMasks(chessBoard.turn()).checkers() != 0 ? -MATE : DRAW;
+        }
+        return search(chessBoard, depth, thinkTime).score();
+    }
+
+    /**
+     * Stops the search in progress, it returns the result of the last complete iteration.
+     */
+    public void stop() {
+        isStopped = true;
+    }
+
+    public static boolean isMateScore(final int score) {
+        return Math.abs(score) >= MATE - MAX_PLY;
+    }
+
+    private int negamax(int depth, final int ply, int alpha, final int beta) {
+        if ((++nodes & TIME_CHECK_MASK) == 0 && System.nanoTime() >= hardDeadline) isStopped = true;
+        if (isStopped) return DRAW;
+
+        final boolean isRoot = ply == 0;
+        if (!isRoot && isDraw()) return DRAW;
+        if (!isRoot) {
+            final int countOfPieces = countOfPieces();
+            if (countOfPieces < rootCountOfPieces && countOfPieces <= EndgameBitbases.MAX_PIECES) {
+                final EndgameResult result = bitbases.probe(chessBoard);
+                if (result != null) return switch (result) {
+                    case WIN -> KNOWN_WIN - ply;
+                    case LOSS -> ply - KNOWN_WIN;
+                    case DRAW -> DRAW;
+                };
+            }
+        }
+        if (ply >= MAX_PLY) return Evaluation.evaluate(chessBoard);
+
+        final boolean inCheck = inCheck();
+        if (inCheck && ply < MAX_EXTENDED_PLY) depth++;
+        if (depth <= 0) return quiescence(ply, alpha, beta);
+
+        final long zobristKey = chessBoard.zobristHash();
+        final long entry = table.probe(zobristKey);
+        int tableMove = 0;
+        if (entry != MISS) {
+            tableMove = move(entry);
+            if (!isRoot && depth(entry) >= depth) {
+                final int score = fromTable(score(entry), ply);
+                final int bound = bound(entry);
+                if (bound == EXACT || bound == LOWER_BOUND && score >= beta || bound == UPPER_BOUND && score <= alpha) return score;
+            }
+        }
+
+        final MoveBuffer moves = moveBuffers[ply];
+        final int count = chessBoard.generateAllValidMoves(moves);
+        if (count == 0) return inCheck ? -MATE + ply : DRAW;
+        scoreMoves(moves, count, ply, tableMove);
+
+        final int originalAlpha = alpha;
+        int bestScore = -INFINITY;
+        int bestMove = 0;
+        for (int i = 0; i < count; i++) {
+            final int move = nextMove(moves, count, ply, i);
+            if (isExcluded(move, ply)) continue;
+
+            chessBoard.makeMove(move);
+            final int score = -negamax(depth - 1, ply + 1, -beta, -alpha);
+            chessBoard.unmakeMove();
+            if (isStopped) return DRAW;
+
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = move;
+                if (isRoot) rootBestMove = move;
+            }
+            if (score > alpha) alpha = score;
+            if (alpha >= beta) {
+                if (!MoveBuffer.isCapture(move) && MoveBuffer.promotion(move) == null) rememberCutoff(move, depth, ply);
+                break;
+            }
+        }
+
+        /** The score of the root without the excluded move is not the score of the position.*/
+        if (isRoot && excludedRootMove != 0) return bestScore;
+
+        final int bound = bestScore >= beta ? LOWER_BOUND : bestScore > originalAlpha ? EXACT : UPPER_BOUND;
+        table.store(zobristKey, bestMove, depth, bound, toTable(bestScore, ply));
+        return bestScore;
+    }
+
+    /**
+     * Searches only captures and promotions until the position is quiet, the side to move may "stand pat"
+     * with the static evaluation instead of capturing. In check all evasions are searched.
+     */
+    private int quiescence(final int ply, int alpha, final int beta) {
+        if ((++nodes & TIME_CHECK_MASK) == 0 && System.nanoTime() >= hardDeadline) isStopped = true;
+        if (isStopped) return DRAW;
+        if (ply >= MAX_PLY) return Evaluation.evaluate(chessBoard);
+
+        final boolean inCheck = inCheck();
+        final MoveBuffer moves = moveBuffers[ply];
+        final int count = chessBoard.generateAllValidMoves(moves);
+        if (count == 0) return inCheck ? -MATE + ply : DRAW;
+
+        int bestScore = -INFINITY;
+        if (!inCheck) {
+            bestScore = Evaluation.evaluate(chessBoard);
+            if (bestScore >= beta) return bestScore;
+            if (bestScore > alpha) alpha = bestScore;
+        }
+
+        scoreMoves(moves, count, ply, 0);
+        for (int i = 0; i < count; i++) {
+            final int move = nextMove(moves, count, ply, i);
+            if (!inCheck && !MoveBuffer.isCapture(move) && MoveBuffer.promotion(move) == null) break;
+
+            chessBoard.makeMove(move);
+            final int score = -quiescence(ply + 1, -beta, -alpha);
+            chessBoard.unmakeMove();
+            if (isStopped) return DRAW;
+
+            if (score > bestScore) bestScore = score;
+            if (score > alpha) alpha = score;
+            if (alpha >= beta) break;
+        }
+        return bestScore;
+    }
+
+    private boolean isDraw() {
+        return chessBoard.ruleOf50MovesCount() >= 100 || chessBoard.isInsufficientMatingMaterial()
+                || chessBoard.countOfRepetitions() > 1;
+    }
+
+    private int countOfPieces() {
+        return Long.bitCount(chessBoard.whitePieces() | chessBoard.blackPieces());
+    }
+
+    private boolean isExcluded(final int move, final int ply) {
+        return ply == 0 && excludedRootMove != 0 && sameMove(move, excludedRootMove);
+    }
+
+    private boolean inCheck() {
+        return chessBoard.legalMoveMasks(chessBoard.turn()).checkers() != 0;
+    }
+
+    private void scoreMoves(final MoveBuffer moves, final int count, final int ply, final int tableMove) {
+        final int[] scores = moveScores[ply];
+        for (int i = 0; i < count; i++) {
+            final int move = moves.get(i);
+            final int from = MoveBuffer.from(move);
+            final int to = MoveBuffer.to(move);
+
+            if (tableMove != 0 && sameMove(move, tableMove)) {
+                scores[i] = TABLE_MOVE_SCORE;
+            } else if (MoveBuffer.isCapture(move)) {
+                final int victim = (MoveBuffer.flags(move) & MoveBuffer.EN_PASSANT) != 0
+                        ? Evaluation.PIECE_VALUES[0]
+                        : Evaluation.pieceValue(chessBoard, to);
+                scores[i] = CAPTURE_SCORE + victim * 10 - Evaluation.pieceValue(chessBoard, from) / 10;
+            } else if (MoveBuffer.promotion(move) != null) {
+                scores[i] = PROMOTION_SCORE + Evaluation.PIECE_VALUES[MoveBuffer.promotion(move).index() % 6] / 10;
+            } else if (sameMove(move, killers[ply][0])) {
+                scores[i] = FIRST_KILLER_SCORE;
+            } else if (sameMove(move, killers[ply][1])) {
+                scores[i] = SECOND_KILLER_SCORE;
+            } else {
+                scores[i] = history[from][to];
+            }
+        }
+    }
+
+    /**
+     * Selection sort step: swaps the best scored of the remaining moves to the position i and returns it,
+     * so moves after a cutoff are never sorted.
+     */
+    private int nextMove(final MoveBuffer moves, final int count, final int ply, final int i) {
+        final int[] scores = moveScores[ply];
+        int best = i;
+        for (int j = i + 1; j < count; j++) {
+            if (scores[j] > scores[best]) best = j;
+        }
+        if (best != i) {
+            moves.swap(i, best);
+            final int score = scores[i];
+            scores[i] = scores[best];
+            scores[best] = score;
+        }
+        return moves.get(i);
+    }
+
+    private void rememberCutoff(final int move, final int depth, final int ply) {
+        if (!sameMove(move, killers[ply][0])) {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = move;
+        }
+
+        final int from = MoveBuffer.from(move);
+        final int to = MoveBuffer.to(move);
+        history[from][to] += depth * depth;
+        if (history[from][to] > MAX_HISTORY) {
+            for (int[] fromSquare : history) {
+                for (int square = 0; square < 64; square++) fromSquare[square] >>= 1;
+            }
+        }
+    }
+
+    private void resetOrdering() {
+        for (int[] killer : killers) {
+            killer[0] = 0;
+            killer[1] = 0;
+        }
+        for (int[] fromSquare : history) {
+            for (int square = 0; square < 64; square++) fromSquare[square] = 0;
+        }
+    }
+
+    /** Compares squares and promotion only, flags of a move from the table or a killer may differ in another position.*/
+    private static boolean sameMove(final int move, final int other) {
+        return (move & 0xFFFF) == (other & 0xFFFF);
+    }
+
+    /** Mate scores are stored relative to the position, not to the root, so they are valid in any transposition.*/
+    private static int toTable(final int score, final int ply) {
+        if (score >= MATE - MAX_PLY) return score + ply;
+        if (score <= -MATE + MAX_PLY) return score - ply;
+        return score;
+    }
+
+    private static int fromTable(final int score, final int ply) {
+        if (score >= MATE - MAX_PLY) return score - ply;
+        if (score <= -MATE + MAX_PLY) return score + ply;
+        return score;
+    }
+}
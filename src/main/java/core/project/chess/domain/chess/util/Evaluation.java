@@ -0,0 +1,153 @@
+package core.project.chess.domain.chess.util;
+
+import core.project.chess.domain.chess.entities.ChessBoard;
+import core.project.chess.domain.chess.pieces.*;
+import core.project.chess.domain.commons.enumerations.Color;
+
+/**
+ * Static evaluation of a position for the Engine: material and piece-square tables, in centipawns.
+ * <p>
+ * The king has separate tables for the middlegame and the endgame, which are blended by the phase of the game:
+ * the remaining non-pawn material of both sides. The tables are written from the side of white, from a8 to h1,
+ * so a white piece on square s (a1 = 0) reads index s ^ 56, a black piece reads index s.
+ */
+public final class Evaluation {
+    /** Values of pieces by their index modulo 6: pawn, knight, bishop, rook, queen, king.*/
+    static final int[] PIECE_VALUES = {100, 320, 330, 500, 900, 20_000};
+
+    private static final int[] PHASE_WEIGHTS = {0, 1, 1, 2, 4, 0};
+    private static final int MAX_PHASE = 24;
+
+    private static final Piece[] PIECES = {
+            Pawn.of(Color.WHITE), Knight.of(Color.WHITE), Bishop.of(Color.WHITE),
+            Rook.of(Color.WHITE), Queen.of(Color.WHITE), King.of(Color.WHITE),
+            Pawn.of(Color.BLACK), Knight.of(Color.BLACK), Bishop.of(Color.BLACK),
+            Rook.of(Color.BLACK), Queen.of(Color.BLACK), King.of(Color.BLACK)
+    };
+
+    private static final int[] PAWN = {
+             0,  0,  0,  0,  0,  0,  0,  0,
+            50, 50, 50, 50, 50, 50, 50, 50,
+            10, 10, 20, 30, 30, 20, 10, 10,
+             5,  5, 10, 25, 25, 10,  5,  5,
+             0,  0,  0, 20, 20,  0,  0,  0,
+             5, -5,-10,  0,  0,-10, -5,  5,
+             5, 10, 10,-20,-20, 10, 10,  5,
+             0,  0,  0,  0,  0,  0,  0,  0
+    };
+
+    private static final int[] KNIGHT = {
+            -50,-40,-30,-30,-30,-30,-40,-50,
+            -40,-20,  0,  0,  0,  0,-20,-40,
+            -30,  0, 10, 15, 15, 10,  0,-30,
+            -30,  5, 15, 20, 20, 15,  5,-30,
+            -30,  0, 15, 20, 20, 15,  0,-30,
+            -30,  5, 10, 15, 15, 10,  5,-30,
+            -40,-20,  0,  5,  5,  0,-20,-40,
+            -50,-40,-30,-30,-30,-30,-40,-50
+    };
+
+    private static final int[] BISHOP = {
+            -20,-10,-10,-10,-10,-10,-10,-20,
+            -10,  0,  0,  0,  0,  0,  0,-10,
+            -10,  0,  5, 10, 10,  5,  0,-10,
+            -10,  5,  5, 10, 10,  5,  5,-10,
+            -10,  0, 10, 10, 10, 10,  0,-10,
+            -10, 10, 10, 10, 10, 10, 10,-10,
+            -10,  5,  0,  0,  0,  0,  5,-10,
+            -20,-10,-10,-10,-10,-10,-10,-20
+    };
+
+    private static final int[] ROOK = {
+              0,  0,  0,  0,  0,  0,  0,  0,
+              5, 10, 10, 10, 10, 10, 10,  5,
+             -5,  0,  0,  0,  0,  0,  0, -5,
+             -5,  0,  0,  0,  0,  0,  0, -5,
+             -5,  0,  0,  0,  0,  0,  0, -5,
+             -5,  0,  0,  0,  0,  0,  0, -5,
+             -5,  0,  0,  0,  0,  0,  0, -5,
+              0,  0,  0,  5,  5,  0,  0,  0
+    };
+
+    private static final int[] QUEEN = {
+            -20,-10,-10, -5, -5,-10,-10,-20,
+            -10,  0,  0,  0,  0,  0,  0,-10,
+            -10,  0,  5,  5,  5,  5,  0,-10,
+             -5,  0,  5,  5,  5,  5,  0, -5,
+              0,  0,  5,  5,  5,  5,  0, -5,
+            -10,  5,  5,  5,  5,  5,  0,-10,
+            -10,  0,  5,  0,  0,  0,  0,-10,
+            -20,-10,-10, -5, -5,-10,-10,-20
+    };
+
+    private static final int[] KING_MIDDLEGAME = {
+            -30,-40,-40,-50,-50,-40,-40,-30,
+            -30,-40,-40,-50,-50,-40,-40,-30,
+            -30,-40,-40,-50,-50,-40,-40,-30,
+            -30,-40,-40,-50,-50,-40,-40,-30,
+            -20,-30,-30,-40,-40,-30,-30,-20,
+            -10,-20,-20,-20,-20,-20,-20,-10,
+             20, 20,  0,  0,  0,  0, 20, 20,
+             20, 30, 10,  0,  0, 10, 30, 20
+    };
+
+    private static final int[] KING_ENDGAME = {
+            -50,-40,-30,-20,-20,-30,-40,-50,
+            -30,-20,-10,  0,  0,-10,-20,-30,
+            -30,-10, 20, 30, 30, 20,-10,-30,
+            -30,-10, 30, 40, 40, 30,-10,-30,
+            -30,-10, 30, 40, 40, 30,-10,-30,
+            -30,-10, 20, 30, 30, 20,-10,-30,
+            -30,-30,  0,  0,  0,  0,-30,-30,
+            -50,-30,-30,-30,-30,-30,-30,-50
+    };
+
+    private static final int[][] TABLES = {PAWN, KNIGHT, BISHOP, ROOK, QUEEN};
+
+    private Evaluation() {}
+
+    /**
+     * @return score of the position from the side to move, positive if the side to move is better.
+     */
+    public static int evaluate(final ChessBoard chessBoard) {
+        int score = 0;
+        int phase = 0;
+        for (int type = 0; type < 5; type++) {
+            final int[] table = TABLES[type];
+
+            long white = chessBoard.bitboard(PIECES[type]);
+            phase += PHASE_WEIGHTS[type] * Long.bitCount(white);
+            while (white != 0) {
+                score += PIECE_VALUES[type] + table[Long.numberOfTrailingZeros(white) ^ 56];
+                white &= white - 1;
+            }
+
+            long black = chessBoard.bitboard(PIECES[type + 6]);
+            phase += PHASE_WEIGHTS[type] * Long.bitCount(black);
+            while (black != 0) {
+                score -= PIECE_VALUES[type] + table[Long.numberOfTrailingZeros(black)];
+                black &= black - 1;
+            }
+        }
+
+        phase = Math.min(phase, MAX_PHASE);
+        final int whiteKing = Long.numberOfTrailingZeros(chessBoard.bitboard(PIECES[5]));
+        final int blackKing = Long.numberOfTrailingZeros(chessBoard.bitboard(PIECES[11]));
+        final int middlegame = KING_MIDDLEGAME[whiteKing ^ 56] - KING_MIDDLEGAME[blackKing];
+        final int endgame = KING_ENDGAME[whiteKing ^ 56] - KING_ENDGAME[blackKing];
+        score += (middlegame * phase + endgame * (MAX_PHASE - phase)) / MAX_PHASE;
+
+        return chessBoard.turn() == Color.WHITE ? score : -score;
+    }
+
+    /**
+     * @return value of the piece standing on the square, or 0 if the square is empty.
+     */
+    static int pieceValue(final ChessBoard chessBoard, final int square) {
+        final long mask = 1L << square;
+        for (int index = 0; index < PIECES.length; index++) {
+            if ((chessBoard.bitboard(PIECES[index]) & mask) != 0) return PIECE_VALUES[index % 6];
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,275 @@
+package core.project.chess.domain.chess.util;
+
+import core.project.chess.domain.chess.enumerations.Coordinate;
+import core.project.chess.domain.chess.value_objects.FromFEN;
+import core.project.chess.domain.commons.containers.Result;
+import core.project.chess.domain.commons.enumerations.Color;
+
+import java.util.Arrays;
+
+/**
+ * Single pass parser of FEN (Forsyth-Edwards Notation): validates the notation and builds bitboards,
+ * castling rights, en passant square and both clocks while reading each character once, without regular expressions.
+ * <p>
+ * Besides the syntax it rejects positions which can't be reached in a game: missing, extra or adjacent kings,
+ * pawns on the first or last rank, more pieces than promotions allow, castling rights without the king and the rook
+ * on their initial squares, en passant without the pawn which has just made a double step,
+ * and positions with insufficient mating material. Checkmate, stalemate and check of the side not to move
+ * are validated later by the ChessBoard, since they require move generation.
+ * <p>
+ * Errors are reported with the zero-based position of the offending character.
+ */
+public final class FenParser {
+    private static final int WHITE_SHORT_CASTLING = 1;
+    private static final int WHITE_LONG_CASTLING = 1 << 1;
+    private static final int BLACK_SHORT_CASTLING = 1 << 2;
+    private static final int BLACK_LONG_CASTLING = 1 << 3;
+
+    private static final int WHITE_PAWN = 0, WHITE_KNIGHT = 1, WHITE_BISHOP = 2, WHITE_ROOK = 3, WHITE_QUEEN = 4, WHITE_KING = 5;
+    private static final int BLACK_PAWN = 6, BLACK_ROOK = 9, BLACK_KING = 11;
+
+    /** Index of the piece by its FEN symbol, -1 for any other character.*/
+    private static final byte[] PIECE_INDEX = new byte[128];
+    /** Material value by index of the piece, kings have none.*/
+    private static final byte[] PIECE_VALUES = {1, 3, 3, 5, 9, 0, 1, 3, 3, 5, 9, 0};
+
+    private static final long LIGHT_SQUARES = 0x55AA55AA55AA55AAL;
+    private static final long FIRST_AND_LAST_RANKS = 0xFF000000000000FFL;
+    private static final int MAX_HALF_MOVES_CLOCK = 0xFFFF;
+
+    static {
+        Arrays.fill(PIECE_INDEX, (byte) -1);
+        final String symbols = "PNBRQKpnbrqk";
+        for (int i = 0; i < symbols.length(); i++) PIECE_INDEX[symbols.charAt(i)] = (byte) i;
+    }
+
+    private final String fen;
+    private int position;
+
+    private FenParser(String fen) {
+        this.fen = fen;
+    }
+
+    public static Result<FromFEN, IllegalArgumentException> parse(final String fen) {
+        if (fen == null) return Result.failure(new IllegalArgumentException("FEN can`t be null."));
+
+        try {
+            return Result.success(new FenParser(fen).parse());
+        } catch (IllegalArgumentException e) {
+            return Result.failure(e);
+        }
+    }
+
+    private FromFEN parse() {
+        final long[] bitboard = new long[12];
+        final byte[] material = new byte[2];
+        parsePlacement(bitboard, material);
+
+        expect(' ');
+        final Color figuresTurn = switch (next()) {
+            case 'w' -> Color.WHITE;
+            case 'b' -> Color.BLACK;
+            default -> throw error(position - 1, "side to move must be 'w' or 'b'");
+        };
+
+        expect(' ');
+        final int castlingRights = parseCastlingRights(bitboard);
+
+        expect(' ');
+        final Coordinate enPassant = parseEnPassant(bitboard, figuresTurn);
+
+        int halfMovesClock = 0;
+        int countOfFullMoves = 1;
+        if (position < fen.length()) {
+            expect(' ');
+            halfMovesClock = parseNumber(MAX_HALF_MOVES_CLOCK, "half moves clock");
+            expect(' ');
+            countOfFullMoves = parseNumber(Integer.MAX_VALUE, "count of full moves");
+            if (countOfFullMoves == 0) throw error(position - 1, "count of full moves must start from 1");
+        }
+        if (position < fen.length()) throw error(position, "unexpected character '%c' after the end of FEN".formatted(fen.charAt(position)));
+
+        final Coordinate whiteKing = Coordinate.byIndex(Long.numberOfTrailingZeros(bitboard[WHITE_KING]));
+        final Coordinate blackKing = Coordinate.byIndex(Long.numberOfTrailingZeros(bitboard[BLACK_KING]));
+        return new FromFEN(fen, figuresTurn, bitboard, whiteKing, blackKing, material[0], material[1],
+                castlingRights, enPassant, halfMovesClock, countOfFullMoves);
+    }
+
+    /**
+     * Reads ranks from the 8th to the 1st, each of them from the 'a' file to the 'h' file.
+     */
+    private void parsePlacement(final long[] bitboard, final byte[] material) {
+        for (int rank = 7; rank >= 0; rank--) {
+            int file = 0;
+            while (file < 8) {
+                final int at = position;
+                final char c = next();
+
+                if (c >= '1' && c <= '8') {
+                    file += c - '0';
+                    if (file > 8) throw error(at, "rank %d is longer than 8 squares".formatted(rank + 1));
+                    continue;
+                }
+
+                final int piece = c < 128 ? PIECE_INDEX[c] : -1;
+                if (piece == -1) throw error(at, "unexpected character '%c' in placement of pieces".formatted(c));
+
+                final int square = (rank << 3) + file;
+                if (piece == WHITE_KING && bitboard[WHITE_KING] != 0 || piece == BLACK_KING && bitboard[BLACK_KING] != 0) {
+                    throw error(at, "second king of the same color");
+                }
+                if ((piece == WHITE_PAWN || piece == BLACK_PAWN) && (FIRST_AND_LAST_RANKS & (1L << square)) != 0) {
+                    throw error(at, "pawn on the first or last rank");
+                }
+
+                bitboard[piece] |= 1L << square;
+                material[piece < BLACK_PAWN ? 0 : 1] += PIECE_VALUES[piece];
+                file++;
+            }
+
+            if (rank != 0 && position < fen.length() && fen.charAt(position) != '/') {
+                throw error(position, "rank %d is longer than 8 squares".formatted(rank + 1));
+            }
+            if (rank != 0) expect('/');
+        }
+
+        validatePlacement(bitboard, material);
+    }
+
+    private void validatePlacement(final long[] bitboard, final byte[] material) {
+        if (bitboard[WHITE_KING] == 0) throw error("white king is missing");
+        if (bitboard[BLACK_KING] == 0) throw error("black king is missing");
+
+        final int whiteKing = Long.numberOfTrailingZeros(bitboard[WHITE_KING]);
+        final int blackKing = Long.numberOfTrailingZeros(bitboard[BLACK_KING]);
+        if (Math.abs((whiteKing >> 3) - (blackKing >> 3)) <= 1 && Math.abs((whiteKing & 7) - (blackKing & 7)) <= 1) {
+            throw error("kings can`t stand on adjacent squares");
+        }
+
+        validateCountOfPieces(bitboard, 0, "white");
+        validateCountOfPieces(bitboard, BLACK_PAWN, "black");
+
+        final boolean noPawns = (bitboard[WHITE_PAWN] | bitboard[BLACK_PAWN]) == 0;
+        final boolean isInsufficientMatingMaterial = noPawns &&
+                (material[0] <= 3 && material[1] == 0 || material[0] == 0 && material[1] <= 3);
+        if (isInsufficientMatingMaterial) throw error("insufficient mating material");
+    }
+
+    /**
+     * Every piece above the initial set (two bishops of different square colors, two knights, two rooks and a queen)
+     * must be a promoted pawn, so their count together with pawns can't exceed 8.
+     */
+    private void validateCountOfPieces(final long[] bitboard, final int offset, final String color) {
+        final int pawns = Long.bitCount(bitboard[offset + WHITE_PAWN]);
+        if (pawns > 8) throw error("more than 8 %s pawns".formatted(color));
+
+        final long bishops = bitboard[offset + WHITE_BISHOP];
+        final int promotedPieces = Math.max(0, Long.bitCount(bitboard[offset + WHITE_QUEEN]) - 1) +
+                Math.max(0, Long.bitCount(bishops & LIGHT_SQUARES) - 1) +
+                Math.max(0, Long.bitCount(bishops & ~LIGHT_SQUARES) - 1) +
+                Math.max(0, Long.bitCount(bitboard[offset + WHITE_KNIGHT]) - 2) +
+                Math.max(0, Long.bitCount(bitboard[offset + WHITE_ROOK]) - 2);
+
+        if (promotedPieces > 8 - pawns) throw error("too many %s pieces for the count of %s pawns".formatted(color, color));
+    }
+
+    private int parseCastlingRights(final long[] bitboard) {
+        if (peek() == '-') {
+            position++;
+            return 0;
+        }
+
+        int castlingRights = 0;
+        final int start = position;
+        while (position < fen.length() && fen.charAt(position) != ' ') {
+            final int at = position;
+            final int right = switch (next()) {
+                case 'K' -> WHITE_SHORT_CASTLING;
+                case 'Q' -> WHITE_LONG_CASTLING;
+                case 'k' -> BLACK_SHORT_CASTLING;
+                case 'q' -> BLACK_LONG_CASTLING;
+                default -> throw error(at, "castling rights must be '-' or a combination of 'KQkq'");
+            };
+            if ((castlingRights & right) != 0) throw error(at, "repeated castling right");
+
+            final boolean isWhite = right == WHITE_SHORT_CASTLING || right == WHITE_LONG_CASTLING;
+            final int king = isWhite ? Coordinate.e1.index() : Coordinate.e8.index();
+            final int rook = switch (right) {
+                case WHITE_SHORT_CASTLING -> Coordinate.h1.index();
+                case WHITE_LONG_CASTLING -> Coordinate.a1.index();
+                case BLACK_SHORT_CASTLING -> Coordinate.h8.index();
+                default -> Coordinate.a8.index();
+            };
+
+            if ((bitboard[isWhite ? WHITE_KING : BLACK_KING] & (1L << king)) == 0 ||
+                    (bitboard[isWhite ? WHITE_ROOK : BLACK_ROOK] & (1L << rook)) == 0) {
+                throw error(at, "castling right without the king and the rook on their initial squares");
+            }
+            castlingRights |= right;
+        }
+
+        if (position == start) throw error(position, "castling rights are missing");
+        return castlingRights;
+    }
+
+    /**
+     * En passant square must be behind a pawn which has just made a double step, so the opponent is to move.
+     */
+    private Coordinate parseEnPassant(final long[] bitboard, final Color figuresTurn) {
+        final int at = position;
+        final char file = next();
+        if (file == '-') return null;
+
+        final char rank = next();
+        if (file < 'a' || file > 'h' || (rank != '3' && rank != '6')) {
+            throw error(at, "en passant square must be '-' or a square on the 3rd or 6th rank");
+        }
+
+        final boolean afterWhiteMove = rank == '3';
+        if (afterWhiteMove != (figuresTurn == Color.BLACK)) throw error(at, "en passant square of the side to move");
+
+        final int pawnSquare = ((afterWhiteMove ? 3 : 4) << 3) + (file - 'a');
+        if ((bitboard[afterWhiteMove ? WHITE_PAWN : BLACK_PAWN] & (1L << pawnSquare)) == 0) {
+            throw error(at, "en passant square without a pawn which has made a double step");
+        }
+
+        return Coordinate.byIndex(((afterWhiteMove ? 2 : 5) << 3) + (file - 'a'));
+    }
+
+    private int parseNumber(final int max, final String name) {
+        final int start = position;
+        long number = 0;
+        while (position < fen.length() && fen.charAt(position) >= '0' && fen.charAt(position) <= '9') {
+            number = number * 10 + (fen.charAt(position++) - '0');
+            if (number > max) throw error(start, "%s is too big".formatted(name));
+        }
+
+        if (position == start) throw error(start, "%s must be a number".formatted(name));
+        return (int) number;
+    }
+
+    private char peek() {
+        if (position >= fen.length()) throw error(position, "unexpected end of FEN");
+        return fen.charAt(position);
+    }
+
+    private char next() {
+        final char c = peek();
+        position++;
+        return c;
+    }
+
+    private void expect(final char expected) {
+        final char c = peek();
+        if (c != expected) throw error(position, "expected '%c', but was '%c'".formatted(expected, c));
+        position++;
+    }
+
+    private IllegalArgumentException error(final int at, final String reason) {
+        return new IllegalArgumentException("Invalid FEN '%s': %s at position %d.".formatted(fen, reason, at));
+    }
+
+    private IllegalArgumentException error(final String reason) {
+        return new IllegalArgumentException("Invalid FEN '%s': %s.".formatted(fen, reason));
+    }
+}
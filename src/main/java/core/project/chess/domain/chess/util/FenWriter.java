@@ -0,0 +1,109 @@
+package core.project.chess.domain.chess.util;
+
+import core.project.chess.domain.chess.entities.ChessBoard;
+import core.project.chess.domain.chess.enumerations.Coordinate;
+import core.project.chess.domain.chess.pieces.*;
+import core.project.chess.domain.commons.enumerations.Color;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes FEN (Forsyth-Edwards Notation) of the position straight from the bitboards into a byte array.
+ * FEN consists only of ASCII characters, so the resulting String is a plain copy of the written bytes.
+ */
+public final class FenWriter {
+    /** Enough for the longest possible FEN: 64 pieces and 7 slashes, castling, en passant and both counters.*/
+    private static final int MAX_FEN_LENGTH = 100;
+
+    private static final Piece[] PIECES = {
+            Pawn.of(Color.WHITE), Knight.of(Color.WHITE), Bishop.of(Color.WHITE),
+            Rook.of(Color.WHITE), Queen.of(Color.WHITE), King.of(Color.WHITE),
+            Pawn.of(Color.BLACK), Knight.of(Color.BLACK), Bishop.of(Color.BLACK),
+            Rook.of(Color.BLACK), Queen.of(Color.BLACK), King.of(Color.BLACK)
+    };
+
+    /** FEN symbols by index of the piece.*/
+    private static final byte[] PIECE_SYMBOLS = {'P', 'N', 'B', 'R', 'Q', 'K', 'p', 'n', 'b', 'r', 'q', 'k'};
+
+    private static final byte[] CASTLING_SYMBOLS = {'K', 'Q', 'k', 'q'};
+
+    private FenWriter() {}
+
+    public static String write(final ChessBoard chessBoard) {
+        final byte[] squares = new byte[64];
+        for (Piece piece : PIECES) {
+            long bitboard = chessBoard.bitboard(piece);
+            while (bitboard != 0) {
+                squares[Long.numberOfTrailingZeros(bitboard)] = PIECE_SYMBOLS[piece.index()];
+                bitboard &= bitboard - 1;
+            }
+        }
+
+        final byte[] fen = new byte[MAX_FEN_LENGTH];
+        int length = 0;
+
+        for (int row = 7; row >= 0; row--) {
+            int emptySquares = 0;
+            for (int column = 0; column < 8; column++) {
+                byte symbol = squares[(row << 3) + column];
+                if (symbol == 0) {
+                    emptySquares++;
+                    continue;
+                }
+
+                if (emptySquares != 0) fen[length++] = (byte) ('0' + emptySquares);
+                emptySquares = 0;
+                fen[length++] = symbol;
+            }
+
+            if (emptySquares != 0) fen[length++] = (byte) ('0' + emptySquares);
+            if (row != 0) fen[length++] = '/';
+        }
+
+        fen[length++] = ' ';
+        fen[length++] = chessBoard.turn() == Color.WHITE ? (byte) 'w' : (byte) 'b';
+        fen[length++] = ' ';
+
+        final int castlingRights = chessBoard.castlingRights();
+        if (castlingRights == 0) fen[length++] = '-';
+        for (int i = 0; i < CASTLING_SYMBOLS.length; i++) {
+            if ((castlingRights & (1 << i)) != 0) fen[length++] = CASTLING_SYMBOLS[i];
+        }
+        fen[length++] = ' ';
+
+        final Coordinate enPassant = chessBoard.enPassant();
+        if (enPassant == null) {
+            fen[length++] = '-';
+        } else {
+            fen[length++] = (byte) ('a' + enPassant.column() - 1);
+            fen[length++] = (byte) ('0' + enPassant.row());
+        }
+        fen[length++] = ' ';
+
+        length = writeNumber(fen, length, chessBoard.ruleOf50MovesCount());
+        fen[length++] = ' ';
+        length = writeNumber(fen, length, chessBoard.countOfFullMoves());
+
+        return new String(fen, 0, length, StandardCharsets.US_ASCII);
+    }
+
+    private static int writeNumber(final byte[] fen, int length, int number) {
+        if (number < 0) {
+            fen[length++] = '-';
+            number = -number;
+        }
+
+        final int start = length;
+        do {
+            fen[length++] = (byte) ('0' + number % 10);
+            number /= 10;
+        } while (number != 0);
+
+        for (int i = start, j = length - 1; i < j; i++, j--) {
+            byte digit = fen[i];
+            fen[i] = fen[j];
+            fen[j] = digit;
+        }
+        return length;
+    }
+}
@@ -0,0 +1,147 @@
+package core.project.chess.domain.chess.util;
+
+import core.project.chess.domain.chess.enumerations.Coordinate;
+import core.project.chess.domain.chess.pieces.*;
+import core.project.chess.domain.chess.value_objects.Move;
+import core.project.chess.domain.commons.annotations.Nullable;
+import core.project.chess.domain.commons.enumerations.Color;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reusable primitive buffer of moves, each packed into a single int:
+ * <pre>
+ *  bits 0..5   - from square index
+ *  bits 6..11  - to square index
+ *  bits 12..15 - promotion piece index + 1 (0 if there is no promotion)
+ *  bits 16..19 - flags (CAPTURE, EN_PASSANT, CASTLE, DOUBLE_PUSH)
+ * </pre>
+ * The buffer only grows, so once it is warmed up move generation into it does not allocate.
+ * Not thread safe, intended to be reused per search ply.
+ */
+public final class MoveBuffer {
+    public static final int CAPTURE = 1;
+    public static final int EN_PASSANT = 1 << 1;
+    public static final int CASTLE = 1 << 2;
+    public static final int DOUBLE_PUSH = 1 << 3;
+
+    private static final int DEFAULT_CAPACITY = 256;
+    private static final int SQUARE_MASK = 0x3F;
+    private static final int TO_SHIFT = 6;
+    private static final int PROMOTION_SHIFT = 12;
+    private static final int FLAGS_SHIFT = 16;
+
+    private static final Piece[] PIECES = {
+            Pawn.of(Color.WHITE), Knight.of(Color.WHITE), Bishop.of(Color.WHITE),
+            Rook.of(Color.WHITE), Queen.of(Color.WHITE), King.of(Color.WHITE),
+            Pawn.of(Color.BLACK), Knight.of(Color.BLACK), Bishop.of(Color.BLACK),
+            Rook.of(Color.BLACK), Queen.of(Color.BLACK), King.of(Color.BLACK)
+    };
+
+    private int[] moves;
+    private int size;
+
+    public MoveBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public MoveBuffer(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("Capacity must be positive.");
+        this.moves = new int[capacity];
+    }
+
+    public static int pack(int from, int to, int flags) {
+        return from | (to << TO_SHIFT) | (flags << FLAGS_SHIFT);
+    }
+
+    public static int pack(int from, int to, @Nullable Piece promotion, int flags) {
+        int promotionBits = promotion == null ? 0 : promotion.index() + 1;
+        return from | (to << TO_SHIFT) | (promotionBits << PROMOTION_SHIFT) | (flags << FLAGS_SHIFT);
+    }
+
+    public static int from(int move) {
+        return move & SQUARE_MASK;
+    }
+
+    public static int to(int move) {
+        return (move >>> TO_SHIFT) & SQUARE_MASK;
+    }
+
+    public static int flags(int move) {
+        return move >>> FLAGS_SHIFT;
+    }
+
+    public static boolean isCapture(int move) {
+        return (flags(move) & CAPTURE) != 0;
+    }
+
+    @Nullable
+    public static Piece promotion(int move) {
+        int promotionBits = (move >>> PROMOTION_SHIFT) & 0xF;
+        return promotionBits == 0 ? null : PIECES[promotionBits - 1];
+    }
+
+    public static Move toMove(int move) {
+        return new Move(Coordinate.byIndex(from(move)), Coordinate.byIndex(to(move)), promotion(move));
+    }
+
+    public void add(int move) {
+        if (size == moves.length) moves = Arrays.copyOf(moves, size << 1);
+        moves[size++] = move;
+    }
+
+    public void add(int from, int to, int flags) {
+        add(pack(from, to, flags));
+    }
+
+    /** Adds all four promotion choices for the pawn move, starting with the queen.*/
+    public void addPromotions(int from, int to, Color color, int flags) {
+        add(pack(from, to, Queen.of(color), flags));
+        add(pack(from, to, Rook.of(color), flags));
+        add(pack(from, to, Bishop.of(color), flags));
+        add(pack(from, to, Knight.of(color), flags));
+    }
+
+    public int get(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException(index);
+        return moves[index];
+    }
+
+    /** Swaps two buffered moves, used to order moves in place.*/
+    public void swap(int i, int j) {
+        if (i < 0 || i >= size) throw new IndexOutOfBoundsException(i);
+        if (j < 0 || j >= size) throw new IndexOutOfBoundsException(j);
+        int move = moves[i];
+        moves[i] = moves[j];
+        moves[j] = move;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /** Adapter for the object based API: decodes all buffered moves into the given list.*/
+    public List<Move> toList(final List<Move> target) {
+        for (int i = 0; i < size; i++) target.add(toMove(moves[i]));
+        return target;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) stringBuilder.append(", ");
+            stringBuilder.append(toMove(moves[i]));
+        }
+        return stringBuilder.append(']').toString();
+    }
+}
@@ -0,0 +1,99 @@
+package core.project.chess.domain.chess.util;
+
+import core.project.chess.domain.chess.pieces.Bishop;
+import core.project.chess.domain.chess.pieces.Knight;
+import core.project.chess.domain.chess.pieces.Piece;
+import core.project.chess.domain.chess.pieces.Queen;
+import core.project.chess.domain.chess.pieces.Rook;
+import core.project.chess.domain.commons.enumerations.Color;
+
+/**
+ * Compact binary form of the moves of a game, for storage: every move takes two bytes (big-endian),
+ * <pre>
+ *  bits 0..5   - from square index
+ *  bits 6..11  - to square index
+ *  bits 12..14 - promotion piece: 0 none, 1 knight, 2 bishop, 3 rook, 4 queen
+ * </pre>
+ * The color of the promotion piece is not stored, it is the color of the side to move.
+ * Moves are decoded into the int form of MoveBuffer, flags are left for the board to derive.
+ */
+public final class MoveCodec {
+    public static final int BYTES_PER_MOVE = 2;
+
+    private static final int SQUARE_MASK = 0x3F;
+    private static final int TO_SHIFT = 6;
+    private static final int PROMOTION_SHIFT = 12;
+    private static final int PROMOTION_MASK = 0x7;
+
+    private MoveCodec() {}
+
+    /**
+     * @param moves moves packed as in MoveBuffer.
+     */
+    public static byte[] encode(final int[] moves) {
+        final byte[] encoded = new byte[moves.length * BYTES_PER_MOVE];
+        for (int i = 0; i < moves.length; i++) {
+            final int move = encode(moves[i]);
+            encoded[i << 1] = (byte) (move >>> 8);
+            encoded[(i << 1) + 1] = (byte) move;
+        }
+        return encoded;
+    }
+
+    /**
+     * @param move move packed as in MoveBuffer.
+     * @return the 16 bits of the move.
+     */
+    public static int encode(final int move) {
+        final Piece promotion = MoveBuffer.promotion(move);
+        final int promotionBits = promotion == null ? 0 : promotion.index() % 6;
+        return MoveBuffer.from(move) | (MoveBuffer.to(move) << TO_SHIFT) | (promotionBits << PROMOTION_SHIFT);
+    }
+
+    /**
+     * @return count of the encoded moves.
+     * @throws IllegalArgumentException if the length of the array is not a multiple of BYTES_PER_MOVE.
+     */
+    public static int size(final byte[] encoded) {
+        if ((encoded.length & 1) != 0) {
+            throw new IllegalArgumentException("Invalid encoded moves: odd length %d.".formatted(encoded.length));
+        }
+        return encoded.length >> 1;
+    }
+
+    /**
+     * @param index index of the move, from zero.
+     * @return the 16 bits of the move.
+     */
+    public static int get(final byte[] encoded, final int index) {
+        return ((encoded[index << 1] & 0xFF) << 8) | (encoded[(index << 1) + 1] & 0xFF);
+    }
+
+    /**
+     * @param index index of the move, from zero.
+     * @param color color of the side making the move.
+     * @return the move packed as in MoveBuffer, without flags.
+     * @throws IllegalArgumentException if the encoded promotion piece is invalid.
+     */
+    public static int decode(final byte[] encoded, final int index, final Color color) {
+        return decode(get(encoded, index), color);
+    }
+
+    /**
+     * @param move the 16 bits of the move.
+     * @param color color of the side making the move.
+     * @return the move packed as in MoveBuffer, without flags.
+     * @throws IllegalArgumentException if the encoded promotion piece is invalid.
+     */
+    public static int decode(final int move, final Color color) {
+        final Piece promotion = switch ((move >>> PROMOTION_SHIFT) & PROMOTION_MASK) {
+            case 0 -> null;
+            case 1 -> Knight.of(color);
+            case 2 -> Bishop.of(color);
+            case 3 -> Rook.of(color);
+            case 4 -> Queen.of(color);
+            default -> throw new IllegalArgumentException("Invalid encoded move %d.".formatted(move));
+        };
+        return MoveBuffer.pack(move & SQUARE_MASK, (move >>> TO_SHIFT) & SQUARE_MASK, promotion, 0);
+    }
+}
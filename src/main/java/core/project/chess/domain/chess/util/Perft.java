@@ -0,0 +1,159 @@
+package core.project.chess.domain.chess.util;
+
+import core.project.chess.domain.chess.entities.ChessBoard;
+import core.project.chess.domain.chess.value_objects.PerftReport;
+import core.project.chess.domain.commons.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Performance test: counts leaf nodes of the legal move tree to the given depth, used to validate move generation.
+ * <p>
+ * Root moves are distributed over a ForkJoinPool. Every task works on its own copy of the board
+ * and keeps splitting its moves into subtasks while the remaining depth is greater than SPLIT_DEPTH,
+ * deeper subtrees are counted sequentially with makeMove/unmakeMove. The board passed to divide is only read,
+ * so it must not be modified until divide returns.
+ * <p>
+ * Optionally node counts of subtrees are cached in a PerftTranspositionTable shared by all threads,
+ * so subtrees reached again through transpositions are counted only once.
+ */
+public final class Perft {
+    /** Remaining depth at which a subtree is counted by a single thread instead of being split further.*/
+    private static final int SPLIT_DEPTH = 4;
+
+    private Perft() {}
+
+    /**
+     * Counts nodes single-threaded on the given board, which is returned to its position afterwards.
+     */
+    public static long perft(final ChessBoard chessBoard, final int depth) {
+        return perft(chessBoard, depth, null);
+    }
+
+    public static long perft(final ChessBoard chessBoard, final int depth, final @Nullable PerftTranspositionTable table) {
+        if (depth < 0) throw new IllegalArgumentException("Depth can`t be negative.");
+        return count(chessBoard, depth, newBuffers(depth), table);
+    }
+
+    public static PerftReport divide(final ChessBoard chessBoard, final int depth) {
+        return divide(chessBoard, depth, ForkJoinPool.commonPool(), null);
+    }
+
+    public static PerftReport divide(final ChessBoard chessBoard, final int depth, final ForkJoinPool pool) {
+        return divide(chessBoard, depth, pool, null);
+    }
+
+    public static PerftReport divide(final ChessBoard chessBoard, final int depth,
+                                     final ForkJoinPool pool, final @Nullable PerftTranspositionTable table) {
+        if (depth < 1) throw new IllegalArgumentException("Depth of divide must be at least 1.");
+
+        final long start = System.nanoTime();
+        final long probes = table == null ? 0 : table.probes();
+        final long hits = table == null ? 0 : table.hits();
+        final MoveBuffer rootMoves = new MoveBuffer();
+        chessBoard.generateAllValidMoves(rootMoves);
+
+        final List<PerftTask> tasks = new ArrayList<>(rootMoves.size());
+        for (int i = 0; i < rootMoves.size(); i++) {
+            tasks.add(new PerftTask(chessBoard, rootMoves.get(i), depth - 1, table));
+        }
+        pool.invoke(new RecursiveTask<Long>() {
+            @Override
+            protected Long compute() {
+                invokeAll(tasks);
+                return 0L;
+            }
+        });
+
+        long nodes = 0;
+        final Map<String, Long> divide = new LinkedHashMap<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            final long moveNodes = tasks.get(i).join();
+            divide.put(MoveBuffer.toMove(rootMoves.get(i)).toString(), moveNodes);
+            nodes += moveNodes;
+        }
+
+        final long elapsedNanos = System.nanoTime() - start;
+        if (table == null) return new PerftReport(depth, nodes, elapsedNanos, divide, 0, 0);
+        return new PerftReport(depth, nodes, elapsedNanos, divide, table.probes() - probes, table.hits() - hits);
+    }
+
+    private static MoveBuffer[] newBuffers(final int depth) {
+        final MoveBuffer[] moveBuffers = new MoveBuffer[depth + 1];
+        for (int i = 0; i < moveBuffers.length; i++) moveBuffers[i] = new MoveBuffer();
+        return moveBuffers;
+    }
+
+    private static long count(final ChessBoard chessBoard, final int depth,
+                              final MoveBuffer[] moveBuffers, final @Nullable PerftTranspositionTable table) {
+        if (depth == 0) return 1L;
+
+        final MoveBuffer moves = moveBuffers[depth];
+        /** Moves are fully legal, so the last ply is counted without making them and is not worth caching.*/
+        if (depth == 1) return chessBoard.generateAllValidMoves(moves);
+
+        if (table != null) {
+            final long cached = table.probe(chessBoard.zobristHash(), depth);
+            if (cached >= 0) return cached;
+        }
+
+        final int size = chessBoard.generateAllValidMoves(moves);
+        long nodes = 0L;
+        for (int i = 0; i < size; i++) {
+            chessBoard.makeMove(moves.get(i));
+            nodes += count(chessBoard, depth - 1, moveBuffers, table);
+            chessBoard.unmakeMove();
+        }
+
+        if (table != null) table.store(chessBoard.zobristHash(), depth, nodes);
+        return nodes;
+    }
+
+    /**
+     * Counts the subtree after the given move. The parent board is only read here and copied when the task runs,
+     * so the count of live copies is bounded by the count of running tasks instead of the count of forked ones.
+     */
+    private static final class PerftTask extends RecursiveTask<Long> {
+        private final ChessBoard parent;
+        private final int move;
+        private final int depth;
+        private final @Nullable PerftTranspositionTable table;
+
+        private PerftTask(ChessBoard parent, int move, int depth, @Nullable PerftTranspositionTable table) {
+            this.parent = parent;
+            this.move = move;
+            this.depth = depth;
+            this.table = table;
+        }
+
+        @Override
+        protected Long compute() {
+            final ChessBoard chessBoard = parent.copy();
+            chessBoard.makeMove(move);
+            if (depth <= SPLIT_DEPTH) return count(chessBoard, depth, newBuffers(depth), table);
+
+            if (table != null) {
+                final long cached = table.probe(chessBoard.zobristHash(), depth);
+                if (cached >= 0) return cached;
+            }
+
+            final MoveBuffer moves = new MoveBuffer();
+            chessBoard.generateAllValidMoves(moves);
+
+            final List<PerftTask> subtasks = new ArrayList<>(moves.size());
+            for (int i = 0; i < moves.size(); i++) subtasks.add(new PerftTask(chessBoard, moves.get(i), depth - 1, table));
+            invokeAll(subtasks);
+
+            long nodes = 0L;
+            for (PerftTask subtask : subtasks) nodes += subtask.join();
+
+            if (table != null) table.store(chessBoard.zobristHash(), depth, nodes);
+            return nodes;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package core.project.chess.domain.chess.util;
+
+import core.project.chess.domain.chess.entities.ChessBoard;
+import core.project.chess.domain.chess.value_objects.PerftSuiteReport;
+import core.project.chess.domain.chess.value_objects.PerftSuiteReport.PositionResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Suite of perft positions in EPD format, one position per line with expected counts of nodes by depth:
+ * <pre>
+ *     rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1 ;D1 20 ;D2 400 ;D3 8902
+ * </pre>
+ * Positions are run in parallel, each of them single-threaded at every depth from 1 up to the requested one
+ * (or the deepest expected count of the position, if it is lower).
+ */
+public final class PerftSuite {
+    private final List<Position> positions;
+
+    public record Position(String fen, long[] expectedNodes) {
+
+        /** @return expected count of nodes at the depth, or -1 if the suite has no value for it.*/
+        public long expectedNodes(int depth) {
+            return depth <= expectedNodes.length ? expectedNodes[depth - 1] : -1;
+        }
+    }
+
+    private PerftSuite(List<Position> positions) {
+        this.positions = List.copyOf(positions);
+    }
+
+    public static PerftSuite fromEPD(final List<String> lines) {
+        final List<Position> positions = new ArrayList<>(lines.size());
+
+        for (int lineNumber = 1; lineNumber <= lines.size(); lineNumber++) {
+            final String line = lines.get(lineNumber - 1);
+            if (line.isBlank()) continue;
+
+            final String[] parts = line.split(";");
+            final long[] expectedNodes = new long[parts.length - 1];
+            for (int i = 1; i < parts.length; i++) {
+                final String[] depthAndNodes = parts[i].trim().split("\\s+");
+                if (depthAndNodes.length != 2 || !depthAndNodes[0].equals("D" + i)) {
+                    throw new IllegalArgumentException("Invalid EPD at line %d: expected 'D%d <nodes>', but was '%s'."
+                            .formatted(lineNumber, i, parts[i].trim()));
+                }
+
+                try {
+                    expectedNodes[i - 1] = Long.parseLong(depthAndNodes[1]);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid EPD at line %d: count of nodes '%s' is not a number."
+                            .formatted(lineNumber, depthAndNodes[1]));
+                }
+            }
+
+            positions.add(new Position(parts[0].trim(), expectedNodes));
+        }
+
+        return new PerftSuite(positions);
+    }
+
+    public List<Position> positions() {
+        return positions;
+    }
+
+    public PerftSuiteReport run(final int maxDepth, final ForkJoinPool pool) {
+        if (maxDepth < 1) throw new IllegalArgumentException("Depth must be at least 1.");
+
+        final long start = System.nanoTime();
+        final List<PositionTask> tasks = new ArrayList<>(positions.size());
+        for (int i = 0; i < positions.size(); i++) tasks.add(new PositionTask(i, positions.get(i), maxDepth));
+
+        pool.invoke(new RecursiveTask<Void>() {
+            @Override
+            protected Void compute() {
+                invokeAll(tasks);
+                return null;
+            }
+        });
+
+        final List<PositionResult> results = new ArrayList<>(tasks.size());
+        for (PositionTask task : tasks) results.add(task.join());
+        return new PerftSuiteReport(results, System.nanoTime() - start);
+    }
+
+    private static final class PositionTask extends RecursiveTask<PositionResult> {
+        private final int index;
+        private final Position position;
+        private final int maxDepth;
+
+        private PositionTask(int index, Position position, int maxDepth) {
+            this.index = index;
+            this.position = position;
+            this.maxDepth = maxDepth;
+        }
+
+        @Override
+        protected PositionResult compute() {
+            final int depth = Math.min(maxDepth, position.expectedNodes().length);
+            final List<String> mismatches = new ArrayList<>();
+
+            final long start = System.nanoTime();
+            long nodes = 0;
+            try {
+                final ChessBoard chessBoard = ChessBoard.pureChessFromPosition(position.fen());
+                for (int d = 1; d <= depth; d++) {
+                    final long actual = Perft.perft(chessBoard, d);
+                    final long expected = position.expectedNodes(d);
+                    if (actual != expected) mismatches.add("D%d expected %d, actual %d".formatted(d, expected, actual));
+                    nodes += actual;
+                }
+            } catch (RuntimeException e) {
+                mismatches.add("error: " + e.getMessage());
+            }
+
+            return new PositionResult(index, position.fen(), depth, nodes, System.nanoTime() - start, mismatches);
+        }
+    }
+}
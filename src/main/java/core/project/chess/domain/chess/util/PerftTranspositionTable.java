@@ -0,0 +1,86 @@
+package core.project.chess.domain.chess.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-size cache of perft node counts keyed on (Zobrist key, depth), shared between threads without locks.
+ * <p>
+ * Every bucket has two entries: the first one is replaced only by a result of the same or greater depth,
+ * the second one is always replaced. An entry takes two longs: the Zobrist key XOR the data, and the data itself,
+ * where data is the count of nodes shifted by 8 bits with the depth in the lowest byte.
+ * Both longs are written without synchronization, so an entry torn by concurrent writers
+ * doesn't pass the key check on read and is just treated as a miss.
+ */
+public final class PerftTranspositionTable {
+    private static final int LONGS_PER_BUCKET = 4;
+    private static final int BYTES_PER_BUCKET = LONGS_PER_BUCKET * Long.BYTES;
+    private static final int DEPTH_MASK = 0xFF;
+    private static final int NODES_SHIFT = 8;
+
+    private final AtomicLongArray entries;
+    private final int bucketMask;
+
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * @param megabytes memory limit of the table, the count of buckets is rounded down to a power of two.
+     */
+    public PerftTranspositionTable(final int megabytes) {
+        if (megabytes < 1 || megabytes > 8192) throw new IllegalArgumentException("Size of the table must be in range of 1..8192 MB.");
+
+        final int buckets = (int) Long.highestOneBit(((long) megabytes << 20) / BYTES_PER_BUCKET);
+        this.entries = new AtomicLongArray(buckets * LONGS_PER_BUCKET);
+        this.bucketMask = buckets - 1;
+    }
+
+    /**
+     * @return count of nodes of the position at the given depth, or -1 if it is not in the table.
+     */
+    public long probe(final long zobristKey, final int depth) {
+        probes.increment();
+
+        final int bucket = bucketIndex(zobristKey);
+        for (int entry = bucket; entry < bucket + LONGS_PER_BUCKET; entry += 2) {
+            final long data = entries.getOpaque(entry + 1);
+            if ((entries.getOpaque(entry) ^ data) == zobristKey && (data & DEPTH_MASK) == depth) {
+                hits.increment();
+                return data >>> NODES_SHIFT;
+            }
+        }
+        return -1;
+    }
+
+    public void store(final long zobristKey, final int depth, final long nodes) {
+        final long data = (nodes << NODES_SHIFT) | depth;
+        final int bucket = bucketIndex(zobristKey);
+
+        final int entry = (entries.getOpaque(bucket + 1) & DEPTH_MASK) <= depth ? bucket : bucket + 2;
+        entries.setOpaque(entry, zobristKey ^ data);
+        entries.setOpaque(entry + 1, data);
+    }
+
+    public long probes() {
+        return probes.sum();
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public double hitRate() {
+        final long probes = probes();
+        return probes == 0 ? 0.0 : (double) hits() / probes;
+    }
+
+    public void clear() {
+        for (int i = 0; i < entries.length(); i++) entries.setOpaque(i, 0L);
+        probes.reset();
+        hits.reset();
+    }
+
+    private int bucketIndex(final long zobristKey) {
+        return ((int) zobristKey & bucketMask) * LONGS_PER_BUCKET;
+    }
+}
@@ -0,0 +1,54 @@
+package core.project.chess.domain.chess.util;
+
+import core.project.chess.domain.commons.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Append-only buffer of the PGN movetext, in the format "1. e2-e4 e7-e5 2. Ng1-f3 ... ".
+ * <p>
+ * Every half move is rendered once when it is appended, removing the last half move truncates the buffer
+ * to the remembered offset. The String representation is cached until the next change,
+ * so the cost of a move does not depend on the length of the game.
+ * Not thread safe, owned by a single board.
+ */
+public final class PgnBuilder {
+    private static final String MISSING_MOVE = "... ";
+
+    private final StringBuilder movetext = new StringBuilder();
+    private int[] offsets = new int[64];
+    private int countOfHalfMoves;
+    private @Nullable String pgn;
+
+    public void append(final String algebraicNotation) {
+        if (countOfHalfMoves == offsets.length) offsets = Arrays.copyOf(offsets, countOfHalfMoves << 1);
+        offsets[countOfHalfMoves] = movetext.length();
+
+        if ((countOfHalfMoves & 1) == 0) movetext.append((countOfHalfMoves >> 1) + 1).append(". ");
+        movetext.append(algebraicNotation).append(' ');
+
+        countOfHalfMoves++;
+        pgn = null;
+    }
+
+    public void removeLast() {
+        if (countOfHalfMoves == 0) throw new IllegalStateException("PGN is empty.");
+
+        movetext.setLength(offsets[--countOfHalfMoves]);
+        pgn = null;
+    }
+
+    public int countOfHalfMoves() {
+        return countOfHalfMoves;
+    }
+
+    @Override
+    public String toString() {
+        String result = pgn;
+        if (result == null) {
+            result = (countOfHalfMoves & 1) == 0 ? movetext.toString() : movetext + MISSING_MOVE;
+            pgn = result;
+        }
+        return result;
+    }
+}
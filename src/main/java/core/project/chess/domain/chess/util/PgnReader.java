@@ -0,0 +1,187 @@
+package core.project.chess.domain.chess.util;
+
+import core.project.chess.domain.chess.util.PgnTokenizer.Token;
+import core.project.chess.domain.chess.value_objects.PgnGame;
+import core.project.chess.domain.commons.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads games of a PGN one by one, only the current game is kept in memory, so files of any size
+ * can be processed with a stream:
+ * <pre>
+ *     try (Stream&lt;PgnGame&gt; games = PgnReader.of(inputStream).stream()) {
+ *         games.forEach(...);
+ *     }
+ * </pre>
+ * A game ends with its termination marker, with the tags of the next game or with the end of the input.
+ * Moves inside of variations are skipped.
+ * <p>
+ * A malformed game is reported by IllegalArgumentException of next(), the reader then skips the rest of the game
+ * and continues with the tags of the next one, so a single broken record doesn't stop the reading of a large file.
+ */
+public final class PgnReader implements Iterator<PgnGame>, Closeable {
+    private static final String UNKNOWN_RESULT = "*";
+
+    private final PgnTokenizer tokenizer;
+    private @Nullable Token pending;
+    private @Nullable PgnGame next;
+    private @Nullable IllegalArgumentException malformed;
+    private boolean hasMovetext;
+
+    private PgnReader(final Reader reader) {
+        this.tokenizer = new PgnTokenizer(reader);
+    }
+
+    public static PgnReader of(final Reader reader) {
+        return new PgnReader(reader);
+    }
+
+    public static PgnReader of(final InputStream inputStream) {
+        return new PgnReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+    }
+
+    public static PgnReader of(final String pgn) {
+        return new PgnReader(new StringReader(pgn));
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && malformed == null) {
+            try {
+                next = readGame();
+            } catch (IllegalArgumentException e) {
+                malformed = e;
+                skipGame();
+            }
+        }
+        return next != null || malformed != null;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the game is malformed, the following call continues with the next game.
+     */
+    @Override
+    public PgnGame next() {
+        if (!hasNext()) throw new NoSuchElementException("No more games in PGN.");
+        if (malformed != null) {
+            final IllegalArgumentException e = malformed;
+            malformed = null;
+            throw e;
+        }
+
+        final PgnGame game = next;
+        next = null;
+        return game;
+    }
+
+    /**
+     * @return lazy stream of the remaining games, closing the stream closes the reader.
+     */
+    public Stream<PgnGame> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(this::close);
+    }
+
+    private @Nullable PgnGame readGame() {
+        final Map<String, String> tags = new LinkedHashMap<>();
+        final List<String> moves = new ArrayList<>();
+        hasMovetext = false;
+        int depthOfVariation = 0;
+
+        while (true) {
+            final Token token = pending != null ? pending : tokenizer.next();
+            pending = null;
+
+            switch (token.type()) {
+                case TAG -> {
+                    if (depthOfVariation != 0) {
+                        pending = token;
+                        throw error(token, "variation is not closed");
+                    }
+                    if (hasMovetext) {
+                        pending = token;
+                        return new PgnGame(tags, moves, UNKNOWN_RESULT);
+                    }
+                    tags.put(token.text(), token.value());
+                }
+                case MOVE -> {
+                    hasMovetext = true;
+                    if (depthOfVariation == 0) moves.add(token.text());
+                }
+                case VARIATION_START -> {
+                    hasMovetext = true;
+                    depthOfVariation++;
+                }
+                case VARIATION_END -> {
+                    if (depthOfVariation == 0) throw error(token, "variation is closed before it is opened");
+                    depthOfVariation--;
+                }
+                case RESULT -> {
+                    if (depthOfVariation == 0) return new PgnGame(tags, moves, token.text());
+                }
+                case END -> {
+                    if (depthOfVariation != 0) throw error(token, "variation is not closed");
+                    if (tags.isEmpty() && !hasMovetext) return null;
+                    return new PgnGame(tags, moves, UNKNOWN_RESULT);
+                }
+                case MOVE_NUMBER, NAG -> hasMovetext = true;
+                case COMMENT -> {}
+            }
+        }
+    }
+
+    /**
+     * Skips the rest of the malformed game: its remaining tags and movetext, up to the tags of the next game.
+     * Errors of the skipped input are ignored.
+     */
+    private void skipGame() {
+        while (true) {
+            final Token token;
+            try {
+                token = pending != null ? pending : tokenizer.next();
+            } catch (IllegalArgumentException e) {
+                continue;
+            }
+            pending = null;
+
+            switch (token.type()) {
+                case TAG -> {
+                    if (hasMovetext) {
+                        pending = token;
+                        return;
+                    }
+                }
+                case END -> {
+                    pending = token;
+                    return;
+                }
+                default -> hasMovetext = true;
+            }
+        }
+    }
+
+    private static IllegalArgumentException error(final Token token, final String reason) {
+        return new IllegalArgumentException("Invalid PGN at line %d: %s.".formatted(token.line(), reason));
+    }
+
+    @Override
+    public void close() {
+        tokenizer.close();
+    }
+}
@@ -0,0 +1,262 @@
+package core.project.chess.domain.chess.util;
+
+import core.project.chess.domain.commons.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+
+/**
+ * Streaming lexer of PGN (Portable Game Notation), reads characters through a fixed buffer,
+ * so memory does not depend on the size of the input, only on the longest single token.
+ * <p>
+ * Recognizes tag pairs, move numbers ("12.", "12...", also glued to the move as in "12.e4"),
+ * moves, NAGs ("$14") and suffix annotations ("!?"), brace and rest of line comments,
+ * variations, game termination markers and escaped lines starting with '%'.
+ * Moves are returned as written, both in SAN and in the notation of the application,
+ * with suffix annotations stripped.
+ * <p>
+ * A brace comment can't contain a line starting with '[', such a line is taken for the tags of the next game,
+ * so a comment which is not closed breaks only its own game.
+ * <p>
+ * Not thread safe.
+ */
+public final class PgnTokenizer implements Closeable {
+    private static final int BUFFER_SIZE = 8192;
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    public enum Type {
+        TAG, MOVE_NUMBER, MOVE, NAG, COMMENT, VARIATION_START, VARIATION_END, RESULT, END
+    }
+
+    /**
+     * @param text  name of the tag, text of the move, comment or result.
+     * @param value value of the tag, null for other tokens.
+     * @param line  one-based line of the input where the token starts.
+     */
+    public record Token(Type type, String text, @Nullable String value, int line) {}
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder text = new StringBuilder();
+    private int position;
+    private int limit;
+    private int line = 1;
+    private boolean isLineStart = true;
+    private @Nullable Token pending;
+
+    public PgnTokenizer(final Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * @return next token, or the token of type END after the end of the input.
+     * @throws IllegalArgumentException if the input is not a valid PGN.
+     * @throws UncheckedIOException if the input can't be read.
+     */
+    public Token next() {
+        if (pending != null) {
+            final Token token = pending;
+            pending = null;
+            return token;
+        }
+
+        while (true) {
+            final boolean atLineStart = isLineStart;
+            final int c = read();
+            if (c == -1) return new Token(Type.END, "", null, line);
+            if (Character.isWhitespace(c) || c == BYTE_ORDER_MARK) continue;
+
+            final int start = line;
+            switch (c) {
+                case '%' -> {
+                    if (atLineStart) skipLine();
+                    else throw error("unexpected character '%'");
+                }
+                case '[' -> {
+                    return tag(start);
+                }
+                case '{' -> {
+                    return new Token(Type.COMMENT, comment(), null, start);
+                }
+                case ';' -> {
+                    return new Token(Type.COMMENT, readUntil('\n', null).strip(), null, start);
+                }
+                case '<' -> readUntil('>', "reserved expansion is not closed");
+                case '(' -> {
+                    return new Token(Type.VARIATION_START, "(", null, start);
+                }
+                case ')' -> {
+                    return new Token(Type.VARIATION_END, ")", null, start);
+                }
+                case '*' -> {
+                    return new Token(Type.RESULT, "*", null, start);
+                }
+                case '$' -> {
+                    return new Token(Type.NAG, "$" + readSymbol(-1), null, start);
+                }
+                default -> {
+                    if (!isSymbolCharacter(c)) throw error("unexpected character '%c'".formatted((char) c));
+                    final Token token = symbol(readSymbol(c), start);
+                    if (token != null) return token;
+                }
+            }
+        }
+    }
+
+    private @Nullable Token symbol(final String symbol, final int start) {
+        if (symbol.equals("1-0") || symbol.equals("0-1") || symbol.equals("1/2-1/2")) {
+            return new Token(Type.RESULT, symbol, null, start);
+        }
+
+        int digits = 0;
+        while (digits < symbol.length() && Character.isDigit(symbol.charAt(digits))) digits++;
+
+        int dots = digits;
+        while (dots < symbol.length() && symbol.charAt(dots) == '.') dots++;
+
+        if (dots == symbol.length()) {
+            /** Bare "..." between the number and the move of black.*/
+            if (digits == 0) return null;
+            return new Token(Type.MOVE_NUMBER, symbol, null, start);
+        }
+
+        if (digits != 0 && dots != digits) {
+            /** Move glued to its number, the move is returned on the next call.*/
+            pending = symbol(symbol.substring(dots), start);
+            return new Token(Type.MOVE_NUMBER, symbol.substring(0, dots), null, start);
+        }
+
+        int end = symbol.length();
+        while (end > 0 && (symbol.charAt(end - 1) == '!' || symbol.charAt(end - 1) == '?')) end--;
+        if (end == 0) return new Token(Type.NAG, symbol, null, start);
+
+        return new Token(Type.MOVE, symbol.substring(0, end), null, start);
+    }
+
+    private Token tag(final int start) {
+        skipWhitespaces();
+        final String name = readSymbol(-1);
+        if (name.isEmpty()) throw error("tag name is missing");
+
+        skipWhitespaces();
+        if (read() != '"') throw error("value of the tag '%s' must be a string".formatted(name));
+
+        text.setLength(0);
+        while (true) {
+            int c = read();
+            if (c == -1 || c == '\n') throw error("value of the tag '%s' is not closed".formatted(name));
+            if (c == '"') break;
+            if (c == '\\') {
+                c = read();
+                if (c != '"' && c != '\\') throw error("invalid escape in the value of the tag '%s'".formatted(name));
+            }
+            text.append((char) c);
+        }
+        final String value = text.toString();
+
+        skipWhitespaces();
+        if (read() != ']') throw error("tag '%s' is not closed".formatted(name));
+        return new Token(Type.TAG, name, value, start);
+    }
+
+    private String readSymbol(final int first) {
+        text.setLength(0);
+        if (first != -1) text.append((char) first);
+
+        while (true) {
+            final int c = peek();
+            if (c == -1 || !isSymbolCharacter(c)) break;
+            text.append((char) read());
+        }
+        return text.toString();
+    }
+
+    /**
+     * Besides the symbol characters of the PGN standard includes '.', which is a part of the move number
+     * and of the stalemate mark of the application ("e7-e5."), '!' and '?' of suffix annotations.
+     */
+    private static boolean isSymbolCharacter(final int c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' ||
+                c == '_' || c == '+' || c == '#' || c == '=' || c == ':' || c == '-' || c == '/' ||
+                c == '.' || c == '!' || c == '?';
+    }
+
+    private String comment() {
+        text.setLength(0);
+        while (true) {
+            final int c = peek();
+            if (c == -1 || c == '[' && isLineStart) throw error("comment is not closed");
+            read();
+            if (c == '}') return text.toString();
+            text.append((char) c);
+        }
+    }
+
+    private String readUntil(final char end, @Nullable final String errorIfMissing) {
+        text.setLength(0);
+        while (true) {
+            final int c = read();
+            if (c == end) return text.toString();
+            if (c == -1) {
+                if (errorIfMissing != null) throw error(errorIfMissing);
+                return text.toString();
+            }
+            text.append((char) c);
+        }
+    }
+
+    private void skipLine() {
+        int c;
+        do {
+            c = read();
+        } while (c != '\n' && c != -1);
+    }
+
+    private void skipWhitespaces() {
+        while (peek() != -1 && Character.isWhitespace(peek())) read();
+    }
+
+    private int peek() {
+        if (position == limit && !fill()) return -1;
+        return buffer[position];
+    }
+
+    private int read() {
+        if (position == limit && !fill()) return -1;
+
+        final char c = buffer[position++];
+        isLineStart = c == '\n';
+        if (isLineStart) line++;
+        return c;
+    }
+
+    private boolean fill() {
+        try {
+            int count;
+            do {
+                count = reader.read(buffer, 0, buffer.length);
+            } while (count == 0);
+
+            position = 0;
+            limit = Math.max(count, 0);
+            return count > 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private IllegalArgumentException error(final String reason) {
+        return new IllegalArgumentException("Invalid PGN at line %d: %s.".formatted(line, reason));
+    }
+
+    @Override
+    public void close() {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package core.project.chess.domain.chess.util;
+
+import core.project.chess.domain.chess.entities.ChessBoard;
+import core.project.chess.domain.chess.entities.Puzzle;
+import core.project.chess.domain.chess.value_objects.GameAnalysis;
+import core.project.chess.domain.chess.value_objects.Move;
+import core.project.chess.domain.chess.value_objects.SearchReport;
+import core.project.chess.domain.commons.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Finds tactical puzzles in a played game: positions where the last move of a player, made in a position
+ * which was not lost, allowed the opponent a forcing sequence with a single winning move.
+ * <p>
+ * Every position of the game is evaluated by a shallow search first, or taken from the GameAnalysis of the game
+ * when it is analyzed, deeper searches are spent only on the candidates:
+ * positions winning by at least WINNING_SCORE for the side to move, while the position before the last move
+ * was not lost for the other side. The solution is then built by the deeper search move by move, the opponent
+ * answers by its best replies:
+ * <ul>
+ *     <li>every move of the solution must be the only winning one, tested by a search excluding it,
+ *     the first one is required, later ones end the solution before them;</li>
+ *     <li>after the first move the solution continues only with forcing moves (captures, promotions and checks),
+ *     the first quiet best move means the tactic is over;</li>
+ *     <li>the solution ends with a checkmate or after MAX_SOLUTION_MOVES moves of the player.</li>
+ * </ul>
+ * The puzzle consists of the moves of the game up to the position followed by the solution, its start position index
+ * is the last move of the game before the solution, see Puzzle.of().
+ * <p>
+ * A miner owns an Engine, so it is not thread safe, like the engine itself.
+ */
+public final class PuzzleMiner {
+
+    public static final int WINNING_SCORE = 300;
+
+    public static final int MAX_SOLUTION_MOVES = 4;
+
+    public static final int MAX_PUZZLES_PER_GAME = 3;
+
+    static final TimeManager.ThinkTime THINK_TIME_PER_SEARCH = new TimeManager.ThinkTime(5_000, 5_000);
+
+    private final Engine engine;
+
+    private final int scanDepth;
+
+    private final int solutionDepth;
+
+    private final MoveBuffer moveBuffer = new MoveBuffer();
+
+    public PuzzleMiner(final Engine engine, final int scanDepth, final int solutionDepth) {
+        Objects.requireNonNull(engine);
+        if (scanDepth < 1 || solutionDepth < 1) throw new IllegalArgumentException("Depth of search must be at least 1.");
+
+        this.engine = engine;
+        this.scanDepth = scanDepth;
+        this.solutionDepth = solutionDepth;
+    }
+
+    /**
+     * @param chessBoard board of the played game with its history, it is not changed.
+     * @return puzzles found in the game, at most MAX_PUZZLES_PER_GAME, in the order of the game.
+     */
+    public List<Puzzle> mine(final ChessBoard chessBoard) {
+        return mine(chessBoard, null);
+    }
+
+    /**
+     * @param chessBoard board of the played game with its history, it is not changed.
+     * @param gameAnalysis analysis of the same game, its evaluations replace the shallow search of every position,
+     *                     or null if the game is not analyzed.
+     * @return puzzles found in the game, at most MAX_PUZZLES_PER_GAME, in the order of the game.
+     */
+    public List<Puzzle> mine(final ChessBoard chessBoard, final @Nullable GameAnalysis gameAnalysis) {
+        final List<ChessBoard> positions = chessBoard.positions();
+        final int[] scores = gameAnalysis == null ? scan(positions) : scores(gameAnalysis, positions.size());
+
+        final List<Puzzle> puzzles = new ArrayList<>(MAX_PUZZLES_PER_GAME);
+        for (int ply = 1; ply < scores.length && puzzles.size() < MAX_PUZZLES_PER_GAME; ply++) {
+            final boolean isCandidate = scores[ply] >= WINNING_SCORE && scores[ply - 1] > -WINNING_SCORE;
+            if (!isCandidate) continue;
+
+            final ChessBoard position = positions.get(ply).copy();
+            if (solve(position)) puzzles.add(Puzzle.of(position.pgn(), ply - 1));
+        }
+        return puzzles;
+    }
+
+    private int[] scan(final List<ChessBoard> positions) {
+        final int[] scores = new int[positions.size()];
+        for (int ply = 0; ply < scores.length; ply++) {
+            scores[ply] = engine.evaluate(positions.get(ply), scanDepth, THINK_TIME_PER_SEARCH);
+        }
+        return scores;
+    }
+
+    private static int[] scores(final GameAnalysis gameAnalysis, final int countOfPositions) {
+        final short[] evaluations = gameAnalysis.evaluations();
+        if (evaluations.length != countOfPositions) {
+            throw new IllegalArgumentException("Analysis of %d positions does not match the game of %d positions."
+                    .formatted(evaluations.length, countOfPositions));
+        }
+
+        final int[] scores = new int[countOfPositions];
+        for (int ply = 0; ply < scores.length; ply++) scores[ply] = evaluations[ply];
+        return scores;
+    }
+
+    /**
+     * Plays the solution on the board after its moves.
+     *
+     * @return false if the position has no solution, the board is then in an undefined position.
+     */
+    private boolean solve(final ChessBoard chessBoard) {
+        int playerMoves = 0;
+        while (playerMoves < MAX_SOLUTION_MOVES) {
+            final SearchReport best = engine.search(chessBoard, solutionDepth, THINK_TIME_PER_SEARCH);
+            final boolean isSolutionOver = best.score() < WINNING_SCORE
+                    || playerMoves > 0 && !isForcing(chessBoard, best.bestMove())
+                    || !isOnlyWinningMove(chessBoard, best);
+            if (isSolutionOver) {
+                if (playerMoves == 0) return false;
+                /** The solution ends with a move of the player, the last reply of the opponent is taken back.*/
+                chessBoard.undoMove();
+                return true;
+            }
+
+            play(chessBoard, best.bestMove());
+            playerMoves++;
+            if (chessBoard.generateAllValidMoves(moveBuffer) == 0) return true;
+            if (playerMoves == MAX_SOLUTION_MOVES) return true;
+
+            play(chessBoard, engine.search(chessBoard, solutionDepth, THINK_TIME_PER_SEARCH).bestMove());
+        }
+        return true;
+    }
+
+    /**
+     * A mate must be the only mate, other moves must be the only move winning by WINNING_SCORE.
+     */
+    private boolean isOnlyWinningMove(final ChessBoard chessBoard, final SearchReport best) {
+        if (chessBoard.generateAllValidMoves(moveBuffer) == 1) return true;
+
+        final int secondBest = engine.searchExcluding(chessBoard, solutionDepth, THINK_TIME_PER_SEARCH, best.bestMove()).score();
+        if (Engine.isMateScore(best.score())) return !Engine.isMateScore(secondBest) || secondBest < 0;
+        return secondBest < WINNING_SCORE;
+    }
+
+    private boolean isForcing(final ChessBoard chessBoard, final Move move) {
+        final int packed = packed(chessBoard, move);
+        if (MoveBuffer.isCapture(packed) || MoveBuffer.promotion(packed) != null) return true;
+
+        chessBoard.makeMove(packed);
+        final boolean isCheck = chessBoard.legalMoveMasks(chessBoard.turn()).checkers() != 0;
+        chessBoard.unmakeMove();
+        return isCheck;
+    }
+
+    private int packed(final ChessBoard chessBoard, final Move move) {
+        final int count = chessBoard.generateAllValidMoves(moveBuffer);
+        for (int i = 0; i < count; i++) {
+            final int packed = moveBuffer.get(i);
+            final boolean isSameMove = MoveBuffer.from(packed) == move.from().index()
+                    && MoveBuffer.to(packed) == move.to().index()
+                    && Objects.equals(MoveBuffer.promotion(packed), move.promotion());
+            if (isSameMove) return packed;
+        }
+        throw new IllegalStateException("Move %s is not legal in the position.".formatted(move));
+    }
+
+    /** Moves of the solution are played with the notation, so they are a part of the PGN of the puzzle.*/
+    private static void play(final ChessBoard chessBoard, final Move move) {
+        chessBoard.doMove(move.from(), move.to(), move.promotion());
+    }
+}
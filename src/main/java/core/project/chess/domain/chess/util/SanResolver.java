@@ -0,0 +1,179 @@
+package core.project.chess.domain.chess.util;
+
+import core.project.chess.domain.chess.entities.ChessBoard;
+import core.project.chess.domain.chess.enumerations.Coordinate;
+import core.project.chess.domain.chess.pieces.*;
+import core.project.chess.domain.chess.value_objects.Move;
+import core.project.chess.domain.commons.annotations.Nullable;
+import core.project.chess.domain.commons.enumerations.Color;
+
+import static core.project.chess.domain.commons.enumerations.Color.WHITE;
+
+/**
+ * Resolves moves in SAN (Standard Algebraic Notation), as written by other sites and databases:
+ * "e4", "exd5", "Nf3", "Rad1", "N5xe4", "Qh4e1", "e8=Q+", "O-O", "0-0-0#".
+ * <p>
+ * The origin square is found from the destination: a piece attacks the destination if and only if
+ * the same piece standing on the destination attacks the origin, so the candidates are the attacks
+ * from the destination intersected with the bitboard of the moving piece, then narrowed by the file or rank
+ * of disambiguation and, only if several candidates remain, by the pins of the side to move.
+ * Pawn origins are computed directly. No move generation is involved.
+ * <p>
+ * The resolved move is not made and its legality is finally validated by ChessBoard.doMove.
+ */
+public final class SanResolver {
+    private static final long FILE_A = 0x0101010101010101L;
+    private static final long RANK_1 = 0xFFL;
+
+    private SanResolver() {}
+
+    /**
+     * @return move of the side to move, described by the SAN.
+     * @throws IllegalArgumentException if the SAN is malformed, or there is no or more than one such move.
+     */
+    public static Move resolve(final ChessBoard chessBoard, final String san) {
+        if (san == null || san.isBlank()) throw new IllegalArgumentException("SAN can`t be blank.");
+
+        final Color color = chessBoard.turn();
+        int end = san.length();
+        while (end > 0 && (san.charAt(end - 1) == '+' || san.charAt(end - 1) == '#')) end--;
+
+        final String move = san.substring(0, end);
+        if (move.equals("O-O") || move.equals("0-0")) {
+            return color == WHITE ? new Move(Coordinate.e1, Coordinate.g1, null) : new Move(Coordinate.e8, Coordinate.g8, null);
+        }
+        if (move.equals("O-O-O") || move.equals("0-0-0")) {
+            return color == WHITE ? new Move(Coordinate.e1, Coordinate.c1, null) : new Move(Coordinate.e8, Coordinate.c8, null);
+        }
+
+        Piece promotion = null;
+        if (end >= 3 && isPromotionSymbol(move.charAt(end - 1)) && !isFile(move.charAt(end - 2))) {
+            promotion = pieceOf(move.charAt(end - 1), color);
+            end -= move.charAt(end - 2) == '=' ? 2 : 1;
+        }
+
+        if (end < 2 || !isFile(move.charAt(end - 2)) || !isRank(move.charAt(end - 1))) throw invalid(san);
+        final int to = square(move.charAt(end - 2), move.charAt(end - 1));
+        end -= 2;
+        if (end > 0 && (move.charAt(end - 1) == 'x' || move.charAt(end - 1) == ':')) end--;
+
+        int start = 0;
+        final Piece piece;
+        if (end > 0 && Character.isUpperCase(move.charAt(0))) {
+            piece = move.charAt(0) == 'K' ? King.of(color) : pieceOf(move.charAt(0), color);
+            if (piece == null) throw invalid(san);
+            start = 1;
+        } else {
+            piece = Pawn.of(color);
+        }
+
+        long disambiguation = -1L;
+        for (int i = start; i < end; i++) {
+            final char c = move.charAt(i);
+            if (isFile(c)) disambiguation &= FILE_A << (c - 'a');
+            else if (isRank(c)) disambiguation &= RANK_1 << ((c - '1') << 3);
+            else throw invalid(san);
+        }
+
+        final boolean isPawn = piece instanceof Pawn;
+        if (isPawn && promotion == null && isLastRank(to, color)) {
+            throw new IllegalArgumentException("Promotion piece is missing in SAN '%s'.".formatted(san));
+        }
+        if (!isPawn && promotion != null) throw invalid(san);
+
+        final long candidates = (isPawn ? pawnOrigins(chessBoard, to, color, disambiguation != -1L) : origins(chessBoard, piece, to))
+                & disambiguation;
+        return new Move(Coordinate.byIndex(single(chessBoard, candidates, to, color, san)), Coordinate.byIndex(to), promotion);
+    }
+
+    private static long origins(final ChessBoard chessBoard, final Piece piece, final int to) {
+        final long occupied = chessBoard.whitePieces() | chessBoard.blackPieces();
+        final long attacks = switch (piece) {
+            case Knight n -> n.knightAttacks(to);
+            case Bishop b -> Bishop.bishopAttacks(to, occupied);
+            case Rook r -> Rook.rookAttacks(to, occupied);
+            case Queen q -> Queen.queenAttacks(to, occupied);
+            case King k -> -1L;
+            case Pawn p -> throw new IllegalStateException("Origins of pawns are computed separately.");
+        };
+        return attacks & chessBoard.bitboard(piece);
+    }
+
+    /**
+     * Pawn captures are written with the file of origin ("exd5"), pushes come from one or two squares behind.
+     */
+    private static long pawnOrigins(final ChessBoard chessBoard, final int to, final Color color, final boolean isCapture) {
+        final long pawns = chessBoard.bitboard(Pawn.of(color));
+        final int forward = color == WHITE ? 8 : -8;
+        final int behind = to - forward;
+        if (behind < 0 || behind > 63) return 0L;
+
+        if (isCapture) {
+            final long sameRank = RANK_1 << (behind & ~7);
+            return pawns & sameRank;
+        }
+
+        if ((pawns & (1L << behind)) != 0) return 1L << behind;
+
+        final long occupied = chessBoard.whitePieces() | chessBoard.blackPieces();
+        final int doubleStepRank = color == WHITE ? 3 : 4;
+        if ((to >> 3) == doubleStepRank && (occupied & (1L << behind)) == 0) {
+            return pawns & (1L << (behind - forward));
+        }
+        return 0L;
+    }
+
+    private static int single(final ChessBoard chessBoard, long candidates, final int to, final Color color, final String san) {
+        if (candidates == 0) throw new IllegalArgumentException("No piece can make the move '%s'.".formatted(san));
+
+        if ((candidates & (candidates - 1)) != 0) {
+            final LegalMoveMasks legalMoveMasks = chessBoard.legalMoveMasks(color);
+            long legal = 0L;
+            while (candidates != 0) {
+                final int from = Long.numberOfTrailingZeros(candidates);
+                candidates &= candidates - 1;
+                if (legalMoveMasks.isLegal(from, to)) legal |= 1L << from;
+            }
+
+            if (legal == 0) throw new IllegalArgumentException("No piece can make the move '%s'.".formatted(san));
+            if ((legal & (legal - 1)) != 0) throw new IllegalArgumentException("Ambiguous move '%s'.".formatted(san));
+            candidates = legal;
+        }
+
+        return Long.numberOfTrailingZeros(candidates);
+    }
+
+    private static @Nullable Piece pieceOf(final char symbol, final Color color) {
+        return switch (symbol) {
+            case 'N' -> Knight.of(color);
+            case 'B' -> Bishop.of(color);
+            case 'R' -> Rook.of(color);
+            case 'Q' -> Queen.of(color);
+            default -> null;
+        };
+    }
+
+    private static boolean isPromotionSymbol(final char c) {
+        return c == 'N' || c == 'B' || c == 'R' || c == 'Q';
+    }
+
+    private static boolean isLastRank(final int square, final Color color) {
+        return (square >> 3) == (color == WHITE ? 7 : 0);
+    }
+
+    private static boolean isFile(final char c) {
+        return c >= 'a' && c <= 'h';
+    }
+
+    private static boolean isRank(final char c) {
+        return c >= '1' && c <= '8';
+    }
+
+    private static int square(final char file, final char rank) {
+        return ((rank - '1') << 3) + (file - 'a');
+    }
+
+    private static IllegalArgumentException invalid(final String san) {
+        return new IllegalArgumentException("Invalid SAN '%s'.".formatted(san));
+    }
+}
@@ -0,0 +1,84 @@
+package core.project.chess.domain.chess.util;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size cache of search results keyed on the Zobrist key, used by a single Engine.
+ * <p>
+ * Every slot takes two longs: the Zobrist key and the data, where data is
+ * the best move in bits 0..19 (packed as in MoveBuffer), the remaining depth in bits 20..27,
+ * the bound of the score in bits 28..29 and the score itself in the upper 32 bits.
+ * A slot is replaced by a result of another position, or of the same position searched at the same or greater depth.
+ * <p>
+ * Not thread safe: every searching thread owns its table.
+ */
+public final class SearchTranspositionTable {
+    public static final long MISS = Long.MIN_VALUE;
+
+    public static final int EXACT = 1;
+    public static final int LOWER_BOUND = 2;
+    public static final int UPPER_BOUND = 3;
+
+    private static final int MOVE_MASK = 0xFFFFF;
+    private static final int DEPTH_SHIFT = 20;
+    private static final int BOUND_SHIFT = 28;
+    private static final int SCORE_SHIFT = 32;
+    private static final int BYTES_PER_SLOT = 2 * Long.BYTES;
+
+    private final long[] keys;
+    private final long[] data;
+    private final int mask;
+
+    /**
+     * @param megabytes memory limit of the table, the count of slots is rounded down to a power of two.
+     */
+    public SearchTranspositionTable(final int megabytes) {
+        if (megabytes < 1 || megabytes > 1024) throw new IllegalArgumentException("Size of the table must be in range of 1..1024 MB.");
+
+        final int slots = (int) Long.highestOneBit(((long) megabytes << 20) / BYTES_PER_SLOT);
+        this.keys = new long[slots];
+        this.data = new long[slots];
+        this.mask = slots - 1;
+    }
+
+    /**
+     * @return data of the position, or MISS if it is not in the table.
+     */
+    public long probe(final long zobristKey) {
+        final int slot = slot(zobristKey);
+        return keys[slot] == zobristKey && data[slot] != 0 ? data[slot] : MISS;
+    }
+
+    public void store(final long zobristKey, final int move, final int depth, final int bound, final int score) {
+        final int slot = slot(zobristKey);
+        if (keys[slot] == zobristKey && depth < depth(data[slot]) && bound != EXACT) return;
+
+        keys[slot] = zobristKey;
+        data[slot] = (move & MOVE_MASK) | ((long) depth << DEPTH_SHIFT) | ((long) bound << BOUND_SHIFT) | ((long) score << SCORE_SHIFT);
+    }
+
+    public static int move(final long data) {
+        return (int) data & MOVE_MASK;
+    }
+
+    public static int depth(final long data) {
+        return (int) (data >>> DEPTH_SHIFT) & 0xFF;
+    }
+
+    public static int bound(final long data) {
+        return (int) (data >>> BOUND_SHIFT) & 0x3;
+    }
+
+    public static int score(final long data) {
+        return (int) (data >> SCORE_SHIFT);
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0L);
+        Arrays.fill(data, 0L);
+    }
+
+    private int slot(final long zobristKey) {
+        return (int) (zobristKey ^ (zobristKey >>> 32)) & mask;
+    }
+}
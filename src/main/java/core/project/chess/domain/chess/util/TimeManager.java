@@ -0,0 +1,39 @@
+package core.project.chess.domain.chess.util;
+
+import core.project.chess.domain.chess.enumerations.EngineStrength;
+
+import java.time.Duration;
+
+/**
+ * Splits the remaining time on the clock of the engine into the time of thinking on the current move.
+ * <p>
+ * The remaining time is divided by an estimated count of moves until the end of the game, which decreases
+ * as the game goes, but never below MIN_MOVES_TO_GO. That is the soft limit: the engine doesn't start
+ * a new iteration of deepening after it. The hard limit stops the search in the middle of an iteration,
+ * it is a few soft limits, but never more than a fraction of the remaining time, so the engine never loses on time
+ * because of a single move. Both limits are capped by the maximal think time of the strength.
+ */
+public final class TimeManager {
+    static final int MAX_MOVES_TO_GO = 50;
+    static final int MIN_MOVES_TO_GO = 20;
+    static final int HARD_LIMIT_FACTOR = 4;
+    static final int MAX_FRACTION_OF_REMAINING = 10;
+    static final long MIN_THINK_MILLIS = 10;
+
+    public record ThinkTime(long softMillis, long hardMillis) {}
+
+    private TimeManager() {}
+
+    public static ThinkTime thinkTime(final Duration remaining, final int countOfFullMoves, final EngineStrength strength) {
+        final long remainingMillis = Math.max(remaining.toMillis(), 0);
+        final int movesToGo = Math.max(MAX_MOVES_TO_GO - countOfFullMoves, MIN_MOVES_TO_GO);
+
+        final long soft = clamp(remainingMillis / movesToGo, strength.maxThinkMillis());
+        final long hard = clamp(Math.min(soft * HARD_LIMIT_FACTOR, remainingMillis / MAX_FRACTION_OF_REMAINING), strength.maxThinkMillis());
+        return new ThinkTime(soft, Math.max(soft, hard));
+    }
+
+    private static long clamp(final long millis, final long maxMillis) {
+        return Math.max(MIN_THINK_MILLIS, Math.min(millis, maxMillis));
+    }
+}
@@ -4,6 +4,7 @@ import core.project.chess.domain.chess.entities.ChessBoard;
 import core.project.chess.domain.chess.enumerations.Coordinate;
 import core.project.chess.domain.chess.pieces.Piece;
 import core.project.chess.domain.chess.value_objects.AlgebraicNotation;
+import core.project.chess.domain.chess.value_objects.FromFEN;
 import core.project.chess.domain.commons.enumerations.Color;
 
 import java.util.Random;
@@ -55,8 +56,7 @@ public class ZobristHashKeys {
             square++;
         }
 
-        int castlingRights = chessBoard.castlingRights();
-        if (castlingRights >= 0) zobristHash ^= CASTLING_RIGHTS[castlingRights];
+        zobristHash ^= CASTLING_RIGHTS[chessBoard.castlingRights()];
 
         int enPassantFile = chessBoard.enPassantFile();
         if (enPassantFile >= 0) zobristHash ^= EN_PASSANTS[enPassantFile];
@@ -66,23 +66,50 @@ public class ZobristHashKeys {
         return zobristHash;
     }
 
+    /**
+     * Computes the Zobrist hash of a parsed FEN, equal to the hash of a chess board in the position.
+     * Unlike a chess board, the position is not validated for checkmate or stalemate, so the final positions
+     * of games can be looked up too.
+     *
+     * @param fromFEN the parsed FEN
+     * @return the Zobrist hash
+     */
+    public long computeZobristHash(final FromFEN fromFEN) {
+        long zobristHash = 0L;
+
+        final long[] bitboard = fromFEN.bitboard();
+        for (int pieceIndex = 0; pieceIndex < bitboard.length; pieceIndex++) {
+            long pieces = bitboard[pieceIndex];
+            while (pieces != 0) {
+                zobristHash ^= ZOBRIST_TABLE[pieceIndex][Long.numberOfTrailingZeros(pieces)];
+                pieces &= pieces - 1;
+            }
+        }
+
+        zobristHash ^= CASTLING_RIGHTS[fromFEN.castlingRights()];
+
+        if (fromFEN.enPassant() != null) zobristHash ^= EN_PASSANTS[fromFEN.enPassant().column() - 1];
+
+        if (fromFEN.figuresTurn() == Color.BLACK) zobristHash ^= SIDE_TO_MOVE;
+
+        return zobristHash;
+    }
+
+    /**
+     * Updates the hash for a piece movement and switches the side to move.
+     * Castling rights and en passant are updated separately by {@link #updateState(long, int, int, int, int)}.
+     */
     public long updateHash(final long hash,
                            final Piece startedPiece,
                            final Coordinate from,
                            final Piece endedPiece,
-                           final Coordinate to,
-                           final int castlingRights,
-                           final int enPassantFile) {
+                           final Coordinate to) {
         long newHash = hash;
 
         newHash ^= ZOBRIST_TABLE[startedPiece.index()][from.index()];
 
         newHash ^= ZOBRIST_TABLE[endedPiece.index()][to.index()];
 
-        if (castlingRights >= 0) newHash ^= CASTLING_RIGHTS[castlingRights];
-
-        if (enPassantFile >= 0) newHash ^= EN_PASSANTS[enPassantFile];
-
         newHash ^= SIDE_TO_MOVE;
 
         return newHash;
@@ -94,10 +121,8 @@ public class ZobristHashKeys {
                            final Piece endedPiece,
                            final Coordinate to,
                            final Piece capturedPiece,
-                           final Coordinate capturedAt,
-                           final int castlingRights,
-                           final int enPassantFile) {
-        long newHash = updateHash(hash, startedPiece, from, endedPiece, to, castlingRights, enPassantFile);
+                           final Coordinate capturedAt) {
+        long newHash = updateHash(hash, startedPiece, from, endedPiece, to);
 
         newHash ^= ZOBRIST_TABLE[capturedPiece.index()][capturedAt.index()];
 
@@ -106,8 +131,7 @@ public class ZobristHashKeys {
 
     public long updateHashForCastling(final long hash,
                                       final Color color,
-                                      final AlgebraicNotation.Castle castle,
-                                      final int castlingRights) {
+                                      final AlgebraicNotation.Castle castle) {
         long newHash = hash;
 
         int kingIndex = color == Color.WHITE ? 5 : 11;
@@ -139,9 +163,31 @@ public class ZobristHashKeys {
             }
         }
 
-        newHash ^= CASTLING_RIGHTS[castlingRights];
         newHash ^= SIDE_TO_MOVE;
 
         return newHash;
     }
+
+    /**
+     * Replaces castling rights and en passant file of the previous position with the ones of the new position,
+     * so the incrementally updated hash always equals {@link #computeZobristHash(ChessBoard)} of the same position.
+     * En passant file is -1 if there is none.
+     */
+    public long updateState(final long hash,
+                            final int previousCastlingRights,
+                            final int castlingRights,
+                            final int previousEnPassantFile,
+                            final int enPassantFile) {
+        long newHash = hash;
+
+        if (previousCastlingRights != castlingRights) {
+            newHash ^= CASTLING_RIGHTS[previousCastlingRights];
+            newHash ^= CASTLING_RIGHTS[castlingRights];
+        }
+
+        if (previousEnPassantFile >= 0) newHash ^= EN_PASSANTS[previousEnPassantFile];
+        if (enPassantFile >= 0) newHash ^= EN_PASSANTS[enPassantFile];
+
+        return newHash;
+    }
 }
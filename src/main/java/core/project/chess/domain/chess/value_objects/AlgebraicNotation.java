@@ -574,8 +574,8 @@ public class AlgebraicNotation {
             else return Pair.of(Coordinate.e8, Coordinate.g8);
         }
 
-        if (color == Color.WHITE) return Pair.of(Coordinate.e1, Coordinate.a1);
-        return Pair.of(Coordinate.e1, Coordinate.a8);
+        if (color == Color.WHITE) return Pair.of(Coordinate.e1, Coordinate.c1);
+        return Pair.of(Coordinate.e8, Coordinate.c8);
     }
 
     @Override
@@ -0,0 +1,77 @@
+package core.project.chess.domain.chess.value_objects;
+
+import core.project.chess.domain.chess.entities.ChessBoard;
+import core.project.chess.domain.chess.entities.ChessGame;
+import core.project.chess.domain.chess.util.MoveCodec;
+import core.project.chess.domain.commons.annotations.Nullable;
+import core.project.chess.domain.commons.value_objects.GameResult;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Contribution of a finished game to the opening explorer: the distinct pairs of position (Zobrist key)
+ * and move (16 bits of MoveCodec) played from it during the first DEPTH half moves.
+ * <p>
+ * A position reached twice with the same move counts once, as the explorer counts games, not moves.
+ * Pairs are sorted by key and move, so concurrent updates of the index lock its rows in the same order.
+ */
+public record ExplorerGame(UUID historyId, long[] positionHashes, int[] moves, GameResult gameResult, short averageRating) {
+
+    public static final int DEPTH = 40;
+
+    public ExplorerGame {
+        if (positionHashes.length != moves.length) throw new IllegalArgumentException("Every position must have a move.");
+        if (gameResult == GameResult.NONE) throw new IllegalArgumentException("Game is not finished.");
+    }
+
+    /**
+     * Game which is only marked as indexed, without contribution to the statistics.
+     */
+    public static ExplorerGame withoutPositions(final UUID historyId, final GameResult gameResult) {
+        return new ExplorerGame(historyId, new long[0], new int[0], gameResult, (short) 0);
+    }
+
+    public static ExplorerGame of(final ChessGame chessGame) {
+        return of(chessGame.historyID(), chessGame.encodedMoves(), chessGame.positionHashes(), chessGame.gameResult(),
+                chessGame.whiteRating().rating(), chessGame.blackRating().rating());
+    }
+
+    public static ExplorerGame of(final UUID historyId, final ChessBoard chessBoard, final GameResult gameResult,
+                                  final double whiteRating, final double blackRating) {
+        return of(historyId, chessBoard.encodedMoves(), chessBoard.positionHashes(), gameResult, whiteRating, blackRating);
+    }
+
+    /**
+     * Games started from FEN have no positions, since the explorer is built from the standard position.
+     */
+    private static ExplorerGame of(final UUID historyId, final @Nullable byte[] encodedMoves, final long[] hashes,
+                                   final GameResult gameResult, final double whiteRating, final double blackRating) {
+        if (encodedMoves == null) return withoutPositions(historyId, gameResult);
+
+        final int plies = Math.min(DEPTH, MoveCodec.size(encodedMoves));
+
+        final Integer[] order = new Integer[plies];
+        for (int i = 0; i < plies; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> {
+            final int byHash = Long.compare(hashes[a], hashes[b]);
+            return byHash != 0 ? byHash : Integer.compare(MoveCodec.get(encodedMoves, a), MoveCodec.get(encodedMoves, b));
+        });
+
+        final long[] positionHashes = new long[plies];
+        final int[] moves = new int[plies];
+        int size = 0;
+        for (int i = 0; i < plies; i++) {
+            final long hash = hashes[order[i]];
+            final int move = MoveCodec.get(encodedMoves, order[i]);
+            if (size > 0 && positionHashes[size - 1] == hash && moves[size - 1] == move) continue;
+
+            positionHashes[size] = hash;
+            moves[size] = move;
+            size++;
+        }
+
+        final short averageRating = (short) Math.round((whiteRating + blackRating) / 2);
+        return new ExplorerGame(historyId, Arrays.copyOf(positionHashes, size), Arrays.copyOf(moves, size), gameResult, averageRating);
+    }
+}
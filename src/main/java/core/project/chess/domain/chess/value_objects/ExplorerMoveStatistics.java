@@ -0,0 +1,16 @@
+package core.project.chess.domain.chess.value_objects;
+
+/**
+ * Games of the opening explorer in which the move (16 bits of MoveCodec) was played from a position.
+ */
+public record ExplorerMoveStatistics(int move, long whiteWins, long draws, long blackWins, long ratingSum) {
+
+    public long games() {
+        return whiteWins + draws + blackWins;
+    }
+
+    public short averageRating() {
+        final long games = games();
+        return games == 0 ? 0 : (short) (ratingSum / games);
+    }
+}
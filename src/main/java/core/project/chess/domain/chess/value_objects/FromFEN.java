@@ -1,22 +1,24 @@
 package core.project.chess.domain.chess.value_objects;
 
 import core.project.chess.domain.chess.enumerations.Coordinate;
+import core.project.chess.domain.commons.annotations.Nullable;
 import core.project.chess.domain.commons.enumerations.Color;
-import core.project.chess.domain.commons.tuples.Pair;
-
-import java.util.Optional;
 
 /**
- * Represents the FEN (Forsyth-Edwards Notation) of a chess position.
+ * Represents the FEN (Forsyth-Edwards Notation) of a chess position, parsed and validated by FenParser.
+ *
+ * @param bitboard       bitboards of the pieces by their index, white pawn to black king.
+ * @param castlingRights bits of castling rights in the order of FEN: 'K' - 1, 'Q' - 2, 'k' - 4, 'q' - 8.
+ * @param enPassant      square behind the pawn which has just made a double step.
  */
 public record FromFEN(String fen,
                       Color figuresTurn,
+                      long[] bitboard,
                       Coordinate whiteKing,
                       Coordinate blackKing,
                       byte materialAdvantageOfWhite,
                       byte materialAdvantageOfBlack,
-                      boolean validWhiteShortCasting,
-                      boolean validBlackShortCasting,
-                      boolean validWhiteLongCasting,
-                      boolean validBlackLongCasting,
-                      Optional<Pair<Coordinate, Coordinate>> isLastMovementWasPassage) {}
\ No newline at end of file
+                      int castlingRights,
+                      @Nullable Coordinate enPassant,
+                      int halfMovesClock,
+                      int countOfFullMoves) {}
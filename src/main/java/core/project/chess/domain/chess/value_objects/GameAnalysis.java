@@ -0,0 +1,101 @@
+package core.project.chess.domain.chess.value_objects;
+
+import core.project.chess.domain.chess.enumerations.MoveJudgment;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Post-game analysis: evaluation of every position of the game, from the initial one to the final one,
+ * in centipawns from the side to move in that position, so the move i leads from the position i to the position i + 1.
+ * Mates are scored as Engine.MATE minus the distance to the mate in plies.
+ * <p>
+ * Moves are judged by the winning chances lost by the player who made them, the chances are estimated from
+ * the evaluation by a logistic curve: 2 / (1 + e^(-0.00368 * centipawns)) - 1, in the range of -1..1.
+ * <p>
+ * Evaluations are stored as 2 bytes per position, big-endian.
+ */
+public record GameAnalysis(short[] evaluations) {
+
+    public static final int BYTES_PER_EVALUATION = 2;
+
+    static final double INACCURACY = 0.15;
+    static final double MISTAKE = 0.3;
+    static final double BLUNDER = 0.45;
+
+    private static final double WINNING_CHANCES_SLOPE = 0.00368208;
+
+    public GameAnalysis {
+        Objects.requireNonNull(evaluations);
+        if (evaluations.length == 0) throw new IllegalArgumentException("Analysis must contain the initial position.");
+        evaluations = evaluations.clone();
+    }
+
+    @Override
+    public short[] evaluations() {
+        return evaluations.clone();
+    }
+
+    public int countOfPlies() {
+        return evaluations.length - 1;
+    }
+
+    /**
+     * @return judgments of all moves of the game, in the order of moves.
+     */
+    public MoveJudgment[] judgments() {
+        final MoveJudgment[] judgments = new MoveJudgment[countOfPlies()];
+        for (int ply = 0; ply < judgments.length; ply++) judgments[ply] = judgment(ply);
+        return judgments;
+    }
+
+    public MoveJudgment judgment(final int ply) {
+        if (ply < 0 || ply >= countOfPlies()) throw new IndexOutOfBoundsException(ply);
+
+        final double before = winningChances(evaluations[ply]);
+        final double after = -winningChances(evaluations[ply + 1]);
+        final double loss = before - after;
+        if (loss >= BLUNDER) return MoveJudgment.BLUNDER;
+        if (loss >= MISTAKE) return MoveJudgment.MISTAKE;
+        if (loss >= INACCURACY) return MoveJudgment.INACCURACY;
+        return MoveJudgment.GOOD;
+    }
+
+    public byte[] encode() {
+        final byte[] bytes = new byte[evaluations.length * BYTES_PER_EVALUATION];
+        for (int i = 0; i < evaluations.length; i++) {
+            bytes[i << 1] = (byte) (evaluations[i] >>> 8);
+            bytes[(i << 1) + 1] = (byte) evaluations[i];
+        }
+        return bytes;
+    }
+
+    public static GameAnalysis decode(final byte[] bytes) {
+        if ((bytes.length & 1) != 0) throw new IllegalArgumentException("Invalid length of encoded evaluations: " + bytes.length);
+
+        final short[] evaluations = new short[bytes.length / BYTES_PER_EVALUATION];
+        for (int i = 0; i < evaluations.length; i++) {
+            evaluations[i] = (short) ((bytes[i << 1] << 8) | (bytes[(i << 1) + 1] & 0xFF));
+        }
+        return new GameAnalysis(evaluations);
+    }
+
+    static double winningChances(final int centipawns) {
+        return 2 / (1 + Math.exp(-WINNING_CHANCES_SLOPE * centipawns)) - 1;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof GameAnalysis that && Arrays.equals(evaluations, that.evaluations);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(evaluations);
+    }
+
+    @Override
+    public String toString() {
+        return "GameAnalysis" + Arrays.toString(evaluations);
+    }
+}
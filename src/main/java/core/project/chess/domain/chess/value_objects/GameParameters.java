@@ -1,6 +1,7 @@
 package core.project.chess.domain.chess.value_objects;
 
 import core.project.chess.domain.chess.entities.ChessGame;
+import core.project.chess.domain.chess.enumerations.EngineStrength;
 import core.project.chess.domain.commons.annotations.Nullable;
 import core.project.chess.domain.commons.enumerations.Color;
 
@@ -10,8 +11,16 @@ public record GameParameters(@Nullable Color color,
                              @Nullable ChessGame.Time time,
                              @Nullable String FEN,
                              Boolean isCasualGame,
-                             @Nullable String PGN) {
+                             @Nullable String PGN,
+                             @Nullable EngineStrength engineStrength) {
     public GameParameters {
         isCasualGame = Objects.requireNonNullElse(isCasualGame, false);
     }
+
+    /**
+     * @return true if the game is requested against the built-in engine instead of another player.
+     */
+    public boolean isEngineGame() {
+        return engineStrength != null;
+    }
 }
@@ -0,0 +1,44 @@
+package core.project.chess.domain.chess.value_objects;
+
+import core.project.chess.domain.chess.entities.ChessGame;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Positions of a game for the position search: the Zobrist key of every position reached by a move
+ * and the half move (ply, from one) at which the position was reached first.
+ * The initial position is left out, since nearly every game starts from it.
+ */
+public record GamePositions(UUID historyId, long[] positionHashes, short[] plies) {
+
+    public GamePositions {
+        if (positionHashes.length != plies.length) throw new IllegalArgumentException("Every position must have a ply.");
+    }
+
+    public static GamePositions of(final ChessGame chessGame) {
+        return of(chessGame.historyID(), chessGame.positionHashes());
+    }
+
+    /**
+     * @param hashes Zobrist keys of all positions of the game, from the initial one, see ChessBoard.positionHashes().
+     */
+    public static GamePositions of(final UUID historyId, final long[] hashes) {
+        final Set<Long> reached = new HashSet<>(hashes.length * 2);
+        final long[] positionHashes = new long[Math.max(0, hashes.length - 1)];
+        final short[] plies = new short[positionHashes.length];
+        if (hashes.length > 0) reached.add(hashes[0]);
+
+        int size = 0;
+        for (int ply = 1; ply < hashes.length; ply++) {
+            if (!reached.add(hashes[ply])) continue;
+            positionHashes[size] = hashes[ply];
+            plies[size] = (short) ply;
+            size++;
+        }
+
+        return new GamePositions(historyId, Arrays.copyOf(positionHashes, size), Arrays.copyOf(plies, size));
+    }
+}
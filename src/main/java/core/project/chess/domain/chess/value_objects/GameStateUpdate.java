@@ -7,5 +7,7 @@ public record GameStateUpdate(
         String fen,
         String pgn,
         String remainingTime,
-        boolean threeFoldActive
+        boolean threeFoldActive,
+        boolean adjudicationAvailable,
+        long[] legalMoveMap
 ) {}
\ No newline at end of file
@@ -0,0 +1,27 @@
+package core.project.chess.domain.chess.value_objects;
+
+import core.project.chess.domain.chess.enumerations.MoveStatus;
+import core.project.chess.domain.commons.annotations.Nullable;
+
+import java.util.Objects;
+
+public record MoveOutcome(MoveStatus status, @Nullable GameStateUpdate gameStateUpdate) {
+
+    public MoveOutcome {
+        Objects.requireNonNull(status);
+        if (status == MoveStatus.VALID && gameStateUpdate == null)
+            throw new IllegalArgumentException("State of the game is required for a valid move.");
+    }
+
+    public static MoveOutcome valid(GameStateUpdate gameStateUpdate) {
+        return new MoveOutcome(MoveStatus.VALID, Objects.requireNonNull(gameStateUpdate));
+    }
+
+    public static MoveOutcome invalid(MoveStatus status) {
+        return new MoveOutcome(status, null);
+    }
+
+    public boolean isValid() {
+        return status == MoveStatus.VALID;
+    }
+}
@@ -0,0 +1,43 @@
+package core.project.chess.domain.chess.value_objects;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Result of a perft run: total count of leaf nodes, elapsed time
+ * and the "divide" breakdown - count of nodes under every legal root move, in the order of generation.
+ * Probes and hits of the transposition table are zero if the run was made without it.
+ */
+public record PerftReport(int depth, long nodes, long elapsedNanos, Map<String, Long> divide,
+                          long cacheProbes, long cacheHits) {
+
+    public PerftReport {
+        divide = Collections.unmodifiableMap(new LinkedHashMap<>(divide));
+    }
+
+    public long nodesPerSecond() {
+        if (elapsedNanos == 0) return 0;
+        return (long) (nodes * 1_000_000_000.0 / elapsedNanos);
+    }
+
+    public double cacheHitRate() {
+        return cacheProbes == 0 ? 0.0 : (double) cacheHits / cacheProbes;
+    }
+
+    public long elapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder stringBuilder = new StringBuilder();
+        divide.forEach((move, nodes) -> stringBuilder.append(move).append(": ").append(nodes).append('\n'));
+        stringBuilder.append("Depth: ").append(depth)
+                .append(", nodes: ").append(nodes)
+                .append(", time: ").append(elapsedMillis()).append(" ms")
+                .append(", nps: ").append(nodesPerSecond());
+        if (cacheProbes != 0) stringBuilder.append(", cache hit rate: ").append("%.2f%%".formatted(cacheHitRate() * 100));
+        return stringBuilder.toString();
+    }
+}
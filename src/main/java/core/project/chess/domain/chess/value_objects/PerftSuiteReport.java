@@ -0,0 +1,81 @@
+package core.project.chess.domain.chess.value_objects;
+
+import java.util.List;
+
+/**
+ * Result of a perft suite run: a result for every position in the order of the suite and the wall time of the run.
+ * Aggregate nodes per second are counted against the wall time, so they include the gain of the parallel run.
+ */
+public record PerftSuiteReport(List<PositionResult> positions, long elapsedNanos) {
+
+    public PerftSuiteReport {
+        positions = List.copyOf(positions);
+    }
+
+    /**
+     * @param mismatches descriptions of the depths at which the count of nodes differs from the expected one.
+     */
+    public record PositionResult(int index, String fen, int depth, long nodes, long elapsedNanos, List<String> mismatches) {
+
+        public PositionResult {
+            mismatches = List.copyOf(mismatches);
+        }
+
+        public long nodesPerSecond() {
+            if (elapsedNanos == 0) return 0;
+            return (long) (nodes * 1_000_000_000.0 / elapsedNanos);
+        }
+
+        public boolean isPassed() {
+            return mismatches.isEmpty();
+        }
+
+        @Override
+        public String toString() {
+            final String status = isPassed() ? "OK" : "FAILED " + String.join(", ", mismatches);
+            return "#%d %s | depth: %d, nodes: %d, time: %d ms, nps: %d | %s"
+                    .formatted(index, fen, depth, nodes, elapsedNanos / 1_000_000, nodesPerSecond(), status);
+        }
+    }
+
+    public long nodes() {
+        long nodes = 0;
+        for (PositionResult position : positions) nodes += position.nodes();
+        return nodes;
+    }
+
+    public long nodesPerSecond() {
+        if (elapsedNanos == 0) return 0;
+        return (long) (nodes() * 1_000_000_000.0 / elapsedNanos);
+    }
+
+    public List<PositionResult> failed() {
+        return positions.stream().filter(position -> !position.isPassed()).toList();
+    }
+
+    public boolean isPassed() {
+        return failed().isEmpty();
+    }
+
+    /**
+     * @param baselineNodesPerSecond aggregate nodes per second of a previous run.
+     * @param maxRegressionPercent allowed drop of the throughput, in percents of the baseline.
+     * @return true if throughput of this run dropped more than allowed.
+     */
+    public boolean isRegression(final long baselineNodesPerSecond, final double maxRegressionPercent) {
+        if (maxRegressionPercent < 0) throw new IllegalArgumentException("Allowed regression can`t be negative.");
+        return nodesPerSecond() < baselineNodesPerSecond * (1.0 - maxRegressionPercent / 100.0);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder stringBuilder = new StringBuilder();
+        positions.forEach(position -> stringBuilder.append(position).append('\n'));
+        return stringBuilder.append("Positions: ").append(positions.size())
+                .append(", failed: ").append(failed().size())
+                .append(", nodes: ").append(nodes())
+                .append(", time: ").append(elapsedNanos / 1_000_000).append(" ms")
+                .append(", nps: ").append(nodesPerSecond())
+                .toString();
+    }
+}
@@ -0,0 +1,35 @@
+package core.project.chess.domain.chess.value_objects;
+
+import core.project.chess.domain.commons.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single game read from a PGN: tag pairs in the order of the input, moves of the main line as written
+ * (comments, NAGs and variations are dropped) and the game termination marker.
+ */
+public record PgnGame(Map<String, String> tags, List<String> moves, String result) {
+
+    public PgnGame {
+        tags = Collections.unmodifiableMap(new LinkedHashMap<>(tags));
+        moves = List.copyOf(moves);
+    }
+
+    public @Nullable String tag(final String name) {
+        return tags.get(name);
+    }
+
+    /**
+     * @return moves parsed as the notation of the application ("e2-e4", "Ng1xf3+", "O-O").
+     * @throws IllegalArgumentException if any of the moves is in other notation, SAN for example.
+     */
+    public List<AlgebraicNotation> algebraicNotations() {
+        final List<AlgebraicNotation> algebraicNotations = new ArrayList<>(moves.size());
+        for (String move : moves) algebraicNotations.add(AlgebraicNotation.of(move));
+        return algebraicNotations;
+    }
+}
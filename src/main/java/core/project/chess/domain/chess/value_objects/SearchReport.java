@@ -0,0 +1,23 @@
+package core.project.chess.domain.chess.value_objects;
+
+/**
+ * Result of an engine search: the best move found, its score in centipawns from the side to move,
+ * the last fully searched depth, count of visited nodes (including quiescence) and the time of thinking.
+ */
+public record SearchReport(Move bestMove, int score, int depth, long nodes, long elapsedNanos) {
+
+    public long nodesPerSecond() {
+        if (elapsedNanos == 0) return 0;
+        return (long) (nodes * 1_000_000_000.0 / elapsedNanos);
+    }
+
+    public long elapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    @Override
+    public String toString() {
+        return "Move: %s, score: %d, depth: %d, nodes: %d, time: %d ms, nps: %d"
+                .formatted(bestMove, score, depth, nodes, elapsedMillis(), nodesPerSecond());
+    }
+}
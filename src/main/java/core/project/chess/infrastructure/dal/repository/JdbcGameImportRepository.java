@@ -0,0 +1,217 @@
+package core.project.chess.infrastructure.dal.repository;
+
+import core.project.chess.application.dto.chess.ImportedGame;
+import core.project.chess.domain.chess.repositories.GameImportRepository;
+import core.project.chess.domain.chess.value_objects.GamePositions;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Instance;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Writes imported games with the COPY protocol of PostgreSQL: rows of a batch are sent as CSV,
+ * one COPY per table (the game, its players, its history and its positions for the position search),
+ * in a single transaction together with the checkpoint of the source.
+ * <p>
+ * Positions are copied by history id into a temporary table and moved into PositionIndex with the game numbers
+ * which the database assigned to the copied histories.
+ */
+@ApplicationScoped
+public class JdbcGameImportRepository implements GameImportRepository {
+
+    private final DataSource dataSource;
+
+    static final String PROCESSED_GAMES = """
+            SELECT processed_games FROM PgnImportCheckpoint WHERE source = ?
+            """;
+
+    static final String USER_IDS = """
+            SELECT id, username FROM UserAccount WHERE username = ANY (?)
+            """;
+
+    static final String COPY_CHESS_GAME = """
+            COPY ChessGame (id, player_for_white_rating, player_for_black_rating, time_controlling_type,
+                            creation_date, last_updated_date, is_game_over, game_result_status)
+            FROM STDIN WITH (FORMAT csv)
+            """;
+
+    static final String COPY_GAME_PLAYERS = """
+            COPY GamePlayers (chess_game_id, player_for_white_id, player_for_black_id)
+            FROM STDIN WITH (FORMAT csv)
+            """;
+
+    static final String COPY_CHESS_GAME_HISTORY = """
+            COPY ChessGameHistory (id, chess_game_id, pgn_chess_representation, moves)
+            FROM STDIN WITH (FORMAT csv)
+            """;
+
+    static final String CREATE_IMPORTED_POSITIONS = """
+            CREATE TEMPORARY TABLE ImportedPositions (
+                position_hash BIGINT NOT NULL,
+                chess_history_id CHAR(36) NOT NULL,
+                ply SMALLINT NOT NULL
+            ) ON COMMIT DROP
+            """;
+
+    static final String COPY_IMPORTED_POSITIONS = """
+            COPY ImportedPositions (position_hash, chess_history_id, ply)
+            FROM STDIN WITH (FORMAT csv)
+            """;
+
+    static final String INSERT_POSITION_INDEX = """
+            INSERT INTO PositionIndex (position_hash, game_number, ply)
+            SELECT ip.position_hash, cgh.game_number, ip.ply
+            FROM ImportedPositions ip
+            JOIN ChessGameHistory cgh ON cgh.id = ip.chess_history_id
+            ON CONFLICT DO NOTHING
+            """;
+
+    static final String SAVE_CHECKPOINT = """
+            INSERT INTO PgnImportCheckpoint (source, processed_games, imported_games, last_updated_date)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT (source) DO UPDATE
+            SET processed_games = EXCLUDED.processed_games,
+                imported_games = PgnImportCheckpoint.imported_games + EXCLUDED.imported_games,
+                last_updated_date = EXCLUDED.last_updated_date
+            """;
+
+    JdbcGameImportRepository(Instance<DataSource> dataSource) {
+        this.dataSource = dataSource.get();
+    }
+
+    @Override
+    public long processedGames(final String source) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(PROCESSED_GAMES)) {
+
+            statement.setString(1, source);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() ? rs.getLong("processed_games") : 0L;
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Can`t read checkpoint of PGN import %s.".formatted(source), e);
+        }
+    }
+
+    @Override
+    public Map<String, UUID> userIds(final Collection<String> usernames) {
+        final Map<String, UUID> userIds = new HashMap<>();
+        if (usernames.isEmpty()) return userIds;
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(USER_IDS)) {
+
+            final Array array = connection.createArrayOf("varchar", usernames.toArray());
+            statement.setArray(1, array);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) userIds.put(rs.getString("username"), UUID.fromString(rs.getString("id")));
+            }
+            array.free();
+            return userIds;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Can`t read ids of users.", e);
+        }
+    }
+
+    @Override
+    public void saveBatch(final String source, final List<ImportedGame> games, final long processedGames) {
+        final StringBuilder chessGames = new StringBuilder(games.size() * 128);
+        final StringBuilder gamePlayers = new StringBuilder(games.size() * 112);
+        final StringBuilder histories = new StringBuilder(games.size() * 512);
+        final StringBuilder positions = new StringBuilder(games.size() * 4096);
+
+        for (ImportedGame game : games) {
+            final String chessGameId = game.chessGameId().toString();
+            final String date = Timestamp.valueOf(game.gameStart()).toString();
+
+            row(chessGames, chessGameId, String.valueOf(game.whitePlayerRating()), String.valueOf(game.blackPlayerRating()),
+                    game.timeControl().toString(), date, date, "true", game.gameResult().toString());
+            row(gamePlayers, chessGameId, game.playerForWhite().toString(), game.playerForBlack().toString());
+            row(histories, game.historyId().toString(), chessGameId, game.pgn(), hex(game.moves()));
+
+            final GamePositions gamePositions = GamePositions.of(game.historyId(), game.positionHashes());
+            final String historyId = game.historyId().toString();
+            for (int i = 0; i < gamePositions.positionHashes().length; i++) {
+                row(positions, String.valueOf(gamePositions.positionHashes()[i]), historyId, String.valueOf(gamePositions.plies()[i]));
+            }
+        }
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                if (!games.isEmpty()) {
+                    final CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+                    copyManager.copyIn(COPY_CHESS_GAME, new StringReader(chessGames.toString()));
+                    copyManager.copyIn(COPY_GAME_PLAYERS, new StringReader(gamePlayers.toString()));
+                    copyManager.copyIn(COPY_CHESS_GAME_HISTORY, new StringReader(histories.toString()));
+                    try (PreparedStatement statement = connection.prepareStatement(CREATE_IMPORTED_POSITIONS)) {
+                        statement.executeUpdate();
+                    }
+                    copyManager.copyIn(COPY_IMPORTED_POSITIONS, new StringReader(positions.toString()));
+                    try (PreparedStatement statement = connection.prepareStatement(INSERT_POSITION_INDEX)) {
+                        statement.executeUpdate();
+                    }
+                }
+
+                try (PreparedStatement statement = connection.prepareStatement(SAVE_CHECKPOINT)) {
+                    statement.setString(1, source);
+                    statement.setLong(2, processedGames);
+                    statement.setLong(3, games.size());
+                    statement.setTimestamp(4, Timestamp.valueOf(LocalDateTime.now()));
+                    statement.executeUpdate();
+                }
+
+                connection.commit();
+            } catch (SQLException | IOException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException | IOException e) {
+            throw new IllegalStateException("Can`t save batch of PGN import %s.".formatted(source), e);
+        }
+    }
+
+    /**
+     * Text form of bytea in the hex format: "\x" followed by two hex digits per byte.
+     */
+    private static String hex(final byte[] bytes) {
+        return "\\x" + HexFormat.of().formatHex(bytes);
+    }
+
+    /**
+     * Appends a CSV row, every value is quoted, so commas, quotes and line breaks of PGN are preserved.
+     */
+    private static void row(final StringBuilder csv, final String... values) {
+        for (int i = 0; i < values.length; i++) {
+            if (i != 0) csv.append(',');
+            csv.append('"');
+            final String value = values[i];
+            for (int j = 0; j < value.length(); j++) {
+                final char c = value.charAt(j);
+                if (c == '"') csv.append('"');
+                csv.append(c);
+            }
+            csv.append('"');
+        }
+        csv.append('\n');
+    }
+}
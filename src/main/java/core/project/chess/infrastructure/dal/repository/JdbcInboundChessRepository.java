@@ -4,9 +4,18 @@ import com.hadzhy.jetquerious.jdbc.JetQuerious;
 import core.project.chess.domain.chess.entities.ChessGame;
 import core.project.chess.domain.chess.entities.Puzzle;
 import core.project.chess.domain.chess.repositories.InboundChessRepository;
+import core.project.chess.domain.chess.value_objects.GameAnalysis;
 import io.opentelemetry.instrumentation.annotations.WithSpan;
 import io.quarkus.logging.Log;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Instance;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
 
 import static com.hadzhy.jetquerious.sql.QueryForge.*;
 
@@ -15,6 +24,8 @@ public class JdbcInboundChessRepository implements InboundChessRepository {
 
     private final JetQuerious jet;
 
+    private final DataSource dataSource;
+
     static final String SAVE_STARTED_CHESS_GAME = batchOf(
             insert()
             .into("ChessGame")
@@ -36,7 +47,7 @@ public class JdbcInboundChessRepository implements InboundChessRepository {
 
     static final String SAVE_CHESS_GAME_HISTORY = insert()
             .into("ChessGameHistory")
-            .columns("id", "chess_game_id", "pgn_chess_representation")
+            .columns("id", "chess_game_id", "pgn_chess_representation", "moves")
             .values()
             .build()
             .sql();
@@ -47,6 +58,12 @@ public class JdbcInboundChessRepository implements InboundChessRepository {
             .build()
             .sql();
 
+    static final String SAVE_GAME_ANALYSIS = update("ChessGameHistory")
+            .set("evaluations = ?")
+            .where("id = ?")
+            .build()
+            .sql();
+
     static final String SAVE_PUZZLE = insert()
             .into("Puzzle")
             .column("id")
@@ -71,8 +88,9 @@ public class JdbcInboundChessRepository implements InboundChessRepository {
             .values()
             .build().toSQlQuery());
 
-    JdbcInboundChessRepository() {
+    JdbcInboundChessRepository(Instance<DataSource> dataSource) {
         this.jet = JetQuerious.instance();
+        this.dataSource = dataSource.get();
     }
 
     @Override
@@ -108,7 +126,14 @@ public class JdbcInboundChessRepository implements InboundChessRepository {
         jet.write(SAVE_CHESS_GAME_HISTORY,
                         chessGame.historyID().toString(),
                         chessGame.chessGameID().toString(),
-                        chessGame.pgn())
+                        chessGame.pgn(),
+                        chessGame.encodedMoves())
+                .ifFailure(Throwable::printStackTrace);
+    }
+
+    @Override
+    public void saveGameAnalysis(final UUID historyId, final GameAnalysis gameAnalysis) {
+        jet.write(SAVE_GAME_ANALYSIS, gameAnalysis.encode(), historyId.toString())
                 .ifFailure(Throwable::printStackTrace);
     }
 
@@ -129,6 +154,33 @@ public class JdbcInboundChessRepository implements InboundChessRepository {
                 });
     }
 
+    /**
+     * Saves the puzzles with a single JDBC batch of SAVE_PUZZLE statements.
+     */
+    @Override
+    @WithSpan("Save puzzles | JDBC")
+    public void savePuzzles(final List<Puzzle> puzzles) {
+        if (puzzles.isEmpty()) return;
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SAVE_PUZZLE)) {
+
+            for (Puzzle puzzle : puzzles) {
+                statement.setString(1, puzzle.id().toString());
+                statement.setDouble(2, puzzle.rating().rating());
+                statement.setDouble(3, puzzle.rating().ratingDeviation());
+                statement.setDouble(4, puzzle.rating().volatility());
+                statement.setString(5, puzzle.startPositionFEN());
+                statement.setString(6, puzzle.pgn());
+                statement.setInt(7, puzzle.startPositionIndex());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        } catch (SQLException e) {
+            Log.errorf(e, "Error saving batch of %d puzzles.", puzzles.size());
+        }
+    }
+
     @Override
     public void updatePuzzleOnSolving(final Puzzle puzzle) {
         if (!puzzle.isEnded()) throw new IllegalArgumentException("Puzzle is not ended.");
@@ -0,0 +1,171 @@
+package core.project.chess.infrastructure.dal.repository;
+
+import core.project.chess.domain.chess.entities.ChessBoard;
+import core.project.chess.domain.chess.repositories.OpeningExplorerRepository;
+import core.project.chess.domain.chess.value_objects.ExplorerGame;
+import core.project.chess.domain.chess.value_objects.ExplorerMoveStatistics;
+import core.project.chess.domain.commons.value_objects.GameResult;
+import io.quarkus.logging.Log;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Instance;
+
+import javax.sql.DataSource;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Opening explorer in two tables: statistics of moves keyed by (position_hash, move), so the moves of a position
+ * are a range scan of the primary key, and the indexed games, which make the indexing idempotent.
+ */
+@ApplicationScoped
+public class JdbcOpeningExplorerRepository implements OpeningExplorerRepository {
+
+    private final DataSource dataSource;
+
+    /**
+     * Single statement: the statistics are updated only if the game was inserted into OpeningExplorerGame,
+     * both in the same transaction.
+     */
+    static final String INDEX_GAME = """
+            WITH indexed AS (
+                INSERT INTO OpeningExplorerGame (chess_history_id) VALUES (?)
+                ON CONFLICT DO NOTHING
+                RETURNING chess_history_id
+            )
+            INSERT INTO OpeningExplorer (position_hash, move, white_wins, draws, black_wins, rating_sum)
+            SELECT p.position_hash, p.move, ?, ?, ?, ?
+            FROM indexed, unnest(?::BIGINT[], ?::INTEGER[]) AS p(position_hash, move)
+            ON CONFLICT (position_hash, move) DO UPDATE
+            SET white_wins = OpeningExplorer.white_wins + EXCLUDED.white_wins,
+                draws = OpeningExplorer.draws + EXCLUDED.draws,
+                black_wins = OpeningExplorer.black_wins + EXCLUDED.black_wins,
+                rating_sum = OpeningExplorer.rating_sum + EXCLUDED.rating_sum
+            """;
+
+    static final String MOVES = """
+            SELECT move, white_wins, draws, black_wins, rating_sum
+            FROM OpeningExplorer
+            WHERE position_hash = ?
+            ORDER BY white_wins + draws + black_wins DESC
+            LIMIT ?
+            """;
+
+    /**
+     * Paged by the key of the history, so every batch continues the scan of the primary key where the previous one ended.
+     */
+    static final String NOT_INDEXED_GAMES = """
+            SELECT cgh.id, cgh.moves, cgh.pgn_chess_representation, cg.game_result_status,
+                   cg.player_for_white_rating, cg.player_for_black_rating
+            FROM ChessGameHistory cgh
+            JOIN ChessGame cg ON cgh.chess_game_id = cg.id
+            WHERE cgh.id > ?
+              AND cg.game_result_status <> 'NONE'
+              AND NOT EXISTS (SELECT 1 FROM OpeningExplorerGame eg WHERE eg.chess_history_id = cgh.id)
+            ORDER BY cgh.id
+            LIMIT ?
+            """;
+
+    JdbcOpeningExplorerRepository(Instance<DataSource> dataSource) {
+        this.dataSource = dataSource.get();
+    }
+
+    @Override
+    public void index(final ExplorerGame explorerGame) {
+        final Long[] positionHashes = new Long[explorerGame.positionHashes().length];
+        final Integer[] moves = new Integer[positionHashes.length];
+        for (int i = 0; i < positionHashes.length; i++) {
+            positionHashes[i] = explorerGame.positionHashes()[i];
+            moves[i] = explorerGame.moves()[i];
+        }
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(INDEX_GAME)) {
+
+            final Array hashesArray = connection.createArrayOf("bigint", positionHashes);
+            final Array movesArray = connection.createArrayOf("integer", moves);
+            statement.setString(1, explorerGame.historyId().toString());
+            statement.setInt(2, explorerGame.gameResult() == GameResult.WHITE_WIN ? 1 : 0);
+            statement.setInt(3, explorerGame.gameResult() == GameResult.DRAW ? 1 : 0);
+            statement.setInt(4, explorerGame.gameResult() == GameResult.BLACK_WIN ? 1 : 0);
+            statement.setInt(5, explorerGame.averageRating());
+            statement.setArray(6, hashesArray);
+            statement.setArray(7, movesArray);
+            statement.executeUpdate();
+
+            hashesArray.free();
+            movesArray.free();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Can`t index game %s in opening explorer.".formatted(explorerGame.historyId()), e);
+        }
+    }
+
+    @Override
+    public List<ExplorerMoveStatistics> moves(final long positionHash, final int limit) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(MOVES)) {
+
+            statement.setLong(1, positionHash);
+            statement.setInt(2, limit);
+            try (ResultSet rs = statement.executeQuery()) {
+                final List<ExplorerMoveStatistics> moves = new ArrayList<>();
+                while (rs.next()) {
+                    moves.add(new ExplorerMoveStatistics(
+                            rs.getInt("move"),
+                            rs.getLong("white_wins"),
+                            rs.getLong("draws"),
+                            rs.getLong("black_wins"),
+                            rs.getLong("rating_sum")
+                    ));
+                }
+                return moves;
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Can`t read moves of opening explorer.", e);
+        }
+    }
+
+    @Override
+    public List<ExplorerGame> notIndexedGames(final String afterHistoryId, final int limit) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(NOT_INDEXED_GAMES)) {
+
+            statement.setString(1, afterHistoryId);
+            statement.setInt(2, limit);
+            try (ResultSet rs = statement.executeQuery()) {
+                final List<ExplorerGame> games = new ArrayList<>();
+                while (rs.next()) games.add(explorerGameMapper(rs));
+                return games;
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Can`t read games for opening explorer.", e);
+        }
+    }
+
+    /**
+     * Games which can`t be replayed are returned without positions, so they are marked as indexed and not read again.
+     */
+    ExplorerGame explorerGameMapper(final ResultSet rs) throws SQLException {
+        final UUID historyId = UUID.fromString(rs.getString("id"));
+        final byte[] moves = rs.getBytes("moves");
+        final GameResult gameResult = GameResult.valueOf(rs.getString("game_result_status"));
+        final double whiteRating = rs.getDouble("player_for_white_rating");
+        final double blackRating = rs.getDouble("player_for_black_rating");
+
+        try {
+            final ChessBoard chessBoard = moves != null
+                    ? ChessBoard.fromEncodedMoves(moves)
+                    : ChessBoard.fromFinishedPGN(rs.getString("pgn_chess_representation"));
+            return ExplorerGame.of(historyId, chessBoard, gameResult, whiteRating, blackRating);
+        } catch (RuntimeException e) {
+            /** Rows written before the moves column may hold PGN which fails in other ways than IllegalArgumentException.*/
+            Log.warnf("Can`t replay game %s for opening explorer: %s", historyId, e.getMessage());
+            return ExplorerGame.withoutPositions(historyId, gameResult);
+        }
+    }
+}
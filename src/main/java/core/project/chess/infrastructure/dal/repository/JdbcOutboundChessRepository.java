@@ -4,6 +4,7 @@ import com.hadzhy.jetquerious.jdbc.JetQuerious;
 import com.hadzhy.jetquerious.sql.Order;
 import core.project.chess.application.dto.chess.ChessGameHistory;
 import core.project.chess.application.dto.chess.Puzzle;
+import core.project.chess.domain.chess.entities.ChessBoard;
 import core.project.chess.domain.chess.entities.ChessGame;
 import core.project.chess.domain.chess.repositories.OutboundChessRepository;
 import core.project.chess.domain.chess.value_objects.PuzzleRatingWindow;
@@ -86,6 +87,7 @@ public class JdbcOutboundChessRepository implements OutboundChessRepository {
     static final String GET_CHESS_GAME = select()
             .column("cgh.id").as("chessHistoryId")
             .column("cgh.pgn_chess_representation").as("pgn")
+            .column("cgh.moves").as("moves")
             .column("wa.username").as("playerForWhite")
             .column("ba.username").as("playerForBlack")
             .column("cg.time_controlling_type").as("timeControl")
@@ -107,6 +109,7 @@ public class JdbcOutboundChessRepository implements OutboundChessRepository {
             "filtered_games", select()
                     .column("cgh.id").as("chessHistoryId")
                     .column("cgh.pgn_chess_representation").as("pgn")
+                    .column("cgh.moves").as("moves")
                     .column("wa.username").as("playerForWhite")
                     .column("ba.username").as("playerForBlack")
                     .column("cg.time_controlling_type").as("timeControl")
@@ -179,10 +182,15 @@ public class JdbcOutboundChessRepository implements OutboundChessRepository {
         return new Result<>(puzzlesList.value(), puzzlesList.throwable(), puzzlesList.success());
     }
 
+    /**
+     * PGN is rendered from the binary moves, games from a custom position and games saved before the moves column
+     * was added have only the text.
+     */
     ChessGameHistory chessGameMapper(final ResultSet rs) throws SQLException {
+        final byte[] moves = rs.getBytes("moves");
         return new ChessGameHistory(
                 UUID.fromString(rs.getString("chessHistoryId")),
-                rs.getString("pgn"),
+                moves != null ? ChessBoard.fromEncodedMoves(moves).pgn() : rs.getString("pgn"),
                 new Username(rs.getString("playerForWhite")),
                 new Username(rs.getString("playerForBlack")),
                 ChessGame.Time.valueOf(rs.getString("timeControl")),
@@ -0,0 +1,100 @@
+package core.project.chess.infrastructure.dal.repository;
+
+import core.project.chess.application.dto.chess.PositionOccurrence;
+import core.project.chess.domain.chess.repositories.PositionIndexRepository;
+import core.project.chess.domain.chess.value_objects.GamePositions;
+import core.project.chess.domain.commons.containers.Result;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Instance;
+
+import javax.sql.DataSource;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Position search over PositionIndex: one row of 8-byte key, 8-byte game number and 2-byte ply per distinct position of a game.
+ * The game number is the compact identity of ChessGameHistory, it is mapped back to the history id only for the page of found games.
+ * The primary key (position_hash, game_number) is the only index, a search reads a range of it.
+ */
+@ApplicationScoped
+public class JdbcPositionIndexRepository implements PositionIndexRepository {
+
+    private final DataSource dataSource;
+
+    static final String INDEX_GAME = """
+            INSERT INTO PositionIndex (position_hash, game_number, ply)
+            SELECT p.position_hash, cgh.game_number, p.ply
+            FROM ChessGameHistory cgh, unnest(?::BIGINT[], ?::SMALLINT[]) AS p(position_hash, ply)
+            WHERE cgh.id = ?
+            ON CONFLICT DO NOTHING
+            """;
+
+    static final String GAMES = """
+            SELECT cgh.id AS chess_history_id, p.ply
+            FROM (
+                SELECT game_number, ply
+                FROM PositionIndex
+                WHERE position_hash = ?
+                ORDER BY game_number
+                LIMIT ? OFFSET ?
+            ) p
+            JOIN ChessGameHistory cgh ON cgh.game_number = p.game_number
+            ORDER BY p.game_number
+            """;
+
+    JdbcPositionIndexRepository(Instance<DataSource> dataSource) {
+        this.dataSource = dataSource.get();
+    }
+
+    @Override
+    public void index(final GamePositions gamePositions) {
+        final Long[] positionHashes = new Long[gamePositions.positionHashes().length];
+        final Short[] plies = new Short[positionHashes.length];
+        for (int i = 0; i < positionHashes.length; i++) {
+            positionHashes[i] = gamePositions.positionHashes()[i];
+            plies[i] = gamePositions.plies()[i];
+        }
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(INDEX_GAME)) {
+
+            final Array hashesArray = connection.createArrayOf("bigint", positionHashes);
+            final Array pliesArray = connection.createArrayOf("smallint", plies);
+            statement.setArray(1, hashesArray);
+            statement.setArray(2, pliesArray);
+            statement.setString(3, gamePositions.historyId().toString());
+            statement.executeUpdate();
+
+            hashesArray.free();
+            pliesArray.free();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Can`t index positions of game %s.".formatted(gamePositions.historyId()), e);
+        }
+    }
+
+    @Override
+    public Result<List<PositionOccurrence>, Throwable> games(final long positionHash, final int limit, final int offSet) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(GAMES)) {
+
+            statement.setLong(1, positionHash);
+            statement.setInt(2, limit);
+            statement.setInt(3, offSet);
+            try (ResultSet rs = statement.executeQuery()) {
+                final List<PositionOccurrence> games = new ArrayList<>();
+                while (rs.next()) {
+                    games.add(new PositionOccurrence(UUID.fromString(rs.getString("chess_history_id")), rs.getShort("ply")));
+                }
+                return Result.success(games);
+            }
+        } catch (SQLException e) {
+            return Result.failure(e);
+        }
+    }
+}
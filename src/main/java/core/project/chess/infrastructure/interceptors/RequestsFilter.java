@@ -17,8 +17,10 @@ public class RequestsFilter implements ContainerRequestFilter {
     @Override
     public void filter(ContainerRequestContext requestContext) throws IOException {
         final boolean isPuzzleCreationEndpoint = requestContext.getUriInfo().getRequestUri().toString().endsWith("/puzzles/save");
+        final boolean isGameImportEndpoint = requestContext.getUriInfo().getPath().endsWith("/games/import");
+        final boolean isExplorerIndexEndpoint = requestContext.getUriInfo().getPath().endsWith("/explorer/index");
 
-        if (isPuzzleCreationEndpoint) {
+        if (isPuzzleCreationEndpoint || isGameImportEndpoint || isExplorerIndexEndpoint) {
             String header = requestContext.getHeaderString("X-API-KEY");
             if (!apiKey.equals(header)) {
                 requestContext.abortWith(Response
@@ -0,0 +1,7 @@
+CREATE TABLE PgnImportCheckpoint (
+    source VARCHAR(255) NOT NULL,
+    processed_games BIGINT NOT NULL,
+    imported_games BIGINT NOT NULL,
+    last_updated_date TIMESTAMP NOT NULL,
+    PRIMARY KEY (source)
+);
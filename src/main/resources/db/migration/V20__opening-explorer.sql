@@ -0,0 +1,15 @@
+CREATE TABLE OpeningExplorer (
+    position_hash BIGINT NOT NULL,
+    move INTEGER NOT NULL,
+    white_wins BIGINT NOT NULL,
+    draws BIGINT NOT NULL,
+    black_wins BIGINT NOT NULL,
+    rating_sum BIGINT NOT NULL,
+    PRIMARY KEY (position_hash, move)
+);
+
+CREATE TABLE OpeningExplorerGame (
+    chess_history_id CHAR(36) NOT NULL,
+    PRIMARY KEY (chess_history_id),
+    CONSTRAINT explorer_history_fk FOREIGN KEY (chess_history_id) REFERENCES ChessGameHistory(id)
+);
@@ -0,0 +1,9 @@
+ALTER TABLE ChessGameHistory ADD COLUMN game_number BIGINT GENERATED ALWAYS AS IDENTITY;
+ALTER TABLE ChessGameHistory ADD CONSTRAINT history_game_number_unique UNIQUE (game_number);
+
+CREATE TABLE PositionIndex (
+    position_hash BIGINT NOT NULL,
+    game_number BIGINT NOT NULL REFERENCES ChessGameHistory(game_number) ON DELETE CASCADE,
+    ply SMALLINT NOT NULL,
+    PRIMARY KEY (position_hash, game_number)
+);
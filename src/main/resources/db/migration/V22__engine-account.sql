@@ -0,0 +1,14 @@
+INSERT INTO UserAccount (id, firstname, surname, username, email, password, is_enable,
+                         rating, rating_deviation, rating_volatility,
+                         bullet_rating, bullet_rating_deviation, bullet_rating_volatility,
+                         blitz_rating, blitz_rating_deviation, blitz_rating_volatility,
+                         rapid_rating, rapid_rating_deviation, rapid_rating_volatility,
+                         puzzles_rating, puzzles_rating_deviation, puzzles_rating_volatility,
+                         creation_date, last_updated_date)
+VALUES ('00000000-0000-0000-0000-00000000e001', 'Chessland', 'Engine', 'ChesslandEngine', 'engine@chessland.local', '-', false,
+        1500, 350, 0.6,
+        1500, 350, 0.6,
+        1500, 350, 0.6,
+        1500, 350, 0.6,
+        1500, 350, 0.6,
+        LOCALTIMESTAMP, LOCALTIMESTAMP);
@@ -0,0 +1 @@
+ALTER TABLE ChessGameHistory ADD COLUMN evaluations BYTEA;
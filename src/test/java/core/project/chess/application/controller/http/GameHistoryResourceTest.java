@@ -7,6 +7,7 @@ import core.project.chess.application.controller.ws.MessagingTestResource;
 import core.project.chess.application.dto.chess.ChessGameHistory;
 import core.project.chess.application.dto.chess.Message;
 import core.project.chess.application.dto.chess.MessageType;
+import core.project.chess.application.dto.chess.PositionOccurrence;
 import core.project.chess.domain.chess.enumerations.Coordinate;
 import core.project.chess.domain.chess.value_objects.AlgebraicNotation;
 import core.project.chess.domain.chess.value_objects.ChessMove;
@@ -42,6 +43,8 @@ import static io.restassured.RestAssured.given;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.awaitility.Awaitility.await;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static testUtils.WSClient.sendMessage;
 
 @QuarkusTest
@@ -145,6 +148,41 @@ class GameHistoryResourceTest {
         Log.infof("Last game: %s.", objectMapper.readValue(lastGame, new TypeReference<ChessGameHistory>(){}));
     }
 
+    @Test
+    void gamesByPosition() throws JsonProcessingException, ParseException {
+        String token = authUtils.fullLoginProcess().serverResponse().get("token");
+        fillTheDatabase(token);
+
+        /** Position after 1. e2-e4 e7-e6, reached by the French Defense games of the resource.*/
+        String result = given().contentType("application/json")
+                .param("fen", "rnbqkbnr/pppp1ppp/4p3/8/4P3/8/PPPP1PPP/RNBQKBNR w KQkq - 0 2")
+                .param("pageNumber", 1)
+                .param("pageSize", 10)
+                .header("Authorization", "Bearer " + token)
+                .when()
+                .get("chessland/account/game-history/position")
+                .then()
+                .statusCode(200)
+                .assertThat()
+                .body(notNullValue())
+                .extract()
+                .body()
+                .asString();
+
+        List<PositionOccurrence> occurrences = objectMapper.readValue(result, new TypeReference<>() {});
+        Log.infof("Games by position, size: %s, content: %s", occurrences.size(), occurrences);
+        assertFalse(occurrences.isEmpty());
+        assertTrue(occurrences.stream().allMatch(occurrence -> occurrence.ply() == 2));
+
+        given().contentType("application/json")
+                .param("fen", "invalid FEN")
+                .header("Authorization", "Bearer " + token)
+                .when()
+                .get("chessland/account/game-history/position")
+                .then()
+                .statusCode(400);
+    }
+
     private void fillTheDatabase(String token) throws ParseException, JsonProcessingException {
         JsonWebToken jwt = jwtParser.parse(token);
         String username = jwt.getName();
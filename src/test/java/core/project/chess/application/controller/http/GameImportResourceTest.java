@@ -0,0 +1,73 @@
+package core.project.chess.application.controller.http;
+
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.ConfigProvider;
+import org.junit.jupiter.api.Test;
+import testUtils.AuthUtils;
+import testUtils.RegistrationForm;
+
+import java.util.UUID;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+
+@QuarkusTest
+class GameImportResourceTest {
+
+    public static final String IMPORT = "/chessland/games/import";
+
+    @Inject
+    AuthUtils authUtils;
+
+    @Test
+    void importGames() throws Exception {
+        RegistrationForm white = authUtils.registerRandom();
+        RegistrationForm black = authUtils.registerRandom();
+        String apiKey = ConfigProvider.getConfig().getValue("x-api-key", String.class);
+        String source = "test-" + UUID.randomUUID();
+
+        String pgn = """
+                [White "%s"]
+                [Black "%s"]
+                [Result "1-0"]
+                [TimeControl "300+3"]
+
+                1. e4 e5 2. Qh5 Nc6 3. Bc4 Nf6 4. Qxf7# 1-0
+
+                [White "%s"]
+                [Black "unknown player"]
+                [Result "0-1"]
+
+                1. f3 e5 2. g4 Qh4# 0-1
+                """.formatted(white.username(), black.username(), white.username());
+
+        given().header("X-API-KEY", apiKey)
+                .contentType("text/plain")
+                .queryParam("source", source)
+                .body(pgn)
+                .when().post(IMPORT)
+                .then()
+                .statusCode(200)
+                .body("processed", equalTo(2), "imported", equalTo(1), "rejected", equalTo(1));
+
+        given().header("X-API-KEY", apiKey)
+                .contentType("text/plain")
+                .queryParam("source", source)
+                .body(pgn)
+                .when().post(IMPORT)
+                .then()
+                .statusCode(200)
+                .body("resumedFrom", equalTo(2), "processed", equalTo(0));
+    }
+
+    @Test
+    void importWithoutApiKey() {
+        given().contentType("text/plain")
+                .queryParam("source", "test")
+                .body("1. e4 e5 1/2-1/2")
+                .when().post(IMPORT)
+                .then()
+                .statusCode(401);
+    }
+}
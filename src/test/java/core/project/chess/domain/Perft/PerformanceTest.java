@@ -1,29 +1,37 @@
 package core.project.chess.domain.Perft;
 
 import core.project.chess.domain.chess.entities.ChessBoard;
-import core.project.chess.domain.chess.enumerations.Coordinate;
-import core.project.chess.domain.chess.pieces.Piece;
-import core.project.chess.domain.chess.value_objects.Move;
+import core.project.chess.domain.chess.util.MoveBuffer;
+import core.project.chess.domain.chess.util.Perft;
+import core.project.chess.domain.chess.util.PerftTranspositionTable;
+import core.project.chess.domain.chess.value_objects.PerftReport;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import testUtils.PerftUtil;
 
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 @Disabled("For technical reasons. Need to be executed separately.")
 public class PerformanceTest {
 
     private ChessBoard board;
 
+    private final MoveBuffer[] moveBuffers = new MoveBuffer[16];
+    {
+        for (int i = 0; i < moveBuffers.length; i++) moveBuffers[i] = new MoveBuffer();
+    }
+
     @Test
     void perftStandartPosition() {
         System.out.println("Perft standart position");
         int depth = 6;
         board = ChessBoard.pureChess();
 
-        long nodes = perft(depth);
-        System.out.println("Nodes: " + nodes);
+        PerftReport report = Perft.divide(board, depth, ForkJoinPool.commonPool(), new PerftTranspositionTable(256));
+        System.out.println(report);
+        long nodes = report.nodes();
 
         switch (depth) {
             case 1 -> PerftUtil.assertPerftDepth1(nodes);
@@ -150,10 +158,10 @@ public class PerformanceTest {
         long nodes = 0L;
         if (depth == 0) return 1L;
 
-        List<Move> legal_moves = null;
+        MoveBuffer legal_moves = moveBuffers[depth];
 
         try {
-            legal_moves = board.generateAllValidMoves();
+            board.generateAllValidMoves(legal_moves);
         } catch (Exception e) {
             System.out.printf(
                 "Could not generate moves for position: %s | current depth: %s%n",
@@ -163,17 +171,15 @@ public class PerformanceTest {
             throw e;
         }
 
-        for (var move : legal_moves) {
-            Coordinate from = move.from();
-            Coordinate to = move.to();
-            Piece inCaseOfPromotion = move.promotion();
+        for (int i = 0; i < legal_moves.size(); i++) {
+            int move = legal_moves.get(i);
 
             try {
-                board.doMove(from, to, inCaseOfPromotion);
+                board.makeMove(move);
             } catch (Exception e) {
                 System.out.printf(
                     "Error making move: %s | position: %s | depth: %s%n",
-                    move,
+                    MoveBuffer.toMove(move),
                     board.toString(),
                     depth
                 );
@@ -183,7 +189,7 @@ public class PerformanceTest {
             long newNodes = perft(depth - 1);
             nodes += newNodes;
 
-            board.undoMove();
+            board.unmakeMove();
         }
 
         return nodes;
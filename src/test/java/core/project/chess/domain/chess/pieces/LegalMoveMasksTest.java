@@ -0,0 +1,60 @@
+package core.project.chess.domain.chess.pieces;
+
+import core.project.chess.domain.chess.entities.ChessBoard;
+import core.project.chess.domain.chess.enumerations.Coordinate;
+import core.project.chess.domain.chess.enumerations.GameResultMessage;
+import core.project.chess.domain.chess.util.MoveBuffer;
+import core.project.chess.domain.commons.enumerations.Color;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LegalMoveMasksTest {
+
+    @Test
+    void pinnedPieceMovesOnlyAlongPinRay() {
+        ChessBoard chessBoard = ChessBoard.pureChessFromPosition("4k3/8/8/8/8/4r3/4R3/4K3 w - - 0 1");
+        LegalMoveMasks legalMoveMasks = chessBoard.legalMoveMasks(Color.WHITE);
+
+        assertFalse(legalMoveMasks.isCheck());
+        assertEquals(1L << 12, legalMoveMasks.pinned());
+        assertEquals(1L << 20, legalMoveMasks.legalTargets(12, Rook.ROOK_MOVES_CACHE[12]));
+    }
+
+    @Test
+    void doubleCheckAllowsOnlyKingMoves() {
+        ChessBoard chessBoard = ChessBoard.pureChessFromPosition("4k3/8/8/8/8/5n2/3P4/r3K3 w - - 0 1");
+        LegalMoveMasks legalMoveMasks = chessBoard.legalMoveMasks(Color.WHITE);
+
+        assertEquals(2, Long.bitCount(legalMoveMasks.checkers()));
+        assertEquals(0L, legalMoveMasks.checkMask());
+
+        MoveBuffer moveBuffer = new MoveBuffer();
+        chessBoard.generateAllValidMoves(moveBuffer);
+        assertFalse(moveBuffer.isEmpty());
+        for (int i = 0; i < moveBuffer.size(); i++) {
+            assertEquals(4, MoveBuffer.from(moveBuffer.get(i)));
+        }
+    }
+
+    @Test
+    void enPassantExposingKingOnRankIsIllegal() {
+        ChessBoard chessBoard = ChessBoard.pureChessFromPosition("8/8/8/KPp4r/8/8/8/7k w - c6 0 2");
+
+        MoveBuffer moveBuffer = new MoveBuffer();
+        chessBoard.generateAllValidMoves(moveBuffer);
+        for (int i = 0; i < moveBuffer.size(); i++) {
+            int move = moveBuffer.get(i);
+            assertFalse(MoveBuffer.from(move) == 33 && MoveBuffer.to(move) == 42);
+        }
+    }
+
+    @Test
+    void enPassantOfPreviousMoveDoesNotBlockCheck() {
+        ChessBoard chessBoard = ChessBoard.pureChessFromPGN("1. a2-a4 a7-a5 2. f2-f3 d7-d5 3. d2-d3 e7-e5 4. c2-c4 e5-e4 5. Bc1-d2 Qd8-e7 ");
+        chessBoard.doMove(Coordinate.g2, Coordinate.g4);
+
+        assertEquals(GameResultMessage.Checkmate, chessBoard.doMove(Coordinate.e7, Coordinate.h4));
+        assertTrue(chessBoard.pgn().endsWith("Qe7-h4# "));
+    }
+}
@@ -0,0 +1,57 @@
+package core.project.chess.domain.chess.pieces;
+
+import core.project.chess.domain.chess.enumerations.Direction;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MagicBitboardsTest {
+
+    @Test
+    void magicLookupMatchesRayWalk() {
+        Random random = new Random(42);
+
+        for (int i = 0; i < 10_000; i++) {
+            long occupied = random.nextLong() & random.nextLong();
+
+            for (int square = 0; square < 64; square++) {
+                long rookAttacks = rayWalk(square, occupied, Direction.horizontalVerticalDirections());
+                long bishopAttacks = rayWalk(square, occupied, Direction.diagonalDirections());
+
+                assertEquals(rookAttacks, Rook.rookAttacks(square, occupied));
+                assertEquals(bishopAttacks, Bishop.bishopAttacks(square, occupied));
+                assertEquals(rookAttacks | bishopAttacks, Queen.queenAttacks(square, occupied));
+            }
+        }
+    }
+
+    @Test
+    void emptyBoardMatchesPseudoValidCache() {
+        for (int square = 0; square < 64; square++) {
+            assertEquals(Rook.ROOK_MOVES_CACHE[square], Rook.rookAttacks(square, 0L));
+            assertEquals(Bishop.BISHOP_MOVES_CACHE[square], Bishop.bishopAttacks(square, 0L));
+            assertEquals(Queen.QUEEN_MOVES_CACHE[square], Queen.queenAttacks(square, 0L));
+        }
+    }
+
+    private static long rayWalk(int square, long occupied, List<Direction> directions) {
+        long attacks = 0L;
+        for (Direction direction : directions) {
+            int row = square / 8 + direction.rowDelta();
+            int col = square % 8 + direction.colDelta();
+
+            while (row >= 0 && row < 8 && col >= 0 && col < 8) {
+                long bit = 1L << (row * 8 + col);
+                attacks |= bit;
+                if ((occupied & bit) != 0) break;
+
+                row += direction.rowDelta();
+                col += direction.colDelta();
+            }
+        }
+        return attacks;
+    }
+}
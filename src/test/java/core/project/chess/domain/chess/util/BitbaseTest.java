@@ -0,0 +1,64 @@
+package core.project.chess.domain.chess.util;
+
+import core.project.chess.domain.chess.entities.ChessBoard;
+import core.project.chess.domain.chess.enumerations.EndgameResult;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BitbaseTest {
+
+    private static EndgameBitbases bitbases;
+
+    @BeforeAll
+    static void generate() {
+        bitbases = EndgameBitbases.empty();
+        for (String endgame : new String[]{"KQK", "KRK", "KPK"}) {
+            bitbases = bitbases.with(Bitbase.generate(endgame, bitbases));
+        }
+    }
+
+    @Test
+    void kingAndPawn() {
+        assertEquals(EndgameResult.WIN, probe("4k3/8/4K3/4P3/8/8/8/8 w - - 0 1"));
+        assertEquals(EndgameResult.LOSS, probe("4k3/8/4K3/4P3/8/8/8/8 b - - 0 1"));
+        assertEquals(EndgameResult.DRAW, probe("8/8/8/8/8/4k3/4P3/4K3 w - - 0 1"));
+        assertEquals(EndgameResult.DRAW, probe("k7/P7/8/8/8/8/8/K7 w - - 0 1"));
+    }
+
+    @Test
+    void mirroredColors() {
+        assertEquals(EndgameResult.WIN, probe("8/8/8/8/4p3/4k3/8/4K3 b - - 0 1"));
+        assertEquals(EndgameResult.LOSS, probe("8/8/8/8/4p3/4k3/8/4K3 w - - 0 1"));
+    }
+
+    @Test
+    void majorPieces() {
+        assertEquals(EndgameResult.WIN, probe("8/8/8/4k3/8/8/8/KQ6 w - - 0 1"));
+        assertEquals(EndgameResult.LOSS, probe("8/8/8/4k3/8/8/8/KR6 b - - 0 1"));
+    }
+
+    @Test
+    void missingEndgames() {
+        assertNull(probe("8/8/8/4k3/8/8/3r4/KQ6 w - - 0 1"));
+        assertNull(probe("4k3/8/8/8/8/8/8/4K2R w K - 0 1"));
+    }
+
+    @Test
+    void invalidData() {
+        assertThrows(IllegalArgumentException.class, () -> Bitbase.of("KPK", ByteBuffer.allocate(16)));
+        assertThrows(IllegalArgumentException.class, () -> Bitbase.of("KXK", ByteBuffer.allocate(16)));
+
+        Bitbase krk = Bitbase.of("KRK", Bitbase.generate("KRK", EndgameBitbases.empty()).data());
+        assertEquals(3, krk.countOfPieces());
+        assertEquals(EndgameResult.WIN, EndgameBitbases.empty().with(krk)
+                .probe(ChessBoard.fromPosition("8/8/8/4k3/8/8/8/KR6 w - - 0 1")));
+    }
+
+    private static EndgameResult probe(String fen) {
+        return bitbases.probe(ChessBoard.fromPosition(fen));
+    }
+}
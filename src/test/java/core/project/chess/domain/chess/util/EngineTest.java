@@ -0,0 +1,51 @@
+package core.project.chess.domain.chess.util;
+
+import core.project.chess.domain.chess.entities.ChessBoard;
+import core.project.chess.domain.chess.enumerations.Coordinate;
+import core.project.chess.domain.chess.enumerations.EngineStrength;
+import core.project.chess.domain.chess.value_objects.Move;
+import core.project.chess.domain.chess.value_objects.SearchReport;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EngineTest {
+
+    private static final TimeManager.ThinkTime THINK_TIME = new TimeManager.ThinkTime(2_000, 4_000);
+
+    private final Engine engine = new Engine(new SearchTranspositionTable(4));
+
+    @Test
+    void findsMateInOne() {
+        ChessBoard chessBoard = ChessBoard.fromPosition("6k1/5ppp/8/8/8/8/5PPP/3R2K1 w - - 0 1");
+
+        SearchReport report = engine.search(chessBoard, 4, THINK_TIME);
+
+        assertEquals(new Move(Coordinate.d1, Coordinate.d8, null), report.bestMove());
+        assertTrue(report.score() >= Engine.MATE - 10);
+    }
+
+    @Test
+    void capturesHangingQueenAndRestoresBoard() {
+        String fen = "4k3/8/8/3q4/8/8/3R4/4K3 w - - 0 1";
+        ChessBoard chessBoard = ChessBoard.fromPosition(fen);
+
+        SearchReport report = engine.search(chessBoard, 3, THINK_TIME);
+
+        assertEquals(new Move(Coordinate.d2, Coordinate.d5, null), report.bestMove());
+        assertEquals(fen, chessBoard.toString());
+        assertTrue(report.nodes() > 0);
+    }
+
+    @Test
+    void limitsThinkTimeByClockAndStrength() {
+        TimeManager.ThinkTime beginner = TimeManager.thinkTime(Duration.ofMinutes(10), 1, EngineStrength.BEGINNER);
+        assertEquals(EngineStrength.BEGINNER.maxThinkMillis(), beginner.hardMillis());
+
+        TimeManager.ThinkTime lowOnTime = TimeManager.thinkTime(Duration.ofSeconds(2), 40, EngineStrength.MAXIMUM);
+        assertTrue(lowOnTime.softMillis() <= lowOnTime.hardMillis());
+        assertTrue(lowOnTime.hardMillis() <= 200);
+    }
+}
@@ -0,0 +1,73 @@
+package core.project.chess.domain.chess.util;
+
+import core.project.chess.domain.chess.entities.ChessBoard;
+import core.project.chess.domain.chess.enumerations.Coordinate;
+import core.project.chess.domain.chess.value_objects.FromFEN;
+import core.project.chess.domain.commons.containers.Result;
+import core.project.chess.domain.commons.enumerations.Color;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FenParserTest {
+
+    @Test
+    void parsesAllFields() {
+        FromFEN fen = FenParser.parse("rnbqkbnr/ppp1pppp/8/3p4/4P3/8/PPPP1PPP/RNBQKBNR w Kq d6 3 12").orElseThrow();
+
+        assertEquals(Color.WHITE, fen.figuresTurn());
+        assertEquals(Coordinate.e1, fen.whiteKing());
+        assertEquals(Coordinate.e8, fen.blackKing());
+        assertEquals(1 | 8, fen.castlingRights());
+        assertEquals(Coordinate.d6, fen.enPassant());
+        assertEquals(3, fen.halfMovesClock());
+        assertEquals(12, fen.countOfFullMoves());
+        assertEquals(39, fen.materialAdvantageOfWhite());
+        assertEquals(39, fen.materialAdvantageOfBlack());
+    }
+
+    @Test
+    void clocksAreOptional() {
+        FromFEN fen = FenParser.parse("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq -").orElseThrow();
+
+        assertEquals(0, fen.halfMovesClock());
+        assertEquals(1, fen.countOfFullMoves());
+    }
+
+    @Test
+    void boardKeepsClocksOfFEN() {
+        String fen = "r1bqkbnr/pppp1ppp/2n5/4p3/4P3/5N2/PPPP1PPP/RNBQKB1R w KQkq - 2 3";
+        assertEquals(fen, ChessBoard.pureChessFromPosition(fen).toString());
+    }
+
+    @Test
+    void reportsPositionOfError() {
+        assertError("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR x KQkq - 0 1", "at position 44");
+        assertError("rnbqkbnr/ppppXppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1", "at position 13");
+        assertError("rnbqkbnr/pppppppp/45/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1", "at position 19");
+        assertError("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1 ", "at position 56");
+        assertError("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 0", "at position 55");
+    }
+
+    @Test
+    void rejectsUnreachablePositions() {
+        assertError("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBN1 w KQkq - 0 1", "castling right without the king and the rook");
+        assertError("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq e3 0 1", "en passant square of the side to move");
+        assertError("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR b KQkq e3 0 1", "without a pawn which has made a double step");
+        assertError("4k3/8/8/8/8/8/8/4K2B w - - 0 1", "insufficient mating material");
+        assertError("8/8/8/8/8/8/8/3kK3 w - - 0 1", "adjacent squares");
+    }
+
+    @Test
+    void boardRethrowsErrorOfParser() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> ChessBoard.fromPosition("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - x 1"));
+        assertTrue(e.getMessage().contains("half moves clock must be a number at position 53"), e.getMessage());
+    }
+
+    private static void assertError(String fen, String expected) {
+        Result<FromFEN, IllegalArgumentException> result = FenParser.parse(fen);
+        assertFalse(result.success());
+        assertTrue(result.throwable().getMessage().contains(expected), result.throwable().getMessage());
+    }
+}
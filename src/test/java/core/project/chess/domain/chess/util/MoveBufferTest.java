@@ -0,0 +1,44 @@
+package core.project.chess.domain.chess.util;
+
+import core.project.chess.domain.chess.entities.ChessBoard;
+import core.project.chess.domain.chess.enumerations.Coordinate;
+import core.project.chess.domain.chess.pieces.Knight;
+import core.project.chess.domain.chess.value_objects.Move;
+import core.project.chess.domain.commons.enumerations.Color;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MoveBufferTest {
+
+    @Test
+    void packAndUnpack() {
+        int move = MoveBuffer.pack(Coordinate.b7.index(), Coordinate.a8.index(), Knight.of(Color.WHITE), MoveBuffer.CAPTURE);
+
+        assertEquals(Coordinate.b7.index(), MoveBuffer.from(move));
+        assertEquals(Coordinate.a8.index(), MoveBuffer.to(move));
+        assertEquals(Knight.of(Color.WHITE), MoveBuffer.promotion(move));
+        assertTrue(MoveBuffer.isCapture(move));
+        assertEquals(new Move(Coordinate.b7, Coordinate.a8, Knight.of(Color.WHITE)), MoveBuffer.toMove(move));
+
+        int quiet = MoveBuffer.pack(Coordinate.e2.index(), Coordinate.e4.index(), MoveBuffer.DOUBLE_PUSH);
+        assertNull(MoveBuffer.promotion(quiet));
+        assertEquals(MoveBuffer.DOUBLE_PUSH, MoveBuffer.flags(quiet));
+    }
+
+    @Test
+    void bufferIsReusedBetweenPositions() {
+        MoveBuffer moveBuffer = new MoveBuffer(1);
+        ChessBoard chessBoard = ChessBoard.pureChessFromPosition("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+
+        assertEquals(48, chessBoard.generateAllValidMoves(moveBuffer));
+        assertEquals(chessBoard.generateAllValidMoves(), moveBuffer.toList(new ArrayList<>()));
+
+        chessBoard.doMove(Coordinate.e1, Coordinate.g1);
+        assertEquals(43, chessBoard.generateAllValidMoves(moveBuffer));
+    }
+}
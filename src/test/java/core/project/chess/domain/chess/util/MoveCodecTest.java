@@ -0,0 +1,63 @@
+package core.project.chess.domain.chess.util;
+
+import core.project.chess.domain.chess.entities.ChessBoard;
+import core.project.chess.domain.chess.enumerations.Coordinate;
+import core.project.chess.domain.chess.pieces.Knight;
+import core.project.chess.domain.commons.enumerations.Color;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoveCodecTest {
+
+    @Test
+    void encodesTwoBytesPerMove() {
+        ChessBoard chessBoard = ChessBoard.fromSanPGN("""
+                1. e4 d5 2. exd5 c6 3. dxc6 Nf6 4. cxb7 Nbd7 5. bxa8=N e5 6. Nc7+ Ke7 7. d4 e4
+                8. f4 exf3 9. Nxf3 Nb6 10. Bd3 Nbd5 11. O-O Kd6 12. Nxd5 Nxd5 *
+                """);
+
+        byte[] encodedMoves = chessBoard.encodedMoves();
+        assertNotNull(encodedMoves);
+        assertEquals(chessBoard.countOfHalfMoves() * MoveCodec.BYTES_PER_MOVE, encodedMoves.length);
+
+        ChessBoard replayed = ChessBoard.fromEncodedMoves(encodedMoves);
+        assertEquals(chessBoard.toString(), replayed.toString());
+        assertEquals(chessBoard.pgn(), replayed.pgn());
+    }
+
+    @Test
+    void decodesPromotionForSideToMove() {
+        int move = MoveBuffer.pack(Coordinate.b2.index(), Coordinate.a1.index(), Knight.of(Color.BLACK), MoveBuffer.CAPTURE);
+        byte[] encoded = MoveCodec.encode(new int[]{move});
+
+        assertEquals(1, MoveCodec.size(encoded));
+        assertEquals(MoveBuffer.pack(Coordinate.b2.index(), Coordinate.a1.index(), Knight.of(Color.BLACK), 0),
+                MoveCodec.decode(encoded, 0, Color.BLACK));
+    }
+
+    @Test
+    void replaysFinishedGames() {
+        for (String pgn : new String[]{
+                "1. e4 e5 2. Bc4 Nc6 3. Qh5 Nf6 4. Qxf7# 1-0",
+                "1. e3 a5 2. Qh5 Ra6 3. Qxa5 h5 4. h4 Rah6 5. Qxc7 f6 6. Qxd7+ Kf7 7. Qxb7 Qd3 8. Qxb8 Qh7 9. Qxc8 Kg6 10. Qe6 1/2-1/2"}) {
+
+            ChessBoard chessBoard = ChessBoard.fromSanPGN(pgn);
+            ChessBoard replayed = ChessBoard.fromEncodedMoves(chessBoard.encodedMoves());
+
+            assertEquals(chessBoard.pgn(), replayed.pgn());
+            assertEquals(chessBoard.toString(), replayed.toString());
+            assertEquals(chessBoard.gameResult(), replayed.gameResult());
+        }
+    }
+
+    @Test
+    void rejectsInvalidEncoding() {
+        assertThrows(IllegalArgumentException.class, () -> MoveCodec.size(new byte[3]));
+        assertThrows(IllegalArgumentException.class, () -> MoveCodec.decode(new byte[]{0x70, 0}, 0, Color.WHITE));
+        assertNull(ChessBoard.fromPosition("4k3/8/8/8/8/8/8/4K2R w K - 0 1").encodedMoves());
+
+        int fromEmptySquare = MoveBuffer.pack(Coordinate.e4.index(), Coordinate.e5.index(), null, 0);
+        assertThrows(IllegalArgumentException.class, () -> ChessBoard.fromEncodedMoves(MoveCodec.encode(new int[]{fromEmptySquare})));
+    }
+}
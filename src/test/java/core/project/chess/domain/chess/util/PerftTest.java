@@ -0,0 +1,85 @@
+package core.project.chess.domain.chess.util;
+
+import core.project.chess.domain.chess.entities.ChessBoard;
+import core.project.chess.domain.chess.enumerations.Coordinate;
+import core.project.chess.domain.chess.value_objects.PerftReport;
+import core.project.chess.domain.chess.value_objects.PerftSuiteReport;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PerftTest {
+
+    private static final String KIWIPETE = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+
+    @Test
+    void divideMatchesSequentialPerft() {
+        ChessBoard chessBoard = ChessBoard.pureChessFromPosition(KIWIPETE);
+        String fen = chessBoard.toString();
+
+        PerftReport report = Perft.divide(chessBoard, 3, new ForkJoinPool(2));
+
+        assertEquals(97862L, report.nodes());
+        assertEquals(48, report.divide().size());
+        assertEquals(report.nodes(), report.divide().values().stream().mapToLong(Long::longValue).sum());
+        assertEquals(97862L, Perft.perft(chessBoard, 3));
+        assertEquals(fen, chessBoard.toString());
+    }
+
+    @Test
+    void transpositionTableKeepsNodeCounts() {
+        ChessBoard chessBoard = ChessBoard.pureChessFromPosition(KIWIPETE);
+        PerftTranspositionTable table = new PerftTranspositionTable(1);
+
+        assertEquals(4085603L, Perft.perft(chessBoard, 4, table));
+        assertTrue(table.hits() > 0);
+
+        PerftReport report = Perft.divide(chessBoard, 4, new ForkJoinPool(2), table);
+        assertEquals(4085603L, report.nodes());
+        assertTrue(report.cacheHitRate() > 0.0);
+    }
+
+    @Test
+    void perftSuitePassesAtLowDepth() throws IOException {
+        PerftSuite perftSuite = PerftSuite.fromEPD(Files.readAllLines(Path.of("src/main/resources/pgn/perftsuite.epd")));
+
+        PerftSuiteReport report = perftSuite.run(2, new ForkJoinPool(2));
+
+        assertTrue(report.isPassed(), report.toString());
+        assertEquals(perftSuite.positions().size(), report.positions().size());
+        assertFalse(report.isRegression(report.nodesPerSecond(), 10));
+    }
+
+    @Test
+    void perftSuiteReportsMismatchesAndInvalidLines() {
+        PerftSuite perftSuite = PerftSuite.fromEPD(List.of(KIWIPETE + " ;D1 48 ;D2 2040"));
+        PerftSuiteReport report = perftSuite.run(3, new ForkJoinPool(1));
+
+        assertEquals(2, report.positions().getFirst().depth());
+        assertEquals(List.of("D2 expected 2040, actual 2039"), report.positions().getFirst().mismatches());
+        assertThrows(IllegalArgumentException.class, () -> PerftSuite.fromEPD(List.of(KIWIPETE + " ;D2 2039")));
+    }
+
+    @Test
+    void copyIsIndependentFromOriginal() {
+        ChessBoard chessBoard = ChessBoard.starndardChessBoard();
+        chessBoard.doMove(Coordinate.e2, Coordinate.e4);
+
+        ChessBoard copy = chessBoard.copy();
+        copy.doMove(Coordinate.e7, Coordinate.e5);
+
+        assertEquals("1. e2-e4 ... ", chessBoard.pgn());
+        assertEquals("1. e2-e4 e7-e5 ", copy.pgn());
+        assertEquals(20, Perft.perft(chessBoard, 1));
+
+        assertTrue(copy.undoMove());
+        assertEquals(chessBoard.toString(), copy.toString());
+        assertEquals(chessBoard.zobristHash(), copy.zobristHash());
+    }
+}
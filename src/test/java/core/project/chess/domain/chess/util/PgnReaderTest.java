@@ -0,0 +1,118 @@
+package core.project.chess.domain.chess.util;
+
+import core.project.chess.domain.chess.entities.ChessBoard;
+import core.project.chess.domain.chess.value_objects.PgnGame;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PgnReaderTest {
+
+    private static final String GAMES = """
+            [Event "First"]
+            [White "Player \\"One\\""]
+            [Result "1-0"]
+
+            1. e4 {best by test} e5 2. Nf3 $1 (2. f4 exf4 (2... d5) 3. Nf3) Nc6 3.Bb5!? a6 1-0
+            % escaped line 1. d4
+            [Event "Second"]
+
+            1. d2-d4 ; comment until the end of line 2. c4
+            1... Ng8-f6 2. c2-c4 e7-e6
+            [Event "Third"]
+            """;
+
+    @Test
+    void readsGamesOneByOne() {
+        List<PgnGame> games = PgnReader.of(GAMES).stream().toList();
+        assertEquals(3, games.size());
+
+        PgnGame first = games.getFirst();
+        assertEquals("First", first.tag("Event"));
+        assertEquals("Player \"One\"", first.tag("White"));
+        assertEquals(List.of("e4", "e5", "Nf3", "Nc6", "Bb5", "a6"), first.moves());
+        assertEquals("1-0", first.result());
+
+        PgnGame second = games.get(1);
+        assertEquals(List.of("d2-d4", "Ng8-f6", "c2-c4", "e7-e6"), second.moves());
+        assertEquals("*", second.result());
+        assertEquals(4, second.algebraicNotations().size());
+
+        assertEquals("Third", games.get(2).tag("Event"));
+        assertTrue(games.get(2).moves().isEmpty());
+    }
+
+    @Test
+    void doesNotDependOnBoundariesOfReads() {
+        Reader oneCharAtTime = new StringReader(GAMES) {
+            @Override
+            public int read(char[] buffer, int offset, int length) throws IOException {
+                return super.read(buffer, offset, Math.min(length, 1));
+            }
+        };
+
+        assertEquals(PgnReader.of(GAMES).stream().toList(), PgnReader.of(oneCharAtTime).stream().toList());
+    }
+
+    @Test
+    void readsGameHistoryResource() throws IOException {
+        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream("pgn/game-history-resource.pgn");
+             Stream<PgnGame> games = PgnReader.of(inputStream).stream()) {
+
+            assertEquals(13, games.peek(game -> assertFalse(game.moves().isEmpty())).count());
+        }
+    }
+
+    @Test
+    void boardFromPGNOfApplication() {
+        ChessBoard chessBoard = ChessBoard.fromPGN("1. e2-e4 e7-e5 2. Ng1-f3 Nb8-c6 3. Bf1-b5 ... ");
+        assertEquals("1. e2-e4 e7-e5 2. Ng1-f3 Nb8-c6 3. Bf1-b5 ... ", chessBoard.pgn());
+    }
+
+    @Test
+    void rejectsMalformedPGN() {
+        assertThrows(IllegalArgumentException.class, () -> PgnReader.of("[Event \"Unclosed]\n1. e4").next());
+        assertThrows(IllegalArgumentException.class, () -> PgnReader.of("1. e4 (1. d4 d5").next());
+        assertThrows(IllegalArgumentException.class, () -> PgnReader.of("1. e4 {comment").next());
+    }
+
+    @Test
+    void continuesAfterMalformedGames() {
+        PgnReader pgnReader = PgnReader.of("""
+                [Event "First"]
+
+                1. e4 e5 1-0
+                [Event "Unclosed tag]
+                [White "Player"]
+
+                1. d4 d5 0-1
+                [Event "Unclosed comment"]
+
+                1. c4 {comment 1/2-1/2
+                [Event "Unclosed variation"]
+
+                1. Nf3 (1. g3 Nf6 0-1
+                [Event "Last"]
+
+                1. f4 f5 1-0
+                """);
+
+        assertEquals("First", pgnReader.next().tag("Event"));
+        for (int i = 0; i < 3; i++) {
+            assertTrue(pgnReader.hasNext());
+            assertThrows(IllegalArgumentException.class, pgnReader::next);
+        }
+
+        PgnGame last = pgnReader.next();
+        assertEquals("Last", last.tag("Event"));
+        assertEquals(List.of("f4", "f5"), last.moves());
+        assertFalse(pgnReader.hasNext());
+    }
+}
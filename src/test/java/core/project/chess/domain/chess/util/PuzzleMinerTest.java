@@ -0,0 +1,59 @@
+package core.project.chess.domain.chess.util;
+
+import core.project.chess.domain.chess.entities.ChessBoard;
+import core.project.chess.domain.chess.entities.Puzzle;
+import core.project.chess.domain.chess.enumerations.Coordinate;
+import core.project.chess.domain.chess.value_objects.GameAnalysis;
+import core.project.chess.domain.commons.value_objects.Rating;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PuzzleMinerTest {
+
+    private final PuzzleMiner puzzleMiner = new PuzzleMiner(new Engine(new SearchTranspositionTable(4)), 4, 6);
+
+    @Test
+    void minesMateAllowedByBlunder() {
+        ChessBoard game = ChessBoard.fromSanPGN("1. e4 e5 2. Bc4 Nc6 3. Qh5 Nf6 4. Qxf7# 1-0");
+
+        List<Puzzle> puzzles = puzzleMiner.mine(game);
+
+        assertEquals(1, puzzles.size());
+        Puzzle mined = puzzles.getFirst();
+        assertEquals(5, mined.startPositionIndex());
+        assertEquals("r1bqkb1r/pppp1ppp/2n2n2/4p2Q/2B1P3/8/PPPP1PPP/RNB1K1NR w KQkq - 4 4", mined.startPositionFEN());
+
+        Puzzle puzzle = Puzzle.fromRepository(mined.id(), UUID.randomUUID(), mined.pgn(), mined.startPositionIndex(), Rating.defaultRating());
+        puzzle.makeMovement(Coordinate.h5, Coordinate.f7, null);
+        assertTrue(puzzle.isSolved());
+    }
+
+    @Test
+    void skipsGameWithoutTactics() {
+        ChessBoard game = ChessBoard.fromSanPGN("1. e4 e5 2. Nf3 Nc6 3. Bb5 a6 4. Ba4 Nf6 1/2-1/2");
+
+        assertTrue(puzzleMiner.mine(game).isEmpty());
+        assertEquals(8, game.countOfHalfMoves());
+    }
+
+    @Test
+    void reusesEvaluationsOfAnalysis() {
+        ChessBoard game = ChessBoard.fromSanPGN("1. e4 e5 2. Bc4 Nc6 3. Qh5 Nf6 4. Qxf7# 1-0");
+
+        GameAnalysis winning = new GameAnalysis(new short[]{20, -20, 20, -20, 20, -20, Engine.MATE - 1, -Engine.MATE});
+        List<Puzzle> puzzles = puzzleMiner.mine(game, winning);
+        assertEquals(1, puzzles.size());
+        assertEquals(5, puzzles.getFirst().startPositionIndex());
+
+        /** Positions are not searched again, so a game without winning evaluations has no candidates.*/
+        GameAnalysis balanced = new GameAnalysis(new short[]{20, -20, 20, -20, 20, -20, 20, -20});
+        assertTrue(puzzleMiner.mine(game, balanced).isEmpty());
+
+        assertThrows(IllegalArgumentException.class, () -> puzzleMiner.mine(game, new GameAnalysis(new short[]{20, -20})));
+        assertEquals(7, game.countOfHalfMoves());
+    }
+}
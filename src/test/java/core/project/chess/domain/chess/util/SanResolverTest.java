@@ -0,0 +1,73 @@
+package core.project.chess.domain.chess.util;
+
+import core.project.chess.domain.chess.entities.ChessBoard;
+import core.project.chess.domain.chess.enumerations.Coordinate;
+import core.project.chess.domain.chess.pieces.Knight;
+import core.project.chess.domain.chess.pieces.Queen;
+import core.project.chess.domain.chess.value_objects.Move;
+import core.project.chess.domain.commons.enumerations.Color;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SanResolverTest {
+
+    private static final String OPERA_GAME = """
+            [Event "Paris"]
+            [White "Paul Morphy"]
+            [Black "Duke Karl / Count Isouard"]
+            [Result "1-0"]
+
+            1. e4 e5 2. Nf3 d6 3. d4 Bg4 4. dxe5 Bxf3 5. Qxf3 dxe5 6. Bc4 Nf6 7. Qb3 Qe7
+            8. Nc3 c6 9. Bg5 b5 10. Nxb5 cxb5 11. Bxb5+ Nbd7 12. O-O-O Rd8
+            13. Rxd7 Rxd7 14. Rd1 Qe6 15. Bxd7+ Nxd7 16. Qb8+ Nxb8 17. Rd8# 1-0
+            """;
+
+    @Test
+    void replaysGameInSAN() {
+        ChessBoard chessBoard = ChessBoard.fromSanPGN(OPERA_GAME);
+
+        assertEquals("1n1Rkb1r/p4ppp/4q3/4p1B1/4P3/8/PPP2PPP/2K5 b k - 1 17", chessBoard.toString());
+        assertEquals(33, chessBoard.countOfHalfMoves());
+    }
+
+    @Test
+    void startsFromFENTag() {
+        ChessBoard chessBoard = ChessBoard.fromSanPGN("""
+                [FEN "4k3/P7/8/8/8/8/8/4K3 w - - 0 1"]
+
+                1. a8=Q+ Kd7 *
+                """);
+
+        assertEquals("Q7/3k4/8/8/8/8/8/4K3 w - - 1 2", chessBoard.toString());
+    }
+
+    @Test
+    void disambiguatesByFileRankAndPin() {
+        ChessBoard chessBoard = ChessBoard.fromPosition("4k3/8/8/8/1N3N2/8/1N6/4K3 w - - 0 1");
+        assertEquals(new Move(Coordinate.f4, Coordinate.d3, null), SanResolver.resolve(chessBoard, "Nfd3"));
+        assertEquals(new Move(Coordinate.b2, Coordinate.d3, null), SanResolver.resolve(chessBoard, "N2d3"));
+        assertThrows(IllegalArgumentException.class, () -> SanResolver.resolve(chessBoard, "Nd3"));
+
+        ChessBoard pinned = ChessBoard.fromPosition("4k3/4r3/8/8/8/2N1N3/8/4K3 w - - 0 1");
+        assertEquals(new Move(Coordinate.c3, Coordinate.d5, null), SanResolver.resolve(pinned, "Nd5"));
+    }
+
+    @Test
+    void resolvesPawnMoves() {
+        ChessBoard chessBoard = ChessBoard.fromPosition("r3k3/1P6/8/3pP3/8/8/8/4K3 w q d6 0 1");
+        assertEquals(new Move(Coordinate.e5, Coordinate.d6, null), SanResolver.resolve(chessBoard, "exd6"));
+        assertEquals(new Move(Coordinate.b7, Coordinate.a8, Knight.of(Color.WHITE)), SanResolver.resolve(chessBoard, "bxa8=N+"));
+        assertEquals(new Move(Coordinate.b7, Coordinate.b8, Queen.of(Color.WHITE)), SanResolver.resolve(chessBoard, "b8Q"));
+        assertThrows(IllegalArgumentException.class, () -> SanResolver.resolve(chessBoard, "b8"));
+    }
+
+    @Test
+    void rejectsInvalidSAN() {
+        ChessBoard chessBoard = ChessBoard.starndardChessBoard();
+        assertThrows(IllegalArgumentException.class, () -> SanResolver.resolve(chessBoard, "Nf4"));
+        assertThrows(IllegalArgumentException.class, () -> SanResolver.resolve(chessBoard, "Zf3"));
+        assertThrows(IllegalArgumentException.class, () -> SanResolver.resolve(chessBoard, "e9"));
+        assertThrows(IllegalArgumentException.class, () -> ChessBoard.fromSanPGN("1. e4 e5 2. Ke3"));
+    }
+}
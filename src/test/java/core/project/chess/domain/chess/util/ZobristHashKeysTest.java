@@ -5,8 +5,7 @@ import core.project.chess.domain.chess.enumerations.Coordinate;
 import io.quarkus.logging.Log;
 import org.junit.jupiter.api.Test;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 class ZobristHashKeysTest {
 
@@ -27,6 +26,17 @@ class ZobristHashKeysTest {
         assertEqualsAndLog(chessBoard2, chessBoard3);
     }
 
+    @Test
+    void fenOfFinalPosition() {
+        ChessBoard game = ChessBoard.fromSanPGN("1. e4 e5 2. Bc4 Nc6 3. Qh5 Nf6 4. Qxf7# 1-0");
+        ZobristHashKeys zobristHashKeys = new ZobristHashKeys();
+
+        assertEquals(game.zobristHash(), zobristHashKeys.computeZobristHash(FenParser.parse(game.toString()).orElseThrow()));
+
+        String fen = "rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1";
+        assertEquals(ChessBoard.fromPosition(fen).zobristHash(), zobristHashKeys.computeZobristHash(FenParser.parse(fen).orElseThrow()));
+    }
+
     @Test
     void moves() {
         ChessBoard chessBoard = ChessBoard.starndardChessBoard();
@@ -94,6 +104,50 @@ class ZobristHashKeysTest {
         moveAndAssertEquals(Coordinate.g3, Coordinate.f2, chessBoard, chessBoard1);
     }
 
+    @Test
+    void incrementalHashEqualsHashOfTheSamePositionFromFEN() {
+        ChessBoard chessBoard = ChessBoard.starndardChessBoard();
+        chessBoard.doMove(Coordinate.e2, Coordinate.e4);
+        assertEquals(ChessBoard.fromPosition(chessBoard.toString()).zobristHash(), chessBoard.zobristHash());
+
+        chessBoard.doMove(Coordinate.e7, Coordinate.e5);
+        chessBoard.doMove(Coordinate.e1, Coordinate.e2);
+        assertEquals(ChessBoard.fromPosition(chessBoard.toString()).zobristHash(), chessBoard.zobristHash());
+    }
+
+    @Test
+    void threefoldRepetition() {
+        ChessBoard chessBoard = ChessBoard.starndardChessBoard();
+        for (int i = 0; i < 2; i++) {
+            chessBoard.doMove(Coordinate.g1, Coordinate.f3);
+            chessBoard.doMove(Coordinate.g8, Coordinate.f6);
+            chessBoard.doMove(Coordinate.f3, Coordinate.g1);
+            assertFalse(chessBoard.isThreeFoldActive());
+            chessBoard.doMove(Coordinate.f6, Coordinate.g8);
+        }
+
+        assertEquals(3, chessBoard.countOfRepetitions());
+        assertTrue(chessBoard.isThreeFoldActive());
+
+        chessBoard.undoMove();
+        assertFalse(chessBoard.isThreeFoldActive());
+    }
+
+    @Test
+    void lostCastlingRightsMakeDifferentPosition() {
+        ChessBoard chessBoard = ChessBoard.starndardChessBoard();
+        chessBoard.doMove(Coordinate.g1, Coordinate.f3);
+        chessBoard.doMove(Coordinate.g8, Coordinate.f6);
+
+        for (int i = 1; i <= 2; i++) {
+            chessBoard.doMove(Coordinate.h1, Coordinate.g1);
+            chessBoard.doMove(Coordinate.h8, Coordinate.g8);
+            chessBoard.doMove(Coordinate.g1, Coordinate.h1);
+            chessBoard.doMove(Coordinate.g8, Coordinate.h8);
+            assertEquals(i, chessBoard.countOfRepetitions());
+        }
+    }
+
     private static void moveAndAssertEquals(Coordinate from, Coordinate to, ChessBoard chessBoard, ChessBoard chessBoard1) {
         chessBoard.doMove(from, to);
         chessBoard1.doMove(from, to);
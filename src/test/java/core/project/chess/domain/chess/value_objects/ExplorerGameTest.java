@@ -0,0 +1,44 @@
+package core.project.chess.domain.chess.value_objects;
+
+import core.project.chess.domain.chess.entities.ChessBoard;
+import core.project.chess.domain.commons.value_objects.GameResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExplorerGameTest {
+
+    @Test
+    void countsRepeatedPositionAndMoveOnce() {
+        ChessBoard chessBoard = ChessBoard.fromSanPGN("1. Nf3 Nf6 2. Ng1 Ng8 3. Nf3 e5 *");
+        ExplorerGame explorerGame = ExplorerGame.of(UUID.randomUUID(), chessBoard, GameResult.DRAW, 1500, 1600);
+
+        assertEquals(5, explorerGame.positionHashes().length);
+        assertEquals(1550, explorerGame.averageRating());
+        for (int i = 1; i < explorerGame.positionHashes().length; i++) {
+            assertTrue(explorerGame.positionHashes()[i - 1] <= explorerGame.positionHashes()[i]);
+        }
+    }
+
+    @Test
+    void indexesOnlyOpening() {
+        StringBuilder pgn = new StringBuilder();
+        for (int i = 0; i < 12; i++) pgn.append(i % 2 == 0 ? "Nf3 Nf6 Nc3 Nc6 " : "Ng1 Ng8 Nb1 Nb8 ");
+        ChessBoard chessBoard = ChessBoard.fromSanPGN(pgn.append("*").toString());
+
+        ExplorerGame explorerGame = ExplorerGame.of(UUID.randomUUID(), chessBoard, GameResult.WHITE_WIN, 1500, 1500);
+        assertTrue(chessBoard.countOfHalfMoves() > ExplorerGame.DEPTH);
+        assertEquals(8, explorerGame.positionHashes().length);
+    }
+
+    @Test
+    void positionFromFENHasSameKeyAsInGame() {
+        ChessBoard chessBoard = ChessBoard.fromSanPGN("1. e4 c5 2. Nf3 *");
+        ChessBoard fromFEN = ChessBoard.pureChessFromPosition(chessBoard.toString());
+
+        assertEquals(chessBoard.zobristHash(), fromFEN.zobristHash());
+        assertEquals(0, ExplorerGame.of(UUID.randomUUID(), fromFEN, GameResult.DRAW, 1500, 1500).moves().length);
+    }
+}
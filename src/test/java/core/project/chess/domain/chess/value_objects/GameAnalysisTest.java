@@ -0,0 +1,34 @@
+package core.project.chess.domain.chess.value_objects;
+
+import core.project.chess.domain.chess.enumerations.MoveJudgment;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameAnalysisTest {
+
+    @Test
+    void judgesMovesByLostWinningChances() {
+        /** Evaluations are from the side to move: after a good move the opponent's evaluation is the negation.*/
+        GameAnalysis gameAnalysis = new GameAnalysis(new short[]{30, -20, 10, 90, -100, 30_000 - 3});
+
+        assertArrayEquals(new MoveJudgment[]{
+                MoveJudgment.GOOD,
+                MoveJudgment.GOOD,
+                MoveJudgment.INACCURACY,
+                MoveJudgment.GOOD,
+                MoveJudgment.BLUNDER
+        }, gameAnalysis.judgments());
+    }
+
+    @Test
+    void encodesTwoBytesPerPosition() {
+        GameAnalysis gameAnalysis = new GameAnalysis(new short[]{35, -1, Short.MIN_VALUE, -30_000, 30_000});
+
+        byte[] encoded = gameAnalysis.encode();
+
+        assertEquals(5 * GameAnalysis.BYTES_PER_EVALUATION, encoded.length);
+        assertEquals(gameAnalysis, GameAnalysis.decode(encoded));
+        assertThrows(IllegalArgumentException.class, () -> GameAnalysis.decode(new byte[3]));
+    }
+}
@@ -0,0 +1,30 @@
+package core.project.chess.domain.chess.value_objects;
+
+import core.project.chess.domain.chess.entities.ChessBoard;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GamePositionsTest {
+
+    @Test
+    void keepsFirstPlyOfEveryPosition() {
+        ChessBoard chessBoard = ChessBoard.fromSanPGN("1. Nf3 Nf6 2. Ng1 Ng8 3. Nf3 e5 *");
+        GamePositions gamePositions = GamePositions.of(UUID.randomUUID(), chessBoard.positionHashes());
+
+        assertArrayEquals(new short[]{1, 2, 3, 6}, gamePositions.plies());
+        assertEquals(chessBoard.zobristHash(), gamePositions.positionHashes()[3]);
+    }
+
+    @Test
+    void searchKeyOfFENMatchesGame() {
+        ChessBoard chessBoard = ChessBoard.fromSanPGN("1. d4 Nf6 2. c4 e6 3. Nc3 Bb4 *");
+        GamePositions gamePositions = GamePositions.of(UUID.randomUUID(), chessBoard.positionHashes());
+
+        long searched = ChessBoard.pureChessFromPosition("rnbqk2r/pppp1ppp/4pn2/8/1bPP4/2N5/PP2PPPP/R1BQKBNR w KQkq - 2 4").zobristHash();
+        assertEquals(searched, gamePositions.positionHashes()[5]);
+        assertEquals(6, gamePositions.plies()[5]);
+    }
+}
@@ -0,0 +1,134 @@
+package core.project.chess.domain.entities;
+
+import core.project.chess.domain.chess.entities.ChessBoard;
+import core.project.chess.domain.chess.enumerations.Coordinate;
+import core.project.chess.domain.chess.enumerations.GameResultMessage;
+import core.project.chess.domain.chess.enumerations.MoveStatus;
+import core.project.chess.domain.chess.pieces.Queen;
+import core.project.chess.domain.chess.util.MoveBuffer;
+import core.project.chess.domain.commons.enumerations.Color;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChessBoardMakeMoveTest {
+
+    private static final String KIWIPETE = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+
+    @Test
+    void makeMoveMatchesDoMove() {
+        ChessBoard searchBoard = ChessBoard.pureChessFromPosition(KIWIPETE);
+        ChessBoard gameBoard = ChessBoard.pureChessFromPosition(KIWIPETE);
+        String fen = searchBoard.toString();
+        long zobristHash = searchBoard.zobristHash();
+
+        MoveBuffer moveBuffer = new MoveBuffer();
+        searchBoard.generateAllValidMoves(moveBuffer);
+        for (int i = 0; i < moveBuffer.size(); i++) {
+            int move = moveBuffer.get(i);
+
+            searchBoard.makeMove(move);
+            gameBoard.doMove(Coordinate.byIndex(MoveBuffer.from(move)), Coordinate.byIndex(MoveBuffer.to(move)), MoveBuffer.promotion(move));
+            assertEquals(gameBoard.toString(), searchBoard.toString());
+            assertEquals(gameBoard.zobristHash(), searchBoard.zobristHash());
+            assertEquals(gameBoard.whiteCaptures(), searchBoard.whiteCaptures());
+
+            searchBoard.unmakeMove();
+            gameBoard.undoMove();
+            assertEquals(fen, searchBoard.toString());
+            assertEquals(zobristHash, searchBoard.zobristHash());
+        }
+    }
+
+    @Test
+    void gameResultIsEvaluatedOnRequest() {
+        ChessBoard chessBoard = ChessBoard.starndardChessBoard();
+        chessBoard.makeMove(MoveBuffer.pack(Coordinate.f2.index(), Coordinate.f3.index(), 0));
+        chessBoard.makeMove(MoveBuffer.pack(Coordinate.e7.index(), Coordinate.e5.index(), 0));
+        chessBoard.makeMove(MoveBuffer.pack(Coordinate.g2.index(), Coordinate.g4.index(), 0));
+        assertEquals(GameResultMessage.Continue, chessBoard.gameResult());
+
+        chessBoard.makeMove(MoveBuffer.pack(Coordinate.d8.index(), Coordinate.h4.index(), 0));
+        assertEquals(GameResultMessage.Checkmate, chessBoard.gameResult());
+        assertTrue(chessBoard.listOfAlgebraicNotations().isEmpty());
+
+        chessBoard.unmakeMove();
+        assertEquals(GameResultMessage.Continue, chessBoard.gameResult());
+    }
+
+    @Test
+    void searchMovesAreNotRecordedInNotation() {
+        ChessBoard chessBoard = ChessBoard.starndardChessBoard();
+        chessBoard.doMove(Coordinate.e2, Coordinate.e4);
+        chessBoard.makeMove(MoveBuffer.pack(Coordinate.e7.index(), Coordinate.e5.index(), 0));
+        chessBoard.unmakeMove();
+        chessBoard.doMove(Coordinate.c7, Coordinate.c5);
+
+        assertEquals(2, chessBoard.listOfAlgebraicNotations().size());
+        assertEquals("1. e2-e4 c7-c5 ", chessBoard.pgn());
+        assertTrue(chessBoard.undoMove());
+        assertEquals("1. e2-e4 ... ", chessBoard.pgn());
+        assertTrue(chessBoard.undoMove());
+        assertEquals("", chessBoard.pgn());
+        assertFalse(chessBoard.undoMove());
+        assertThrows(IllegalStateException.class, chessBoard::unmakeMove);
+    }
+
+    @Test
+    void legalMoveMapFollowsPosition() {
+        ChessBoard chessBoard = ChessBoard.pureChessFromPosition(KIWIPETE);
+        long[] legalMoveMap = chessBoard.legalMoveMap();
+
+        int countOfMoves = 0;
+        for (long destinations : legalMoveMap) countOfMoves += Long.bitCount(destinations);
+        assertEquals(48, countOfMoves);
+        assertTrue(chessBoard.isLegalMove(Coordinate.e1, Coordinate.g1));
+        assertTrue(chessBoard.isLegalMove(Coordinate.d5, Coordinate.e6));
+        assertFalse(chessBoard.isLegalMove(Coordinate.e1, Coordinate.e2));
+        assertFalse(chessBoard.isLegalMove(Coordinate.a8, Coordinate.b8));
+
+        chessBoard.doMove(Coordinate.d5, Coordinate.e6);
+        assertTrue(chessBoard.isLegalMove(Coordinate.a8, Coordinate.b8));
+        assertFalse(chessBoard.isLegalMove(Coordinate.e1, Coordinate.g1));
+
+        chessBoard.undoMove();
+        assertArrayEquals(legalMoveMap, chessBoard.legalMoveMap());
+    }
+
+    @Test
+    void validateMoveReportsReasonOfRejection() {
+        ChessBoard chessBoard = ChessBoard.pureChessFromPosition("4k3/1P6/8/8/8/8/8/4K3 w - - 0 1");
+
+        assertEquals(MoveStatus.VALID, chessBoard.validateMove(Coordinate.b7, Coordinate.b8, Queen.of(Color.WHITE)));
+        assertEquals(MoveStatus.BAD_PROMOTION, chessBoard.validateMove(Coordinate.b7, Coordinate.b8, null));
+        assertEquals(MoveStatus.BAD_PROMOTION, chessBoard.validateMove(Coordinate.b7, Coordinate.b8, Queen.of(Color.BLACK)));
+        assertEquals(MoveStatus.NO_PIECE, chessBoard.validateMove(Coordinate.a1, Coordinate.a2, null));
+        assertEquals(MoveStatus.NO_PIECE, chessBoard.validateMove(Coordinate.e8, Coordinate.d8, null));
+        assertEquals(MoveStatus.SAME_SQUARE, chessBoard.validateMove(Coordinate.e1, Coordinate.e1, null));
+        assertEquals(MoveStatus.ILLEGAL, chessBoard.validateMove(Coordinate.e1, Coordinate.e3, null));
+        assertEquals("4k3/1P6/8/8/8/8/8/4K3 w - - 0 1", chessBoard.toString());
+    }
+
+    @Test
+    void validatedMoveMatchesDoMove() {
+        ChessBoard chessBoard = ChessBoard.pureChessFromPosition(KIWIPETE);
+
+        MoveBuffer moveBuffer = new MoveBuffer();
+        chessBoard.generateAllValidMoves(moveBuffer);
+        for (int i = 0; i < moveBuffer.size(); i++) {
+            int move = moveBuffer.get(i);
+            Coordinate from = Coordinate.byIndex(MoveBuffer.from(move));
+            Coordinate to = Coordinate.byIndex(MoveBuffer.to(move));
+
+            ChessBoard gameBoard = chessBoard.copy();
+            ChessBoard validatedBoard = chessBoard.copy();
+            assertEquals(gameBoard.doMove(from, to, MoveBuffer.promotion(move)),
+                    validatedBoard.doValidatedMove(from, to, MoveBuffer.promotion(move)));
+            assertEquals(gameBoard.pgn(), validatedBoard.pgn());
+            assertEquals(gameBoard.toString(), validatedBoard.toString());
+            assertEquals(gameBoard.kingStatus(), validatedBoard.kingStatus());
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> chessBoard.doValidatedMove(Coordinate.e1, Coordinate.e2, null));
+    }
+}